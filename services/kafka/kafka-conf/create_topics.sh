@@ -20,6 +20,12 @@ CREATE_SIMPLE="/opt/kafka/bin/kafka-topics.sh --zookeeper zookeeper.pendev:2181
 
 ${CREATE_SIMPLE} kilda.speaker
 ${CREATE_SIMPLE} kilda-test
+${CREATE_SIMPLE} kilda.northbound
+${CREATE_SIMPLE} kilda.topo.eng
+${CREATE_SIMPLE} kilda.wfm
+${CREATE_SIMPLE} kilda.wfm.stats
+${CREATE_SIMPLE} kilda.wfm.cache
+${CREATE_SIMPLE} kilda.wfm.transaction
 ${CREATE_SIMPLE} speaker.command
 ${CREATE_SIMPLE} speaker.other
 ${CREATE_SIMPLE} speaker.info
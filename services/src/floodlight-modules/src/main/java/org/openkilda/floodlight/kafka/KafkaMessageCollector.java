@@ -15,17 +15,26 @@
 
 package org.openkilda.floodlight.kafka;
 
-import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.Utils.PAYLOAD;
 
 import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.switchmanager.MeterPool;
 import org.openkilda.messaging.Destination;
-import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
+import org.openkilda.messaging.codec.JsonCodecs;
+import org.openkilda.messaging.codec.MessageDeserializer;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.flow.BaseFlow;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.BatchFlows;
+import org.openkilda.messaging.command.flow.BatchInstallFlows;
+import org.openkilda.messaging.command.flow.BatchRemoveFlows;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
 import org.openkilda.messaging.command.flow.InstallIngressFlow;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
@@ -34,36 +43,47 @@ import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
-import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class KafkaMessageCollector implements IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageCollector.class);
-    private static final String INPUT_TOPIC = "kilda-test";
-    private static final String OUTPUT_TOPIC = "kilda-test";
+    private static final String DEFAULT_EXECUTOR_PARTITIONS = "10";
+    private static final String DEFAULT_EXECUTOR_QUEUE_SIZE = "100";
+    private static final long COMMIT_INTERVAL = 1000L;
     private final MeterPool meterPool = new MeterPool();
     private Properties kafkaProps;
+    private int executorPartitions;
+    private int executorQueueSize;
     private IPathVerificationService pathVerificationService;
     private KafkaMessageProducer kafkaProducer;
     private ISwitchManager switchManager;
@@ -99,22 +119,28 @@ public class KafkaMessageCollector implements IFloodlightModule {
         kafkaProps = new Properties();
         kafkaProps.put("bootstrap.servers", configParameters.get("bootstrap-servers"));
         kafkaProps.put("group.id", "kilda-message-collector");
-        kafkaProps.put("enable.auto.commit", "true");
-        //kafkaProps.put("auto.commit.interval.ms", "1000");
+        // offsets are committed by the consumer once the commands are processed
+        kafkaProps.put("enable.auto.commit", "false");
         kafkaProps.put("session.timeout.ms", "30000");
         kafkaProps.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
-        kafkaProps.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        kafkaProps.put("value.deserializer", MessageDeserializer.class.getName());
         zookeeperHosts = configParameters.get("zookeeper-hosts");
+        executorPartitions = Integer.valueOf(
+                configParameters.getOrDefault("executor-partitions", DEFAULT_EXECUTOR_PARTITIONS));
+        executorQueueSize = Integer.valueOf(
+                configParameters.getOrDefault("executor-queue-size", DEFAULT_EXECUTOR_QUEUE_SIZE));
     }
 
     @Override
     public void startUp(FloodlightModuleContext floodlightModuleContext) throws FloodlightModuleException {
         logger.info("Starting {}", this.getClass().getCanonicalName());
         try {
-            ExecutorService parseRecordExecutor = Executors.newFixedThreadPool(10);
+            PartitionedExecutor parseRecordExecutor = new PartitionedExecutor(
+                    "kafka-message-collector", executorPartitions, executorQueueSize);
             ExecutorService consumerExecutor = Executors.newSingleThreadExecutor();
             consumerExecutor.execute(new Consumer(
-                    Collections.singletonList(INPUT_TOPIC), kafkaProps, parseRecordExecutor));
+                    Collections.singletonList(kafkaProducer.getTopics().getTopic(Destination.CONTROLLER)),
+                    kafkaProps, parseRecordExecutor));
         } catch (Exception exception) {
             logger.error("error", exception);
         }
@@ -133,16 +159,14 @@ public class KafkaMessageCollector implements IFloodlightModule {
                 doDiscoverIslCommand(data);
             } else if (data instanceof DiscoverPathCommandData) {
                 doDiscoverPathCommand(data);
-            } else if (data instanceof InstallIngressFlow) {
-                doInstallIngressFlow(message);
-            } else if (data instanceof InstallEgressFlow) {
-                doInstallEgressFlow(message);
-            } else if (data instanceof InstallTransitFlow) {
-                doInstallTransitFlow(message);
-            } else if (data instanceof InstallOneSwitchFlow) {
-                doInstallOneSwitchFlow(message);
+            } else if (data instanceof BaseInstallFlow) {
+                confirm(message, installFlow(message, (BaseInstallFlow) data));
             } else if (data instanceof RemoveFlow) {
-                doDeleteFlow(message);
+                confirm(message, deleteFlow(message, (RemoveFlow) data));
+            } else if (data instanceof BatchInstallFlows) {
+                doInstallFlows(message);
+            } else if (data instanceof BatchRemoveFlows) {
+                doDeleteFlows(message);
             } else {
                 logger.error("unknown data type: {}", data.toString());
             }
@@ -153,13 +177,15 @@ public class KafkaMessageCollector implements IFloodlightModule {
             logger.debug("sending discover ISL to {}", command);
 
             String switchId = command.getSwitchId();
-            boolean result = pathVerificationService.sendDiscoveryMessage(
-                    DatapathId.of(switchId), OFPort.of(command.getPortNo()));
+            DatapathId dpid = DatapathId.of(switchId);
+            for (Integer portNo : command.getPortsToDiscover()) {
+                boolean result = pathVerificationService.sendDiscoveryMessage(dpid, OFPort.of(portNo));
 
-            if (result) {
-                logger.debug("packet_out was sent to {}", switchId);
-            } else {
-                logger.warn("packet_out was not sent to {}", switchId);
+                if (result) {
+                    logger.debug("packet_out was sent to {}-{}", switchId, portNo);
+                } else {
+                    logger.warn("packet_out was not sent to {}-{}", switchId, portNo);
+                }
             }
         }
 
@@ -168,31 +194,85 @@ public class KafkaMessageCollector implements IFloodlightModule {
             logger.debug("sending discover Path to {}", command);
         }
 
+        /**
+         * Installs flow rules of the switch, the batch is confirmed with the rules the switch has applied.
+         *
+         * @param message command message for flow rules installation
+         */
+        private void doInstallFlows(final CommandMessage message) {
+            BatchInstallFlows batch = (BatchInstallFlows) message.getData();
+            logger.debug("Installing {} flow rules on switch {}", batch.getCommands().size(), batch.getSwitchId());
+
+            List<CompletableFuture<Long>> results = new ArrayList<>(batch.getCommands().size());
+            for (BaseInstallFlow command : batch.getCommands()) {
+                results.add(installFlow(message, command));
+            }
+            confirm(message, batch, results);
+        }
+
+        /**
+         * Removes flow rules of the switch, the batch is confirmed with the rules the switch has removed.
+         *
+         * @param message command message for flow rules removal
+         */
+        private void doDeleteFlows(final CommandMessage message) {
+            BatchRemoveFlows batch = (BatchRemoveFlows) message.getData();
+            logger.debug("Deleting {} flow rules from switch {}", batch.getCommands().size(), batch.getSwitchId());
+
+            List<CompletableFuture<Long>> results = new ArrayList<>(batch.getCommands().size());
+            for (RemoveFlow command : batch.getCommands()) {
+                results.add(deleteFlow(message, command));
+            }
+            confirm(message, batch, results);
+        }
+
+        /**
+         * Installs flow rule on the switch.
+         *
+         * @param message command message, for error reporting
+         * @param command flow rule to install
+         * @return flow rule installation result, failures are already reported
+         */
+        private CompletableFuture<Long> installFlow(final CommandMessage message, final BaseInstallFlow command) {
+            if (command instanceof InstallIngressFlow) {
+                return installIngressFlow(message, (InstallIngressFlow) command);
+            } else if (command instanceof InstallEgressFlow) {
+                return installEgressFlow(message, (InstallEgressFlow) command);
+            } else if (command instanceof InstallTransitFlow) {
+                return installTransitFlow(message, (InstallTransitFlow) command);
+            } else if (command instanceof InstallOneSwitchFlow) {
+                return installOneSwitchFlow(message, (InstallOneSwitchFlow) command);
+            }
+
+            CompletableFuture<Long> result = new CompletableFuture<>();
+            result.completeExceptionally(
+                    new IllegalArgumentException(String.format("unknown flow rule type: %s", command)));
+            reportFailure(message, result, ErrorType.CREATION_FAILURE, "Could not install flow", command.getId());
+            return result;
+        }
+
         /**
          * Installs ingress flow on the switch.
          *
          * @param message command message for flow installation
+         * @param command ingress flow rule
+         * @return flow rule installation result
          */
-        private void doInstallIngressFlow(final CommandMessage message) {
-            InstallIngressFlow command = (InstallIngressFlow) message.getData();
+        private CompletableFuture<Long> installIngressFlow(final CommandMessage message,
+                                                           final InstallIngressFlow command) {
             logger.debug("Creating an ingress flow: {}", command);
 
             int meterId = meterPool.allocate(command.getSwitchId(), command.getId());
 
-            ImmutablePair<Long, Boolean> meterInstalled = switchManager.installMeter(
+            CompletableFuture<Long> meterInstalled = switchManager.installMeter(
                     DatapathId.of(command.getSwitchId()),
                     command.getBandwidth(),
                     1024,
                     meterId);
+            reportFailure(message, meterInstalled, ErrorType.CREATION_FAILURE, "Could not install meter",
+                    command.getId());
 
-            if (!meterInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install meter", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            }
-
-            ImmutablePair<Long, Boolean> flowInstalled = switchManager.installIngressFlow(
+            CompletableFuture<Long> flowInstalled = switchManager.installIngressFlow(
                     DatapathId.of(command.getSwitchId()),
                     command.getId(),
                     command.getCookie(),
@@ -203,27 +283,23 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     command.getOutputVlanType(),
                     meterId);
 
-            if (!flowInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install ingress flow", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            } else {
-                message.setDestination(Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, message);
-            }
+            reportFailure(message, flowInstalled, ErrorType.CREATION_FAILURE, "Could not install ingress flow",
+                    command.getId());
+            return flowInstalled;
         }
 
         /**
          * Installs egress flow on the switch.
          *
          * @param message command message for flow installation
+         * @param command egress flow rule
+         * @return flow rule installation result
          */
-        private void doInstallEgressFlow(final CommandMessage message) {
-            InstallEgressFlow command = (InstallEgressFlow) message.getData();
+        private CompletableFuture<Long> installEgressFlow(final CommandMessage message,
+                                                          final InstallEgressFlow command) {
             logger.debug("Creating an egress flow: {}", command);
 
-            ImmutablePair<Long, Boolean> flowInstalled = switchManager.installEgressFlow(
+            CompletableFuture<Long> flowInstalled = switchManager.installEgressFlow(
                     DatapathId.of(command.getSwitchId()),
                     command.getId(),
                     command.getCookie(),
@@ -233,27 +309,23 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     command.getOutputVlanId(),
                     command.getOutputVlanType());
 
-            if (!flowInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install egress flow", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            } else {
-                message.setDestination(Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, message);
-            }
+            reportFailure(message, flowInstalled, ErrorType.CREATION_FAILURE, "Could not install egress flow",
+                    command.getId());
+            return flowInstalled;
         }
 
         /**
          * Installs transit flow on the switch.
          *
          * @param message command message for flow installation
+         * @param command transit flow rule
+         * @return flow rule installation result
          */
-        private void doInstallTransitFlow(final CommandMessage message) {
-            InstallTransitFlow command = (InstallTransitFlow) message.getData();
+        private CompletableFuture<Long> installTransitFlow(final CommandMessage message,
+                                                           final InstallTransitFlow command) {
             logger.debug("Creating a transit flow: {}", command);
 
-            ImmutablePair<Long, Boolean> flowInstalled = switchManager.installTransitFlow(
+            CompletableFuture<Long> flowInstalled = switchManager.installTransitFlow(
                     DatapathId.of(command.getSwitchId()),
                     command.getId(),
                     command.getCookie(),
@@ -261,43 +333,34 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     command.getOutputPort(),
                     command.getTransitVlanId());
 
-            if (!flowInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install transit flow", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            } else {
-                message.setDestination(Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, message);
-            }
+            reportFailure(message, flowInstalled, ErrorType.CREATION_FAILURE, "Could not install transit flow",
+                    command.getId());
+            return flowInstalled;
         }
 
         /**
          * Installs flow through one switch.
          *
          * @param message command message for flow installation
+         * @param command one switch flow rule
+         * @return flow rule installation result
          */
-        private void doInstallOneSwitchFlow(final CommandMessage message) {
-            InstallOneSwitchFlow command = (InstallOneSwitchFlow) message.getData();
+        private CompletableFuture<Long> installOneSwitchFlow(final CommandMessage message,
+                                                             final InstallOneSwitchFlow command) {
             logger.debug("creating a flow through one switch: {}", command);
 
             int meterId = meterPool.allocate(command.getSwitchId(), command.getId());
 
-            ImmutablePair<Long, Boolean> meterInstalled = switchManager.installMeter(
+            CompletableFuture<Long> meterInstalled = switchManager.installMeter(
                     DatapathId.of(command.getSwitchId()),
                     command.getBandwidth(),
                     1024,
                     meterId);
-
-            if (!meterInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install meter", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            }
+            reportFailure(message, meterInstalled, ErrorType.CREATION_FAILURE, "Could not install meter",
+                    command.getId());
 
             OutputVlanType directOutputVlanType = command.getOutputVlanType();
-            ImmutablePair<Long, Boolean> forwardFlowInstalled = switchManager.installOneSwitchFlow(
+            CompletableFuture<Long> forwardFlowInstalled = switchManager.installOneSwitchFlow(
                     DatapathId.of(command.getSwitchId()),
                     command.getId(),
                     command.getCookie(),
@@ -308,66 +371,107 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     directOutputVlanType,
                     meterId);
 
-            if (!forwardFlowInstalled.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.CREATION_FAILURE, "Could not install flow", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            } else {
-                message.setDestination(Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, message);
-            }
+            reportFailure(message, forwardFlowInstalled, ErrorType.CREATION_FAILURE, "Could not install flow",
+                    command.getId());
+            return forwardFlowInstalled;
         }
 
         /**
          * Removes flow.
          *
          * @param message command message for flow installation
+         * @param command flow rule to remove
+         * @return flow rule removal result
          */
-        private void doDeleteFlow(final CommandMessage message) {
-            RemoveFlow command = (RemoveFlow) message.getData();
+        private CompletableFuture<Long> deleteFlow(final CommandMessage message, final RemoveFlow command) {
             logger.debug("deleting a flow: {}", command);
 
             DatapathId dpid = DatapathId.of(command.getSwitchId());
-            ImmutablePair<Long, Boolean> flowDeleted = switchManager.deleteFlow(
+            CompletableFuture<Long> flowDeleted = switchManager.deleteFlow(
                     dpid, command.getId(), command.getCookie());
 
-            if (!flowDeleted.getRight()) {
-                ErrorMessage error = new ErrorMessage(
-                        new ErrorData(ErrorType.DELETION_FAILURE, "Could not delete flow", command.getId()),
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, error);
-            } else {
-                message.setDestination(Destination.WFM_TRANSACTION);
-                kafkaProducer.postMessage(OUTPUT_TOPIC, message);
-            }
+            reportFailure(message, flowDeleted, ErrorType.DELETION_FAILURE, "Could not delete flow", command.getId());
 
             Integer meterId = meterPool.deallocate(command.getSwitchId(), command.getId());
 
-            if (flowDeleted.getRight() && meterId != null) {
-                ImmutablePair<Long, Boolean> meterDeleted = switchManager.deleteMeter(dpid, meterId);
-                if (!meterDeleted.getRight()) {
+            if (meterId != null) {
+                // the meter is in use until the flow is deleted
+                flowDeleted.thenRun(() -> reportFailure(message, switchManager.deleteMeter(dpid, meterId),
+                        ErrorType.DELETION_FAILURE, "Could not delete meter", command.getId()));
+            }
+            return flowDeleted;
+        }
+
+        /**
+         * Posts the command back to the transaction topology once the switch confirms it.
+         *
+         * @param message command message
+         * @param result  command confirmation
+         */
+        private void confirm(final CommandMessage message, final CompletableFuture<Long> result) {
+            result.thenRun(() -> {
+                message.setDestination(Destination.WFM_TRANSACTION);
+                kafkaProducer.postMessage(message);
+            });
+        }
+
+        /**
+         * Posts the batch back to the transaction topology with the rules of the flows the switch has confirmed, once
+         * all of them are complete. The batch is posted even if there are no such flows, as the confirmation releases
+         * the transaction of the batch.
+         *
+         * @param message command message
+         * @param batch   flow rules batch
+         * @param results confirmations of the batch rules, in order of the rules
+         */
+        private void confirm(final CommandMessage message, final BatchFlows<?> batch,
+                             final List<CompletableFuture<Long>> results) {
+            CompletableFuture<Void> completed = CompletableFuture.allOf(
+                    results.toArray(new CompletableFuture[results.size()]));
+            completed.whenComplete((ignored, exception) -> {
+                // flows with a failed rule are reported by the errors and are not confirmed
+                Set<String> failed = new HashSet<>();
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isCompletedExceptionally()) {
+                        failed.add(batch.getCommands().get(i).getId());
+                    }
+                }
+                batch.getCommands().removeIf(command -> failed.contains(command.getId()));
+                message.setDestination(Destination.WFM_TRANSACTION);
+                kafkaProducer.postMessage(message);
+            });
+        }
+
+        /**
+         * Posts the error to the transaction topology if the switch does not confirm the command.
+         *
+         * @param message     command message
+         * @param result      command confirmation
+         * @param errorType   error type to report
+         * @param description error description to report
+         * @param flowId      flow id
+         */
+        private void reportFailure(final CommandMessage message, final CompletableFuture<Long> result,
+                                   final ErrorType errorType, final String description, final String flowId) {
+            result.whenComplete((xid, exception) -> {
+                if (exception != null) {
+                    logger.error("{}: {}", description, flowId, exception);
                     ErrorMessage error = new ErrorMessage(
-                            new ErrorData(ErrorType.DELETION_FAILURE, "Could not delete meter", command.getId()),
+                            new ErrorData(errorType, description, flowId),
                             System.currentTimeMillis(), message.getCorrelationId(), Destination.WFM_TRANSACTION);
-                    kafkaProducer.postMessage(OUTPUT_TOPIC, error);
+                    kafkaProducer.postMessage(error);
                 }
-            }
+            });
         }
 
         private void parseRecord(ConsumerRecord record) {
             try {
-                if (record.value() instanceof String) {
-                    String value = (String) record.value();
-                    Message message = MAPPER.readValue(value, Message.class);
-                    if (Destination.CONTROLLER.equals(message.getDestination()) && message instanceof CommandMessage) {
-                        logger.debug("Got a command message for controller: {}", value);
-                        doControllerMsg((CommandMessage) message);
-                    } else {
-                        logger.trace("Skip message: {}", message);
-                    }
+                Object value = record.value();
+                if (MessageHeader.peek(value).isAddressedTo(Destination.CONTROLLER, MessageType.COMMAND)) {
+                    logger.debug("Got a command message for controller: {}", value);
+                    doControllerMsg((CommandMessage) MessageFormat.toMessage(value));
                 } else {
-                    logger.error("{} not of type String", record.value());
+                    logger.trace("Skip message: {}", value);
                 }
             } catch (Exception exception) {
                 logger.error("error parsing record={}", record.value(), exception);
@@ -380,12 +484,20 @@ public class KafkaMessageCollector implements IFloodlightModule {
         }
     }
 
+    /**
+     * Polls commands and dispatches them to the executor partitioned by switch id, so commands of a switch are
+     * executed in order while different switches are served in parallel. The consumer is paused while the partition
+     * of the next record is full and offsets are committed only once the records are processed.
+     */
     class Consumer implements Runnable {
         final List<String> topics;
         final Properties kafkaProps;
-        final ExecutorService parseRecordExecutor;
+        final PartitionedExecutor parseRecordExecutor;
+        final OffsetTracker offsets = new OffsetTracker();
+        final Deque<ConsumerRecord<String, Object>> pending = new ArrayDeque<>();
+        boolean paused;
 
-        public Consumer(List<String> topics, Properties kafkaProps, ExecutorService parseRecordExecutor) {
+        public Consumer(List<String> topics, Properties kafkaProps, PartitionedExecutor parseRecordExecutor) {
             this.topics = topics;
             this.kafkaProps = kafkaProps;
             this.parseRecordExecutor = parseRecordExecutor;
@@ -393,16 +505,126 @@ public class KafkaMessageCollector implements IFloodlightModule {
 
         @Override
         public void run() {
-            KafkaConsumer<String, String> consumer = new KafkaConsumer<>(kafkaProps);
-            consumer.subscribe(topics);
+            KafkaConsumer<String, Object> consumer = new KafkaConsumer<>(kafkaProps);
+            consumer.subscribe(topics, new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    commit(consumer, true);
+                    offsets.forget(partitions);
+                    pending.removeIf(record ->
+                            partitions.contains(new TopicPartition(record.topic(), record.partition())));
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    if (paused) {
+                        consumer.pause(partitions);
+                    }
+                }
+            });
 
+            long lastCommit = System.currentTimeMillis();
             while (true) {
-                ConsumerRecords<String, String> records = consumer.poll(100);
-                for (ConsumerRecord<String, String> record : records) {
+                dispatchPending();
+
+                if (!pending.isEmpty() && !paused) {
+                    logger.debug("Pause consumer, {} records are pending", pending.size());
+                    consumer.pause(consumer.assignment());
+                    paused = true;
+                } else if (pending.isEmpty() && paused) {
+                    logger.debug("Resume consumer");
+                    consumer.resume(consumer.paused());
+                    paused = false;
+                }
+
+                // paused consumer returns no records, but stays in the group
+                ConsumerRecords<String, Object> records = consumer.poll(100);
+                for (ConsumerRecord<String, Object> record : records) {
                     logger.trace("received message: {} - {}", record.offset(), record.value());
-                    parseRecordExecutor.execute(new ParseRecord(record));
+                    pending.add(record);
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastCommit >= COMMIT_INTERVAL) {
+                    commit(consumer, false);
+                    lastCommit = now;
                 }
             }
         }
+
+        /**
+         * Dispatches pending records in order until the partition of the next one is full.
+         */
+        private void dispatchPending() {
+            while (!pending.isEmpty()) {
+                ConsumerRecord<String, Object> record = pending.peek();
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+
+                offsets.dispatched(partition, record.offset());
+                boolean accepted = parseRecordExecutor.offer(switchIdOf(record), () -> {
+                    try {
+                        new ParseRecord(record).run();
+                    } finally {
+                        offsets.processed(partition, record.offset());
+                    }
+                });
+                if (!accepted) {
+                    // the record is dispatched again once the partition has room
+                    offsets.rejected(partition, record.offset());
+                    return;
+                }
+                pending.poll();
+            }
+        }
+
+        private void commit(KafkaConsumer<String, Object> consumer, boolean sync) {
+            Map<TopicPartition, OffsetAndMetadata> committable = offsets.committable();
+            if (committable.isEmpty()) {
+                return;
+            }
+            logger.trace("Commit offsets: {}", committable);
+            if (sync) {
+                consumer.commitSync(committable);
+            } else {
+                consumer.commitAsync(committable, (committed, exception) -> {
+                    if (exception != null) {
+                        logger.warn("Could not commit offsets {}", committed, exception);
+                    }
+                });
+            }
+        }
+
+        /**
+         * Reads the switch id of the command, json text is not parsed as a whole.
+         *
+         * @param record kafka record
+         * @return switch id, null if the command has no switch id or the message is malformed
+         */
+        private String switchIdOf(ConsumerRecord<String, Object> record) {
+            if (record.value() instanceof CommandMessage) {
+                return switchIdOf(((CommandMessage) record.value()).getData());
+            }
+            if (!(record.value() instanceof String)) {
+                return null;
+            }
+            try {
+                String payload = JsonCodecs.readRawField((String) record.value(), PAYLOAD);
+                return payload == null ? null : JsonCodecs.readFields(payload, "switch_id")[0];
+            } catch (IOException | RuntimeException exception) {
+                // the record is reported by the parser
+                return null;
+            }
+        }
+
+        private String switchIdOf(CommandData data) {
+            if (data instanceof BaseFlow) {
+                return ((BaseFlow) data).getSwitchId();
+            } else if (data instanceof BatchFlows) {
+                return ((BatchFlows<?>) data).getSwitchId();
+            } else if (data instanceof DiscoverIslCommandData) {
+                return ((DiscoverIslCommandData) data).getSwitchId();
+            }
+            return null;
+        }
     }
 }
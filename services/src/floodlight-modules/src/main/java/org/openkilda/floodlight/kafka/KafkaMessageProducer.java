@@ -15,11 +15,10 @@
 
 package org.openkilda.floodlight.kafka;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.TopicRouter;
+import org.openkilda.messaging.codec.TopicFormats;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
@@ -30,6 +29,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -40,7 +40,25 @@ import java.util.Properties;
  */
 public class KafkaMessageProducer implements IFloodlightModule, IFloodlightService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageProducer.class);
-    private KafkaProducer<String, String> producer;
+
+    /**
+     * Topic config parameter name prefix, e.g. topic-wfm_stats.
+     */
+    public static final String TOPIC_PARAMETER_PREFIX = "topic-";
+
+    /**
+     * Message format config parameter name, json by default.
+     */
+    public static final String MESSAGE_FORMAT_PARAMETER = "message-format";
+
+    /**
+     * Destination message format config parameter name prefix, e.g. message-format-wfm_stats.
+     */
+    public static final String MESSAGE_FORMAT_PARAMETER_PREFIX = MESSAGE_FORMAT_PARAMETER + "-";
+
+    private KafkaProducer<String, byte[]> producer;
+    private TopicRouter topics = new TopicRouter();
+    private TopicFormats formats = new TopicFormats();
 
     /*
      * IFloodlightModule Methods
@@ -84,8 +102,16 @@ public class KafkaMessageProducer implements IFloodlightModule, IFloodlightServi
         kafkaProps.put("buffer.memory", 33554432);
         kafkaProps.put("linger.ms", 10);
         kafkaProps.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        kafkaProps.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        kafkaProps.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
         producer = new KafkaProducer<>(kafkaProps);
+        topics = new TopicRouter(configParameters, TOPIC_PARAMETER_PREFIX);
+        try {
+            formats = new TopicFormats(configParameters, TOPIC_PARAMETER_PREFIX, MESSAGE_FORMAT_PARAMETER,
+                    MESSAGE_FORMAT_PARAMETER_PREFIX);
+        } catch (IllegalArgumentException exception) {
+            throw new FloodlightModuleException(exception.getMessage());
+        }
+        logger.info("Kafka topics: {}, message formats: {}", topics, formats);
     }
 
     /**
@@ -103,11 +129,28 @@ public class KafkaMessageProducer implements IFloodlightModule, IFloodlightServi
      */
     public void postMessage(final String topic, final Message message) {
         try {
-            String messageString = MAPPER.writeValueAsString(message);
-            logger.debug("Posting: topic={}, message={}", topic, messageString);
-            producer.send(new ProducerRecord<>(topic, messageString));
-        } catch (JsonProcessingException e) {
+            logger.debug("Posting: topic={}, message={}", topic, message);
+            producer.send(new ProducerRecord<>(topic, formats.getFormat(topic).encode(message)));
+        } catch (IOException e) {
             logger.error("Can not serialize message: {}", message, e);
         }
     }
+
+    /**
+     * Send the message to Kafka topic of its destination.
+     *
+     * @param message message to pose
+     */
+    public void postMessage(final Message message) {
+        postMessage(topics.getTopic(message), message);
+    }
+
+    /**
+     * Returns destination topics.
+     *
+     * @return {@link TopicRouter} instance
+     */
+    public TopicRouter getTopics() {
+        return topics;
+    }
 }
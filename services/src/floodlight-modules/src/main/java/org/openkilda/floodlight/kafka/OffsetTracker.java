@@ -0,0 +1,133 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks offsets of records which are processed out of order. The committable offset of a topic partition is the
+ * lowest offset still being processed, so a commit never skips over a record which is not processed yet.
+ */
+class OffsetTracker {
+    /**
+     * Offsets by topic partition.
+     */
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the record as being processed, records of a topic partition are dispatched in offset order.
+     *
+     * @param partition topic partition
+     * @param offset    record offset
+     */
+    void dispatched(final TopicPartition partition, final long offset) {
+        partitions.computeIfAbsent(partition, key -> new PartitionOffsets()).dispatched(offset);
+    }
+
+    /**
+     * Marks the record as processed.
+     *
+     * @param partition topic partition
+     * @param offset    record offset
+     */
+    void processed(final TopicPartition partition, final long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets != null) {
+            offsets.processed(offset);
+        }
+    }
+
+    /**
+     * Marks the last dispatched record as not dispatched, it is dispatched again later.
+     *
+     * @param partition topic partition
+     * @param offset    record offset
+     */
+    void rejected(final TopicPartition partition, final long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets != null) {
+            offsets.rejected(offset);
+        }
+    }
+
+    /**
+     * Returns offsets to commit, only the ones advanced since the previous call are returned.
+     *
+     * @return offsets by topic partition
+     */
+    Map<TopicPartition, OffsetAndMetadata> committable() {
+        Map<TopicPartition, OffsetAndMetadata> result = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionOffsets> entry : partitions.entrySet()) {
+            long offset = entry.getValue().advance();
+            if (offset >= 0) {
+                result.put(entry.getKey(), new OffsetAndMetadata(offset));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stops tracking of the revoked topic partitions.
+     *
+     * @param revoked topic partitions
+     */
+    void forget(final Collection<TopicPartition> revoked) {
+        partitions.keySet().removeAll(revoked);
+    }
+
+    /**
+     * Offsets of a topic partition.
+     */
+    private static final class PartitionOffsets {
+        private final TreeSet<Long> inFlight = new TreeSet<>();
+        private long next = -1;
+        private long committed = -1;
+
+        private synchronized void dispatched(final long offset) {
+            inFlight.add(offset);
+            next = offset + 1;
+        }
+
+        private synchronized void processed(final long offset) {
+            inFlight.remove(offset);
+        }
+
+        private synchronized void rejected(final long offset) {
+            inFlight.remove(offset);
+            next = offset;
+        }
+
+        /**
+         * Returns new committable offset, -1 if it is not advanced.
+         */
+        private synchronized long advance() {
+            long offset = inFlight.isEmpty() ? next : inFlight.first();
+            if (offset <= committed) {
+                return -1;
+            }
+            committed = offset;
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes tasks with the same key one after another in order of submission, while tasks with different keys run in
+ * parallel. Keys are hashed to partitions, each partition is served by its own thread from its own bounded queue, so
+ * a slow key delays only the keys of its partition and a full queue is reported to the submitter instead of growing.
+ */
+class PartitionedExecutor {
+    /**
+     * Single threaded executors of the partitions.
+     */
+    private final ThreadPoolExecutor[] partitions;
+
+    /**
+     * Instance constructor.
+     *
+     * @param name       thread name prefix
+     * @param partitions number of partitions
+     * @param queueSize  queue size of each partition
+     */
+    PartitionedExecutor(final String name, final int partitions, final int queueSize) {
+        if (partitions <= 0 || queueSize <= 0) {
+            throw new IllegalArgumentException("Partitions and queue size should be positive");
+        }
+        this.partitions = new ThreadPoolExecutor[partitions];
+        for (int i = 0; i < partitions; i++) {
+            String threadName = String.format("%s-%d", name, i);
+            this.partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * Returns the partition of the key.
+     *
+     * @param key task key, null keys share the first partition
+     * @return partition index
+     */
+    int partitionOf(final Object key) {
+        return key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % partitions.length;
+    }
+
+    /**
+     * Submits the task unless the queue of its partition is full.
+     *
+     * @param key  task key
+     * @param task task
+     * @return false if the task is not accepted because the partition is full
+     */
+    boolean offer(final Object key, final Runnable task) {
+        try {
+            partitions[partitionOf(key)].execute(task);
+            return true;
+        } catch (RejectedExecutionException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting tasks, submitted tasks are still executed.
+     */
+    void shutdown() {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+    }
+}
@@ -17,9 +17,12 @@ package org.openkilda.floodlight.pathverification;
 
 import static org.openkilda.messaging.Utils.MAPPER;
 
+import org.openkilda.floodlight.kafka.KafkaMessageProducer;
 import org.openkilda.floodlight.pathverification.type.PathType;
 import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebRoutable;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.TopicRouter;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -31,12 +34,13 @@ import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IListener;
 import net.floodlightcontroller.core.IOFMessageListener;
 import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.IOFSwitchListener;
+import net.floodlightcontroller.core.PortChangeType;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
-import net.floodlightcontroller.packet.Data;
 import net.floodlightcontroller.packet.Ethernet;
 import net.floodlightcontroller.packet.IPv4;
 import net.floodlightcontroller.packet.LLDPTLV;
@@ -63,7 +67,6 @@ import org.projectfloodlight.openflow.types.MacAddress;
 import org.projectfloodlight.openflow.types.OFBufferId;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.TransportPort;
-import org.projectfloodlight.openflow.types.U64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,21 +79,37 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-
-public class PathVerificationService implements IFloodlightModule, IOFMessageListener, IPathVerificationService {
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PathVerificationService implements IFloodlightModule, IOFMessageListener, IOFSwitchListener,
+        IPathVerificationService {
     public static final String VERIFICATION_BCAST_PACKET_DST = "00:26:e1:ff:ff:ff";
     public static final int VERIFICATION_PACKET_UDP_PORT = 61231;
     public static final String VERIFICATION_PACKET_IP_DST = "192.168.0.255";
-    private static final String TOPIC = "kilda-test";
     private static final Logger logger = LoggerFactory.getLogger(PathVerificationService.class);
+    private static final String DEFAULT_PUBLISHER_QUEUE_SIZE = "1000";
 
     private IFloodlightProviderService floodlightProvider;
     private IOFSwitchService switchService;
     private IRestApiService restApiService;
     private boolean isAlive = false;
     private KafkaProducer<String, String> producer;
+    private ExecutorService publisher;
+    private String topic;
     private double islBandwidthQuotient = 1.0;
 
+    /**
+     * Broadcast verification packet templates by switch and port, dropped on any change of the switch or the port.
+     */
+    private final ConcurrentMap<DatapathId, ConcurrentMap<OFPort, VerificationPacketTemplate>> templates =
+            new ConcurrentHashMap<>();
+
     /**
      * IFloodlightModule Methods.
      */
@@ -129,14 +148,31 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
         Properties kafkaProps = new Properties();
         kafkaProps.put("bootstrap.servers", configParameters.get("bootstrap-servers"));
         kafkaProps.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        // isl events are read by the topology engine, which knows json only
+        MessageFormat format = MessageFormat.of(configParameters.get(KafkaMessageProducer.MESSAGE_FORMAT_PARAMETER));
+        if (format != MessageFormat.JSON) {
+            throw new FloodlightModuleException(String.format("%s format is not supported for the events topic, "
+                    + "only %s is", format, MessageFormat.JSON));
+        }
         kafkaProps.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
         producer = new KafkaProducer<>(kafkaProps);
+
+        int publisherQueueSize = Integer.parseInt(
+                configParameters.getOrDefault("publisher-queue-size", DEFAULT_PUBLISHER_QUEUE_SIZE));
+        publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(publisherQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "pathverification-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        topic = new TopicRouter(configParameters, KafkaMessageProducer.TOPIC_PARAMETER_PREFIX).getEventsTopic();
     }
 
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
         logger.info("Stating " + PathVerificationService.class.getCanonicalName());
         floodlightProvider.addOFMessageListener(OFType.PACKET_IN, this);
+        switchService.addOFSwitchListener(this);
         restApiService.addRestletRoutable(new PathVerificationServiceWebRoutable());
         isAlive = true;
     }
@@ -170,6 +206,42 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
         return Command.CONTINUE;
     }
 
+    /**
+     * IOFSwitchListener Methods.
+     */
+    @Override
+    public void switchAdded(DatapathId switchId) {
+        templates.remove(switchId);
+    }
+
+    @Override
+    public void switchRemoved(DatapathId switchId) {
+        templates.remove(switchId);
+    }
+
+    @Override
+    public void switchActivated(DatapathId switchId) {
+        templates.remove(switchId);
+    }
+
+    @Override
+    public void switchPortChanged(DatapathId switchId, OFPortDesc port, PortChangeType type) {
+        Map<OFPort, VerificationPacketTemplate> ports = templates.get(switchId);
+        if (ports != null) {
+            ports.remove(port.getPortNo());
+        }
+    }
+
+    @Override
+    public void switchChanged(DatapathId switchId) {
+        templates.remove(switchId);
+    }
+
+    @Override
+    public void switchDeactivated(DatapathId switchId) {
+        templates.remove(switchId);
+    }
+
     /**
      * IPathVerificationService Methods.
      */
@@ -215,101 +287,22 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
 
     public OFPacketOut generateVerificationPacket(IOFSwitch srcSw, OFPort port, IOFSwitch dstSw) {
         try {
-            OFPortDesc ofPortDesc = srcSw.getPort(port);
-
-            byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
-            byte[] portId = new byte[]{2, 0, 0};
-            byte[] ttlValue = new byte[]{0, 0x78};
-            byte[] dpidTLVValue = new byte[]{0x0, 0x26, (byte) 0xe1, 0, 0, 0, 0, 0, 0, 0, 0, 0};
-
-            LLDPTLV dpidTLV = new LLDPTLV().setType((byte) 127).setLength((short) dpidTLVValue.length)
-                    .setValue(dpidTLVValue);
-
-            byte[] dpidArray = new byte[8];
-            ByteBuffer dpidBB = ByteBuffer.wrap(dpidArray);
-            ByteBuffer portBB = ByteBuffer.wrap(portId, 1, 2);
-
-            DatapathId dpid = srcSw.getId();
-            dpidBB.putLong(dpid.getLong());
-            System.arraycopy(dpidArray, 2, chassisId, 1, 6);
-            // Set the optionalTLV to the full SwitchID
-            System.arraycopy(dpidArray, 0, dpidTLVValue, 4, 8);
-
-            byte[] srcMac = ofPortDesc.getHwAddr().getBytes();
-            byte[] zeroMac = {0, 0, 0, 0, 0, 0};
-            if (Arrays.equals(srcMac, zeroMac)) {
-                logger.warn("Port {}/{} has zero hardware address: overwrite with lower 6 bytes of dpid",
-                        dpid.toString(), ofPortDesc.getPortNo().getPortNumber());
-                System.arraycopy(dpidArray, 2, srcMac, 0, 6);
+            VerificationPacketTemplate template;
+            if (dstSw == null) {
+                template = templates.computeIfAbsent(srcSw.getId(), dpid -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(port, portNo -> buildTemplate(srcSw, port, null));
+            } else {
+                // unicast packets are sent on demand only, so they are not cached
+                template = buildTemplate(srcSw, port, dstSw);
             }
 
-            portBB.putShort(port.getShortPortNumber());
-
-            VerificationPacket vp = new VerificationPacket();
-            vp.setChassisId(
-                    new LLDPTLV().setType((byte) 1).setLength((short) chassisId.length).setValue(chassisId));
-
-            vp.setPortId(new LLDPTLV().setType((byte) 2).setLength((short) portId.length).setValue(portId));
-
-            vp.setTtl(
-                    new LLDPTLV().setType((byte) 3).setLength((short) ttlValue.length).setValue(ttlValue));
-
-            vp.getOptionalTLVList().add(dpidTLV);
-            // Add the controller identifier to the TLV value.
-            //    vp.getOptionalTLVList().add(controllerTLV);
-
             // Add T0 based on format from Floodlight LLDP
             long time = System.currentTimeMillis();
             long swLatency = srcSw.getLatency().getValue();
-            byte[] timestampTLVValue = ByteBuffer.allocate(Long.SIZE / 8 + 4).put((byte) 0x00)
-                    .put((byte) 0x26).put((byte) 0xe1)
-                    .put((byte) 0x01) // 0x01 is what we'll use to differentiate DPID (0x00) from time (0x01)
-                    .putLong(time + swLatency /* account for our switch's one-way latency */)
-                    .array();
-
-            LLDPTLV timestampTLV = new LLDPTLV().setType((byte) 127)
-                    .setLength((short) timestampTLVValue.length).setValue(timestampTLVValue);
-
-            vp.getOptionalTLVList().add(timestampTLV);
-
-            // Type
-            byte[] typeTLVValue = ByteBuffer.allocate(Integer.SIZE / 8 + 4).put((byte) 0x00)
-                    .put((byte) 0x26).put((byte) 0xe1)
-                    .put((byte) 0x02)
-                    .putInt(PathType.ISL.ordinal()).array();
-            LLDPTLV typeTLV = new LLDPTLV().setType((byte) 127)
-                    .setLength((short) typeTLVValue.length).setValue(typeTLVValue);
-            vp.getOptionalTLVList().add(typeTLV);
-
-            MacAddress dstMac = MacAddress.of(VERIFICATION_BCAST_PACKET_DST);
-            if (dstSw != null) {
-                OFPortDesc sw2OfPortDesc = dstSw.getPort(port);
-                dstMac = sw2OfPortDesc.getHwAddr();
-            }
-            Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
-                    .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
-
-            IPv4Address dstIp = IPv4Address.of(VERIFICATION_PACKET_IP_DST);
-            if (dstSw != null) {
-                dstIp = IPv4Address
-                        .of(((InetSocketAddress) dstSw.getInetAddress()).getAddress().getAddress());
-            }
-            IPv4 l3 = new IPv4()
-                    .setSourceAddress(
-                            IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
-                    .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
+            byte[] data = template.stamp(time + swLatency /* account for our switch's one-way latency */);
 
-            UDP l4 = new UDP();
-            l4.setSourcePort(TransportPort.of(VERIFICATION_PACKET_UDP_PORT));
-            l4.setDestinationPort(TransportPort.of(VERIFICATION_PACKET_UDP_PORT));
-
-            l2.setPayload(l3);
-            l3.setPayload(l4);
-            l4.setPayload(vp);
-
-            byte[] data = l2.serialize();
             OFPacketOut.Builder pob = srcSw.getOFFactory().buildPacketOut()
-                    .setBufferId(OFBufferId.NO_BUFFER).setActions(getDiscoveryActions(srcSw, port))
+                    .setBufferId(OFBufferId.NO_BUFFER).setActions(template.getActions())
                     .setData(data);
             OFMessageUtils.setInPort(pob, OFPort.CONTROLLER);
 
@@ -320,120 +313,185 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
         return null;
     }
 
-    private VerificationPacket deserialize(Ethernet eth) throws Exception {
-        if (eth.getPayload() instanceof IPv4) {
-            IPv4 ip = (IPv4) eth.getPayload();
+    /**
+     * Builds verification packet template of the port, the timestamp is set on each send.
+     */
+    private VerificationPacketTemplate buildTemplate(IOFSwitch srcSw, OFPort port, IOFSwitch dstSw) {
+        OFPortDesc ofPortDesc = srcSw.getPort(port);
+
+        byte[] chassisId = new byte[]{4, 0, 0, 0, 0, 0, 0};
+        byte[] portId = new byte[]{2, 0, 0};
+        byte[] ttlValue = new byte[]{0, 0x78};
+        byte[] dpidTLVValue = new byte[]{0x0, 0x26, (byte) 0xe1, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+        LLDPTLV dpidTLV = new LLDPTLV().setType((byte) 127).setLength((short) dpidTLVValue.length)
+                .setValue(dpidTLVValue);
+
+        byte[] dpidArray = new byte[8];
+        ByteBuffer dpidBB = ByteBuffer.wrap(dpidArray);
+        ByteBuffer portBB = ByteBuffer.wrap(portId, 1, 2);
+
+        DatapathId dpid = srcSw.getId();
+        dpidBB.putLong(dpid.getLong());
+        System.arraycopy(dpidArray, 2, chassisId, 1, 6);
+        // Set the optionalTLV to the full SwitchID
+        System.arraycopy(dpidArray, 0, dpidTLVValue, 4, 8);
+
+        byte[] srcMac = ofPortDesc.getHwAddr().getBytes();
+        byte[] zeroMac = {0, 0, 0, 0, 0, 0};
+        if (Arrays.equals(srcMac, zeroMac)) {
+            logger.warn("Port {}/{} has zero hardware address: overwrite with lower 6 bytes of dpid",
+                    dpid.toString(), ofPortDesc.getPortNo().getPortNumber());
+            System.arraycopy(dpidArray, 2, srcMac, 0, 6);
+        }
 
-            if (ip.getPayload() instanceof UDP) {
-                UDP udp = (UDP) ip.getPayload();
+        portBB.putShort(port.getShortPortNumber());
 
-                if ((udp.getSourcePort().getPort() == PathVerificationService.VERIFICATION_PACKET_UDP_PORT)
-                        && (udp.getDestinationPort()
-                        .getPort() == PathVerificationService.VERIFICATION_PACKET_UDP_PORT)) {
+        VerificationPacket vp = new VerificationPacket();
+        vp.setChassisId(
+                new LLDPTLV().setType((byte) 1).setLength((short) chassisId.length).setValue(chassisId));
 
-                    return new VerificationPacket((Data) udp.getPayload());
-                }
-            }
+        vp.setPortId(new LLDPTLV().setType((byte) 2).setLength((short) portId.length).setValue(portId));
+
+        vp.setTtl(
+                new LLDPTLV().setType((byte) 3).setLength((short) ttlValue.length).setValue(ttlValue));
+
+        vp.getOptionalTLVList().add(dpidTLV);
+        // Add the controller identifier to the TLV value.
+        //    vp.getOptionalTLVList().add(controllerTLV);
+
+        // Add T0 based on format from Floodlight LLDP, the value is patched by the template
+        byte[] timestampTLVValue = ByteBuffer.allocate(Long.SIZE / 8 + 4).put((byte) 0x00)
+                .put((byte) 0x26).put((byte) 0xe1)
+                .put((byte) 0x01) // 0x01 is what we'll use to differentiate DPID (0x00) from time (0x01)
+                .putLong(0L)
+                .array();
+
+        LLDPTLV timestampTLV = new LLDPTLV().setType((byte) 127)
+                .setLength((short) timestampTLVValue.length).setValue(timestampTLVValue);
+
+        vp.getOptionalTLVList().add(timestampTLV);
+
+        // Type
+        byte[] typeTLVValue = ByteBuffer.allocate(Integer.SIZE / 8 + 4).put((byte) 0x00)
+                .put((byte) 0x26).put((byte) 0xe1)
+                .put((byte) 0x02)
+                .putInt(PathType.ISL.ordinal()).array();
+        LLDPTLV typeTLV = new LLDPTLV().setType((byte) 127)
+                .setLength((short) typeTLVValue.length).setValue(typeTLVValue);
+        vp.getOptionalTLVList().add(typeTLV);
+
+        MacAddress dstMac = MacAddress.of(VERIFICATION_BCAST_PACKET_DST);
+        if (dstSw != null) {
+            OFPortDesc sw2OfPortDesc = dstSw.getPort(port);
+            dstMac = sw2OfPortDesc.getHwAddr();
+        }
+        Ethernet l2 = new Ethernet().setSourceMACAddress(MacAddress.of(srcMac))
+                .setDestinationMACAddress(dstMac).setEtherType(EthType.IPv4);
+
+        IPv4Address dstIp = IPv4Address.of(VERIFICATION_PACKET_IP_DST);
+        if (dstSw != null) {
+            dstIp = IPv4Address
+                    .of(((InetSocketAddress) dstSw.getInetAddress()).getAddress().getAddress());
         }
-        throw new Exception("Ethernet packet was not a verification packet");
+        IPv4 l3 = new IPv4()
+                .setSourceAddress(
+                        IPv4Address.of(((InetSocketAddress) srcSw.getInetAddress()).getAddress().getAddress()))
+                .setDestinationAddress(dstIp).setTtl((byte) 64).setProtocol(IpProtocol.UDP);
+
+        UDP l4 = new UDP();
+        l4.setSourcePort(TransportPort.of(VERIFICATION_PACKET_UDP_PORT));
+        l4.setDestinationPort(TransportPort.of(VERIFICATION_PACKET_UDP_PORT));
+
+        l2.setPayload(l3);
+        l3.setPayload(l4);
+        l4.setPayload(vp);
+
+        return new VerificationPacketTemplate(l2.serialize(), getDiscoveryActions(srcSw, port));
     }
 
     private IListener.Command handlePacketIn(IOFSwitch sw, OFPacketIn pkt, FloodlightContext context) {
         long time = System.currentTimeMillis();
         logger.debug("packet_in {} received from {}", pkt.getXid(), sw.getId());
 
-        VerificationPacket verificationPacket = null;
-        Command command = Command.CONTINUE;
-
-        Ethernet eth = IFloodlightProviderService.bcStore.get(context, IFloodlightProviderService.CONTEXT_PI_PAYLOAD);
-
-        try {
-            verificationPacket = deserialize(eth);
-            command = Command.STOP;
-        } catch (Exception exception) {
-            logger.error("Deserialization failure: {}", exception.getMessage(), exception);
+        VerificationPacketClassifier.Record record = VerificationPacketClassifier.classify(pkt.getData());
+        if (record == null) {
+            return Command.CONTINUE;
         }
 
         try {
             OFPort inPort = pkt.getVersion().compareTo(OFVersion.OF_12) < 0 ? pkt.getInPort()
                     : pkt.getMatch().get(MatchField.IN_PORT);
-            ByteBuffer portBB = ByteBuffer.wrap(verificationPacket.getPortId().getValue());
-            portBB.position(1);
-            OFPort remotePort = OFPort.of(portBB.getShort());
-
-            long timestamp = 0;
-            int pathOrdinal = 10;
-            IOFSwitch remoteSwitch = null;
-            for (LLDPTLV lldptlv : verificationPacket.getOptionalTLVList()) {
-                if (lldptlv.getType() == 127 && lldptlv.getLength() == 12
-                        && lldptlv.getValue()[0] == 0x0
-                        && lldptlv.getValue()[1] == 0x26
-                        && lldptlv.getValue()[2] == (byte) 0xe1
-                        && lldptlv.getValue()[3] == 0x0) {
-                    ByteBuffer dpidBB = ByteBuffer.wrap(lldptlv.getValue());
-                    remoteSwitch = switchService.getSwitch(DatapathId.of(dpidBB.getLong(4)));
-                } else if (lldptlv.getType() == 127 && lldptlv.getLength() == 12
-                        && lldptlv.getValue()[0] == 0x0
-                        && lldptlv.getValue()[1] == 0x26
-                        && lldptlv.getValue()[2] == (byte) 0xe1
-                        && lldptlv.getValue()[3] == 0x01) {
-                    ByteBuffer tsBB = ByteBuffer.wrap(lldptlv.getValue()); /* skip OpenFlow OUI (4 bytes above) */
-                    long swLatency = sw.getLatency().getValue();
-                    timestamp = tsBB.getLong(4); /* include the RX switch latency to "subtract" it */
-                    timestamp = timestamp + swLatency;
-                } else if (lldptlv.getType() == 127 && lldptlv.getLength() == 8
-                        && lldptlv.getValue()[0] == 0x0
-                        && lldptlv.getValue()[1] == 0x26
-                        && lldptlv.getValue()[2] == (byte) 0xe1
-                        && lldptlv.getValue()[3] == 0x02) {
-                    ByteBuffer typeBB = ByteBuffer.wrap(lldptlv.getValue());
-                    pathOrdinal = typeBB.getInt(4);
-                }
+
+            IOFSwitch remoteSwitch = record.isComplete()
+                    ? switchService.getSwitch(DatapathId.of(record.getRemoteDpid())) : null;
+            if (remoteSwitch == null) {
+                logger.error("could not find sender of verification packet received by {}-{}", sw.getId(), inPort);
+                return Command.STOP;
             }
 
-            U64 latency = (timestamp != 0 && (time - timestamp) > 0) ? U64.of(time - timestamp) : U64.ZERO;
+            /* include the RX switch latency to "subtract" it */
+            long timestamp = record.getTimestamp() != 0 ? record.getTimestamp() + sw.getLatency().getValue() : 0;
+            long latency = (timestamp != 0 && (time - timestamp) > 0) ? time - timestamp : 0;
+            long speed = getSpeed(sw.getPort(inPort));
+
+            DatapathId remoteId = remoteSwitch.getId();
+            int remotePort = record.getRemotePort();
+            DatapathId localId = sw.getId();
+            int localPort = inPort.getPortNumber();
 
             logger.debug("link discovered: {}-{} ===( {} ms )===> {}-{}",
-                    remoteSwitch.getId(), remotePort, latency.getValue(), sw.getId(), inPort);
+                    remoteId, remotePort, latency, localId, localPort);
+
+            // the message is built and serialized out of the packet_in thread
+            publisher.execute(() -> publishIsl(remoteId, remotePort, latency, localId, localPort, speed));
+        } catch (RejectedExecutionException exception) {
+            logger.warn("discovery publisher queue is full, packet_in from {} is dropped", sw.getId());
+        } catch (Exception exception) {
+            logger.error("unknown error during packet_in message processing: {}", exception.getMessage(), exception);
+        }
 
+        return Command.STOP;
+    }
+
+    private void publishIsl(DatapathId remoteId, int remotePort, long latency, DatapathId localId, int localPort,
+                            long speed) {
+        try {
             // this verification packet was sent from remote switch/port to received switch/port
             // so the link direction is from remote switch/port to received switch/port
             List<PathNode> nodes = Arrays.asList(
-                    new PathNode(remoteSwitch.getId().toString(), remotePort.getPortNumber(), 0, latency.getValue()),
-                    new PathNode(sw.getId().toString(), inPort.getPortNumber(), 1));
-
-            OFPortDesc port = sw.getPort(inPort);
-            long speed = Integer.MAX_VALUE;
-
-            if (port.getVersion().compareTo(OFVersion.OF_13) > 0) {
-                for (OFPortDescProp prop : port.getProperties()) {
-                    if (prop.getType() == 0x0) {
-                        speed = ((OFPortDescPropEthernet) prop).getCurrSpeed();
-                    }
-                }
-            } else {
-                speed = port.getCurrSpeed();
-            }
+                    new PathNode(remoteId.toString(), remotePort, 0, latency),
+                    new PathNode(localId.toString(), localPort, 1));
 
-            IslInfoData path = new IslInfoData(latency.getValue(), nodes, speed, IslChangeType.DISCOVERED,
+            IslInfoData path = new IslInfoData(latency, nodes, speed, IslChangeType.DISCOVERED,
                     getAvailableBandwidth(speed));
 
             Message message = new InfoMessage(path, System.currentTimeMillis(), "system", null);
 
             final String json = MAPPER.writeValueAsString(message);
             logger.debug("about to send {}", json);
-            producer.send(new ProducerRecord<>(TOPIC, json));
-            logger.debug("packet_in processed for {}-{}", sw.getId(), inPort);
-
+            producer.send(new ProducerRecord<>(topic, json));
+            logger.debug("packet_in processed for {}-{}", localId, localPort);
         } catch (JsonProcessingException exception) {
             logger.error("could not create json for path packet_in: {}", exception.getMessage(), exception);
-        } catch (UnsupportedOperationException exception) {
-            logger.error("could not parse packet_in message: {}", exception.getMessage(), exception);
         } catch (Exception exception) {
-            logger.error("unknown error during packet_in message processing: {}", exception.getMessage(), exception);
+            logger.error("unknown error during isl publishing: {}", exception.getMessage(), exception);
         }
+    }
+
+    private static long getSpeed(OFPortDesc port) {
+        long speed = Integer.MAX_VALUE;
 
-        return command;
+        if (port.getVersion().compareTo(OFVersion.OF_13) > 0) {
+            for (OFPortDescProp prop : port.getProperties()) {
+                if (prop.getType() == 0x0) {
+                    speed = ((OFPortDescPropEthernet) prop).getCurrSpeed();
+                }
+            }
+        } else {
+            speed = port.getCurrSpeed();
+        }
+        return speed;
     }
 
     private long getAvailableBandwidth(long speed) {
@@ -0,0 +1,164 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+/**
+ * Recognises verification packets in raw packet in data and reads the fields of the sender, without building
+ * Ethernet, IPv4, UDP and LLDP objects. Packets of other kinds are rejected after a few offset reads and cost no
+ * allocation.
+ */
+final class VerificationPacketClassifier {
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final int ETHER_TYPE_VLAN = 0x8100;
+    private static final int ETHER_TYPE_QINQ = 0x88a8;
+    private static final int ETHER_TYPE_IPV4 = 0x0800;
+    private static final int VLAN_TAG_LENGTH = 4;
+    private static final int IP_HEADER_MIN_LENGTH = 20;
+    private static final int IP_PROTOCOL_UDP = 17;
+    private static final int UDP_HEADER_LENGTH = 8;
+
+    private static final int TLV_END = 0;
+    private static final int TLV_PORT_ID = 2;
+    private static final int TLV_ORGANIZATIONAL = 127;
+    private static final int OUI_LENGTH = 4;
+    private static final int OUI_DPID = 0x0026e100;
+    private static final int OUI_TIMESTAMP = 0x0026e101;
+
+    private VerificationPacketClassifier() {
+    }
+
+    /**
+     * Reads the verification packet.
+     *
+     * @param data packet in data, an Ethernet frame
+     * @return {@link Record} of the packet, null if it is not a verification packet
+     */
+    static Record classify(final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        int offset = ETHER_TYPE_OFFSET;
+        int etherType = readShort(data, offset);
+        while (etherType == ETHER_TYPE_VLAN || etherType == ETHER_TYPE_QINQ) {
+            offset += VLAN_TAG_LENGTH;
+            etherType = readShort(data, offset);
+        }
+        if (etherType != ETHER_TYPE_IPV4) {
+            return null;
+        }
+
+        int ip = offset + 2;
+        if (data.length < ip + IP_HEADER_MIN_LENGTH || (data[ip] & 0xf0) != 0x40
+                || (data[ip + 9] & 0xff) != IP_PROTOCOL_UDP) {
+            return null;
+        }
+
+        int udp = ip + (data[ip] & 0x0f) * 4;
+        if (readShort(data, udp) != PathVerificationService.VERIFICATION_PACKET_UDP_PORT
+                || readShort(data, udp + 2) != PathVerificationService.VERIFICATION_PACKET_UDP_PORT) {
+            return null;
+        }
+
+        int end = Math.min(udp + readShort(data, udp + 4), data.length);
+        return readTlvs(data, udp + UDP_HEADER_LENGTH, end);
+    }
+
+    private static Record readTlvs(final byte[] data, final int start, final int end) {
+        Record record = new Record();
+
+        int offset = start;
+        while (offset + 2 <= end) {
+            int header = readShort(data, offset);
+            int type = header >>> 9;
+            int length = header & 0x1ff;
+            int value = offset + 2;
+            if (type == TLV_END || value + length > end) {
+                break;
+            }
+
+            if (type == TLV_PORT_ID && length == 3) {
+                // subtype and the port number
+                record.remotePort = readShort(data, value + 1);
+            } else if (type == TLV_ORGANIZATIONAL && length == OUI_LENGTH + Long.BYTES) {
+                int oui = readInt(data, value);
+                if (oui == OUI_DPID) {
+                    record.remoteDpid = readLong(data, value + OUI_LENGTH);
+                    record.hasRemoteDpid = true;
+                } else if (oui == OUI_TIMESTAMP) {
+                    record.timestamp = readLong(data, value + OUI_LENGTH);
+                }
+            }
+            offset = value + length;
+        }
+
+        return record;
+    }
+
+    /**
+     * Returns unsigned 16 bit value, -1 if the data is too short.
+     */
+    private static int readShort(final byte[] data, final int offset) {
+        if (offset + 2 > data.length) {
+            return -1;
+        }
+        return (data[offset] & 0xff) << 8 | data[offset + 1] & 0xff;
+    }
+
+    private static int readInt(final byte[] data, final int offset) {
+        return readShort(data, offset) << 16 | readShort(data, offset + 2);
+    }
+
+    private static long readLong(final byte[] data, final int offset) {
+        return (long) readInt(data, offset) << 32 | readInt(data, offset + 4) & 0xffffffffL;
+    }
+
+    /**
+     * Sender of the verification packet.
+     */
+    static final class Record {
+        private long remoteDpid;
+        private boolean hasRemoteDpid;
+        private int remotePort = -1;
+        private long timestamp;
+
+        /**
+         * Returns whether the packet has the sender switch and port.
+         *
+         * @return true if the sender is known
+         */
+        boolean isComplete() {
+            return hasRemoteDpid && remotePort >= 0;
+        }
+
+        long getRemoteDpid() {
+            return remoteDpid;
+        }
+
+        int getRemotePort() {
+            return remotePort;
+        }
+
+        /**
+         * Returns the send time, including the sender switch latency.
+         *
+         * @return timestamp in milliseconds, 0 if the packet has no timestamp
+         */
+        long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import org.projectfloodlight.openflow.protocol.action.OFAction;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serialized verification packet of a switch port and the packet out actions. Everything in the packet except the
+ * timestamp is the same for every packet sent out of the port, so it is built once and each packet is a copy of the
+ * template with the timestamp TLV value and the UDP checksum patched, without building and serializing the packet
+ * object graph.
+ */
+class VerificationPacketTemplate {
+    /**
+     * Header and the first value bytes of the timestamp TLV: type 127, length 12, OpenFlow OUI and the subtype 0x01.
+     */
+    private static final byte[] TIMESTAMP_TLV = new byte[]{(byte) 0xfe, 0x0c, 0x00, 0x26, (byte) 0xe1, 0x01};
+
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final int IP_OFFSET = 14;
+    private static final int IP_SOURCE_OFFSET = IP_OFFSET + 12;
+    private static final int UDP_HEADER_LENGTH = 8;
+    private static final int UDP_CHECKSUM_OFFSET = 6;
+    private static final int UDP_PROTOCOL = 17;
+
+    /**
+     * Serialized Ethernet frame.
+     */
+    private final byte[] frame;
+
+    /**
+     * Offset of the UDP header in the frame.
+     */
+    private final int udpOffset;
+
+    /**
+     * Offset of the timestamp in the frame.
+     */
+    private final int timestampOffset;
+
+    /**
+     * Packet out actions.
+     */
+    private final List<OFAction> actions;
+
+    /**
+     * Instance constructor.
+     *
+     * @param frame   serialized Ethernet frame of the verification packet with IPv4 and UDP headers
+     * @param actions packet out actions
+     * @throws IllegalArgumentException if the frame is not a verification packet
+     */
+    VerificationPacketTemplate(final byte[] frame, final List<OFAction> actions) {
+        if (frame.length < IP_OFFSET + 20 || frame[ETHER_TYPE_OFFSET] != 0x08 || frame[ETHER_TYPE_OFFSET + 1] != 0) {
+            throw new IllegalArgumentException("Verification packet is not an IPv4 packet");
+        }
+        this.frame = frame;
+        this.udpOffset = IP_OFFSET + (frame[IP_OFFSET] & 0x0f) * 4;
+
+        int timestampTlv = indexOf(frame, TIMESTAMP_TLV, udpOffset + UDP_HEADER_LENGTH);
+        if (timestampTlv < 0) {
+            throw new IllegalArgumentException("Verification packet has no timestamp");
+        }
+        // the value starts after the TLV header and the OUI with subtype
+        this.timestampOffset = timestampTlv + 2 + 4;
+        this.actions = actions;
+    }
+
+    /**
+     * Returns packet out actions.
+     *
+     * @return packet out actions
+     */
+    List<OFAction> getActions() {
+        return actions;
+    }
+
+    /**
+     * Returns the packet with the timestamp.
+     *
+     * @param timestamp timestamp in milliseconds
+     * @return serialized Ethernet frame
+     */
+    byte[] stamp(final long timestamp) {
+        byte[] data = Arrays.copyOf(frame, frame.length);
+        for (int i = 0; i < Long.BYTES; i++) {
+            data[timestampOffset + i] = (byte) (timestamp >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+
+        data[udpOffset + UDP_CHECKSUM_OFFSET] = 0;
+        data[udpOffset + UDP_CHECKSUM_OFFSET + 1] = 0;
+        int checksum = udpChecksum(data);
+        data[udpOffset + UDP_CHECKSUM_OFFSET] = (byte) (checksum >> 8);
+        data[udpOffset + UDP_CHECKSUM_OFFSET + 1] = (byte) checksum;
+        return data;
+    }
+
+    /**
+     * Computes UDP checksum over the IPv4 pseudo header and the UDP datagram, the checksum field should be zero.
+     */
+    private int udpChecksum(final byte[] data) {
+        int length = word(data, udpOffset + 4);
+
+        // source and destination addresses, protocol and UDP length
+        long sum = 0;
+        for (int i = IP_SOURCE_OFFSET; i < IP_SOURCE_OFFSET + 8; i += 2) {
+            sum += word(data, i);
+        }
+        sum += UDP_PROTOCOL + length;
+
+        int end = udpOffset + length;
+        for (int i = udpOffset; i < end; i += 2) {
+            sum += i + 1 < end ? word(data, i) : (data[i] & 0xff) << 8;
+        }
+
+        while (sum >> 16 != 0) {
+            sum = (sum & 0xffff) + (sum >> 16);
+        }
+        int checksum = (int) ~sum & 0xffff;
+        // zero means no checksum
+        return checksum == 0 ? 0xffff : checksum;
+    }
+
+    private static int word(final byte[] data, final int offset) {
+        return (data[offset] & 0xff) << 8 | data[offset + 1] & 0xff;
+    }
+
+    private static int indexOf(final byte[] data, final byte[] pattern, final int from) {
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            int j = 0;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
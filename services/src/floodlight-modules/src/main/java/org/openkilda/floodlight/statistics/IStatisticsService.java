@@ -17,5 +17,13 @@ package org.openkilda.floodlight.statistics;
 
 import net.floodlightcontroller.core.module.IFloodlightService;
 
+import java.util.Map;
+
 public interface IStatisticsService extends IFloodlightService {
+    /**
+     * Returns poll statistics of the connected switches.
+     *
+     * @return {@link PollStats} by switch id by statistics type
+     */
+    Map<String, Map<String, PollStats>> getPollStats();
 }
@@ -0,0 +1,174 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schedules polls of one statistics type. Each switch gets its own phase offset within the interval when it is
+ * seen first, offsets follow the golden ratio sequence, so polls of any number of switches are spread evenly over
+ * the interval instead of firing at the same instant. A switch whose previous reply has not arrived yet is not
+ * polled again, the poll is counted as missed and the switch is backed off for a growing number of intervals, until
+ * it replies or the request is considered lost.
+ */
+class PollScheduler {
+    /**
+     * Highest number of intervals a switch is backed off for.
+     */
+    static final int MAX_BACKOFF = 8;
+
+    /**
+     * Fractional part of the golden ratio.
+     */
+    private static final double GOLDEN_RATIO = 0.6180339887498949;
+
+    /**
+     * Poll interval in milliseconds.
+     */
+    private final long interval;
+
+    /**
+     * Poll states by switch.
+     */
+    private final Map<DatapathId, PollState> states = new HashMap<>();
+
+    /**
+     * Number of phase offsets given out so far.
+     */
+    private long phases;
+
+    /**
+     * Instance constructor.
+     *
+     * @param interval poll interval in milliseconds
+     */
+    PollScheduler(final long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Poll interval should be positive");
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * Returns switches to be polled now and marks their requests as sent. Switches which are not connected anymore
+     * are forgotten.
+     *
+     * @param switches connected switches
+     * @param now      current time in milliseconds
+     * @return switches to poll
+     */
+    synchronized List<DatapathId> due(final Set<DatapathId> switches, final long now) {
+        states.keySet().retainAll(switches);
+
+        List<DatapathId> due = new ArrayList<>();
+        for (DatapathId dpid : switches) {
+            PollState state = states.computeIfAbsent(dpid, id -> new PollState(now + nextPhase()));
+            if (now < state.nextPoll) {
+                continue;
+            }
+
+            if (state.sentAt >= 0 && now - state.sentAt < interval * MAX_BACKOFF) {
+                state.missed++;
+                state.backoff = Math.min(state.backoff * 2, MAX_BACKOFF);
+                state.nextPoll = align(state.nextPoll + interval * state.backoff, now);
+                continue;
+            }
+
+            state.sentAt = now;
+            state.nextPoll = align(state.nextPoll + interval, now);
+            due.add(dpid);
+        }
+        return due;
+    }
+
+    /**
+     * Records a reply of the switch.
+     *
+     * @param dpid switch id
+     * @param now  current time in milliseconds
+     */
+    synchronized void replied(final DatapathId dpid, final long now) {
+        PollState state = states.get(dpid);
+        if (state != null && state.sentAt >= 0) {
+            state.latency = now - state.sentAt;
+            state.sentAt = -1;
+            state.backoff = 1;
+        }
+    }
+
+    /**
+     * Records a failed request to the switch.
+     *
+     * @param dpid switch id
+     */
+    synchronized void failed(final DatapathId dpid) {
+        PollState state = states.get(dpid);
+        if (state != null) {
+            state.failures++;
+            state.sentAt = -1;
+        }
+    }
+
+    /**
+     * Returns poll statistics of the switches.
+     *
+     * @return {@link PollStats} by switch id
+     */
+    synchronized Map<String, PollStats> getStats() {
+        Map<String, PollStats> stats = new HashMap<>(states.size());
+        for (Map.Entry<DatapathId, PollState> entry : states.entrySet()) {
+            PollState state = entry.getValue();
+            stats.put(entry.getKey().toString(),
+                    new PollStats(state.latency, state.missed, state.failures, state.backoff));
+        }
+        return stats;
+    }
+
+    /**
+     * Moves the poll time past the current time keeping its phase, so a switch which was not polled for a while,
+     * e.g. because the scheduler thread was busy, is not polled several times in a row.
+     */
+    private long align(final long nextPoll, final long now) {
+        if (nextPoll > now) {
+            return nextPoll;
+        }
+        return nextPoll + ((now - nextPoll) / interval + 1) * interval;
+    }
+
+    private long nextPhase() {
+        double fraction = (phases++ * GOLDEN_RATIO) % 1.0;
+        return (long) (fraction * interval);
+    }
+
+    private static final class PollState {
+        private long nextPoll;
+        private long sentAt = -1;
+        private long latency = -1;
+        private long missed;
+        private long failures;
+        private int backoff = 1;
+
+        private PollState(final long nextPoll) {
+            this.nextPoll = nextPoll;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Poll statistics of a switch for one statistics type.
+ */
+public class PollStats {
+    /**
+     * Latency of the last reply in milliseconds, -1 if the switch has not replied yet.
+     */
+    @JsonProperty("latency")
+    private final long latency;
+
+    /**
+     * Number of polls skipped because the previous reply had not arrived.
+     */
+    @JsonProperty("missed")
+    private final long missed;
+
+    /**
+     * Number of failed requests.
+     */
+    @JsonProperty("failures")
+    private final long failures;
+
+    /**
+     * Current backoff in intervals.
+     */
+    @JsonProperty("backoff")
+    private final int backoff;
+
+    /**
+     * Instance constructor.
+     *
+     * @param latency  latency of the last reply in milliseconds
+     * @param missed   number of missed polls
+     * @param failures number of failed requests
+     * @param backoff  current backoff in intervals
+     */
+    public PollStats(final long latency, final long missed, final long failures, final int backoff) {
+        this.latency = latency;
+        this.missed = missed;
+        this.failures = failures;
+        this.backoff = backoff;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+
+    public long getMissed() {
+        return missed;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public int getBackoff() {
+        return backoff;
+    }
+}
@@ -19,12 +19,15 @@ import static java.util.stream.Collectors.toList;
 import static org.openkilda.messaging.Utils.SYSTEM_CORRELATION_ID;
 
 import org.openkilda.floodlight.kafka.KafkaMessageProducer;
+import org.openkilda.floodlight.statistics.web.StatisticsWebRoutable;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.messaging.info.stats.MeterConfigReply;
+import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.messaging.info.stats.PortStatsReply;
@@ -32,19 +35,23 @@ import org.openkilda.messaging.info.stats.PortStatsReply;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import net.floodlightcontroller.core.IFloodlightProviderService;
+import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
-import org.projectfloodlight.openflow.protocol.OFFactory;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFPortStatsProp;
 import org.projectfloodlight.openflow.protocol.OFPortStatsPropEthernet;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFStatsReply;
 import org.projectfloodlight.openflow.protocol.OFVersion;
+import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFGroup;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
@@ -54,24 +61,37 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ * Each statistics type is polled with its own interval, polls of the switches are spread over the interval by
+ * {@link PollScheduler} instead of being sent to all switches at once.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
     private static final U64 SYSTEM_MASK = U64.of(0x8000000000000000L);
     private static final long OFPM_ALL = 0xffffffffL;
-    private static final String TOPIC = "kilda-test";
+    private static final long TICK_MILLIS = 100L;
+    private static final String DEFAULT_METER_INTERVAL = "0";
+    private static final String PORT = "port";
+    private static final String FLOW = "flow";
+    private static final String METER = "meter";
 
     private IOFSwitchService switchService;
     private KafkaMessageProducer kafkaProducer;
     private IThreadPoolService threadPoolService;
-    private int interval;
+    private IRestApiService restApiService;
+    private PollScheduler portScheduler;
+    private PollScheduler flowScheduler;
+    private PollScheduler meterScheduler;
 
     @Override
     public Collection<Class<? extends IFloodlightService>> getModuleServices() {
@@ -85,10 +105,11 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
     @Override
     public Collection<Class<? extends IFloodlightService>> getModuleDependencies() {
-        Collection<Class<? extends IFloodlightService>> services = new ArrayList<>(3);
+        Collection<Class<? extends IFloodlightService>> services = new ArrayList<>(4);
         services.add(IFloodlightProviderService.class);
         services.add(IOFSwitchService.class);
         services.add(IThreadPoolService.class);
+        services.add(IRestApiService.class);
         return services;
     }
 
@@ -97,130 +118,230 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         switchService = context.getServiceImpl(IOFSwitchService.class);
         threadPoolService = context.getServiceImpl(IThreadPoolService.class);
         kafkaProducer = context.getServiceImpl(KafkaMessageProducer.class);
+        restApiService = context.getServiceImpl(IRestApiService.class);
         Map<String, String> configParameters = context.getConfigParams(this);
-        interval = Integer.valueOf(configParameters.get("interval"));
+        String interval = configParameters.get("interval");
+        portScheduler = scheduler(configParameters, "port-interval", interval);
+        flowScheduler = scheduler(configParameters, "flow-interval", interval);
+        meterScheduler = scheduler(configParameters, "meter-interval", DEFAULT_METER_INTERVAL);
     }
 
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
-        if (interval > 0) {
+        restApiService.addRestletRoutable(new StatisticsWebRoutable());
+
+        if (portScheduler != null || flowScheduler != null || meterScheduler != null) {
             threadPoolService.getScheduledExecutor().scheduleAtFixedRate(
-                    () -> switchService.getAllSwitchMap().values().forEach(iofSwitch -> {
-                        OFFactory factory = iofSwitch.getOFFactory();
-                        final String switchId = iofSwitch.getId().toString();
-
-                        OFPortStatsRequest portStatsRequest = factory
-                                .buildPortStatsRequest()
-                                .setPortNo(OFPort.ANY)
-                                .build();
-
-                        OFFlowStatsRequest flowStatsRequest = factory
-                                .buildFlowStatsRequest()
-                                .setOutGroup(OFGroup.ANY)
-                                .setCookieMask(SYSTEM_MASK)
-                                .build();
-
-                        logger.info("Getting port stats for switch={}", iofSwitch.getId());
-
-                        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest),
-                                new RequestCallback<>(data -> {
-                                    List<PortStatsReply> replies = data.stream().map(reply -> {
-                                        List<PortStatsEntry> entries = reply.getEntries().stream()
-                                                .map(entry -> {
-                                                    if (entry.getVersion().compareTo(OFVersion.OF_13) > 0) {
-                                                        long rxFrameErr, rxOverErr, rxCrcErr, collisions;
-                                                        rxFrameErr = rxOverErr = rxCrcErr = collisions = 0;
-
-                                                        for (OFPortStatsProp property : entry.getProperties()) {
-                                                            if (property.getType() == 0x0) {
-                                                                OFPortStatsPropEthernet etherProps =
-                                                                        (OFPortStatsPropEthernet) property;
-                                                                rxFrameErr = etherProps.getRxFrameErr().getValue();
-                                                                rxOverErr = etherProps.getRxOverErr().getValue();
-                                                                rxCrcErr = etherProps.getRxCrcErr().getValue();
-                                                                collisions = etherProps.getCollisions().getLength();
-                                                            }
-                                                        }
-
-                                                        return new PortStatsEntry(
-                                                                entry.getPortNo().getPortNumber(),
-                                                                entry.getRxPackets().getValue(),
-                                                                entry.getTxPackets().getValue(),
-                                                                entry.getRxBytes().getValue(),
-                                                                entry.getTxBytes().getValue(),
-                                                                entry.getRxDropped().getValue(),
-                                                                entry.getTxDropped().getValue(),
-                                                                entry.getRxErrors().getValue(),
-                                                                entry.getTxErrors().getValue(),
-                                                                rxFrameErr,
-                                                                rxOverErr,
-                                                                rxCrcErr,
-                                                                collisions);
-                                                    } else {
-                                                        return new PortStatsEntry(
-                                                                entry.getPortNo().getPortNumber(),
-                                                                entry.getRxPackets().getValue(),
-                                                                entry.getTxPackets().getValue(),
-                                                                entry.getRxBytes().getValue(),
-                                                                entry.getTxBytes().getValue(),
-                                                                entry.getRxDropped().getValue(),
-                                                                entry.getTxDropped().getValue(),
-                                                                entry.getRxErrors().getValue(),
-                                                                entry.getTxErrors().getValue(),
-                                                                entry.getRxFrameErr().getValue(),
-                                                                entry.getRxOverErr().getValue(),
-                                                                entry.getRxCrcErr().getValue(),
-                                                                entry.getCollisions().getValue());
-                                                    }
-                                                })
-                                                .collect(toList());
-                                        return new PortStatsReply(reply.getXid(), entries);
-                                    }).collect(toList());
-                                    return new PortStatsData(switchId, replies);
-                                }, "port"));
-
-                        if (factory.getVersion().compareTo(OFVersion.OF_15) != 0) {
-                            // skip flow stats for OF 1.5 protocol version
-                            logger.info("Getting flow stats for switch={}", iofSwitch.getId());
-
-                            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest),
-                                    new RequestCallback<>(data -> {
-                                        List<FlowStatsReply> replies = data.stream().map(reply -> {
-                                            List<FlowStatsEntry> entries = reply.getEntries().stream()
-                                                    .map(entry -> new FlowStatsEntry(
-                                                            entry.getTableId().getValue(),
-                                                            entry.getCookie().getValue(),
-                                                            entry.getPacketCount().getValue(),
-                                                            entry.getByteCount().getValue()))
-                                                    .collect(toList());
-                                            return new FlowStatsReply(reply.getXid(), entries);
-                                        }).collect(toList());
-                                        return new FlowStatsData(switchId, replies);
-                                    }, "flow"));
-                        }
-                    }), interval, interval, TimeUnit.SECONDS);
+                    this::poll, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Map<String, PollStats>> getPollStats() {
+        Map<String, Map<String, PollStats>> stats = new HashMap<>();
+        if (portScheduler != null) {
+            stats.put(PORT, portScheduler.getStats());
+        }
+        if (flowScheduler != null) {
+            stats.put(FLOW, flowScheduler.getStats());
+        }
+        if (meterScheduler != null) {
+            stats.put(METER, meterScheduler.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Sends statistics requests to the switches whose poll time has come.
+     */
+    private void poll() {
+        try {
+            Map<DatapathId, IOFSwitch> switches = switchService.getAllSwitchMap();
+            long now = System.currentTimeMillis();
+
+            if (portScheduler != null) {
+                for (DatapathId dpid : portScheduler.due(switches.keySet(), now)) {
+                    pollPorts(switches.get(dpid));
+                }
+            }
+            if (flowScheduler != null) {
+                // skip flow stats for OF 1.5 protocol version
+                Set<DatapathId> supported = supported(switches, version -> version.compareTo(OFVersion.OF_15) != 0);
+                for (DatapathId dpid : flowScheduler.due(supported, now)) {
+                    pollFlows(switches.get(dpid));
+                }
+            }
+            if (meterScheduler != null) {
+                // meters are supported since OF 1.3 protocol version
+                Set<DatapathId> supported = supported(switches, version -> version.compareTo(OFVersion.OF_13) >= 0);
+                for (DatapathId dpid : meterScheduler.due(supported, now)) {
+                    pollMeters(switches.get(dpid));
+                }
+            }
+        } catch (Exception exception) {
+            // an exception would cancel the periodic task
+            logger.error("Could not poll switch statistics", exception);
+        }
+    }
+
+    private void pollPorts(IOFSwitch iofSwitch) {
+        final String switchId = iofSwitch.getId().toString();
+        OFPortStatsRequest portStatsRequest = iofSwitch.getOFFactory()
+                .buildPortStatsRequest()
+                .setPortNo(OFPort.ANY)
+                .build();
+
+        logger.info("Getting port stats for switch={}", iofSwitch.getId());
+
+        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest),
+                new RequestCallback<>(data -> {
+                    List<PortStatsReply> replies = data.stream().map(reply -> {
+                        List<PortStatsEntry> entries = reply.getEntries().stream()
+                                .map(entry -> {
+                                    if (entry.getVersion().compareTo(OFVersion.OF_13) > 0) {
+                                        long rxFrameErr, rxOverErr, rxCrcErr, collisions;
+                                        rxFrameErr = rxOverErr = rxCrcErr = collisions = 0;
+
+                                        for (OFPortStatsProp property : entry.getProperties()) {
+                                            if (property.getType() == 0x0) {
+                                                OFPortStatsPropEthernet etherProps =
+                                                        (OFPortStatsPropEthernet) property;
+                                                rxFrameErr = etherProps.getRxFrameErr().getValue();
+                                                rxOverErr = etherProps.getRxOverErr().getValue();
+                                                rxCrcErr = etherProps.getRxCrcErr().getValue();
+                                                collisions = etherProps.getCollisions().getLength();
+                                            }
+                                        }
+
+                                        return new PortStatsEntry(
+                                                entry.getPortNo().getPortNumber(),
+                                                entry.getRxPackets().getValue(),
+                                                entry.getTxPackets().getValue(),
+                                                entry.getRxBytes().getValue(),
+                                                entry.getTxBytes().getValue(),
+                                                entry.getRxDropped().getValue(),
+                                                entry.getTxDropped().getValue(),
+                                                entry.getRxErrors().getValue(),
+                                                entry.getTxErrors().getValue(),
+                                                rxFrameErr,
+                                                rxOverErr,
+                                                rxCrcErr,
+                                                collisions);
+                                    } else {
+                                        return new PortStatsEntry(
+                                                entry.getPortNo().getPortNumber(),
+                                                entry.getRxPackets().getValue(),
+                                                entry.getTxPackets().getValue(),
+                                                entry.getRxBytes().getValue(),
+                                                entry.getTxBytes().getValue(),
+                                                entry.getRxDropped().getValue(),
+                                                entry.getTxDropped().getValue(),
+                                                entry.getRxErrors().getValue(),
+                                                entry.getTxErrors().getValue(),
+                                                entry.getRxFrameErr().getValue(),
+                                                entry.getRxOverErr().getValue(),
+                                                entry.getRxCrcErr().getValue(),
+                                                entry.getCollisions().getValue());
+                                    }
+                                })
+                                .collect(toList());
+                        return new PortStatsReply(reply.getXid(), entries);
+                    }).collect(toList());
+                    return new PortStatsData(switchId, replies);
+                }, PORT, portScheduler, iofSwitch.getId()));
+    }
+
+    private void pollFlows(IOFSwitch iofSwitch) {
+        final String switchId = iofSwitch.getId().toString();
+        OFFlowStatsRequest flowStatsRequest = iofSwitch.getOFFactory()
+                .buildFlowStatsRequest()
+                .setOutGroup(OFGroup.ANY)
+                .setCookieMask(SYSTEM_MASK)
+                .build();
+
+        logger.info("Getting flow stats for switch={}", iofSwitch.getId());
+
+        Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest),
+                new RequestCallback<>(data -> {
+                    List<FlowStatsReply> replies = data.stream().map(reply -> {
+                        List<FlowStatsEntry> entries = reply.getEntries().stream()
+                                .map(entry -> new FlowStatsEntry(
+                                        entry.getTableId().getValue(),
+                                        entry.getCookie().getValue(),
+                                        entry.getPacketCount().getValue(),
+                                        entry.getByteCount().getValue()))
+                                .collect(toList());
+                        return new FlowStatsReply(reply.getXid(), entries);
+                    }).collect(toList());
+                    return new FlowStatsData(switchId, replies);
+                }, FLOW, flowScheduler, iofSwitch.getId()));
+    }
+
+    private void pollMeters(IOFSwitch iofSwitch) {
+        final String switchId = iofSwitch.getId().toString();
+        OFMeterConfigStatsRequest meterStatsRequest = iofSwitch.getOFFactory()
+                .buildMeterConfigStatsRequest()
+                .setMeterId(OFPM_ALL)
+                .build();
+
+        logger.info("Getting meter config stats for switch={}", iofSwitch.getId());
+
+        Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
+                new RequestCallback<>(data -> {
+                    List<MeterConfigReply> replies = data.stream().map(reply -> {
+                        List<Long> meterIds = reply.getEntries().stream()
+                                .map(OFMeterConfig::getMeterId)
+                                .collect(toList());
+                        return new MeterConfigReply(reply.getXid(), meterIds);
+                    }).collect(toList());
+                    return new MeterConfigStatsData(switchId, replies);
+                }, METER, meterScheduler, iofSwitch.getId()));
+    }
+
+    private static Set<DatapathId> supported(Map<DatapathId, IOFSwitch> switches, Predicate<OFVersion> version) {
+        Set<DatapathId> supported = new HashSet<>();
+        for (IOFSwitch iofSwitch : switches.values()) {
+            if (version.test(iofSwitch.getOFFactory().getVersion())) {
+                supported.add(iofSwitch.getId());
+            }
         }
+        return supported;
+    }
+
+    private static PollScheduler scheduler(Map<String, String> configParameters, String name, String defaultValue) {
+        int seconds = Integer.valueOf(configParameters.getOrDefault(name, defaultValue));
+        return seconds > 0 ? new PollScheduler(TimeUnit.SECONDS.toMillis(seconds)) : null;
     }
 
     private class RequestCallback<T extends OFStatsReply> implements FutureCallback<List<T>> {
         private Function<List<T>, InfoData> transform;
         private String type;
+        private PollScheduler scheduler;
+        private DatapathId dpid;
 
-        RequestCallback(Function<List<T>, InfoData> transform, String type) {
+        RequestCallback(Function<List<T>, InfoData> transform, String type, PollScheduler scheduler,
+                        DatapathId dpid) {
             this.transform = transform;
             this.type = type;
+            this.scheduler = scheduler;
+            this.dpid = dpid;
         }
 
         @Override
         public void onSuccess(List<T> data) {
+            scheduler.replied(dpid, System.currentTimeMillis());
             InfoMessage infoMessage = new InfoMessage(transform.apply(data),
                     System.currentTimeMillis(), SYSTEM_CORRELATION_ID, Destination.WFM_STATS);
-            kafkaProducer.postMessage(TOPIC, infoMessage);
+            kafkaProducer.postMessage(infoMessage);
         }
 
         @Override
         public void onFailure(Throwable throwable) {
-            logger.error("Exception reading {} stats", type, throwable);
+            scheduler.failed(dpid);
+            logger.error("Exception reading {} stats of switch={}", type, dpid, throwable);
         }
     }
 }
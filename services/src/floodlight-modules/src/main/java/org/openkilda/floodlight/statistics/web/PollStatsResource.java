@@ -0,0 +1,36 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics.web;
+
+import org.openkilda.floodlight.statistics.IStatisticsService;
+import org.openkilda.floodlight.statistics.PollStats;
+
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import java.util.Map;
+
+/**
+ * Reports per switch poll latency and missed poll counters of the statistics service.
+ */
+public class PollStatsResource extends ServerResource {
+    @Get("json")
+    public Map<String, Map<String, PollStats>> getPollStats() {
+        IStatisticsService statisticsService = (IStatisticsService) getContext().getAttributes()
+                .get(IStatisticsService.class.getCanonicalName());
+        return statisticsService.getPollStats();
+    }
+}
@@ -15,7 +15,6 @@
 
 package org.openkilda.floodlight.switchmanager;
 
-import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
 import net.floodlightcontroller.core.module.IFloodlightService;
@@ -23,6 +22,8 @@ import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsReply;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Created by jonv on 29/3/17.
  */
@@ -48,13 +49,13 @@ public interface ISwitchManager extends IFloodlightService {
      * @param outputPort    port to forward the packet out
      * @param inputVlanId   input vlan to match on, 0 means not to match on vlan
      * @param transitVlanId vlan to add before outputing on outputPort
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> installIngressFlow(final DatapathId dpid, final String flowId, final Long cookie,
-                                                    final int inputPort, final int outputPort, final int inputVlanId,
-                                                    final int transitVlanId, final OutputVlanType outputVlanType,
-                                                    final long meterId);
+    CompletableFuture<Long> installIngressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                               final int inputPort, final int outputPort, final int inputVlanId,
+                                               final int transitVlanId, final OutputVlanType outputVlanType,
+                                               final long meterId);
 
     /**
      * Installs flow on egress swtich.
@@ -66,12 +67,12 @@ public interface ISwitchManager extends IFloodlightService {
      * @param transitVlanId  vlan to match on the ingressPort
      * @param outputVlanId   set vlan on packet before forwarding via outputPort; 0 means not to set
      * @param outputVlanType type of action to apply to the outputVlanId if greater than 0
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> installEgressFlow(final DatapathId dpid, final String flowId, final Long cookie,
-                                                   final int inputPort, final int outputPort, final int transitVlanId,
-                                                   final int outputVlanId, final OutputVlanType outputVlanType);
+    CompletableFuture<Long> installEgressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                              final int inputPort, final int outputPort, final int transitVlanId,
+                                              final int outputVlanId, final OutputVlanType outputVlanType);
 
     /**
      * Installs flow on a transit switch.
@@ -81,11 +82,11 @@ public interface ISwitchManager extends IFloodlightService {
      * @param inputPort     port to expect packet on
      * @param outputPort    port to forward packet out
      * @param transitVlanId vlan to match on inputPort
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> installTransitFlow(final DatapathId dpid, final String flowId, final Long cookie,
-                                                    final int inputPort, final int outputPort, final int transitVlanId);
+    CompletableFuture<Long> installTransitFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                               final int inputPort, final int outputPort, final int transitVlanId);
 
     /**
      * Installs flow through one switch.
@@ -97,13 +98,13 @@ public interface ISwitchManager extends IFloodlightService {
      * @param inputVlanId    vlan to match on inputPort
      * @param outputVlanId   set vlan on packet before forwarding via outputPort; 0 means not to set
      * @param outputVlanType type of action to apply to the outputVlanId if greater than 0
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> installOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
-                                                      final int inputPort, final int outputPort, int inputVlanId,
-                                                      int outputVlanId, final OutputVlanType outputVlanType,
-                                                      final long meterId);
+    CompletableFuture<Long> installOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                                 final int inputPort, final int outputPort, int inputVlanId,
+                                                 int outputVlanId, final OutputVlanType outputVlanType,
+                                                 final long meterId);
 
     /**
      * Returns list of installed flows
@@ -129,29 +130,29 @@ public interface ISwitchManager extends IFloodlightService {
      * @param bandwidth the bandwidth limit value
      * @param burstSize the size of the burst
      * @param meterId   the meter ID
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> installMeter(final DatapathId dpid, final long bandwidth, final long burstSize,
-                                              final long meterId);
+    CompletableFuture<Long> installMeter(final DatapathId dpid, final long bandwidth, final long burstSize,
+                                         final long meterId);
 
     /**
      * Deletes the flow from the switch
      *
      * @param dpid   datapath ID of the switch
      * @param flowId flow id
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> deleteFlow(final DatapathId dpid, final String flowId, final Long cookie);
+    CompletableFuture<Long> deleteFlow(final DatapathId dpid, final String flowId, final Long cookie);
 
     /**
      * Deletes the meter from the switch OF_13.
      *
      * @param dpid    datapath ID of the switch
      * @param meterId meter identifier
-     * @return {@link ImmutablePair}<Long, Boolean>, where key is OF transaction id and value is true if the command was
-     * accepted to be sent to switch, false otherwise - switch is disconnected or in SLAVE mode
+     * @return future completed with OF transaction id once the switch confirms the command with a barrier reply, or
+     * with {@link SwitchOperationException} if the switch rejects it, is disconnected or in SLAVE mode
      */
-    ImmutablePair<Long, Boolean> deleteMeter(final DatapathId dpid, final long meterId);
+    CompletableFuture<Long> deleteMeter(final DatapathId dpid, final long meterId);
 }
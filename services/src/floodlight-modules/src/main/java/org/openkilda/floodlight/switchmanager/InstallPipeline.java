@@ -0,0 +1,287 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.switchmanager;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import net.floodlightcontroller.core.IOFSwitch;
+import org.projectfloodlight.openflow.protocol.OFBarrierReply;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
+import org.projectfloodlight.openflow.protocol.OFErrorMsg;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends flow-mods and meter-mods queued for a switch back-to-back followed by a single barrier request and confirms
+ * them once the barrier reply arrives. The switch replies to the barrier only after all preceding commands are
+ * processed, so a command is applied unless an error with its xid was received before the reply.
+ * There is one outstanding barrier per switch, commands submitted meanwhile are queued and sent as the next batch.
+ * If the barrier reply does not arrive within the barrier timeout, the batch fails and the next one is sent. Commands
+ * of a removed switch fail at once.
+ */
+class InstallPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(InstallPipeline.class);
+
+    /**
+     * Maximum number of commands sent before a barrier.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * Default barrier reply timeout in milliseconds.
+     */
+    static final long DEFAULT_BARRIER_TIMEOUT = 10000;
+
+    /**
+     * Command channels by switch.
+     */
+    private final ConcurrentMap<DatapathId, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Barrier reply timeout in milliseconds.
+     */
+    private final long barrierTimeout;
+
+    /**
+     * Barrier timeouts scheduler.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "install-pipeline-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Instance constructor.
+     *
+     * @param barrierTimeout barrier reply timeout in milliseconds
+     */
+    InstallPipeline(final long barrierTimeout) {
+        this.barrierTimeout = barrierTimeout;
+    }
+
+    /**
+     * Queues the command to be sent to the switch.
+     *
+     * @param sw      switch object
+     * @param message command to send
+     * @return future completed with the command xid once the switch confirms it, or with
+     * {@link SwitchOperationException} if it does not
+     */
+    CompletableFuture<Long> submit(final IOFSwitch sw, final OFMessage message) {
+        Command command = new Command(message);
+        Channel channel = channels.computeIfAbsent(sw.getId(), dpid -> new Channel());
+        synchronized (channel) {
+            channel.queued.add(command);
+        }
+        flush(sw, channel);
+        return command.future;
+    }
+
+    /**
+     * Fails the command the error is sent for.
+     *
+     * @param sw    switch object
+     * @param error error received from the switch
+     * @return true if the error is correlated with a command sent by the pipeline, false otherwise
+     */
+    boolean handleError(final IOFSwitch sw, final OFErrorMsg error) {
+        Channel channel = channels.get(sw.getId());
+        if (channel == null) {
+            return false;
+        }
+
+        Command command;
+        synchronized (channel) {
+            command = channel.batch == null ? null : channel.batch.remove(error.getXid());
+        }
+        if (command == null) {
+            return false;
+        }
+
+        command.future.completeExceptionally(new SwitchOperationException(sw.getId(),
+                String.format("Switch %s rejected command xid=%d: %s", sw.getId(), error.getXid(),
+                        error.getErrType())));
+        return true;
+    }
+
+    /**
+     * Fails commands sent or queued to the switch and drops its channel.
+     *
+     * @param dpid switch id
+     */
+    void removeSwitch(final DatapathId dpid) {
+        Channel channel = channels.remove(dpid);
+        if (channel == null) {
+            return;
+        }
+
+        List<Command> failed = new ArrayList<>();
+        synchronized (channel) {
+            if (channel.batch != null) {
+                failed.addAll(channel.batch.values());
+                channel.batch = null;
+            }
+            failed.addAll(channel.queued);
+            channel.queued.clear();
+        }
+
+        for (Command command : failed) {
+            command.future.completeExceptionally(new SwitchOperationException(dpid,
+                    String.format("Switch %s is disconnected", dpid)));
+        }
+    }
+
+    /**
+     * Sends queued commands as the next batch, unless the barrier of the previous one is outstanding.
+     */
+    private void flush(final IOFSwitch sw, final Channel channel) {
+        List<Command> rejected = new ArrayList<>();
+        Map<Long, Command> batch = null;
+
+        synchronized (channel) {
+            while (channel.batch == null && !channel.queued.isEmpty()) {
+                Map<Long, Command> written = new LinkedHashMap<>();
+                for (int i = 0; i < MAX_BATCH_SIZE && !channel.queued.isEmpty(); i++) {
+                    Command command = channel.queued.poll();
+                    if (sw.write(command.message)) {
+                        written.put(command.message.getXid(), command);
+                    } else {
+                        rejected.add(command);
+                    }
+                }
+                if (!written.isEmpty()) {
+                    channel.batch = written;
+                    batch = written;
+                }
+            }
+        }
+
+        for (Command command : rejected) {
+            command.future.completeExceptionally(new SwitchOperationException(sw.getId(),
+                    String.format("Switch %s is disconnected or in SLAVE mode", sw.getId())));
+        }
+        if (batch != null) {
+            sendBarrier(sw, channel, batch);
+        }
+    }
+
+    private void sendBarrier(final IOFSwitch sw, final Channel channel, final Map<Long, Command> batch) {
+        OFBarrierRequest barrier = sw.getOFFactory().buildBarrierRequest().build();
+        logger.debug("sending barrier xid={} after {} commands to switch {}", barrier.getXid(), batch.size(),
+                sw.getId());
+
+        ListenableFuture<OFBarrierReply> reply = sw.writeRequest(barrier);
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> barrierTimedOut(sw, channel, batch),
+                barrierTimeout, TimeUnit.MILLISECONDS);
+        reply.addListener(() -> {
+            timeout.cancel(false);
+            barrierReplied(sw, channel, batch, reply);
+        }, MoreExecutors.sameThreadExecutor());
+    }
+
+    private void barrierReplied(final IOFSwitch sw, final Channel channel, final Map<Long, Command> batch,
+                                final ListenableFuture<OFBarrierReply> reply) {
+        Throwable failure = null;
+        try {
+            reply.get();
+        } catch (ExecutionException exception) {
+            failure = exception.getCause();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            failure = exception;
+        }
+
+        complete(sw, channel, batch, failure == null ? null : new SwitchOperationException(sw.getId(),
+                String.format("No barrier reply from switch %s", sw.getId()), failure));
+    }
+
+    private void barrierTimedOut(final IOFSwitch sw, final Channel channel, final Map<Long, Command> batch) {
+        complete(sw, channel, batch, new SwitchOperationException(sw.getId(),
+                String.format("No barrier reply from switch %s in %d ms", sw.getId(), barrierTimeout)));
+    }
+
+    /**
+     * Confirms or fails the batch and sends the next one. Does nothing if the batch is already completed by the
+     * barrier reply, its timeout or the switch removal.
+     */
+    private void complete(final IOFSwitch sw, final Channel channel, final Map<Long, Command> batch,
+                          final SwitchOperationException failure) {
+        synchronized (channel) {
+            if (channel.batch != batch) {
+                return;
+            }
+            channel.batch = null;
+        }
+
+        if (failure != null) {
+            logger.warn("{} commands failed: {}", batch.size(), failure.getMessage());
+        }
+        for (Command command : batch.values()) {
+            if (failure == null) {
+                command.future.complete(command.message.getXid());
+            } else {
+                command.future.completeExceptionally(failure);
+            }
+        }
+        flush(sw, channel);
+    }
+
+    /**
+     * Commands of a switch.
+     */
+    private static final class Channel {
+        /**
+         * Commands waiting for the outstanding barrier.
+         */
+        final Queue<Command> queued = new ArrayDeque<>();
+
+        /**
+         * Commands sent before the outstanding barrier by xid, null if there is no outstanding barrier.
+         */
+        Map<Long, Command> batch;
+    }
+
+    /**
+     * Command and its confirmation.
+     */
+    private static final class Command {
+        final OFMessage message;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Command(final OFMessage message) {
+            this.message = message;
+        }
+    }
+}
@@ -25,7 +25,6 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.info.event.SwitchInfoData;
-import org.openkilda.messaging.model.ImmutablePair;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.IOFSwitchListener;
@@ -50,7 +49,6 @@ import java.util.Map;
 
 public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListener, IFloodlightService {
     private static final Logger logger = LoggerFactory.getLogger(SwitchEventCollector.class);
-    private static final String TOPIC = "kilda-test";
     private IOFSwitchService switchService;
     private KafkaMessageProducer kafkaProducer;
     private ISwitchManager switchManager;
@@ -80,7 +78,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
     @Override
     public void switchAdded(final DatapathId switchId) {
         Message message = buildSwitchMessage(switchService.getSwitch(switchId), SwitchState.ADDED);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
     }
 
     /**
@@ -89,7 +87,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
     @Override
     public void switchRemoved(final DatapathId switchId) {
         Message message = buildSwitchMessage(switchId, SwitchState.REMOVED);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
     }
 
     /**
@@ -100,13 +98,13 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
         final IOFSwitch sw = switchService.getSwitch(switchId);
 
         Message message = buildSwitchMessage(sw, SwitchState.ACTIVATED);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
 
-        ImmutablePair<Long, Boolean> metersDeleted;
-        metersDeleted = switchManager.deleteMeter(switchId, ALL_VAL);
-        if (!metersDeleted.getRight()) {
-            logger.error("Could not delete meters from switch={} xid={}", switchId, metersDeleted.getLeft());
-        }
+        switchManager.deleteMeter(switchId, ALL_VAL).whenComplete((xid, exception) -> {
+            if (exception != null) {
+                logger.error("Could not delete meters from switch={}", switchId, exception);
+            }
+        });
 
         boolean defaultRulesInstalled = switchManager.installDefaultRules(switchId);
         if (!defaultRulesInstalled) {
@@ -115,7 +113,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
 
         if (sw.getEnabledPortNumbers() != null) {
             for (OFPort p : sw.getEnabledPortNumbers()) {
-                kafkaProducer.postMessage(TOPIC, buildPortMessage(sw.getId(), p, PortChangeType.UP));
+                kafkaProducer.postMessage(buildPortMessage(sw.getId(), p, PortChangeType.UP));
             }
         }
     }
@@ -126,7 +124,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
     @Override
     public void switchPortChanged(final DatapathId switchId, final OFPortDesc port, final PortChangeType type) {
         Message message = buildPortMessage(switchId, port, type);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
     }
 
     /**
@@ -135,7 +133,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
     @Override
     public void switchChanged(final DatapathId switchId) {
         Message message = buildSwitchMessage(switchService.getSwitch(switchId), SwitchState.CHANGED);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
     }
 
     /*
@@ -148,7 +146,7 @@ public class SwitchEventCollector implements IFloodlightModule, IOFSwitchListene
     @Override
     public void switchDeactivated(final DatapathId switchId) {
         Message message = buildSwitchMessage(switchId, SwitchState.DEACTIVATED);
-        kafkaProducer.postMessage(TOPIC, message);
+        kafkaProducer.postMessage(message);
     }
 
     /**
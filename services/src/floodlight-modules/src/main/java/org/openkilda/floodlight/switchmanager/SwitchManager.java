@@ -32,7 +32,6 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
-import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
 import org.projectfloodlight.openflow.types.VlanVid;
@@ -41,6 +40,8 @@ import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
 import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.IOFSwitchListener;
+import net.floodlightcontroller.core.PortChangeType;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
@@ -64,6 +65,7 @@ import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFMeterFlags;
 import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFMeterModCommand;
+import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.protocol.action.OFAction;
 import org.projectfloodlight.openflow.protocol.action.OFActions;
@@ -96,6 +98,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -103,15 +106,23 @@ import java.util.concurrent.TimeoutException;
 /**
  * Created by jonv on 29/3/17.
  */
-public class SwitchManager implements IFloodlightModule, IFloodlightService, ISwitchManager, IOFMessageListener {
+public class SwitchManager implements IFloodlightModule, IFloodlightService, ISwitchManager, IOFMessageListener,
+        IOFSwitchListener {
     public static final long FLOW_COOKIE_MASK = 0x60000000FFFFFFFFL;
     static final U64 NON_SYSTEM_MASK = U64.of(0x80000000FFFFFFFFL);
     private static final long DROP_COOKIE = 0x8000000000000001L;
     private static final Logger logger = LoggerFactory.getLogger(SwitchManager.class);
+
+    /**
+     * Barrier reply timeout config parameter name, in milliseconds.
+     */
+    static final String BARRIER_TIMEOUT_PARAMETER = "barrier-timeout";
+
     private IFloodlightProviderService floodlightProvider;
     private IOFSwitchService ofSwitchService;
     private IRestApiService restApiService;
     private KafkaMessageProducer kafkaProducer;
+    private InstallPipeline pipeline;
 
     // IFloodlightModule Methods
 
@@ -178,6 +189,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         ofSwitchService = context.getServiceImpl(IOFSwitchService.class);
         restApiService = context.getServiceImpl(IRestApiService.class);
         kafkaProducer = context.getServiceImpl(KafkaMessageProducer.class);
+
+        Map<String, String> configParameters = context.getConfigParams(this);
+        pipeline = new InstallPipeline(Long.parseLong(configParameters.getOrDefault(BARRIER_TIMEOUT_PARAMETER,
+                String.valueOf(InstallPipeline.DEFAULT_BARRIER_TIMEOUT))));
     }
 
     /**
@@ -188,6 +203,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         logger.info("Starting " + SwitchEventCollector.class.getCanonicalName());
         restApiService.addRestletRoutable(new SwitchManagerWebRoutable());
         floodlightProvider.addOFMessageListener(OFType.ERROR, this);
+        ofSwitchService.addOFSwitchListener(this);
     }
 
     /**
@@ -196,12 +212,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public Command receive(IOFSwitch sw, OFMessage msg, FloodlightContext cntx) {
         logger.debug("OF_ERROR: {}", msg);
-        // TODO: track xid for flow id
         if (OFType.ERROR.equals(msg.getType())) {
+            if (pipeline.handleError(sw, (OFErrorMsg) msg)) {
+                // reported by the command sender
+                return Command.CONTINUE;
+            }
             ErrorMessage error = new ErrorMessage(
                     new ErrorData(ErrorType.INTERNAL_ERROR, ((OFErrorMsg) msg).getErrType().toString(), null),
                     System.currentTimeMillis(), DEFAULT_CORRELATION_ID, Destination.WFM_TRANSACTION);
-            kafkaProducer.postMessage("kilda-test", error);
+            kafkaProducer.postMessage(error);
         }
         return Command.CONTINUE;
     }
@@ -214,6 +233,53 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return "KildaSwitchManager";
     }
 
+    // IOFSwitchListener Methods
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void switchAdded(final DatapathId switchId) {
+    }
+
+    /**
+     * Fails commands waiting for the switch confirmation.
+     *
+     * @param switchId switch id
+     */
+    @Override
+    public void switchRemoved(final DatapathId switchId) {
+        pipeline.removeSwitch(switchId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void switchActivated(final DatapathId switchId) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void switchPortChanged(final DatapathId switchId, final OFPortDesc port, final PortChangeType type) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void switchChanged(final DatapathId switchId) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void switchDeactivated(final DatapathId switchId) {
+    }
+
     // ISwitchManager Methods
 
     /**
@@ -255,10 +321,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> installIngressFlow(final DatapathId dpid, final String flowId,
-                                                           final Long cookie, final int inputPort, final int outputPort,
-                                                           final int inputVlanId, final int transitVlanId,
-                                                           final OutputVlanType outputVlanType, final long meterId) {
+    public CompletableFuture<Long> installIngressFlow(final DatapathId dpid, final String flowId,
+                                                      final Long cookie, final int inputPort, final int outputPort,
+                                                      final int inputVlanId, final int transitVlanId,
+                                                      final OutputVlanType outputVlanType, final long meterId) {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
@@ -291,18 +357,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 cookie & FLOW_COOKIE_MASK, FlowModUtils.PRIORITY_VERY_HIGH);
 
         // send FLOW_MOD to the switch
-        boolean response = pushFlow(flowId, dpid, flowMod);
-        return new ImmutablePair<>(flowMod.getXid(), response);
+        return submitFlow(flowId, sw, flowMod);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> installEgressFlow(final DatapathId dpid, String flowId, final Long cookie,
-                                                          final int inputPort, final int outputPort,
-                                                          final int transitVlanId, final int outputVlanId,
-                                                          final OutputVlanType outputVlanType) {
+    public CompletableFuture<Long> installEgressFlow(final DatapathId dpid, String flowId, final Long cookie,
+                                                     final int inputPort, final int outputPort,
+                                                     final int transitVlanId, final int outputVlanId,
+                                                     final OutputVlanType outputVlanType) {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
@@ -323,17 +388,16 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 cookie & FLOW_COOKIE_MASK, FlowModUtils.PRIORITY_VERY_HIGH);
 
         // send FLOW_MOD to the switch
-        boolean response = pushFlow(flowId, dpid, flowMod);
-        return new ImmutablePair<>(flowMod.getXid(), response);
+        return submitFlow(flowId, sw, flowMod);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> installTransitFlow(final DatapathId dpid, final String flowId,
-                                                           final Long cookie, final int inputPort, final int outputPort,
-                                                           final int transitVlanId) {
+    public CompletableFuture<Long> installTransitFlow(final DatapathId dpid, final String flowId,
+                                                      final Long cookie, final int inputPort, final int outputPort,
+                                                      final int transitVlanId) {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
@@ -351,19 +415,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 cookie & FLOW_COOKIE_MASK, FlowModUtils.PRIORITY_VERY_HIGH);
 
         // send FLOW_MOD to the switch
-        boolean response = pushFlow(flowId, dpid, flowMod);
-        return new ImmutablePair<>(flowMod.getXid(), response);
+        return submitFlow(flowId, sw, flowMod);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> installOneSwitchFlow(final DatapathId dpid, final String flowId,
-                                                             final Long cookie, final int inputPort,
-                                                             final int outputPort, final int inputVlanId,
-                                                             final int outputVlanId,
-                                                             final OutputVlanType outputVlanType, final long meterId) {
+    public CompletableFuture<Long> installOneSwitchFlow(final DatapathId dpid, final String flowId,
+                                                        final Long cookie, final int inputPort,
+                                                        final int outputPort, final int inputVlanId,
+                                                        final int outputVlanId,
+                                                        final OutputVlanType outputVlanType, final long meterId) {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
@@ -395,8 +458,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 cookie & FLOW_COOKIE_MASK, FlowModUtils.PRIORITY_VERY_HIGH);
 
         // send FLOW_MOD to the switch
-        boolean response = pushFlow(flowId, dpid, flowMod);
-        return new ImmutablePair<>(flowMod.getXid(), response);
+        return submitFlow(flowId, sw, flowMod);
     }
 
     /**
@@ -459,18 +521,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> installMeter(final DatapathId dpid, final long bandwidth,
-                                                      final long burstSize, final long meterId) {
+    public CompletableFuture<Long> installMeter(final DatapathId dpid, final long bandwidth,
+                                                final long burstSize, final long meterId) {
         if (meterId == 0) {
             logger.info("skip installing meter {} on switch {} width bandwidth {}", meterId, dpid, bandwidth);
-            return new ImmutablePair<>(0L, true);
+            return CompletableFuture.completedFuture(0L);
         }
 
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
         if (OVS_MANUFACTURER.equals(sw.getSwitchDescription().getManufacturerDescription())) {
             logger.info("skip installing meter {} on OVS switch {} width bandwidth {}", meterId, dpid, bandwidth);
-            return new ImmutablePair<>(0L, true);
+            return CompletableFuture.completedFuture(0L);
         }
 
         if (sw.getOFFactory().getVersion().compareTo(OF_12) <= 0) {
@@ -480,8 +542,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
-    private ImmutablePair<Long, Boolean> installMeter(final IOFSwitch sw, final DatapathId dpid, final long bandwidth,
-                                                     final long burstSize, final long meterId) {
+    private CompletableFuture<Long> installMeter(final IOFSwitch sw, final DatapathId dpid, final long bandwidth,
+                                                 final long burstSize, final long meterId) {
         logger.debug("installing meter {} on switch {} width bandwidth {}", meterId, dpid, bandwidth);
 
         Set<OFMeterFlags> flags = new HashSet<>(Arrays.asList(OFMeterFlags.KBPS, OFMeterFlags.BURST));
@@ -505,13 +567,12 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
         OFMeterMod meterMod = meterModBuilder.build();
 
-        boolean response = sw.write(meterMod);
-        return new ImmutablePair<>(meterMod.getXid(), response);
+        return pipeline.submit(sw, meterMod);
     }
 
-    private ImmutablePair<Long, Boolean> installLegacyMeter(final IOFSwitch sw, final DatapathId dpid,
-                                                            final long bandwidth, final long burstSize,
-                                                            final long meterId) {
+    private CompletableFuture<Long> installLegacyMeter(final IOFSwitch sw, final DatapathId dpid,
+                                                       final long bandwidth, final long burstSize,
+                                                       final long meterId) {
         logger.debug("installing legacy meter {} on OVS switch {} width bandwidth {}", meterId, dpid, bandwidth);
 
         Set<OFLegacyMeterFlags> flags = new HashSet<>(Arrays.asList(OFLegacyMeterFlags.KBPS, OFLegacyMeterFlags.BURST));
@@ -526,8 +587,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setFlags(flags)
                 .build();
 
-        boolean response = sw.write(meterMod);
-        return new ImmutablePair<>(meterMod.getXid(), response);
+        return pipeline.submit(sw, meterMod);
     }
 
     // Utility Methods
@@ -536,7 +596,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> deleteFlow(final DatapathId dpid, final String flowId, final Long cookie) {
+    public CompletableFuture<Long> deleteFlow(final DatapathId dpid, final String flowId, final Long cookie) {
         logger.info("deleting flows {} from switch {}", flowId, dpid.toString());
 
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
@@ -546,25 +606,24 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setCookieMask(NON_SYSTEM_MASK)
                 .build();
 
-        boolean response = sw.write(flowDelete);
-        return new ImmutablePair<>(flowDelete.getXid(), response);
+        return pipeline.submit(sw, flowDelete);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ImmutablePair<Long, Boolean> deleteMeter(final DatapathId dpid, final long meterId) {
+    public CompletableFuture<Long> deleteMeter(final DatapathId dpid, final long meterId) {
         if (meterId == 0) {
             logger.info("skip deleting meter {} from switch {}", meterId, dpid);
-            return new ImmutablePair<>(0L, true);
+            return CompletableFuture.completedFuture(0L);
         }
 
         IOFSwitch sw = ofSwitchService.getSwitch(dpid);
 
         if (OVS_MANUFACTURER.equals(sw.getSwitchDescription().getManufacturerDescription())) {
             logger.info("skip deleting meter {} from OVS switch {}", meterId, dpid);
-            return new ImmutablePair<>(0L, true);
+            return CompletableFuture.completedFuture(0L);
         }
 
         if (sw.getOFFactory().getVersion().compareTo(OF_12) <= 0) {
@@ -574,7 +633,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
-    public ImmutablePair<Long, Boolean> deleteMeter(IOFSwitch sw, final DatapathId dpid, final long meterId) {
+    public CompletableFuture<Long> deleteMeter(IOFSwitch sw, final DatapathId dpid, final long meterId) {
         logger.debug("deleting meter {} from switch {}", meterId, dpid);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -591,11 +650,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
         OFMeterMod meterDelete = meterDeleteBuilder.build();
 
-        boolean response = sw.write(meterDelete);
-        return new ImmutablePair<>(meterDelete.getXid(), response);
+        return pipeline.submit(sw, meterDelete);
     }
 
-    public ImmutablePair<Long, Boolean> deleteLegacyMeter(final IOFSwitch sw, final DatapathId dpid, final long meterId) {
+    public CompletableFuture<Long> deleteLegacyMeter(final IOFSwitch sw, final DatapathId dpid, final long meterId) {
         logger.debug("deleting legacy meter {} from switch {}", meterId, dpid);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -606,8 +664,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setCommand(OFLegacyMeterModCommand.DELETE)
                 .build();
 
-        boolean response = sw.write(meterDelete);
-        return new ImmutablePair<>(meterDelete.getXid(), response);
+        return pipeline.submit(sw, meterDelete);
     }
 
     /**
@@ -922,4 +979,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         logger.info("installing {} flow: {}", flowId, flowMod);
         return ofSwitchService.getSwitch(dpid).write(flowMod);
     }
+
+    /**
+     * Queues a single flow modification command to be sent to the switch.
+     *
+     * @param flowId  flow name, for logging
+     * @param sw      switch object
+     * @param flowMod command to send
+     * @return future completed with the command xid once the switch confirms it
+     */
+    private CompletableFuture<Long> submitFlow(final String flowId, final IOFSwitch sw, final OFFlowMod flowMod) {
+        logger.info("installing {} flow: {}", flowId, flowMod);
+        return pipeline.submit(sw, flowMod);
+    }
 }
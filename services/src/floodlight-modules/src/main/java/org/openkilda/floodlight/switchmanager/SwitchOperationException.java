@@ -0,0 +1,62 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.switchmanager;
+
+import org.projectfloodlight.openflow.types.DatapathId;
+
+/**
+ * The switch has not applied the command: it was rejected with an OF error, was not accepted to be sent or the
+ * barrier reply has not arrived.
+ */
+public class SwitchOperationException extends Exception {
+    /**
+     * The switch datapath id.
+     */
+    private final DatapathId dpid;
+
+    /**
+     * Instance constructor.
+     *
+     * @param dpid    the switch datapath id
+     * @param message the failure description
+     */
+    public SwitchOperationException(final DatapathId dpid, final String message) {
+        super(message);
+        this.dpid = dpid;
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param dpid    the switch datapath id
+     * @param message the failure description
+     * @param cause   the failure cause
+     */
+    public SwitchOperationException(final DatapathId dpid, final String message, final Throwable cause) {
+        super(message, cause);
+        this.dpid = dpid;
+    }
+
+    /**
+     * Returns the switch datapath id.
+     *
+     * @return the switch datapath id
+     */
+    public DatapathId getDpid() {
+        return dpid;
+    }
+}
@@ -0,0 +1,68 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class OffsetTrackerTest {
+    private static final TopicPartition PARTITION = new TopicPartition("kilda-test", 0);
+
+    private final OffsetTracker tracker = new OffsetTracker();
+
+    @Test
+    public void commitsProcessedPrefix() {
+        tracker.dispatched(PARTITION, 10L);
+        tracker.dispatched(PARTITION, 11L);
+        tracker.dispatched(PARTITION, 12L);
+
+        tracker.processed(PARTITION, 11L);
+        assertEquals(Collections.singletonMap(PARTITION, new OffsetAndMetadata(10L)), tracker.committable());
+
+        tracker.processed(PARTITION, 10L);
+        assertEquals(Collections.singletonMap(PARTITION, new OffsetAndMetadata(12L)), tracker.committable());
+        assertTrue(tracker.committable().isEmpty());
+
+        tracker.processed(PARTITION, 12L);
+        assertEquals(Collections.singletonMap(PARTITION, new OffsetAndMetadata(13L)), tracker.committable());
+    }
+
+    @Test
+    public void rejectedRecordIsNotCommitted() {
+        tracker.dispatched(PARTITION, 10L);
+        tracker.dispatched(PARTITION, 11L);
+        tracker.rejected(PARTITION, 11L);
+        tracker.processed(PARTITION, 10L);
+
+        assertEquals(Collections.singletonMap(PARTITION, new OffsetAndMetadata(11L)), tracker.committable());
+    }
+
+    @Test
+    public void revokedPartitionIsForgotten() {
+        tracker.dispatched(PARTITION, 10L);
+        tracker.forget(Collections.singleton(PARTITION));
+        tracker.processed(PARTITION, 10L);
+
+        assertTrue(tracker.committable().isEmpty());
+    }
+}
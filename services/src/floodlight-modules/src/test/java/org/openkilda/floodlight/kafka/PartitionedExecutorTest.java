@@ -0,0 +1,101 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PartitionedExecutorTest {
+    private final PartitionedExecutor executor = new PartitionedExecutor("test", 4, 2);
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void sameKeyIsOrdered() throws InterruptedException {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            while (!executor.offer("sw1", () -> {
+                executed.add(value);
+                done.countDown();
+            })) {
+                Thread.sleep(1);
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), executed.get(i));
+        }
+    }
+
+    @Test
+    public void fullPartitionRejectsTasks() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            blocked.countDown();
+            await(release);
+        };
+
+        assertTrue(executor.offer("sw1", blocking));
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.offer("sw1", () -> { }));
+        assertTrue(executor.offer("sw1", () -> { }));
+        assertFalse(executor.offer("sw1", () -> { }));
+
+        // other partitions are not blocked by the slow one
+        String other = otherPartitionKey("sw1");
+        CountDownLatch executed = new CountDownLatch(1);
+        assertTrue(executor.offer(other, executed::countDown));
+        assertTrue(executed.await(10, TimeUnit.SECONDS));
+
+        release.countDown();
+    }
+
+    private String otherPartitionKey(String key) {
+        for (int i = 0; ; i++) {
+            String candidate = "sw" + i;
+            if (executor.partitionOf(candidate) != executor.partitionOf(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.openkilda.messaging.command.flow.InstallTransitFlow;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.SwitchDescription;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
@@ -54,6 +55,8 @@ import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.junit.Before;
 import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBarrierReply;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFFlowAdd;
 import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.types.DatapathId;
@@ -292,6 +295,12 @@ public class ReplaceInstallFlowTest {
         expect(ofSwitchService.getSwitch(anyObject(DatapathId.class))).andStubReturn(iofSwitch);
         expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
         expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
+        expect(iofSwitch.getId()).andStubReturn(DatapathId.of(1L));
+
+        // the switch confirms each batch right away, so the next command is written
+        SettableFuture<OFBarrierReply> barrierReply = SettableFuture.create();
+        barrierReply.set(ofFactory.buildBarrierReply().build());
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(barrierReply);
 
         if (meterAddCapture != null) {
             expect(iofSwitch.write(capture(meterAddCapture))).andReturn(true);
@@ -15,7 +15,14 @@
 
 package org.openkilda.floodlight.pathverification;
 
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.floodlightcontroller.test.FloodlightTestCase;
 
@@ -30,6 +37,7 @@ import net.floodlightcontroller.packet.IPv4;
 import net.floodlightcontroller.packet.LLDPTLV;
 import net.floodlightcontroller.packet.UDP;
 import org.apache.commons.codec.binary.Hex;
+import org.easymock.EasyMock;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -41,14 +49,19 @@ import org.projectfloodlight.openflow.protocol.OFFactory;
 import org.projectfloodlight.openflow.protocol.OFFeaturesReply;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketInReason;
+import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.protocol.OFVersion;
 import org.projectfloodlight.openflow.protocol.match.MatchField;
+import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.EthType;
 import org.projectfloodlight.openflow.types.IpProtocol;
+import org.projectfloodlight.openflow.types.MacAddress;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.TransportPort;
+import org.projectfloodlight.openflow.types.U64;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
 
 public class PathVerificationPacketInTest extends FloodlightTestCase {
 
@@ -154,4 +167,67 @@ public class PathVerificationPacketInTest extends FloodlightTestCase {
         IPacket expected = getPacket();
         assertArrayEquals(expected.serialize(), ethernet.serialize());
     }
+
+    @Test
+    public void testClassifyPacketWithoutSender() {
+        VerificationPacketClassifier.Record record = VerificationPacketClassifier.classify(pkt);
+
+        assertNotNull(record);
+        assertFalse(record.isComplete());
+        assertEquals(1, record.getRemotePort());
+        assertEquals(0L, record.getTimestamp());
+    }
+
+    @Test
+    public void testClassifyGeneratedPacket() {
+        OFPortDesc port = factory.buildPortDesc().setPortNo(OFPort.of(5)).setHwAddr(MacAddress.of(sw1HwAddrTarget))
+                .build();
+        sw1 = EasyMock.createMock(IOFSwitch.class);
+        expect(sw1.getId()).andReturn(DatapathId.of(0x1122334455667788L)).anyTimes();
+        expect(sw1.getPort(OFPort.of(5))).andReturn(port).anyTimes();
+        expect(sw1.getOFFactory()).andReturn(factory).anyTimes();
+        expect(sw1.getLatency()).andReturn(U64.of(10L)).anyTimes();
+        expect(sw1.getInetAddress()).andReturn(swIp).anyTimes();
+        replay(sw1);
+
+        long before = System.currentTimeMillis();
+        byte[] data = new PathVerificationService().generateVerificationPacket(sw1, OFPort.of(5)).getData();
+        VerificationPacketClassifier.Record record = VerificationPacketClassifier.classify(data);
+
+        assertNotNull(record);
+        assertTrue(record.isComplete());
+        assertEquals(0x1122334455667788L, record.getRemoteDpid());
+        assertEquals(5, record.getRemotePort());
+        assertTrue(record.getTimestamp() >= before + 10 && record.getTimestamp() <= System.currentTimeMillis() + 10);
+    }
+
+    @Test
+    public void testClassifyVlanTaggedPacket() {
+        byte[] tagged = new byte[pkt.length + 4];
+        System.arraycopy(pkt, 0, tagged, 0, 12);
+        tagged[12] = (byte) 0x81;
+        tagged[14] = 0x00;
+        tagged[15] = 0x64;
+        System.arraycopy(pkt, 12, tagged, 16, pkt.length - 12);
+
+        VerificationPacketClassifier.Record record = VerificationPacketClassifier.classify(tagged);
+
+        assertNotNull(record);
+        assertEquals(1, record.getRemotePort());
+    }
+
+    @Test
+    public void testSkipOtherPackets() {
+        byte[] otherPort = Arrays.copyOf(pkt, pkt.length);
+        otherPort[37] = 0x35;
+        assertNull(VerificationPacketClassifier.classify(otherPort));
+
+        byte[] otherEtherType = Arrays.copyOf(pkt, pkt.length);
+        otherEtherType[12] = 0x08;
+        otherEtherType[13] = 0x06;
+        assertNull(VerificationPacketClassifier.classify(otherEtherType));
+
+        assertNull(VerificationPacketClassifier.classify(Arrays.copyOf(pkt, 36)));
+        assertNull(VerificationPacketClassifier.classify(new byte[0]));
+    }
 }
@@ -18,15 +18,21 @@ package org.openkilda.floodlight.pathverification;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.floodlightcontroller.test.FloodlightTestCase;
 
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.PortChangeType;
 import net.floodlightcontroller.core.SwitchDescription;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.packet.Data;
+import net.floodlightcontroller.packet.Ethernet;
+import net.floodlightcontroller.packet.LLDPTLV;
 import org.apache.commons.codec.binary.Hex;
 import org.easymock.EasyMock;
 import org.junit.After;
@@ -47,6 +53,7 @@ import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class PathVerificationPacketOutTest extends FloodlightTestCase {
@@ -148,9 +155,71 @@ public class PathVerificationPacketOutTest extends FloodlightTestCase {
         assertArrayEquals(dstIpTarget.getAddress().getAddress(), dstIpActual);
     }
 
+    @Test
+    public void testPacketIsStampedFromTemplate() {
+        long before = System.currentTimeMillis();
+        byte[] first = pvs.generateVerificationPacket(sw1, OFPort.of(1)).getData();
+        byte[] second = pvs.generateVerificationPacket(sw1, OFPort.of(1)).getData();
+        long after = System.currentTimeMillis();
+
+        for (byte[] data : Arrays.asList(first, second)) {
+            assertEquals(0xffff, udpChecksumSum(data));
+
+            Ethernet eth = new Ethernet();
+            eth.deserialize(data, 0, data.length);
+
+            long timestamp = 0;
+            VerificationPacket vp = new VerificationPacket((Data) eth.getPayload().getPayload().getPayload());
+            for (LLDPTLV tlv : vp.getOptionalTLVList()) {
+                if (tlv.getLength() == 12 && tlv.getValue()[3] == 0x01) {
+                    timestamp = ByteBuffer.wrap(tlv.getValue()).getLong(4);
+                }
+            }
+            // the switch latency is 10 ms
+            assertTrue(timestamp >= before + 10 && timestamp <= after + 10);
+        }
+    }
+
+    @Test
+    public void testTemplateIsDroppedOnChange() {
+        MacAddress changedHwAddr = MacAddress.of("66:55:44:33:22:11");
+        OFPortDesc changedPort = factory.buildPortDesc().setPortNo(OFPort.of(1)).setHwAddr(changedHwAddr).build();
+        IOFSwitch changedSw1 = buildMockIOFSwitch(1L, changedPort, factory, swDescription, srcIpTarget);
+        replay(changedSw1);
+
+        pvs.generateVerificationPacket(sw1, OFPort.of(1));
+        byte[] srcMac = Arrays.copyOfRange(pvs.generateVerificationPacket(changedSw1, OFPort.of(1)).getData(), 6, 12);
+        assertArrayEquals(MacAddress.of(sw1HwAddrTarget).getBytes(), srcMac);
+
+        pvs.switchPortChanged(DatapathId.of(1L), changedPort, PortChangeType.OTHER_UPDATE);
+        srcMac = Arrays.copyOfRange(pvs.generateVerificationPacket(changedSw1, OFPort.of(1)).getData(), 6, 12);
+        assertArrayEquals(changedHwAddr.getBytes(), srcMac);
+
+        pvs.switchRemoved(DatapathId.of(1L));
+        srcMac = Arrays.copyOfRange(pvs.generateVerificationPacket(sw1, OFPort.of(1)).getData(), 6, 12);
+        assertArrayEquals(MacAddress.of(sw1HwAddrTarget).getBytes(), srcMac);
+    }
+
     /**
      * Utils
      */
+    private static int udpChecksumSum(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int udpLength = buffer.getShort(38) & 0xffff;
+        // pseudo header: source and destination addresses, protocol and UDP length
+        long sum = 17 + udpLength;
+        for (int i = 26; i < 34; i += 2) {
+            sum += buffer.getShort(i) & 0xffff;
+        }
+        for (int i = 34; i < 34 + udpLength; i += 2) {
+            sum += i + 1 < 34 + udpLength ? buffer.getShort(i) & 0xffff : (data[i] & 0xff) << 8;
+        }
+        while (sum >> 16 != 0) {
+            sum = (sum & 0xffff) + (sum >> 16);
+        }
+        return (int) sum;
+    }
+
     public IOFSwitch buildMockIOFSwitch(Long id, OFPortDesc portDesc, OFFactory factory, OFDescStatsReply swDesc, InetSocketAddress inetAddr) {
         IOFSwitch sw = EasyMock.createMock(IOFSwitch.class);
         expect(sw.getId()).andReturn(DatapathId.of(id)).anyTimes();
@@ -0,0 +1,140 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PollSchedulerTest {
+    private static final long INTERVAL = 1000L;
+    private static final DatapathId SWITCH = DatapathId.of(1L);
+
+    private final PollScheduler scheduler = new PollScheduler(INTERVAL);
+
+    @Test
+    public void pollsAreSpreadOverInterval() {
+        Set<DatapathId> switches = new HashSet<>();
+        for (long i = 1; i <= 10; i++) {
+            switches.add(DatapathId.of(i));
+        }
+
+        Map<DatapathId, Long> polled = new HashMap<>();
+        for (long now = 0; now < INTERVAL; now += 10) {
+            for (DatapathId dpid : scheduler.due(switches, now)) {
+                assertNull(polled.put(dpid, now));
+                scheduler.replied(dpid, now);
+            }
+        }
+        assertEquals(switches, polled.keySet());
+
+        int[] slots = new int[10];
+        for (long time : polled.values()) {
+            slots[(int) (time * slots.length / INTERVAL)]++;
+        }
+        for (int slot : slots) {
+            assertTrue(slot <= 2);
+        }
+    }
+
+    @Test
+    public void switchIsPolledOncePerInterval() {
+        Set<DatapathId> switches = Collections.singleton(SWITCH);
+
+        assertEquals(Collections.singletonList(SWITCH), scheduler.due(switches, 0));
+        scheduler.replied(SWITCH, 40);
+        assertTrue(scheduler.due(switches, 500).isEmpty());
+        assertEquals(Collections.singletonList(SWITCH), scheduler.due(switches, 1000));
+        scheduler.replied(SWITCH, 1020);
+
+        // a late tick does not cause a burst of polls
+        assertEquals(Collections.singletonList(SWITCH), scheduler.due(switches, 4500));
+        scheduler.replied(SWITCH, 4530);
+        assertTrue(scheduler.due(switches, 4900).isEmpty());
+        assertEquals(Collections.singletonList(SWITCH), scheduler.due(switches, 5000));
+
+        PollStats stats = scheduler.getStats().get(SWITCH.toString());
+        assertEquals(30L, stats.getLatency());
+        assertEquals(0L, stats.getMissed());
+    }
+
+    @Test
+    public void switchIsBackedOffWhileReplyIsOutstanding() {
+        Set<DatapathId> switches = Collections.singleton(SWITCH);
+
+        assertEquals(1, scheduler.due(switches, 0).size());
+        assertTrue(scheduler.due(switches, 1000).isEmpty());
+        assertTrue(scheduler.due(switches, 2000).isEmpty());
+        assertTrue(scheduler.due(switches, 3000).isEmpty());
+        assertEquals(4, scheduler.getStats().get(SWITCH.toString()).getBackoff());
+
+        scheduler.replied(SWITCH, 3500);
+        assertTrue(scheduler.due(switches, 6000).isEmpty());
+        assertEquals(1, scheduler.due(switches, 7000).size());
+
+        PollStats stats = scheduler.getStats().get(SWITCH.toString());
+        assertEquals(3500L, stats.getLatency());
+        assertEquals(2L, stats.getMissed());
+        assertEquals(1, stats.getBackoff());
+    }
+
+    @Test
+    public void lostRequestIsRepeated() {
+        Set<DatapathId> switches = Collections.singleton(SWITCH);
+
+        assertEquals(1, scheduler.due(switches, 0).size());
+        int polls = 0;
+        for (long now = INTERVAL; now <= INTERVAL * PollScheduler.MAX_BACKOFF * 2; now += INTERVAL) {
+            polls += scheduler.due(switches, now).size();
+        }
+
+        assertEquals(1, polls);
+        assertEquals(-1L, scheduler.getStats().get(SWITCH.toString()).getLatency());
+    }
+
+    @Test
+    public void failedRequestDoesNotBackOff() {
+        Set<DatapathId> switches = Collections.singleton(SWITCH);
+
+        assertEquals(1, scheduler.due(switches, 0).size());
+        scheduler.failed(SWITCH);
+        assertEquals(1, scheduler.due(switches, 1000).size());
+
+        PollStats stats = scheduler.getStats().get(SWITCH.toString());
+        assertEquals(1L, stats.getFailures());
+        assertEquals(0L, stats.getMissed());
+    }
+
+    @Test
+    public void disconnectedSwitchIsForgotten() {
+        assertEquals(1, scheduler.due(Collections.singleton(SWITCH), 0).size());
+
+        List<DatapathId> due = scheduler.due(Collections.emptySet(), 1000);
+
+        assertTrue(due.isEmpty());
+        assertTrue(scheduler.getStats().isEmpty());
+    }
+}
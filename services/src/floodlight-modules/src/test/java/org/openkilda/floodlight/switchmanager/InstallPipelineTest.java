@@ -0,0 +1,180 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.switchmanager;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.openkilda.floodlight.message.command.encapsulation.PushSchemeOutputCommands.ofFactory;
+
+import com.google.common.util.concurrent.SettableFuture;
+import net.floodlightcontroller.core.IOFSwitch;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBadRequestCode;
+import org.projectfloodlight.openflow.protocol.OFBarrierReply;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
+import org.projectfloodlight.openflow.protocol.OFErrorMsg;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class InstallPipelineTest {
+    private static final long BARRIER_TIMEOUT = 100;
+
+    private final InstallPipeline pipeline = new InstallPipeline(InstallPipeline.DEFAULT_BARRIER_TIMEOUT);
+    private final SettableFuture<OFBarrierReply> firstReply = SettableFuture.create();
+    private final SettableFuture<OFBarrierReply> secondReply = SettableFuture.create();
+    private final Capture<OFMessage> written = EasyMock.newCapture(CaptureType.ALL);
+    private final Capture<OFBarrierRequest> barriers = EasyMock.newCapture(CaptureType.ALL);
+    private IOFSwitch iofSwitch;
+
+    @Before
+    public void setUp() {
+        iofSwitch = createMock(IOFSwitch.class);
+        expect(iofSwitch.getId()).andStubReturn(DatapathId.of(1L));
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.writeRequest(capture(barriers))).andReturn(firstReply).andReturn(secondReply);
+    }
+
+    @Test
+    public void commandsAreBatchedUntilBarrierReply() throws Exception {
+        expect(iofSwitch.write(capture(written))).andStubReturn(true);
+        replay(iofSwitch);
+
+        OFMessage first = ofFactory.buildFlowAdd().build();
+        OFMessage second = ofFactory.buildFlowAdd().build();
+        OFMessage third = ofFactory.buildFlowAdd().build();
+
+        CompletableFuture<Long> firstResult = pipeline.submit(iofSwitch, first);
+        CompletableFuture<Long> secondResult = pipeline.submit(iofSwitch, second);
+        CompletableFuture<Long> thirdResult = pipeline.submit(iofSwitch, third);
+
+        // the next batch waits for the outstanding barrier
+        assertEquals(Arrays.asList(first), written.getValues());
+        assertEquals(1, barriers.getValues().size());
+
+        firstReply.set(ofFactory.buildBarrierReply().build());
+
+        assertEquals(first.getXid(), firstResult.get().longValue());
+        assertEquals(Arrays.asList(first, second, third), written.getValues());
+        assertEquals(2, barriers.getValues().size());
+        assertFalse(secondResult.isDone());
+
+        secondReply.set(ofFactory.buildBarrierReply().build());
+
+        assertEquals(second.getXid(), secondResult.get().longValue());
+        assertEquals(third.getXid(), thirdResult.get().longValue());
+    }
+
+    @Test
+    public void errorFailsItsCommandOnly() throws Exception {
+        expect(iofSwitch.write(capture(written))).andStubReturn(true);
+        replay(iofSwitch);
+
+        pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+        OFMessage rejected = ofFactory.buildFlowAdd().build();
+        CompletableFuture<Long> rejectedResult = pipeline.submit(iofSwitch, rejected);
+        CompletableFuture<Long> appliedResult = pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+        firstReply.set(ofFactory.buildBarrierReply().build());
+
+        OFErrorMsg error = ofFactory.errorMsgs().buildBadRequestErrorMsg()
+                .setXid(rejected.getXid())
+                .setCode(OFBadRequestCode.BAD_TYPE)
+                .build();
+
+        assertTrue(pipeline.handleError(iofSwitch, error));
+        assertFalse(pipeline.handleError(iofSwitch, error));
+        assertTrue(rejectedResult.isCompletedExceptionally());
+
+        secondReply.set(ofFactory.buildBarrierReply().build());
+
+        assertTrue(appliedResult.isDone());
+        assertFalse(appliedResult.isCompletedExceptionally());
+    }
+
+    @Test
+    public void barrierTimeoutFailsBatch() throws Exception {
+        expect(iofSwitch.write(capture(written))).andStubReturn(true);
+        replay(iofSwitch);
+        InstallPipeline pipeline = new InstallPipeline(BARRIER_TIMEOUT);
+        // the next barrier is replied as soon as it is sent
+        secondReply.set(ofFactory.buildBarrierReply().build());
+
+        CompletableFuture<Long> timedOutResult = pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+        OFMessage next = ofFactory.buildFlowAdd().build();
+        CompletableFuture<Long> nextResult = pipeline.submit(iofSwitch, next);
+
+        try {
+            timedOutResult.get(10 * BARRIER_TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("Command is confirmed without barrier reply");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof SwitchOperationException);
+        }
+        assertEquals(next.getXid(), nextResult.get(10 * BARRIER_TIMEOUT, TimeUnit.MILLISECONDS).longValue());
+
+        // late reply of the failed batch is ignored
+        firstReply.set(ofFactory.buildBarrierReply().build());
+
+        assertEquals(2, barriers.getValues().size());
+        assertTrue(timedOutResult.isCompletedExceptionally());
+    }
+
+    @Test
+    public void removedSwitchFailsCommands() throws Exception {
+        expect(iofSwitch.write(capture(written))).andStubReturn(true);
+        replay(iofSwitch);
+
+        CompletableFuture<Long> sentResult = pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+        CompletableFuture<Long> queuedResult = pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+
+        pipeline.removeSwitch(iofSwitch.getId());
+
+        assertTrue(sentResult.isCompletedExceptionally());
+        assertTrue(queuedResult.isCompletedExceptionally());
+        firstReply.set(ofFactory.buildBarrierReply().build());
+        assertEquals(1, barriers.getValues().size());
+    }
+
+    @Test(expected = SwitchOperationException.class)
+    public void notAcceptedCommandFails() throws Throwable {
+        expect(iofSwitch.write(anyObject(OFMessage.class))).andStubReturn(false);
+        replay(iofSwitch);
+
+        CompletableFuture<Long> result = pipeline.submit(iofSwitch, ofFactory.buildFlowAdd().build());
+
+        assertTrue(barriers.getValues().isEmpty());
+        try {
+            result.get();
+        } catch (ExecutionException exception) {
+            throw exception.getCause();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import static org.openkilda.floodlight.Constants.outputPort;
 import static org.openkilda.floodlight.Constants.outputVlanId;
 import static org.openkilda.floodlight.Constants.transitVlanId;
 import static org.openkilda.floodlight.message.command.encapsulation.PushSchemeOutputCommands.ofFactory;
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
@@ -34,6 +35,7 @@ import org.openkilda.floodlight.message.command.encapsulation.OutputCommands;
 import org.openkilda.floodlight.message.command.encapsulation.ReplaceSchemeOutputCommands;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
+import com.google.common.util.concurrent.SettableFuture;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.SwitchDescription;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
@@ -44,6 +46,7 @@ import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowModCommand;
 import org.projectfloodlight.openflow.protocol.OFMeterMod;
@@ -253,6 +256,8 @@ public class SwitchManagerTest {
         expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
         expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
         expect(switchDescription.getManufacturerDescription()).andStubReturn("");
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(SettableFuture.create());
 
         expect(iofSwitch.write(scheme.installMeter(bandwidth, burstSize, meterId))).andReturn(true);
 
@@ -289,6 +294,8 @@ public class SwitchManagerTest {
         expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
         expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
         expect(switchDescription.getManufacturerDescription()).andStubReturn("");
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(SettableFuture.create());
         expect(iofSwitch.write(capture(capture))).andReturn(true);
         EasyMock.expectLastCall();
 
@@ -306,6 +313,8 @@ public class SwitchManagerTest {
         expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
         expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
         expect(switchDescription.getManufacturerDescription()).andStubReturn("");
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(SettableFuture.create());
         expect(iofSwitch.write(capture(capture))).andReturn(true);
         EasyMock.expectLastCall();
 
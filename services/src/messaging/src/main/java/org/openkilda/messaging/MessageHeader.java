@@ -0,0 +1,208 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static org.openkilda.messaging.Utils.DESTINATION;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.InfoMessage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Class represents {@link Message} type and destination, read without deserialization of the whole message.
+ * {@link Message} pins type and destination as the first properties, so the parser stops right after them and
+ * messages addressed to other components are discarded at a cost proportional to the header, not the payload.
+ * Destination is not written when it is not set, in that case the payload is skipped over to the end of the message.
+ * Messages written in any other property order are still recognized, other properties are skipped over
+ * without being bound.
+ */
+public final class MessageHeader {
+    /**
+     * Message type property.
+     */
+    private static final String TYPE = "type";
+
+    /**
+     * Parser factory.
+     */
+    private static final JsonFactory FACTORY = Utils.MAPPER.getFactory();
+
+    /**
+     * Message type, null if unknown.
+     */
+    private final MessageType type;
+
+    /**
+     * Message destination, null if not set.
+     */
+    private final Destination destination;
+
+    /**
+     * Instance constructor.
+     *
+     * @param type        message type
+     * @param destination message destination
+     */
+    private MessageHeader(final MessageType type, final Destination destination) {
+        this.type = type;
+        this.destination = destination;
+    }
+
+    /**
+     * Reads message header.
+     *
+     * @param json serialized {@link Message}
+     * @return {@link MessageHeader} instance
+     * @throws IOException if json is malformed
+     */
+    public static MessageHeader peek(final String json) throws IOException {
+        String type = null;
+        String destination = null;
+        boolean hasDestination = false;
+
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Message is not a json object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if (TYPE.equals(field)) {
+                    type = parser.getValueAsString();
+                } else if (DESTINATION.equals(field)) {
+                    destination = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    hasDestination = true;
+                } else {
+                    parser.skipChildren();
+                }
+
+                if (type != null && hasDestination) {
+                    break;
+                }
+            }
+        }
+
+        return new MessageHeader(toEnum(MessageType.class, type), toEnum(Destination.class, destination));
+    }
+
+    /**
+     * Reads message header of the value read by {@link org.openkilda.messaging.codec.MessageFormat#readValue}.
+     * Messages bound by the binary format readers are not parsed again.
+     *
+     * @param value {@link Message} instance or json text
+     * @return {@link MessageHeader} instance
+     * @throws IOException if json is malformed or value is neither a message nor a text
+     */
+    public static MessageHeader peek(final Object value) throws IOException {
+        if (value instanceof Message) {
+            return of((Message) value);
+        }
+        if (value instanceof String) {
+            return peek((String) value);
+        }
+        throw new IOException(String.format("Could not read message header from %s",
+                value == null ? null : value.getClass().getName()));
+    }
+
+    /**
+     * Gets message header.
+     *
+     * @param message {@link Message} instance
+     * @return {@link MessageHeader} instance
+     */
+    public static MessageHeader of(final Message message) {
+        MessageType type = null;
+        if (message instanceof CommandMessage) {
+            type = MessageType.COMMAND;
+        } else if (message instanceof InfoMessage) {
+            type = MessageType.INFO;
+        } else if (message instanceof ErrorMessage) {
+            type = MessageType.ERROR;
+        }
+        return new MessageHeader(type, message.getDestination());
+    }
+
+    /**
+     * Returns message type.
+     *
+     * @return message type, null if unknown
+     */
+    public MessageType getType() {
+        return type;
+    }
+
+    /**
+     * Returns message destination.
+     *
+     * @return message destination, null if not set
+     */
+    public Destination getDestination() {
+        return destination;
+    }
+
+    /**
+     * Checks whether message is addressed to the destination.
+     *
+     * @param destination message destination
+     * @return true if message destination is the specified one
+     */
+    public boolean isAddressedTo(final Destination destination) {
+        return this.destination == destination;
+    }
+
+    /**
+     * Checks whether message is addressed to the destination and has the type.
+     *
+     * @param destination message destination
+     * @param type        message type
+     * @return true if message has the specified destination and type
+     */
+    public boolean isAddressedTo(final Destination destination, final MessageType type) {
+        return this.destination == destination && this.type == type;
+    }
+
+    private static <T extends Enum<T>> T toEnum(final Class<T> enumType, final String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(TYPE, type)
+                .add(DESTINATION, destination)
+                .toString();
+    }
+}
@@ -20,7 +20,14 @@ package org.openkilda.messaging;
  */
 public enum Topic {
     TEST("kilda-test"),
-    HEALTH_CHECK("kilda.health.check");
+    HEALTH_CHECK("kilda.health.check"),
+    NORTHBOUND("kilda.northbound"),
+    TOPOLOGY_ENGINE("kilda.topo.eng"),
+    SPEAKER("kilda.speaker"),
+    WFM("kilda.wfm"),
+    WFM_STATS("kilda.wfm.stats"),
+    WFM_CACHE("kilda.wfm.cache"),
+    WFM_TRANSACTION("kilda.wfm.transaction");
     /*
     NB_WFM("kilda.nb.wfm"),
     WFM_NB("kilda.wfm.nb"),
@@ -0,0 +1,149 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import com.google.common.base.MoreObjects;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Maps message {@link Destination} to Kafka topic.
+ * Each destination has its own topic, so consumers read only messages addressed to them. Messages without
+ * destination (switch, port and isl events) are broadcast through the events topic.
+ * Topics could be overridden with {@code kafka.topic.<destination>} properties, e.g. {@code kafka.topic.wfm_stats},
+ * and {@code kafka.topic.events} for the events topic. Other property name prefix could be used where dots are not
+ * allowed in property names.
+ */
+public class TopicRouter implements Serializable {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Topic property name prefix.
+     */
+    public static final String PROPERTY_PREFIX = "kafka.topic.";
+
+    /**
+     * Events topic property name suffix.
+     */
+    public static final String EVENTS = "events";
+
+    /**
+     * Default topics.
+     */
+    private static final Map<Destination, Topic> DEFAULT_TOPICS = new EnumMap<>(Destination.class);
+
+    static {
+        DEFAULT_TOPICS.put(Destination.NORTHBOUND, Topic.NORTHBOUND);
+        DEFAULT_TOPICS.put(Destination.TOPOLOGY_ENGINE, Topic.TOPOLOGY_ENGINE);
+        DEFAULT_TOPICS.put(Destination.CONTROLLER, Topic.SPEAKER);
+        DEFAULT_TOPICS.put(Destination.WFM, Topic.WFM);
+        DEFAULT_TOPICS.put(Destination.WFM_STATS, Topic.WFM_STATS);
+        DEFAULT_TOPICS.put(Destination.WFM_CACHE, Topic.WFM_CACHE);
+        DEFAULT_TOPICS.put(Destination.WFM_TRANSACTION, Topic.WFM_TRANSACTION);
+    }
+
+    /**
+     * Destination topics.
+     */
+    private final EnumMap<Destination, String> topics = new EnumMap<>(Destination.class);
+
+    /**
+     * Events topic.
+     */
+    private final String eventsTopic;
+
+    /**
+     * Instance constructor. Uses default topics.
+     */
+    public TopicRouter() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param properties topic overrides, {@link java.util.Properties} or any other string keyed map
+     */
+    public TopicRouter(final Map<?, ?> properties) {
+        this(properties, PROPERTY_PREFIX);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param properties topic overrides, {@link java.util.Properties} or any other string keyed map
+     * @param prefix     topic property name prefix
+     */
+    public TopicRouter(final Map<?, ?> properties, final String prefix) {
+        for (Destination destination : Destination.values()) {
+            topics.put(destination, getProperty(properties, prefix, destination.getType(),
+                    DEFAULT_TOPICS.get(destination).getId()));
+        }
+        eventsTopic = getProperty(properties, prefix, EVENTS, Topic.TEST.getId());
+    }
+
+    /**
+     * Returns topic for the destination.
+     *
+     * @param destination message destination, null for events
+     * @return topic name
+     */
+    public String getTopic(final Destination destination) {
+        return destination == null ? eventsTopic : topics.get(destination);
+    }
+
+    /**
+     * Returns topic for the message.
+     *
+     * @param message message to route
+     * @return topic name
+     */
+    public String getTopic(final Message message) {
+        return getTopic(message.getDestination());
+    }
+
+    /**
+     * Returns events topic.
+     *
+     * @return events topic name
+     */
+    public String getEventsTopic() {
+        return eventsTopic;
+    }
+
+    private static String getProperty(final Map<?, ?> properties, final String prefix, final String name,
+                                      final String defaultValue) {
+        Object value = properties.get(prefix + name.toLowerCase());
+        return value == null ? defaultValue : value.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("topics", topics)
+                .add("events", eventsTopic)
+                .toString();
+    }
+}
@@ -0,0 +1,197 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.info.InfoData;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of shared json readers and writers. {@link ObjectReader} and {@link ObjectWriter} are immutable and
+ * thread safe, type specialised instances skip root type resolution on each call, so they are created once and
+ * shared by all components instead of building {@link com.fasterxml.jackson.databind.ObjectMapper} per message.
+ * Also provides streaming access to top-level fields of a json object, so components which only route messages
+ * could pass them through without binding and serializing them again.
+ */
+public final class JsonCodecs {
+    /**
+     * {@link Message} reader.
+     */
+    public static final ObjectReader MESSAGE_READER = MAPPER.readerFor(Message.class);
+
+    /**
+     * {@link Message} writer.
+     */
+    public static final ObjectWriter MESSAGE_WRITER = MAPPER.writerFor(Message.class);
+
+    /**
+     * {@link InfoData} reader.
+     */
+    public static final ObjectReader INFO_DATA_READER = MAPPER.readerFor(InfoData.class);
+
+    /**
+     * {@link InfoData} writer.
+     */
+    public static final ObjectWriter INFO_DATA_WRITER = MAPPER.writerFor(InfoData.class);
+
+    /**
+     * {@link CommandData} reader.
+     */
+    public static final ObjectReader COMMAND_DATA_READER = MAPPER.readerFor(CommandData.class);
+
+    /**
+     * {@link CommandData} writer.
+     */
+    public static final ObjectWriter COMMAND_DATA_WRITER = MAPPER.writerFor(CommandData.class);
+
+    /**
+     * Readers by value type.
+     */
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    /**
+     * Writers by value type.
+     */
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        READERS.put(Message.class, MESSAGE_READER);
+        READERS.put(InfoData.class, INFO_DATA_READER);
+        READERS.put(CommandData.class, COMMAND_DATA_READER);
+        WRITERS.put(Message.class, MESSAGE_WRITER);
+        WRITERS.put(InfoData.class, INFO_DATA_WRITER);
+        WRITERS.put(CommandData.class, COMMAND_DATA_WRITER);
+    }
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * Returns shared reader of the type.
+     *
+     * @param type value type
+     * @return {@link ObjectReader} instance
+     */
+    public static ObjectReader readerFor(final Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Returns shared writer of the type.
+     *
+     * @param type value type
+     * @return {@link ObjectWriter} instance
+     */
+    public static ObjectWriter writerFor(final Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /**
+     * Reads scalar top-level fields of a json object as text, nested objects and arrays are skipped over.
+     *
+     * @param json  json object
+     * @param names field names
+     * @return field values in order of names, null for absent, null and non scalar fields
+     * @throws IOException if json is malformed
+     */
+    public static String[] readFields(final String json, final String... names) throws IOException {
+        String[] values = new String[names.length];
+        int found = 0;
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            checkObject(parser);
+
+            while (found < names.length && parser.nextToken() == JsonToken.FIELD_NAME) {
+                int index = indexOf(names, parser.getCurrentName());
+                JsonToken value = parser.nextToken();
+
+                if (index < 0 || values[index] != null) {
+                    parser.skipChildren();
+                } else if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    values[index] = parser.getText();
+                    found++;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns json text of a top-level field of a json object as is, without binding it.
+     *
+     * @param json json object
+     * @param name field name
+     * @return json text of the field value, null if there is no such field
+     * @throws IOException if json is malformed
+     */
+    public static String readRawField(final String json, final String name) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            checkObject(parser);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if (!name.equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                int start = (int) parser.getTokenLocation().getCharOffset();
+                if (value == JsonToken.VALUE_STRING) {
+                    // string tokens are read lazily
+                    parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+                int end = (int) parser.getCurrentLocation().getCharOffset();
+                return json.substring(start, end);
+            }
+        }
+
+        return null;
+    }
+
+    private static void checkObject(final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Message is not a json object");
+        }
+    }
+
+    private static int indexOf(final String[] names, final String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
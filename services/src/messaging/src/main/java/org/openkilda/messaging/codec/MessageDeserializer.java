@@ -0,0 +1,59 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Kafka deserializer of messages of any {@link MessageFormat}. Binary messages are bound to the
+ * {@link org.openkilda.messaging.Message} directly, json text is returned as is, see {@link MessageFormat#readValue}.
+ * Consumers get the message with {@link MessageFormat#toMessage}, so they do not depend on the format producers are
+ * configured with.
+ */
+public class MessageDeserializer implements Deserializer<Object> {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return MessageFormat.readValue(data);
+        } catch (IOException exception) {
+            throw new SerializationException("Could not deserialize message from topic " + topic, exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+    }
+}
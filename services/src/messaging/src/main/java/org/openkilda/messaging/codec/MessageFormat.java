@@ -0,0 +1,184 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.openkilda.messaging.Message;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+
+/**
+ * Wire format of the {@link Message}.
+ * Every format is recognized by the first bytes of the payload, so components running different formats could
+ * co-exist during rollout: every consumer accepts every format and producers are switched one by one. JSON payloads
+ * are objects, they start with an opening brace after optional whitespace, and stay readable by components which
+ * know nothing about the other formats. Smile payloads start with the Smile header written by the Smile generator.
+ * Payloads of any other shape are rejected with the format error instead of being handed to the JSON parser.
+ * Messages are written to and read from the binary formats by the format mapper directly, they never pass through
+ * json text on the way.
+ */
+public enum MessageFormat {
+    /**
+     * Jackson JSON text, the default one.
+     */
+    JSON,
+
+    /**
+     * Jackson Smile binary JSON.
+     */
+    SMILE;
+
+    /**
+     * Message format property name.
+     */
+    public static final String PROPERTY = "kafka.message.format";
+
+    /**
+     * Smile header prefix, the header is always written by the Smile generator and required by the Smile parser.
+     * The header byte following the prefix carries the Smile format version.
+     */
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    /**
+     * Smile object mapper.
+     */
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    /**
+     * Smile {@link Message} reader.
+     */
+    private static final ObjectReader SMILE_READER = SMILE_MAPPER.readerFor(Message.class);
+
+    /**
+     * Smile {@link Message} writer.
+     */
+    private static final ObjectWriter SMILE_WRITER = SMILE_MAPPER.writerFor(Message.class);
+
+    /**
+     * Serializes the message.
+     *
+     * @param message {@link Message} instance
+     * @return encoded message
+     * @throws IOException if serialization fails
+     */
+    public byte[] encode(final Message message) throws IOException {
+        if (this == JSON) {
+            return JsonCodecs.MESSAGE_WRITER.writeValueAsBytes(message);
+        }
+        return SMILE_WRITER.writeValueAsBytes(message);
+    }
+
+    /**
+     * Deserializes the message of any format.
+     *
+     * @param data encoded message
+     * @return {@link Message} instance
+     * @throws IOException if message is malformed
+     */
+    public static Message decode(final byte[] data) throws IOException {
+        switch (detect(data)) {
+            case SMILE:
+                return SMILE_READER.readValue(data);
+            default:
+                return JsonCodecs.MESSAGE_READER.readValue(data);
+        }
+    }
+
+    /**
+     * Reads the message of any format for consumers which handle json text themselves, e.g. pass it through or
+     * prefilter it by the header. Binary payloads are bound to the {@link Message}, json text is returned as is.
+     *
+     * @param data encoded message
+     * @return {@link Message} instance or json text
+     * @throws IOException if message is malformed
+     */
+    public static Object readValue(final byte[] data) throws IOException {
+        if (detect(data) == JSON) {
+            return new String(data, UTF_8);
+        }
+        return decode(data);
+    }
+
+    /**
+     * Gets the message read by {@link #readValue}, binding json text if needed.
+     *
+     * @param value {@link Message} instance or json text
+     * @return {@link Message} instance
+     * @throws IOException if json is malformed or value is neither a message nor a text
+     */
+    public static Message toMessage(final Object value) throws IOException {
+        if (value instanceof Message) {
+            return (Message) value;
+        }
+        if (value instanceof String) {
+            return JsonCodecs.MESSAGE_READER.readValue((String) value);
+        }
+        throw new IOException(String.format("Could not read message from %s",
+                value == null ? null : value.getClass().getName()));
+    }
+
+    /**
+     * Detects encoded message format.
+     *
+     * @param data encoded message
+     * @return {@link MessageFormat} instance
+     * @throws IOException if message is neither a json object nor a Smile payload
+     */
+    public static MessageFormat detect(final byte[] data) throws IOException {
+        if (startsWith(data, SMILE_HEADER)) {
+            return SMILE;
+        }
+        for (byte value : data) {
+            if (value == '{') {
+                return JSON;
+            }
+            if (value != ' ' && value != '\t' && value != '\n' && value != '\r') {
+                throw new IOException(String.format(
+                        "Unknown message format: payload starts with 0x%02x, expected json object or Smile header",
+                        value & 0xff));
+            }
+        }
+        throw new IOException("Unknown message format: payload is blank");
+    }
+
+    /**
+     * Parses format property value.
+     *
+     * @param value format name, case insensitive, null for the default one
+     * @return {@link MessageFormat} instance
+     */
+    public static MessageFormat of(final Object value) {
+        return value == null ? JSON : valueOf(value.toString().trim().toUpperCase());
+    }
+
+    private static boolean startsWith(final byte[] data, final byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
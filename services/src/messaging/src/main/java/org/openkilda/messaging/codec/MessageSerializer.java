@@ -0,0 +1,76 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.openkilda.messaging.Message;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Kafka serializer of messages. Writes {@link Message} instances in the {@link MessageFormat} of their topic, set by
+ * {@link TopicFormats} producer properties, JSON by default. Json text is written as is whatever the topic format is,
+ * so producers which already hold text do not pay for converting it, every consumer reads it.
+ */
+public class MessageSerializer implements Serializer<Object> {
+    /**
+     * Message formats of the topics.
+     */
+    private TopicFormats formats = new TopicFormats();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        formats = new TopicFormats(configs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof String) {
+            return ((String) data).getBytes(UTF_8);
+        }
+        if (!(data instanceof Message)) {
+            throw new SerializationException("Could not serialize " + data.getClass().getName() + " as message");
+        }
+
+        MessageFormat format = formats.getFormat(topic);
+        try {
+            return format.encode((Message) data);
+        } catch (IOException exception) {
+            throw new SerializationException("Could not serialize message to " + format, exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+    }
+}
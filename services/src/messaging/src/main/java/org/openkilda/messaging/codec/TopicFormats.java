@@ -0,0 +1,135 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.TopicRouter;
+
+import com.google.common.base.MoreObjects;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps Kafka topic to the {@link MessageFormat} its messages are written in.
+ * The format is set per destination with {@code kafka.message.format.<destination>} properties, e.g.
+ * {@code kafka.message.format.wfm_stats}, and {@code kafka.message.format.events} for the events topic. Topics without
+ * own setting use {@code kafka.message.format}, JSON by default. The topology engine reads JSON only, so its topic and
+ * the events topic are always written as JSON and other formats are rejected for them. Topics are resolved by
+ * {@link TopicRouter} from the same properties. Other property name prefixes could be used where dots are not allowed
+ * in property names.
+ */
+public class TopicFormats implements Serializable {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Destination format property name prefix.
+     */
+    public static final String PROPERTY_PREFIX = MessageFormat.PROPERTY + ".";
+
+    /**
+     * Topic formats.
+     */
+    private final HashMap<String, MessageFormat> formats = new HashMap<>();
+
+    /**
+     * Format of the topics without own setting.
+     */
+    private final MessageFormat defaultFormat;
+
+    /**
+     * Instance constructor. Uses JSON for all topics.
+     */
+    public TopicFormats() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param properties format and topic settings, {@link java.util.Properties} or any other string keyed map
+     * @throws IllegalArgumentException if other format than JSON is set for the topology engine or events topic
+     */
+    public TopicFormats(final Map<?, ?> properties) {
+        this(properties, TopicRouter.PROPERTY_PREFIX, MessageFormat.PROPERTY, PROPERTY_PREFIX);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param properties     format and topic settings, {@link java.util.Properties} or any other string keyed map
+     * @param topicPrefix    topic property name prefix
+     * @param formatProperty default format property name
+     * @param formatPrefix   destination format property name prefix
+     * @throws IllegalArgumentException if other format than JSON is set for the topology engine or events topic
+     */
+    public TopicFormats(final Map<?, ?> properties, final String topicPrefix, final String formatProperty,
+                        final String formatPrefix) {
+        TopicRouter topics = new TopicRouter(properties, topicPrefix);
+        defaultFormat = MessageFormat.of(properties.get(formatProperty));
+
+        for (Destination destination : Destination.values()) {
+            MessageFormat format = getFormat(properties, formatPrefix, destination.getType());
+            formats.put(topics.getTopic(destination), format == null ? defaultFormat : format);
+        }
+
+        // json only topics go last, so they win if other destination shares the topic
+        requireJson(properties, formatPrefix, Destination.TOPOLOGY_ENGINE.getType());
+        formats.put(topics.getTopic(Destination.TOPOLOGY_ENGINE), MessageFormat.JSON);
+        requireJson(properties, formatPrefix, TopicRouter.EVENTS);
+        formats.put(topics.getEventsTopic(), MessageFormat.JSON);
+    }
+
+    /**
+     * Returns format of the topic.
+     *
+     * @param topic topic name
+     * @return {@link MessageFormat} instance
+     */
+    public MessageFormat getFormat(final String topic) {
+        return formats.getOrDefault(topic, defaultFormat);
+    }
+
+    private static MessageFormat getFormat(final Map<?, ?> properties, final String prefix, final String name) {
+        Object value = properties.get(prefix + name.toLowerCase());
+        return value == null ? null : MessageFormat.of(value);
+    }
+
+    private static void requireJson(final Map<?, ?> properties, final String prefix, final String name) {
+        MessageFormat format = getFormat(properties, prefix, name);
+        if (format != null && format != MessageFormat.JSON) {
+            throw new IllegalArgumentException(String.format(
+                    "The %s topic is read by the topology engine, only %s format is supported, %s is set by %s",
+                    name.toLowerCase(), MessageFormat.JSON, format, prefix + name.toLowerCase()));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("formats", formats)
+                .add("default", defaultFormat)
+                .toString();
+    }
+}
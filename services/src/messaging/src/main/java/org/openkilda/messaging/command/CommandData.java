@@ -20,6 +20,8 @@ import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.HealthCheckCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.command.flow.BatchInstallFlows;
+import org.openkilda.messaging.command.flow.BatchRemoveFlows;
 import org.openkilda.messaging.command.flow.DefaultFlowsCommandData;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
@@ -29,6 +31,7 @@ import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowRestoreRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.command.flow.FlowsGetRequest;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
 import org.openkilda.messaging.command.flow.InstallIngressFlow;
@@ -57,6 +60,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
         @Type(value = FlowDeleteRequest.class, name = "flow_delete"),
         @Type(value = FlowRestoreRequest.class, name = "flow_restore"),
         @Type(value = FlowsGetRequest.class, name = "flows_get"),
+        @Type(value = FlowsCreateRequest.class, name = "flows_create"),
         @Type(value = FlowGetRequest.class, name = "flow_get"),
         @Type(value = FlowPathRequest.class, name = "flow_path"),
         @Type(value = DefaultFlowsCommandData.class, name = "install_default_flows"),
@@ -65,6 +69,8 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
         @Type(value = InstallTransitFlow.class, name = "install_transit_flow"),
         @Type(value = InstallOneSwitchFlow.class, name = "install_one_switch_flow"),
         @Type(value = RemoveFlow.class, name = "delete_flow"),
+        @Type(value = BatchInstallFlows.class, name = "batch_install_flows"),
+        @Type(value = BatchRemoveFlows.class, name = "batch_remove_flows"),
         @Type(value = DiscoverIslCommandData.class, name = "discover_isl"),
         @Type(value = DiscoverPathCommandData.class, name = "discover_path"),
         @Type(value = FlowRerouteRequest.class, name = "flow_reroute"),
@@ -18,20 +18,27 @@ package org.openkilda.messaging.command.discovery;
 import org.openkilda.messaging.command.CommandData;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Defines the payload payload of a Message representing an command for ISL discovery.
+ * Discovery of several ports of the switch is requested by one command with the list of port numbers.
  */
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "command",
         "switch_id",
-        "port_no"})
+        "port_no",
+        "port_numbers"})
 public class DiscoverIslCommandData extends CommandData {
     /**
      * Serialization version number constant.
@@ -50,6 +57,12 @@ public class DiscoverIslCommandData extends CommandData {
     @JsonProperty("port_no")
     protected int portNo;
 
+    /**
+     * Port numbers of the batched command.
+     */
+    @JsonProperty("port_numbers")
+    protected List<Integer> portNumbers;
+
     /**
      * Default constructor.
      */
@@ -62,11 +75,36 @@ public class DiscoverIslCommandData extends CommandData {
      * @param switchId switch id
      * @param portNo   port number
      */
+    public DiscoverIslCommandData(final String switchId, final int portNo) {
+        this.switchId = switchId;
+        this.portNo = portNo;
+    }
+
+    /**
+     * Instance constructor of the batched command.
+     *
+     * @param switchId    switch id
+     * @param portNumbers port numbers
+     */
+    public DiscoverIslCommandData(final String switchId, final List<Integer> portNumbers) {
+        this.switchId = switchId;
+        this.portNumbers = new ArrayList<>(portNumbers);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param switchId    switch id
+     * @param portNo      port number
+     * @param portNumbers port numbers of the batched command, null for a single port
+     */
     @JsonCreator
     public DiscoverIslCommandData(@JsonProperty("switch_id") final String switchId,
-                                  @JsonProperty("port_no") final int portNo) {
+                                  @JsonProperty("port_no") final int portNo,
+                                  @JsonProperty("port_numbers") final List<Integer> portNumbers) {
         this.switchId = switchId;
         this.portNo = portNo;
+        this.portNumbers = portNumbers;
     }
 
     /**
@@ -105,11 +143,21 @@ public class DiscoverIslCommandData extends CommandData {
         this.portNo = portNo;
     }
 
+    /**
+     * Returns port numbers to discover, either of the batched command or the single port number.
+     *
+     * @return port numbers
+     */
+    @JsonIgnore
+    public List<Integer> getPortsToDiscover() {
+        return portNumbers != null ? portNumbers : Collections.singletonList(portNo);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String toString() {
-        return String.format("%s-%s", switchId, portNo);
+        return String.format("%s-%s", switchId, portNumbers != null ? portNumbers : portNo);
     }
 }
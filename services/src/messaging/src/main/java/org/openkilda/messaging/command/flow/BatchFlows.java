@@ -0,0 +1,198 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static org.openkilda.messaging.Utils.TRANSACTION_ID;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandData;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Represents flow rules of one switch sent as a single command. The batch is a single transaction: the speaker
+ * replies once with the rules it has applied, instead of one round trip per rule.
+ *
+ * @param <T> flow rule type
+ */
+public abstract class BatchFlows<T extends BaseFlow> extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Transaction id.
+     */
+    @JsonProperty(TRANSACTION_ID)
+    protected Long transactionId;
+
+    /**
+     * The switch id to manage flow rules on.
+     */
+    @JsonProperty("switch_id")
+    protected String switchId;
+
+    /**
+     * Flow rules of the switch.
+     */
+    @JsonProperty("commands")
+    protected List<T> commands;
+
+    /**
+     * Instance constructor.
+     *
+     * @param transactionId transaction id
+     * @param switchId      switch id for flow management
+     * @param commands      flow rules of the switch
+     * @throws IllegalArgumentException if switch id is invalid, rules are not set or a rule is for another switch
+     */
+    protected BatchFlows(final Long transactionId, final String switchId, final List<T> commands) {
+        setTransactionId(transactionId);
+        setSwitchId(switchId);
+        setCommands(commands);
+    }
+
+    /**
+     * Returns transaction id of the batch.
+     *
+     * @return transaction id of the batch
+     */
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Sets transaction id of the batch.
+     *
+     * @param transactionId transaction id of the batch
+     */
+    public void setTransactionId(final Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Returns id of the switch.
+     *
+     * @return id of the switch
+     */
+    public String getSwitchId() {
+        return switchId;
+    }
+
+    /**
+     * Sets id of the switch.
+     *
+     * @param switchId id of the switch
+     */
+    public void setSwitchId(final String switchId) {
+        if (switchId == null) {
+            throw new IllegalArgumentException("need to set a switch_id");
+        } else if (!Utils.validateSwitchId(switchId)) {
+            throw new IllegalArgumentException("need to set valid value for switch_id");
+        }
+        this.switchId = switchId;
+    }
+
+    /**
+     * Returns flow rules of the switch.
+     *
+     * @return flow rules of the switch
+     */
+    public List<T> getCommands() {
+        return commands;
+    }
+
+    /**
+     * Sets flow rules of the switch. The rules are empty if the speaker confirms the batch none of the rules of which
+     * were applied.
+     *
+     * @param commands flow rules of the switch
+     */
+    public void setCommands(final List<T> commands) {
+        if (commands == null) {
+            throw new IllegalArgumentException("need to set commands");
+        }
+        for (T command : commands) {
+            if (!switchId.equals(command.getSwitchId())) {
+                throw new IllegalArgumentException(String.format("command for switch %s is in batch of switch %s",
+                        command.getSwitchId(), switchId));
+            }
+        }
+        this.commands = new ArrayList<>(commands);
+    }
+
+    /**
+     * Returns ids of the flows the rules belong to.
+     *
+     * @return flow ids in order of the rules
+     */
+    @JsonIgnore
+    public Set<String> getFlowIds() {
+        Set<String> flowIds = new LinkedHashSet<>();
+        for (T command : commands) {
+            flowIds.add(command.getId());
+        }
+        return flowIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(TRANSACTION_ID, transactionId)
+                .add("switch_id", switchId)
+                .add("commands", commands)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        BatchFlows<?> that = (BatchFlows<?>) object;
+        return Objects.equals(getTransactionId(), that.getTransactionId()) &&
+                Objects.equals(getSwitchId(), that.getSwitchId()) &&
+                Objects.equals(getCommands(), that.getCommands());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(transactionId, switchId, commands);
+    }
+}
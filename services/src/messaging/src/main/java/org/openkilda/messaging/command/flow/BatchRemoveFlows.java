@@ -0,0 +1,59 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.flow;
+
+import static org.openkilda.messaging.Utils.TRANSACTION_ID;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * Represents flow rules deletion info for one switch.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "command",
+        TRANSACTION_ID,
+        "switch_id",
+        "commands"})
+public class BatchRemoveFlows extends BatchFlows<RemoveFlow> {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Instance constructor.
+     *
+     * @param transactionId transaction id
+     * @param switchId      switch id to delete flow rules on
+     * @param commands      flow rules to delete
+     * @throws IllegalArgumentException if switch id is invalid, there are no rules or a rule is for another switch
+     */
+    @JsonCreator
+    public BatchRemoveFlows(@JsonProperty(TRANSACTION_ID) final Long transactionId,
+                            @JsonProperty("switch_id") final String switchId,
+                            @JsonProperty("commands") final List<RemoveFlow> commands) {
+        super(transactionId, switchId, commands);
+    }
+}
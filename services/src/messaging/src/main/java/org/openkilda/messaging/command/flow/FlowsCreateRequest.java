@@ -0,0 +1,124 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.model.Flow;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents create flows northbound request. The flow topology splits the batch, every flow is created or rejected
+ * independently by the bolt task which owns its flow id and is reported with a separate flows create response.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "command",
+        Utils.PAYLOAD})
+public class FlowsCreateRequest extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of flows in a batch, larger batches are rejected by northbound.
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * The request payload.
+     */
+    @JsonProperty(Utils.PAYLOAD)
+    protected List<Flow> payload;
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload request payload
+     * @throws IllegalArgumentException if payload is null
+     */
+    @JsonCreator
+    public FlowsCreateRequest(@JsonProperty(Utils.PAYLOAD) List<Flow> payload) {
+        setPayload(payload);
+    }
+
+    /**
+     * Returns request payload.
+     *
+     * @return request payload
+     */
+    public List<Flow> getPayload() {
+        return payload;
+    }
+
+    /**
+     * Sets request payload.
+     *
+     * @param payload request payload
+     */
+    public void setPayload(List<Flow> payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("need to set payload");
+        }
+        this.payload = payload;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(Utils.PAYLOAD, payload)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(payload);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        FlowsCreateRequest that = (FlowsCreateRequest) object;
+        return Objects.equals(getPayload(), that.getPayload());
+    }
+}
@@ -30,34 +30,75 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.Objects;
 
 /**
- * Represents dump all flows northbound request.
+ * Represents dump all flows northbound request. Flows are dumped page by page in order of flow ids, each page
+ * starts after the cursor returned with the previous one.
  */
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "command",
-        PAYLOAD})
+        PAYLOAD,
+        FlowsGetRequest.CURSOR,
+        FlowsGetRequest.LIMIT})
 public class FlowsGetRequest extends CommandData {
     /**
      * Serialization version number constant.
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Cursor property name.
+     */
+    public static final String CURSOR = "cursor";
+
+    /**
+     * Limit property name.
+     */
+    public static final String LIMIT = "limit";
+
     /**
      * The request payload.
      */
     @JsonProperty(PAYLOAD)
     protected FlowIdStatusPayload payload;
 
+    /**
+     * Last flow id of the previous page, null for the first page.
+     */
+    @JsonProperty(CURSOR)
+    protected String cursor;
+
+    /**
+     * Page size limit, null for the default one.
+     */
+    @JsonProperty(LIMIT)
+    protected Integer limit;
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload request payload
+     * @throws IllegalArgumentException if payload is null
+     */
+    public FlowsGetRequest(final FlowIdStatusPayload payload) {
+        this(payload, null, null);
+    }
+
     /**
      * Instance constructor.
      *
      * @param payload request payload
+     * @param cursor  last flow id of the previous page, null for the first page
+     * @param limit   page size limit, null for the default one
      * @throws IllegalArgumentException if payload is null
      */
     @JsonCreator
-    public FlowsGetRequest(@JsonProperty(PAYLOAD) final FlowIdStatusPayload payload) {
+    public FlowsGetRequest(@JsonProperty(PAYLOAD) final FlowIdStatusPayload payload,
+                           @JsonProperty(CURSOR) final String cursor,
+                           @JsonProperty(LIMIT) final Integer limit) {
         setPayload(payload);
+        this.cursor = cursor;
+        this.limit = limit;
     }
 
     /**
@@ -81,6 +122,24 @@ public class FlowsGetRequest extends CommandData {
         this.payload = payload;
     }
 
+    /**
+     * Returns last flow id of the previous page.
+     *
+     * @return cursor, null for the first page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns page size limit.
+     *
+     * @return page size limit, null for the default one
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -88,6 +147,8 @@ public class FlowsGetRequest extends CommandData {
     public String toString() {
         return toStringHelper(this)
                 .add(PAYLOAD, payload)
+                .add(CURSOR, cursor)
+                .add(LIMIT, limit)
                 .toString();
     }
 
@@ -96,7 +157,7 @@ public class FlowsGetRequest extends CommandData {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(payload);
+        return Objects.hash(payload, cursor, limit);
     }
 
     /**
@@ -112,6 +173,8 @@ public class FlowsGetRequest extends CommandData {
         }
 
         FlowsGetRequest that = (FlowsGetRequest) object;
-        return Objects.equals(getPayload(), that.getPayload());
+        return Objects.equals(getPayload(), that.getPayload())
+                && Objects.equals(getCursor(), that.getCursor())
+                && Objects.equals(getLimit(), that.getLimit());
     }
 }
@@ -26,6 +26,7 @@ import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
@@ -48,6 +49,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 @JsonSubTypes({
         @Type(value = FlowResponse.class, name = "flow"),
         @Type(value = FlowsResponse.class, name = "flows"),
+        @Type(value = FlowsCreateResponse.class, name = "flows_create"),
         @Type(value = FlowStatusResponse.class, name = "flow_status"),
         @Type(value = FlowPathResponse.class, name = "flow_path"),
         @Type(value = FlowInfoData.class, name = "flow_operation"),
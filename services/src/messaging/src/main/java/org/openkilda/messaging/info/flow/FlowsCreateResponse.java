@@ -0,0 +1,156 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents create flows northbound response, the status of each requested flow in the request order. The topology
+ * creates flows of a batch by parts, each part is responded separately with statuses of its flows and the number
+ * of parts the batch is split to.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "message_type",
+        Utils.PAYLOAD,
+        FlowsCreateResponse.PARTS})
+public class FlowsCreateResponse extends InfoData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Parts property name.
+     */
+    public static final String PARTS = "parts";
+
+    /**
+     * The response payload.
+     */
+    @JsonProperty(Utils.PAYLOAD)
+    protected List<FlowBatchStatusPayload> payload;
+
+    /**
+     * Number of responses the request is answered with.
+     */
+    @JsonProperty(PARTS)
+    protected int parts;
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload response payload
+     * @throws IllegalArgumentException if payload is null
+     */
+    public FlowsCreateResponse(List<FlowBatchStatusPayload> payload) {
+        this(payload, 1);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload response payload
+     * @param parts   number of responses the request is answered with, 1 if null
+     * @throws IllegalArgumentException if payload is null
+     */
+    @JsonCreator
+    public FlowsCreateResponse(@JsonProperty(Utils.PAYLOAD) List<FlowBatchStatusPayload> payload,
+                               @JsonProperty(PARTS) Integer parts) {
+        setPayload(payload);
+        this.parts = parts == null ? 1 : parts;
+    }
+
+    /**
+     * Returns response payload.
+     *
+     * @return response payload
+     */
+    public List<FlowBatchStatusPayload> getPayload() {
+        return payload;
+    }
+
+    /**
+     * Sets response payload.
+     *
+     * @param payload response payload
+     */
+    public void setPayload(List<FlowBatchStatusPayload> payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("need to set payload");
+        }
+        this.payload = payload;
+    }
+
+    /**
+     * Returns number of responses the request is answered with.
+     *
+     * @return number of responses
+     */
+    public int getParts() {
+        return parts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(Utils.PAYLOAD, payload)
+                .add(PARTS, parts)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(payload, parts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        FlowsCreateResponse that = (FlowsCreateResponse) object;
+        return Objects.equals(getPayload(), that.getPayload())
+                && getParts() == that.getParts();
+    }
+}
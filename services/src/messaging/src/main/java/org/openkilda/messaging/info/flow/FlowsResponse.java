@@ -31,34 +31,85 @@ import java.util.List;
 import java.util.Objects;
 
 /**
- * Represents flows northbound response.
+ * Represents flows northbound response, a page of the flows dump.
  */
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "message_type",
-        Utils.PAYLOAD})
+        Utils.PAYLOAD,
+        FlowsResponse.CURSOR,
+        FlowsResponse.PARTS})
 public class FlowsResponse extends InfoData {
     /**
      * Serialization version number constant.
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Cursor property name.
+     */
+    public static final String CURSOR = "cursor";
+
+    /**
+     * Parts property name.
+     */
+    public static final String PARTS = "parts";
+
     /**
      * The response payload.
      */
     @JsonProperty(Utils.PAYLOAD)
     protected List<Flow> payload;
 
+    /**
+     * Cursor of the next page, null for the last page.
+     */
+    @JsonProperty(CURSOR)
+    protected String cursor;
+
+    /**
+     * Number of responses the dump page is answered with, one per topology task.
+     */
+    @JsonProperty(PARTS)
+    protected int parts;
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload response payload
+     * @throws IllegalArgumentException if payload is null
+     */
+    public FlowsResponse(List<Flow> payload) {
+        this(payload, null);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param payload response payload
+     * @param cursor  cursor of the next page, null for the last page
+     * @throws IllegalArgumentException if payload is null
+     */
+    public FlowsResponse(List<Flow> payload, String cursor) {
+        this(payload, cursor, 1);
+    }
+
     /**
      * Instance constructor.
      *
      * @param payload response payload
+     * @param cursor  cursor of the next page, null for the last page
+     * @param parts   number of responses the page is answered with
      * @throws IllegalArgumentException if payload is null
      */
     @JsonCreator
-    public FlowsResponse(@JsonProperty(Utils.PAYLOAD) List<Flow> payload) {
+    public FlowsResponse(@JsonProperty(Utils.PAYLOAD) List<Flow> payload,
+                         @JsonProperty(CURSOR) String cursor,
+                         @JsonProperty(PARTS) Integer parts) {
         setPayload(payload);
+        this.cursor = cursor;
+        this.parts = parts == null ? 1 : parts;
     }
 
     /**
@@ -82,6 +133,24 @@ public class FlowsResponse extends InfoData {
         this.payload = payload;
     }
 
+    /**
+     * Returns cursor of the next page.
+     *
+     * @return cursor, null for the last page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns number of responses the page is answered with.
+     *
+     * @return number of responses
+     */
+    public int getParts() {
+        return parts;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -89,6 +158,8 @@ public class FlowsResponse extends InfoData {
     public String toString() {
         return toStringHelper(this)
                 .add(Utils.PAYLOAD, payload)
+                .add(CURSOR, cursor)
+                .add(PARTS, parts)
                 .toString();
     }
 
@@ -97,7 +168,7 @@ public class FlowsResponse extends InfoData {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(payload);
+        return Objects.hash(payload, cursor, parts);
     }
 
     /**
@@ -113,6 +184,8 @@ public class FlowsResponse extends InfoData {
         }
 
         FlowsResponse that = (FlowsResponse) object;
-        return Objects.equals(getPayload(), that.getPayload());
+        return Objects.equals(getPayload(), that.getPayload())
+                && Objects.equals(getCursor(), that.getCursor())
+                && getParts() == that.getParts();
     }
 }
@@ -16,28 +16,62 @@
 package org.openkilda.messaging.payload;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class represents resource allocator/deallocator.
+ * Allocated ids are kept in a bitset, one bit per id starting from the minimum value. The bitset grows on demand,
+ * so wide ranges cost memory proportional to the highest allocated id only. Allocation always returns the lowest
+ * free id, a cursor points to the first word which may have a free bit, so full words are never rescanned.
  */
 public class ResourcePool {
     /**
-     * Resource values pool.
+     * Bits per bitset word.
      */
-    private final Set<Integer> resources = ConcurrentHashMap.newKeySet();
+    private static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * Initial bitset size in words.
+     */
+    private static final int INITIAL_WORDS = 4;
 
     /**
      * Resource range of values.
      */
     private final Range<Integer> range;
 
+    /**
+     * Minimum resource id value.
+     */
+    private final int minValue;
+
+    /**
+     * Resource values count.
+     */
+    private final long capacity;
+
+    /**
+     * Allocated resources bitset, bit {@code i} stands for {@code minValue + i} id.
+     */
+    private long[] words;
+
+    /**
+     * Index of the first word which may contain free bit.
+     */
+    private int cursor;
+
+    /**
+     * Allocated resources count.
+     */
+    private long allocated;
+
     /**
      * Instance constructor.
      *
@@ -46,6 +80,9 @@ public class ResourcePool {
      */
     public ResourcePool(final Integer minValue, final Integer maxValue) {
         this.range = Range.closed(minValue, maxValue);
+        this.minValue = minValue;
+        this.capacity = (long) maxValue - minValue + 1;
+        this.words = new long[(int) Math.min(INITIAL_WORDS, wordsFor(capacity))];
     }
 
     /**
@@ -53,23 +90,71 @@ public class ResourcePool {
      *
      * @return allocated resource id
      */
-    public Integer allocate() {
-        for (Integer id : ContiguousSet.create(range, DiscreteDomain.integers())) {
-            if (resources.add(id)) {
-                return id;
-            }
+    public synchronized Integer allocate() {
+        if (allocated == capacity) {
+            throw new ArrayIndexOutOfBoundsException("Could not allocate resource: pool is full");
+        }
+
+        while (cursor < words.length && words[cursor] == -1L) {
+            cursor++;
+        }
+        if (cursor == words.length) {
+            grow(cursor);
         }
-        throw new ArrayIndexOutOfBoundsException("Could not allocate resource: pool is full");
+
+        // the lowest free bit is always in range while the pool is not full
+        int bit = Long.numberOfTrailingZeros(~words[cursor]);
+        long offset = (long) cursor * WORD_BITS + bit;
+        words[cursor] |= 1L << bit;
+        allocated++;
+
+        return (int) (minValue + offset);
     }
 
     /**
      * Allocates resource id.
      *
      * @param id resource id
-     * @return allocated resource id
+     * @return allocated resource id, or null if it was already allocated or is out of range
      */
-    public Integer allocate(Integer id) {
-        return resources.add(id) ? id : null;
+    public synchronized Integer allocate(Integer id) {
+        if (id == null || !range.contains(id)) {
+            return null;
+        }
+
+        long offset = (long) id - minValue;
+        int word = (int) (offset / WORD_BITS);
+        long mask = 1L << (offset % WORD_BITS);
+        if (word >= words.length) {
+            grow(word);
+        }
+        if ((words[word] & mask) != 0) {
+            return null;
+        }
+
+        words[word] |= mask;
+        allocated++;
+
+        return id;
+    }
+
+    /**
+     * Allocates a number of resource ids, either all of them or none.
+     *
+     * @param count resource ids count
+     * @return allocated resource ids in ascending order
+     */
+    public synchronized List<Integer> allocateAll(int count) {
+        if (count > capacity - allocated) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Could not allocate %d resources: only %d left in pool", count, capacity - allocated));
+        }
+
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(allocate());
+        }
+        return ids;
     }
 
     /**
@@ -78,8 +163,41 @@ public class ResourcePool {
      * @param resourceId resource id
      * @return true if specified resource id was previously allocated
      */
-    public Integer deallocate(final Integer resourceId) {
-        return resources.remove(resourceId) ? resourceId : null;
+    public synchronized Integer deallocate(final Integer resourceId) {
+        if (resourceId == null || !range.contains(resourceId)) {
+            return null;
+        }
+
+        long offset = (long) resourceId - minValue;
+        int word = (int) (offset / WORD_BITS);
+        long mask = 1L << (offset % WORD_BITS);
+        if (word >= words.length || (words[word] & mask) == 0) {
+            return null;
+        }
+
+        words[word] &= ~mask;
+        allocated--;
+        if (word < cursor) {
+            cursor = word;
+        }
+
+        return resourceId;
+    }
+
+    /**
+     * Deallocates previously allocated resource ids.
+     *
+     * @param resourceIds resource ids
+     * @return resource ids which were previously allocated
+     */
+    public synchronized List<Integer> deallocateAll(final Collection<Integer> resourceIds) {
+        List<Integer> ids = new ArrayList<>(resourceIds.size());
+        for (Integer resourceId : resourceIds) {
+            if (deallocate(resourceId) != null) {
+                ids.add(resourceId);
+            }
+        }
+        return ids;
     }
 
     /**
@@ -87,8 +205,31 @@ public class ResourcePool {
      *
      * @return {@link ImmutableSet} of allocated resources id
      */
-    public Set<Integer> dumpPool() {
-        return ImmutableSet.copyOf(resources);
+    public synchronized Set<Integer> dumpPool() {
+        ImmutableSet.Builder<Integer> pool = ImmutableSet.builder();
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                pool.add((int) (minValue + (long) word * WORD_BITS + bit));
+                bits &= bits - 1;
+            }
+        }
+        return pool.build();
+    }
+
+    /**
+     * Grows bitset so it contains specified word.
+     *
+     * @param word word index
+     */
+    private void grow(int word) {
+        int size = (int) Math.min(Math.max((long) words.length * 2, word + 1L), wordsFor(capacity));
+        words = Arrays.copyOf(words, size);
+    }
+
+    private static long wordsFor(long bits) {
+        return (bits + WORD_BITS - 1) / WORD_BITS;
     }
 
     /**
@@ -98,7 +239,7 @@ public class ResourcePool {
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("range", range)
-                .add("resources", resources)
+                .add("resources", dumpPool())
                 .toString();
     }
 }
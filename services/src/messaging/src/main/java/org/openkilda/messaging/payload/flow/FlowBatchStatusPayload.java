@@ -0,0 +1,191 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.payload.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static org.openkilda.messaging.Utils.FLOW_ID;
+
+import org.openkilda.messaging.error.ErrorType;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Status of a flow of a batch request, either the flow status or the error it was rejected with.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        FLOW_ID,
+        "status",
+        "error_type",
+        "error_message"})
+public class FlowBatchStatusPayload implements Serializable {
+    /**
+     * The constant serialVersionUID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Flow id.
+     */
+    @JsonProperty(FLOW_ID)
+    private String id;
+
+    /**
+     * Flow status, null if the flow was rejected.
+     */
+    @JsonProperty("status")
+    private FlowState status;
+
+    /**
+     * Error type, null if the flow was accepted.
+     */
+    @JsonProperty("error_type")
+    private ErrorType errorType;
+
+    /**
+     * Error message, null if the flow was accepted.
+     */
+    @JsonProperty("error_message")
+    private String errorMessage;
+
+    /**
+     * Instance constructor.
+     *
+     * @param id           flow id
+     * @param status       flow status
+     * @param errorType    error type
+     * @param errorMessage error message
+     */
+    @JsonCreator
+    public FlowBatchStatusPayload(@JsonProperty(FLOW_ID) final String id,
+                                  @JsonProperty("status") final FlowState status,
+                                  @JsonProperty("error_type") final ErrorType errorType,
+                                  @JsonProperty("error_message") final String errorMessage) {
+        this.id = id;
+        this.status = status;
+        this.errorType = errorType;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Builds status of the accepted flow.
+     *
+     * @param id     flow id
+     * @param status flow status
+     * @return flow batch status
+     */
+    public static FlowBatchStatusPayload accepted(final String id, final FlowState status) {
+        return new FlowBatchStatusPayload(id, status, null, null);
+    }
+
+    /**
+     * Builds status of the rejected flow.
+     *
+     * @param id           flow id
+     * @param errorType    error type
+     * @param errorMessage error message
+     * @return flow batch status
+     */
+    public static FlowBatchStatusPayload rejected(final String id, final ErrorType errorType,
+                                                  final String errorMessage) {
+        return new FlowBatchStatusPayload(id, null, errorType, errorMessage);
+    }
+
+    /**
+     * Gets flow id.
+     *
+     * @return flow id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets flow status.
+     *
+     * @return flow status, null if the flow was rejected
+     */
+    public FlowState getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets error type.
+     *
+     * @return error type, null if the flow was accepted
+     */
+    public ErrorType getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Gets error message.
+     *
+     * @return error message, null if the flow was accepted
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(FLOW_ID, id)
+                .add("status", status)
+                .add("error_type", errorType)
+                .add("error_message", errorMessage)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        FlowBatchStatusPayload that = (FlowBatchStatusPayload) obj;
+        return Objects.equals(getId(), that.getId())
+                && Objects.equals(getStatus(), that.getStatus())
+                && Objects.equals(getErrorType(), that.getErrorType())
+                && Objects.equals(getErrorMessage(), that.getErrorMessage());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, errorType, errorMessage);
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.payload.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Page of the flows dump. Flows are ordered by flow id, the next page starts after the cursor.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "flows",
+        "cursor"})
+public class FlowsPagePayload implements Serializable {
+    /**
+     * The constant serialVersionUID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Flows of the page.
+     */
+    @JsonProperty("flows")
+    private List<FlowPayload> flows;
+
+    /**
+     * Cursor of the next page, null for the last page.
+     */
+    @JsonProperty("cursor")
+    private String cursor;
+
+    /**
+     * Instance constructor.
+     *
+     * @param flows  flows of the page
+     * @param cursor cursor of the next page, null for the last page
+     */
+    @JsonCreator
+    public FlowsPagePayload(@JsonProperty("flows") final List<FlowPayload> flows,
+                            @JsonProperty("cursor") final String cursor) {
+        this.flows = flows;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Gets flows of the page.
+     *
+     * @return flows
+     */
+    public List<FlowPayload> getFlows() {
+        return flows;
+    }
+
+    /**
+     * Gets cursor of the next page.
+     *
+     * @return cursor, null for the last page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("flows", flows)
+                .add("cursor", cursor)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        FlowsPagePayload that = (FlowsPagePayload) obj;
+        return Objects.equals(getFlows(), that.getFlows())
+                && Objects.equals(getCursor(), that.getCursor());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(flows, cursor);
+    }
+}
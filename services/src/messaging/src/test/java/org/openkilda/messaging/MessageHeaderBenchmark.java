@@ -0,0 +1,109 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static java.util.stream.Collectors.toList;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the cost of discarding a message not addressed to the consumer with {@link MessageHeader#peek} and
+ * with full {@link Message} deserialization. The message is a 48 ports {@link PortStatsData}.
+ * Not a unit test, run it with {@link #main} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageHeaderBenchmark {
+    private String json;
+
+    /**
+     * Serializes port statistics message.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Setup
+    public void setUp() throws IOException {
+        List<PortStatsEntry> entries = IntStream.range(1, 49).boxed()
+                .map(port -> new PortStatsEntry(port, port, port, port, port, port, port, port, port, port, port,
+                        port, port))
+                .collect(toList());
+        InfoMessage message = new InfoMessage(new PortStatsData("00:00:00:00:00:00:00:01",
+                Collections.singletonList(new PortStatsReply(1, entries))), 0L, "system", Destination.WFM_STATS);
+        json = MAPPER.writeValueAsString(message);
+    }
+
+    /**
+     * Reads message header only.
+     *
+     * @return true if the message should be processed
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public boolean peek() throws IOException {
+        return MessageHeader.peek(json).isAddressedTo(Destination.WFM);
+    }
+
+    /**
+     * Reads the whole message.
+     *
+     * @return true if the message should be processed
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public boolean readValue() throws IOException {
+        return MAPPER.readValue(json, Message.class).getDestination() == Destination.WFM;
+    }
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args not used
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageHeaderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class MessageHeaderTest {
+    @Test
+    public void peekCommand() throws IOException {
+        String json = MAPPER.writeValueAsString(new CommandMessage(new NetworkCommandData(), 0L,
+                Utils.SYSTEM_CORRELATION_ID, Destination.TOPOLOGY_ENGINE));
+
+        MessageHeader header = MessageHeader.peek(json);
+
+        assertEquals(MessageType.COMMAND, header.getType());
+        assertEquals(Destination.TOPOLOGY_ENGINE, header.getDestination());
+        assertTrue(header.isAddressedTo(Destination.TOPOLOGY_ENGINE, MessageType.COMMAND));
+        assertFalse(header.isAddressedTo(Destination.TOPOLOGY_ENGINE, MessageType.INFO));
+    }
+
+    @Test
+    public void peekEvent() throws IOException {
+        String json = MAPPER.writeValueAsString(new InfoMessage(
+                new SwitchInfoData("sw1", SwitchState.ADDED, "", "", "", ""), 0L, "system", null));
+
+        MessageHeader header = MessageHeader.peek(json);
+
+        assertEquals(MessageType.INFO, header.getType());
+        assertNull(header.getDestination());
+        assertTrue(header.isAddressedTo(null));
+    }
+
+    @Test
+    public void peekDestinationAfterPayload() throws IOException {
+        String json = "{\"type\": \"COMMAND\", \"payload\": {\"command\": \"network\", \"a\": [{\"b\": 1}]}, "
+                + "\"destination\": \"WFM\"}";
+
+        MessageHeader header = MessageHeader.peek(json);
+
+        assertEquals(MessageType.COMMAND, header.getType());
+        assertEquals(Destination.WFM, header.getDestination());
+        assertTrue(header.isAddressedTo(Destination.WFM));
+    }
+
+    @Test
+    public void peekWithoutDestination() throws IOException {
+        String json = "{\"type\": \"INFO\", \"payload\": {\"a\": [1, 2]}, \"timestamp\": 1}";
+
+        MessageHeader header = MessageHeader.peek(json);
+
+        assertEquals(MessageType.INFO, header.getType());
+        assertNull(header.getDestination());
+    }
+
+    @Test
+    public void peekNullDestination() throws IOException {
+        MessageHeader header = MessageHeader.peek("{\"type\": \"INFO\", \"destination\": null, \"payload\": ]");
+
+        assertEquals(MessageType.INFO, header.getType());
+        assertNull(header.getDestination());
+    }
+
+    @Test
+    public void peekUnorderedMessage() throws IOException {
+        String json = "{\"payload\": {\"message_type\": \"network\", \"switches\": [{\"a\": [1, 2]}]}, "
+                + "\"timestamp\": 1, \"destination\": \"WFM_CACHE\", \"type\": \"INFO\"}";
+
+        MessageHeader header = MessageHeader.peek(json);
+
+        assertEquals(MessageType.INFO, header.getType());
+        assertEquals(Destination.WFM_CACHE, header.getDestination());
+    }
+
+    @Test
+    public void peekUnknownDestination() throws IOException {
+        MessageHeader header = MessageHeader.peek("{\"type\": \"INFO\", \"destination\": \"NOWHERE\"}");
+
+        assertEquals(MessageType.INFO, header.getType());
+        assertNull(header.getDestination());
+    }
+
+    @Test(expected = JsonProcessingException.class)
+    public void peekMalformedMessage() throws IOException {
+        MessageHeader.peek("[\"type\", \"INFO\"]");
+    }
+}
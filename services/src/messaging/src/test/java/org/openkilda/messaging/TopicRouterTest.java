@@ -0,0 +1,47 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+public class TopicRouterTest {
+    @Test
+    public void defaultTopics() {
+        TopicRouter router = new TopicRouter();
+
+        assertEquals(Topic.WFM.getId(), router.getTopic(Destination.WFM));
+        assertEquals(Topic.WFM_STATS.getId(), router.getTopic(Destination.WFM_STATS));
+        assertEquals(Topic.SPEAKER.getId(), router.getTopic(Destination.CONTROLLER));
+        assertEquals(Topic.TEST.getId(), router.getTopic((Destination) null));
+        assertEquals(Topic.TEST.getId(), router.getEventsTopic());
+    }
+
+    @Test
+    public void configuredTopics() {
+        Properties properties = new Properties();
+        properties.setProperty("kafka.topic.wfm_stats", "stats");
+        properties.setProperty("kafka.topic.events", "events");
+        TopicRouter router = new TopicRouter(properties);
+
+        assertEquals("stats", router.getTopic(Destination.WFM_STATS));
+        assertEquals("events", router.getTopic((Destination) null));
+        assertEquals(Topic.NORTHBOUND.getId(), router.getTopic(Destination.NORTHBOUND));
+    }
+}
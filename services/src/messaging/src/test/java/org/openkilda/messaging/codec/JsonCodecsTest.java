@@ -0,0 +1,79 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class JsonCodecsTest {
+    private static final SwitchInfoData data = new SwitchInfoData("sw1", SwitchState.ADDED, "", "", "", "");
+
+    @Test
+    public void sharedReaders() {
+        assertSame(JsonCodecs.MESSAGE_READER, JsonCodecs.readerFor(Message.class));
+        assertSame(JsonCodecs.readerFor(SwitchInfoData.class), JsonCodecs.readerFor(SwitchInfoData.class));
+        assertSame(JsonCodecs.writerFor(SwitchInfoData.class), JsonCodecs.writerFor(SwitchInfoData.class));
+    }
+
+    @Test
+    public void readFields() throws IOException {
+        String json = "{\"payload\": {\"state\": \"nested\"}, \"list\": [1, {\"state\": 2}], "
+                + "\"state\": \"ADDED\", \"port_no\": 5, \"empty\": null}";
+
+        String[] values = JsonCodecs.readFields(json, "state", "port_no", "payload", "empty", "absent");
+
+        assertArrayEquals(new String[]{"ADDED", "5", null, null, null}, values);
+    }
+
+    @Test
+    public void readRawObjectField() throws IOException {
+        String json = MAPPER.writeValueAsString(new InfoMessage(data, 0L, "system", null));
+
+        String payload = JsonCodecs.readRawField(json, "payload");
+
+        assertEquals(MAPPER.writeValueAsString(data), payload);
+        assertEquals("sw1", ((SwitchInfoData) JsonCodecs.readerFor(InfoData.class).readValue(payload))
+                .getSwitchId());
+    }
+
+    @Test
+    public void readRawScalarField() throws IOException {
+        String json = "{\"payload\": {\"a\": \"}\"}, \"correlation_id\": \"x\\\"y\", \"timestamp\": 10}";
+
+        assertEquals("\"x\\\"y\"", JsonCodecs.readRawField(json, "correlation_id"));
+        assertEquals("10", JsonCodecs.readRawField(json, "timestamp"));
+        assertNull(JsonCodecs.readRawField(json, "destination"));
+    }
+
+    @Test(expected = JsonProcessingException.class)
+    public void readMalformedMessage() throws IOException {
+        JsonCodecs.readFields("[\"state\", \"ADDED\"]", "state");
+    }
+}
@@ -0,0 +1,137 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.util.stream.Collectors.toList;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares {@link MessageFormat} encoded size and encoding/decoding throughput on a 48 ports {@link PortStatsData},
+ * the most voluminous message. {@link #hop} measures the decoding and encoding done on every topology hop. Not a unit
+ * test, run it with {@link #main} from the test classpath, it prints encoded sizes before running benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFormatBenchmark {
+    @Param({"JSON", "SMILE"})
+    private MessageFormat format;
+
+    private Message message;
+    private byte[] data;
+
+    /**
+     * Encodes port statistics message.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Setup
+    public void setUp() throws IOException {
+        message = createMessage();
+        data = format.encode(message);
+    }
+
+    /**
+     * Serializes the message.
+     *
+     * @return encoded message
+     * @throws IOException if serialization fails
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return format.encode(message);
+    }
+
+    /**
+     * Deserializes the message.
+     *
+     * @return {@link Message} instance
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public Message decode() throws IOException {
+        return MessageFormat.decode(data);
+    }
+
+    /**
+     * Passes the message through a topology hop: the spout binds it to the {@link Message} and the Kafka serializer of
+     * the bolt writes it in the format again.
+     *
+     * @return encoded message
+     * @throws IOException if conversion fails
+     */
+    @Benchmark
+    public byte[] hop() throws IOException {
+        return format.encode(MessageFormat.decode(data));
+    }
+
+    private static Message createMessage() {
+        List<PortStatsEntry> entries = IntStream.range(1, 49).boxed()
+                .map(port -> new PortStatsEntry(port, port, port, port, port, port, port, port, port, port, port,
+                        port, port))
+                .collect(toList());
+        return new InfoMessage(new PortStatsData("00:00:00:00:00:00:00:01",
+                Collections.singletonList(new PortStatsReply(1, entries))), 0L, "system", Destination.WFM_STATS);
+    }
+
+    /**
+     * Prints encoded sizes and runs benchmark.
+     *
+     * @param args not used
+     * @throws IOException     if serialization fails
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        Message message = createMessage();
+        for (MessageFormat format : MessageFormat.values()) {
+            System.out.println(String.format("%s: %d bytes", format, format.encode(message).length));
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(MessageFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
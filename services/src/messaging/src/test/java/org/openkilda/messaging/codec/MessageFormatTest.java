@@ -0,0 +1,114 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class MessageFormatTest {
+    private static final InfoMessage message = new InfoMessage(new PortStatsData("00:00:00:00:00:00:00:01",
+            Collections.singletonList(new PortStatsReply(1, Arrays.asList(
+                    new PortStatsEntry(1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12),
+                    new PortStatsEntry(2, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12))))),
+            10L, "system", Destination.WFM_STATS);
+
+    @Test
+    public void jsonIsNotVersioned() throws IOException {
+        byte[] data = MessageFormat.JSON.encode(message);
+
+        assertEquals(json(message), new String(data, UTF_8));
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(data));
+    }
+
+    @Test
+    public void smileRoundTrip() throws IOException {
+        byte[] data = MessageFormat.SMILE.encode(message);
+
+        assertEquals(":)\n", new String(data, 0, 3, UTF_8));
+        assertEquals(MessageFormat.SMILE, MessageFormat.detect(data));
+        assertEquals(json(message), json(MessageFormat.decode(data)));
+        assertTrue(data.length < MessageFormat.JSON.encode(message).length);
+    }
+
+    @Test
+    public void readValue() throws IOException {
+        Object value = MessageFormat.readValue(MessageFormat.SMILE.encode(message));
+
+        assertTrue(value instanceof Message);
+        assertSame(value, MessageFormat.toMessage(value));
+        assertEquals(Destination.WFM_STATS, ((Message) value).getDestination());
+
+        String json = json(message);
+        value = MessageFormat.readValue(MessageFormat.JSON.encode(message));
+        assertEquals(json, value);
+        assertEquals(json, json(MessageFormat.toMessage(value)));
+    }
+
+    @Test(expected = IOException.class)
+    public void toMessageOfUnknownValue() throws IOException {
+        MessageFormat.toMessage(new byte[0]);
+    }
+
+    @Test
+    public void legacyJson() throws IOException {
+        String json = " \n" + json(message);
+        byte[] data = json.getBytes(UTF_8);
+
+        assertEquals(json(message), json(MessageFormat.decode(data)));
+        assertEquals(json, MessageFormat.readValue(data));
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownFormat() throws IOException {
+        MessageFormat.decode(new byte[]{0x00, '{', '}'});
+    }
+
+    @Test(expected = IOException.class)
+    public void jsonArrayIsNotMessage() throws IOException {
+        MessageFormat.readValue(" [{}]".getBytes(UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void blankPayload() throws IOException {
+        MessageFormat.readValue(" \n".getBytes(UTF_8));
+    }
+
+    @Test
+    public void property() {
+        assertEquals(MessageFormat.JSON, MessageFormat.of(null));
+        assertEquals(MessageFormat.SMILE, MessageFormat.of(" smile"));
+    }
+
+    private static String json(Message message) throws IOException {
+        return MAPPER.writeValueAsString(message);
+    }
+}
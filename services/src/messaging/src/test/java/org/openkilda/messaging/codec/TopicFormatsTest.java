@@ -0,0 +1,106 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Topic;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class TopicFormatsTest {
+    @Test
+    public void defaultFormats() {
+        TopicFormats formats = new TopicFormats();
+
+        assertEquals(MessageFormat.JSON, formats.getFormat(Topic.WFM_STATS.getId()));
+        assertEquals(MessageFormat.JSON, formats.getFormat("unknown"));
+    }
+
+    @Test
+    public void configuredFormats() {
+        Properties properties = new Properties();
+        properties.setProperty("kafka.message.format", "smile");
+        properties.setProperty("kafka.message.format.wfm", "json");
+        properties.setProperty("kafka.topic.wfm_stats", "stats");
+        TopicFormats formats = new TopicFormats(properties);
+
+        assertEquals(MessageFormat.SMILE, formats.getFormat("stats"));
+        assertEquals(MessageFormat.SMILE, formats.getFormat("unknown"));
+        assertEquals(MessageFormat.JSON, formats.getFormat(Topic.WFM.getId()));
+    }
+
+    @Test
+    public void topologyEngineTopicsAreJson() {
+        Properties properties = new Properties();
+        properties.setProperty("kafka.message.format", "smile");
+        properties.setProperty("kafka.topic.topology_engine", "te");
+        properties.setProperty("kafka.topic.events", "events");
+        properties.setProperty("kafka.topic.wfm_cache", "te");
+        TopicFormats formats = new TopicFormats(properties);
+
+        assertEquals(MessageFormat.JSON, formats.getFormat("te"));
+        assertEquals(MessageFormat.JSON, formats.getFormat("events"));
+        assertEquals(MessageFormat.SMILE, formats.getFormat(Topic.TOPOLOGY_ENGINE.getId()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void smileTopologyEngineTopic() {
+        new TopicFormats(Collections.singletonMap("kafka.message.format.topology_engine", "smile"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void smileEventsTopic() {
+        new TopicFormats(Collections.singletonMap("kafka.message.format.events", "SMILE"));
+    }
+
+    @Test
+    public void customPrefixes() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("message-format", "smile");
+        parameters.put("message-format-controller", "json");
+        parameters.put("topic-events", "events");
+        TopicFormats formats = new TopicFormats(parameters, "topic-", "message-format", "message-format-");
+
+        assertEquals(MessageFormat.SMILE, formats.getFormat(Topic.WFM_STATS.getId()));
+        assertEquals(MessageFormat.JSON, formats.getFormat(Topic.SPEAKER.getId()));
+        assertEquals(MessageFormat.JSON, formats.getFormat("events"));
+    }
+
+    @Test
+    public void serializerUsesTopicFormat() throws Exception {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.singletonMap("kafka.message.format", "smile"), false);
+        Message message = new CommandMessage(new DiscoverIslCommandData("00:00:00:00:00:00:00:01", 1), 0L,
+                "system", Destination.WFM);
+        String json = MAPPER.writeValueAsString(message);
+
+        assertEquals(MessageFormat.SMILE, MessageFormat.detect(serializer.serialize(Topic.WFM.getId(), message)));
+        assertEquals(json, new String(serializer.serialize(Topic.TOPOLOGY_ENGINE.getId(), message), UTF_8));
+        assertEquals(json, new String(serializer.serialize(Topic.WFM.getId(), json), UTF_8));
+    }
+}
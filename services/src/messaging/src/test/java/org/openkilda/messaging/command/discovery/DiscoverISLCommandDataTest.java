@@ -20,11 +20,16 @@ import static org.openkilda.messaging.command.Constants.switchId;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.openkilda.messaging.Utils.MAPPER;
 
+import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 public class DiscoverISLCommandDataTest {
     @Test
     public void toStringTest() throws Exception {
@@ -48,4 +53,23 @@ public class DiscoverISLCommandDataTest {
         data.setPortNo(outputPort);
         assertEquals(outputPort, data.getPortNo());
     }
+
+    @Test
+    public void portsToDiscover() throws Exception {
+        DiscoverIslCommandData data = new DiscoverIslCommandData(switchId, outputPort);
+        assertEquals(Collections.singletonList(outputPort), data.getPortsToDiscover());
+
+        data = new DiscoverIslCommandData(switchId, Arrays.asList(1, 2, 3));
+        assertEquals(Arrays.asList(1, 2, 3), data.getPortsToDiscover());
+    }
+
+    @Test
+    public void batchedCommandSerialization() throws Exception {
+        String json = MAPPER.writeValueAsString(new DiscoverIslCommandData(switchId, Arrays.asList(1, 2)));
+        DiscoverIslCommandData data = (DiscoverIslCommandData) MAPPER.readValue(json, CommandData.class);
+
+        assertEquals(switchId, data.getSwitchId());
+        assertEquals(Arrays.asList(1, 2), data.getPortsToDiscover());
+        assertFalse(MAPPER.writeValueAsString(new DiscoverIslCommandData(switchId, 1)).contains("port_numbers"));
+    }
 }
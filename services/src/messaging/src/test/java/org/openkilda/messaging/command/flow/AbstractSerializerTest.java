@@ -41,9 +41,11 @@ import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
@@ -309,7 +311,7 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
 
     @Test
     public void flowsGetRequestTest() throws IOException, ClassNotFoundException {
-        FlowsGetRequest data = new FlowsGetRequest(flowsIdStatusRequest);
+        FlowsGetRequest data = new FlowsGetRequest(flowsIdStatusRequest, FLOW_NAME, 10);
         System.out.println(data);
 
         CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
@@ -328,6 +330,48 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
         assertEquals(flowsIdStatusRequest.hashCode(), resultData.getPayload().hashCode());
     }
 
+    @Test
+    public void flowsCreateRequestTest() throws IOException, ClassNotFoundException {
+        FlowsCreateRequest data = new FlowsCreateRequest(Collections.singletonList(flowModel));
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        CommandMessage resultCommand = (CommandMessage) message;
+        assertTrue(resultCommand.getData() instanceof FlowsCreateRequest);
+
+        FlowsCreateRequest resultData = (FlowsCreateRequest) resultCommand.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+    }
+
+    @Test
+    public void flowsCreateResponseTest() throws IOException, ClassNotFoundException {
+        FlowsCreateResponse data = new FlowsCreateResponse(Arrays.asList(
+                FlowBatchStatusPayload.accepted(FLOW_NAME, FlowState.ALLOCATED),
+                FlowBatchStatusPayload.rejected(FLOW_NAME, ErrorType.ALREADY_EXISTS, "Flow already exists")));
+        System.out.println(data);
+
+        InfoMessage info = new InfoMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(info);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof InfoMessage);
+
+        InfoMessage resultInfo = (InfoMessage) message;
+        assertTrue(resultInfo.getData() instanceof FlowsCreateResponse);
+
+        FlowsCreateResponse resultData = (FlowsCreateResponse) resultInfo.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+    }
+
     @Test
     public void flowPathResponseTest() throws IOException, ClassNotFoundException {
         FlowPathResponse data = new FlowPathResponse(path);
@@ -393,7 +437,7 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
 
     @Test
     public void flowsResponseTest() throws IOException, ClassNotFoundException {
-        FlowsResponse data = new FlowsResponse(Collections.singletonList(flowModel));
+        FlowsResponse data = new FlowsResponse(Collections.singletonList(flowModel), FLOW_NAME, 2);
         System.out.println(data);
 
         InfoMessage info = new InfoMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
@@ -538,6 +582,76 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
         assertEquals(data.hashCode(), resultData.hashCode());
     }
 
+    @Test
+    public void batchInstallFlowsTest() throws IOException, ClassNotFoundException {
+        BatchInstallFlows data = new BatchInstallFlows(TIMESTAMP, SWITCH_ID, Arrays.asList(
+                new InstallTransitFlow(0L, FLOW_NAME, COOKIE, SWITCH_ID, INPUT_PORT, OUTPUT_PORT, TRANSIT_VLAN_ID),
+                new InstallEgressFlow(0L, FLOW_NAME, COOKIE, SWITCH_ID, OUTPUT_PORT, INPUT_PORT, TRANSIT_VLAN_ID,
+                        OUTPUT_VLAN_ID, OUTPUT_VLAN_TYPE)));
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        CommandMessage resultCommand = (CommandMessage) message;
+        assertTrue(resultCommand.getData() instanceof BatchInstallFlows);
+
+        BatchInstallFlows resultData = (BatchInstallFlows) resultCommand.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+        assertTrue(resultData.getCommands().get(1) instanceof InstallEgressFlow);
+        assertEquals(Collections.singleton(FLOW_NAME), resultData.getFlowIds());
+    }
+
+    @Test
+    public void batchRemoveFlowsTest() throws IOException, ClassNotFoundException {
+        BatchRemoveFlows data = new BatchRemoveFlows(TIMESTAMP, SWITCH_ID, Arrays.asList(
+                new RemoveFlow(0L, FLOW_NAME, COOKIE, SWITCH_ID, METER_ID),
+                new RemoveFlow(0L, FLOW_NAME + "2", COOKIE + 1, SWITCH_ID, METER_ID)));
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        CommandMessage resultCommand = (CommandMessage) message;
+        assertTrue(resultCommand.getData() instanceof BatchRemoveFlows);
+
+        BatchRemoveFlows resultData = (BatchRemoveFlows) resultCommand.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+    }
+
+    @Test
+    public void emptyBatchConfirmationTest() throws IOException, ClassNotFoundException {
+        BatchInstallFlows data = new BatchInstallFlows(TIMESTAMP, SWITCH_ID, Collections.emptyList());
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        BatchInstallFlows resultData = (BatchInstallFlows) ((CommandMessage) message).getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertTrue(resultData.getFlowIds().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchOfAnotherSwitchTest() {
+        new BatchRemoveFlows(TIMESTAMP, "00:00:00:00:00:00:00:01",
+                Collections.singletonList(new RemoveFlow(0L, FLOW_NAME, COOKIE, SWITCH_ID, METER_ID)));
+    }
+
     @Test
     public void flowRerouteCommandTest() throws IOException, ClassNotFoundException {
         FlowRerouteRequest data = new FlowRerouteRequest(flowModel, FlowOperation.CREATE);
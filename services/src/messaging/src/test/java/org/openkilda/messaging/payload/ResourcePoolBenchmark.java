@@ -0,0 +1,105 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.payload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResourcePool} allocation benchmark at different pool occupancy.
+ * Each operation allocates an id and releases a random allocated one, so occupancy stays constant.
+ * Not a unit test, run it with {@link #main} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourcePoolBenchmark {
+    @Param({"4095", "65535"})
+    private int size;
+
+    @Param({"10", "50", "99"})
+    private int fill;
+
+    private ResourcePool pool;
+    private int[] allocated;
+    private Random random;
+
+    /**
+     * Fills pool up to the requested occupancy.
+     */
+    @Setup
+    public void setUp() {
+        pool = new ResourcePool(1, size);
+        List<Integer> ids = pool.allocateAll(size * fill / 100);
+        allocated = ids.stream().mapToInt(Integer::intValue).toArray();
+        random = new Random(42L);
+    }
+
+    /**
+     * Allocates the lowest free id and releases a random one.
+     *
+     * @return allocated id
+     */
+    @Benchmark
+    public int allocateDeallocate() {
+        int slot = random.nextInt(allocated.length);
+        pool.deallocate(allocated[slot]);
+        allocated[slot] = pool.allocate();
+        return allocated[slot];
+    }
+
+    /**
+     * Allocates and releases a batch of 64 ids.
+     *
+     * @return released ids count
+     */
+    @Benchmark
+    public int allocateDeallocateBulk() {
+        List<Integer> ids = pool.allocateAll(Math.min(64, size - allocated.length));
+        return pool.deallocateAll(ids).size();
+    }
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args not used
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResourcePoolBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -16,9 +16,13 @@
 package org.openkilda.messaging.payload;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class ResourcePoolTest {
     private static final ResourcePool pool = new ResourcePool(1, 10);
 
@@ -46,4 +50,57 @@ public class ResourcePoolTest {
         pool.allocate();
         pool.allocate();
     }
+
+    @Test
+    public void resourcePoolAllocateIdTest() {
+        ResourcePool pool = new ResourcePool(100, 1000);
+        assertEquals(500, (int) pool.allocate(500));
+        assertNull(pool.allocate(500));
+        assertNull(pool.allocate(1001));
+        assertEquals(100, (int) pool.allocate());
+
+        assertEquals(500, (int) pool.deallocate(500));
+        assertNull(pool.deallocate(500));
+        assertEquals(1, pool.dumpPool().size());
+    }
+
+    @Test
+    public void resourcePoolWideRangeTest() {
+        ResourcePool pool = new ResourcePool(1, 0x7FFFFFFE);
+        assertEquals(0x7FFFFFFE, (int) pool.allocate(0x7FFFFFFE));
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, (int) pool.allocate());
+        }
+        assertEquals(1001, pool.dumpPool().size());
+    }
+
+    @Test
+    public void resourcePoolBulkTest() {
+        ResourcePool pool = new ResourcePool(1, 200);
+        List<Integer> ids = pool.allocateAll(150);
+        assertEquals(150, ids.size());
+        assertEquals(1, (int) ids.get(0));
+        assertEquals(150, (int) ids.get(149));
+
+        assertEquals(Arrays.asList(10, 70), pool.deallocateAll(Arrays.asList(10, 70, 170)));
+        assertEquals(Arrays.asList(10, 70, 151), pool.allocateAll(3));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void resourcePoolBulkFullTest() {
+        ResourcePool pool = new ResourcePool(1, 100);
+        pool.allocateAll(60);
+        try {
+            pool.allocateAll(41);
+        } finally {
+            assertEquals(60, pool.dumpPool().size());
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void resourcePoolWordBoundaryFullTest() {
+        ResourcePool pool = new ResourcePool(0, 127);
+        pool.allocateAll(128);
+        pool.allocate();
+    }
 }
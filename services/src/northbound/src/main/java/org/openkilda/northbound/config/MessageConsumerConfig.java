@@ -15,10 +15,14 @@
 
 package org.openkilda.northbound.config;
 
+import org.openkilda.messaging.codec.MessageDeserializer;
 import org.openkilda.northbound.messaging.HealthCheckMessageConsumer;
 import org.openkilda.northbound.messaging.MessageConsumer;
+import org.openkilda.northbound.messaging.kafka.KafkaFlowViewConsumer;
 import org.openkilda.northbound.messaging.kafka.KafkaHealthCheckMessageConsumer;
 import org.openkilda.northbound.messaging.kafka.KafkaMessageConsumer;
+import org.openkilda.northbound.model.FlowView;
+import org.openkilda.northbound.utils.TimeoutWheel;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -33,6 +37,8 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Kafka message consumer configuration.
@@ -46,6 +52,16 @@ public class MessageConsumerConfig {
      */
     private static final int POLL_TIMEOUT = 3000;
 
+    /**
+     * Request timeouts wheel tick in milliseconds.
+     */
+    private static final int TIMEOUT_TICK = 100;
+
+    /**
+     * Request timeouts wheel size, one round is longer than the response timeout.
+     */
+    private static final int TIMEOUT_BUCKETS = 64;
+
     /**
      * Kafka bootstrap servers.
      */
@@ -58,6 +74,12 @@ public class MessageConsumerConfig {
     @Value("${kafka.groupid}")
     private String groupId;
 
+    /**
+     * Kafka topic of the northbound responses.
+     */
+    @Value("${kafka.topic.northbound}")
+    private String northboundTopic;
+
     /**
      * Kafka consumer configuration bean. This {@link Map} is used by {@link MessageConsumerConfig#consumerFactory}.
      *
@@ -68,7 +90,7 @@ public class MessageConsumerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, MessageDeserializer.class);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, "30000");
@@ -86,7 +108,7 @@ public class MessageConsumerConfig {
      * @return kafka consumer factory
      */
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerConfigs());
     }
 
@@ -97,8 +119,8 @@ public class MessageConsumerConfig {
      * @return kafka listener container factory
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.getContainerProperties().setPollTimeout(POLL_TIMEOUT);
@@ -106,6 +128,46 @@ public class MessageConsumerConfig {
         return factory;
     }
 
+    /**
+     * Kafka flow events consumer factory bean. Flow events consumer group is unique per instance, so each instance
+     * receives all flow events, starting with the latest ones, as the flow view is bootstrapped by the snapshot.
+     *
+     * @return kafka consumer factory
+     */
+    @Bean
+    public ConsumerFactory<String, String> flowViewConsumerFactory() {
+        Map<String, Object> props = new HashMap<>(consumerConfigs());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, String.format("%s-flows-%s", groupId, UUID.randomUUID()));
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * Kafka flow events listener container factory bean.
+     *
+     * @return kafka listener container factory
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> flowViewListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(flowViewConsumerFactory());
+        factory.getContainerProperties().setPollTimeout(POLL_TIMEOUT);
+        return factory;
+    }
+
+    /**
+     * Kafka flow events consumer bean, keeps the flow view up to date.
+     *
+     * @param flowView the flow view
+     * @return kafka flow events consumer
+     */
+    @Bean
+    public KafkaFlowViewConsumer flowViewConsumer(FlowView flowView) {
+        return new KafkaFlowViewConsumer(flowView);
+    }
+
     /**
      * Kafka message consumer bean. Instance of {@link org.openkilda.northbound.messaging.kafka.KafkaMessageConsumer}
      * contains {@link org.springframework.kafka.annotation.KafkaListener} to be run in {@link
@@ -115,7 +177,17 @@ public class MessageConsumerConfig {
      */
     @Bean
     public MessageConsumer messageConsumer() {
-        return new KafkaMessageConsumer();
+        return new KafkaMessageConsumer(timeoutWheel(), northboundTopic);
+    }
+
+    /**
+     * Request timeouts bean shared by the message consumers.
+     *
+     * @return timeouts wheel
+     */
+    @Bean(destroyMethod = "close")
+    public TimeoutWheel timeoutWheel() {
+        return new TimeoutWheel("northbound-timeouts", TIMEOUT_TICK, TIMEOUT_BUCKETS, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -15,6 +15,8 @@
 
 package org.openkilda.northbound.config;
 
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.codec.MessageSerializer;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.kafka.KafkaMessageProducer;
 
@@ -43,6 +45,12 @@ public class MessageProducerConfig {
     @Value("${kafka.hosts}")
     private String kafkaHosts;
 
+    /**
+     * Kafka message format.
+     */
+    @Value("${kafka.message.format:json}")
+    private String messageFormat;
+
     /**
      * Kafka producer config bean.
      * This {@link Map} is used by {@link MessageProducerConfig#producerFactory}.
@@ -54,7 +62,8 @@ public class MessageProducerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class);
+        props.put(MessageFormat.PROPERTY, MessageFormat.of(messageFormat).name());
         props.put(ProducerConfig.RETRIES_CONFIG, 0);
         props.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
@@ -72,7 +81,7 @@ public class MessageProducerConfig {
      * @return kafka producer factory
      */
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory() {
         return new DefaultKafkaProducerFactory<>(producerConfigs());
     }
 
@@ -83,7 +92,7 @@ public class MessageProducerConfig {
      * @return kafka template
      */
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
@@ -19,12 +19,18 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
 import static org.openkilda.messaging.Utils.FLOW_ID;
 
+import org.openkilda.messaging.codec.JsonCodecs;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.error.MessageError;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
+import org.openkilda.messaging.payload.flow.FlowsPagePayload;
 import org.openkilda.northbound.service.FlowService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
@@ -41,12 +47,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
- * REST Controller for flow requests.
+ * REST Controller for flow requests. Responses are written asynchronously, the request thread is released while the
+ * request is processed by the topology.
  */
 @RestController
 @PropertySource("classpath:northbound.properties")
@@ -56,6 +69,22 @@ public class FlowController {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowController.class);
 
+    /**
+     * Newline delimited json media type.
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Page size of the flows stream.
+     */
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    /**
+     * Writes flows of the stream, the stream is left open after each flow.
+     */
+    private static final ObjectWriter FLOW_WRITER = JsonCodecs.writerFor(FlowPayload.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     /**
      * The flow service instance.
      */
@@ -83,12 +112,41 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FlowPayload> createFlow(
+    public CompletableFuture<ResponseEntity<FlowPayload>> createFlow(
             @RequestBody FlowPayload flow,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Create flow: {}={}, flow={}", CORRELATION_ID, correlationId, flow);
-        FlowPayload response = flowService.createFlow(flow, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.createFlow(flow, correlationId).thenApply(FlowController::response);
+    }
+
+    /**
+     * Creates flows batch. Each flow is created or rejected independently, the response holds creation status of
+     * each flow. Batches of more than {@link FlowsCreateRequest#MAX_BATCH_SIZE} flows are rejected.
+     *
+     * @param flows         flows
+     * @param correlationId correlation ID header value
+     * @return creation status of each flow in order of flows
+     */
+    @ApiOperation(value = "Creates flows batch", response = FlowBatchStatusPayload.class, responseContainer = "List")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, response = FlowBatchStatusPayload.class, responseContainer = "List",
+                    message = "Operation is successful"),
+            @ApiResponse(code = 400, response = MessageError.class,
+                    message = "Invalid input data or more than " + FlowsCreateRequest.MAX_BATCH_SIZE + " flows"),
+            @ApiResponse(code = 401, response = MessageError.class, message = "Unauthorized"),
+            @ApiResponse(code = 403, response = MessageError.class, message = "Forbidden"),
+            @ApiResponse(code = 500, response = MessageError.class, message = "General error"),
+            @ApiResponse(code = 503, response = MessageError.class, message = "Service unavailable")})
+    @RequestMapping(
+            value = "/flows/batch",
+            method = RequestMethod.PUT,
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<FlowBatchStatusPayload>>> createFlows(
+            @RequestBody List<FlowPayload> flows,
+            @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
+        logger.debug("Create flows: {}={}, count={}", CORRELATION_ID, correlationId, flows.size());
+        return flowService.createFlows(flows, correlationId).thenApply(FlowController::response);
     }
 
     /**
@@ -111,12 +169,11 @@ public class FlowController {
             value = "/flows/{flow-id}",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPayload> getFlow(
+    public CompletableFuture<ResponseEntity<FlowPayload>> getFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Get flow: {}={}, {}={}", CORRELATION_ID, correlationId, FLOW_ID, flowId);
-        FlowPayload response = flowService.getFlow(flowId, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.getFlow(flowId, correlationId).thenApply(FlowController::response);
     }
 
     /**
@@ -139,12 +196,11 @@ public class FlowController {
             value = "/flows/{flow-id}",
             method = RequestMethod.DELETE,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPayload> deleteFlow(
+    public CompletableFuture<ResponseEntity<FlowPayload>> deleteFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Delete flow: {}={}, {}={}", CORRELATION_ID, correlationId, FLOW_ID, flowId);
-        FlowPayload response = flowService.deleteFlow(flowId, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.deleteFlow(flowId, correlationId).thenApply(FlowController::response);
     }
 
     /**
@@ -169,13 +225,12 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FlowPayload> updateFlow(
+    public CompletableFuture<ResponseEntity<FlowPayload>> updateFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestBody FlowPayload flow,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Update flow: {}={}, {}={}, flow={}", CORRELATION_ID, correlationId, FLOW_ID, flowId, flow);
-        FlowPayload response = flowService.updateFlow(flow, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.updateFlow(flow, correlationId).thenApply(FlowController::response);
     }
 
     /**
@@ -197,11 +252,75 @@ public class FlowController {
             value = "/flows",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<List<FlowPayload>> getFlows(
+    public CompletableFuture<ResponseEntity<List<FlowPayload>>> getFlows(
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Get flows: {}={}", CORRELATION_ID, correlationId);
-        List<FlowPayload> response = flowService.getFlows(correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.getFlows(correlationId).thenApply(FlowController::response);
+    }
+
+    /**
+     * Dumps a page of flows. Flows are ordered by flow id, the next page is requested with the returned cursor.
+     *
+     * @param limit         page size limit
+     * @param cursor        cursor returned with the previous page, absent for the first page
+     * @param correlationId correlation ID header value
+     * @return page of flows
+     */
+    @ApiOperation(value = "Dumps a page of flows", response = FlowsPagePayload.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, response = FlowsPagePayload.class, message = "Operation is successful"),
+            @ApiResponse(code = 400, response = MessageError.class, message = "Invalid input data"),
+            @ApiResponse(code = 401, response = MessageError.class, message = "Unauthorized"),
+            @ApiResponse(code = 403, response = MessageError.class, message = "Forbidden"),
+            @ApiResponse(code = 500, response = MessageError.class, message = "General error"),
+            @ApiResponse(code = 503, response = MessageError.class, message = "Service unavailable")})
+    @RequestMapping(
+            value = "/flows",
+            method = RequestMethod.GET,
+            params = "limit",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public CompletableFuture<ResponseEntity<FlowsPagePayload>> getFlowsPage(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
+        logger.debug("Get flows page: {}={}, cursor={}, limit={}", CORRELATION_ID, correlationId, cursor, limit);
+        return flowService.getFlows(cursor, limit, correlationId).thenApply(FlowController::response);
+    }
+
+    /**
+     * Streams all flows as newline delimited json. Flows are fetched and written page by page, so the whole dump is
+     * never held in memory.
+     *
+     * @param correlationId correlation ID header value
+     * @return flows stream
+     */
+    @ApiOperation(value = "Streams all flows as newline delimited json", response = FlowPayload.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, response = FlowPayload.class, message = "Operation is successful"),
+            @ApiResponse(code = 401, response = MessageError.class, message = "Unauthorized"),
+            @ApiResponse(code = 403, response = MessageError.class, message = "Forbidden"),
+            @ApiResponse(code = 500, response = MessageError.class, message = "General error"),
+            @ApiResponse(code = 503, response = MessageError.class, message = "Service unavailable")})
+    @RequestMapping(
+            value = "/flows/stream",
+            method = RequestMethod.GET,
+            produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFlows(
+            @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
+        logger.debug("Stream flows: {}={}", CORRELATION_ID, correlationId);
+        StreamingResponseBody body = output -> {
+            String cursor = null;
+            do {
+                FlowsPagePayload page = await(flowService.getFlows(cursor, STREAM_PAGE_SIZE, correlationId));
+                for (FlowPayload flow : page.getFlows()) {
+                    FLOW_WRITER.writeValue(output, flow);
+                    output.write('\n');
+                }
+                output.flush();
+                cursor = page.getCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
     }
 
     /**
@@ -224,12 +343,11 @@ public class FlowController {
             value = "/flows/status/{flow-id}",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowIdStatusPayload> statusFlow(
+    public CompletableFuture<ResponseEntity<FlowIdStatusPayload>> statusFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Flow status: {}={}", CORRELATION_ID, correlationId);
-        FlowIdStatusPayload response = flowService.statusFlow(flowId, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.statusFlow(flowId, correlationId).thenApply(FlowController::response);
     }
 
     /**
@@ -251,11 +369,43 @@ public class FlowController {
     @RequestMapping(
             value = "/flows/path/{flow-id}", method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPathPayload> pathFlow(
+    public CompletableFuture<ResponseEntity<FlowPathPayload>> pathFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestHeader(value = CORRELATION_ID, defaultValue = DEFAULT_CORRELATION_ID) String correlationId) {
         logger.debug("Flow path: {}={}, {}={}", CORRELATION_ID, correlationId, FLOW_ID, flowId);
-        FlowPathPayload response = flowService.pathFlow(flowId, correlationId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return flowService.pathFlow(flowId, correlationId).thenApply(FlowController::response);
+    }
+
+    /**
+     * Wraps the result into the successful response.
+     *
+     * @param body response body
+     * @param <T>  response body type
+     * @return the ResponseEntity object instance
+     */
+    private static <T> ResponseEntity<T> response(T body) {
+        return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.OK);
+    }
+
+    /**
+     * Waits for the result, errors are rethrown as is, so they are handled as the errors of the request.
+     *
+     * @param future result future
+     * @param <T>    result type
+     * @return result
+     * @throws IOException if waiting is interrupted
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Flows stream is interrupted");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new IOException(exception.getCause());
+        }
     }
 }
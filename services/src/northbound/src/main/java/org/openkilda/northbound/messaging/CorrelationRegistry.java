@@ -0,0 +1,182 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging;
+
+import org.openkilda.northbound.utils.TimeoutWheel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pending requests by correlation id. Requests sharing the same correlation id, like the default one, are completed
+ * in the order they were registered. A request could be answered with several responses, each of them tells how many
+ * responses there are, such requests should have own correlation id.
+ *
+ * @param <T> response type
+ */
+public class CorrelationRegistry<T> {
+    /**
+     * Pending requests.
+     */
+    private final ConcurrentMap<String, Deque<Pending<T>>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Shared timeouts.
+     */
+    private final TimeoutWheel timeouts;
+
+    /**
+     * Response timeout in milliseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Builds timeout exception by correlation id.
+     */
+    private final Function<String, ? extends RuntimeException> timeoutError;
+
+    /**
+     * Instance constructor.
+     *
+     * @param timeouts     timeouts wheel
+     * @param timeout      response timeout in milliseconds
+     * @param timeoutError builds timeout exception by correlation id
+     */
+    public CorrelationRegistry(final TimeoutWheel timeouts, final long timeout,
+                               final Function<String, ? extends RuntimeException> timeoutError) {
+        this.timeouts = timeouts;
+        this.timeout = timeout;
+        this.timeoutError = timeoutError;
+    }
+
+    /**
+     * Registers pending request.
+     *
+     * @param correlationId request correlation id
+     * @return response future, completed exceptionally on timeout
+     */
+    public CompletableFuture<T> register(final String correlationId) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        register(correlationId, response -> 1).whenComplete((responses, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(responses.get(0));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Registers pending request answered with several responses.
+     *
+     * @param correlationId request correlation id
+     * @param parts         gets the number of responses of the request from any of them
+     * @return responses future, completed exceptionally if not all of them are received within the timeout
+     */
+    public CompletableFuture<List<T>> register(final String correlationId, final ToIntFunction<T> parts) {
+        Pending<T> request = new Pending<>(parts);
+        pending.compute(correlationId, (key, queue) -> {
+            Deque<Pending<T>> result = queue == null ? new ArrayDeque<>(1) : queue;
+            result.add(request);
+            return result;
+        });
+        timeouts.schedule(() -> {
+            if (remove(correlationId, request)) {
+                request.future.completeExceptionally(timeoutError.apply(correlationId));
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+        return request.future;
+    }
+
+    /**
+     * Passes the response to the oldest pending request with the correlation id, the request is completed once all
+     * its responses are received.
+     *
+     * @param correlationId response correlation id
+     * @param response      response
+     * @return false if there is no pending request with the correlation id
+     */
+    @SuppressWarnings("unchecked")
+    public boolean complete(final String correlationId, final T response) {
+        Object[] result = new Object[2];
+        pending.computeIfPresent(correlationId, (key, queue) -> {
+            Pending<T> request = queue.peek();
+            result[0] = request;
+            if (request.add(response)) {
+                result[1] = queue.poll();
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+        Pending<T> completed = (Pending<T>) result[1];
+        if (completed != null) {
+            return completed.future.complete(completed.responses);
+        }
+        return result[0] != null;
+    }
+
+    /**
+     * Returns the number of pending requests.
+     *
+     * @return the number of pending requests
+     */
+    public int size() {
+        return pending.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private boolean remove(final String correlationId, final Pending<T> request) {
+        boolean[] result = new boolean[1];
+        pending.computeIfPresent(correlationId, (key, queue) -> {
+            result[0] = queue.remove(request);
+            return queue.isEmpty() ? null : queue;
+        });
+        return result[0];
+    }
+
+    /**
+     * Pending request, its responses are added under the registry lock of the correlation id.
+     *
+     * @param <T> response type
+     */
+    private static final class Pending<T> {
+        private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+        private final List<T> responses = new ArrayList<>(1);
+        private final ToIntFunction<T> parts;
+
+        private Pending(final ToIntFunction<T> parts) {
+            this.parts = parts;
+        }
+
+        /**
+         * Adds the response.
+         *
+         * @param response response
+         * @return true if all responses are received
+         */
+        private boolean add(final T response) {
+            responses.add(response);
+            return responses.size() >= parts.applyAsInt(response);
+        }
+    }
+}
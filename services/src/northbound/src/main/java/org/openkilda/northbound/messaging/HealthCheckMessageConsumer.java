@@ -17,5 +17,27 @@ package org.openkilda.northbound.messaging;
 
 import java.util.Map;
 
-public interface HealthCheckMessageConsumer extends MessageConsumer<Map<String, String>> {
+public interface HealthCheckMessageConsumer {
+    /**
+     * Kafka message queue poll timeout.
+     */
+    int POLL_TIMEOUT = 5000;
+
+    /**
+     * Kafka message queue poll pause.
+     */
+    int POLL_PAUSE = 100;
+
+    /**
+     * Polls Kafka message queue.
+     *
+     * @param correlationId correlation id
+     * @return received components state
+     */
+    Map<String, String> poll(final String correlationId);
+
+    /**
+     * Clears message queue.
+     */
+    void clear();
 }
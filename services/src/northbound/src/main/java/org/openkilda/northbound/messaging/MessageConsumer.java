@@ -15,27 +15,33 @@
 
 package org.openkilda.northbound.messaging;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
 public interface MessageConsumer<T> {
     /**
-     * Kafka message queue poll timeout.
+     * Response timeout in milliseconds.
      */
     int POLL_TIMEOUT = 5000;
 
     /**
-     * Kafka message queue poll pause.
-     */
-    int POLL_PAUSE = 100;
-
-    /**
-     * Polls Kafka message queue.
+     * Registers the request awaiting a response. It must be called before the request is sent, so the response could
+     * not be missed. The result is completed by the Kafka listener thread, or with
+     * {@link org.openkilda.messaging.error.MessageException} if there is no response within {@link #POLL_TIMEOUT}.
      *
-     * @param correlationId correlation id
-     * @return received message
+     * @param correlationId request correlation id
+     * @return response future
      */
-    T poll(final String correlationId);
+    CompletableFuture<T> register(final String correlationId);
 
     /**
-     * Clears message queue.
+     * Registers the request awaiting several responses, the number of them is told by each response. The request
+     * should have own correlation id, so its responses could not be taken for responses of other requests.
+     *
+     * @param correlationId request correlation id
+     * @param parts         gets the number of responses of the request from any of them
+     * @return responses future, completed exceptionally if not all of them are received within {@link #POLL_TIMEOUT}
      */
-    void clear();
+    CompletableFuture<List<T>> register(final String correlationId, final ToIntFunction<T> parts);
 }
@@ -0,0 +1,84 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import static org.openkilda.messaging.codec.JsonCodecs.INFO_DATA_READER;
+
+import org.openkilda.messaging.codec.JsonCodecs;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.northbound.model.FlowView;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+
+import java.io.IOException;
+
+/**
+ * Kafka consumer of flow events, keeps {@link FlowView} up to date. Each northbound instance has its own consumer
+ * group, so every instance receives all events.
+ */
+public class KafkaFlowViewConsumer {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(KafkaFlowViewConsumer.class);
+
+    /**
+     * Info data type of flow events.
+     */
+    private static final String FLOW_OPERATION_TYPE = "flow_operation";
+
+    /**
+     * Info data type property.
+     */
+    private static final String MESSAGE_TYPE = "message_type";
+
+    /**
+     * The flow view.
+     */
+    private final FlowView flowView;
+
+    /**
+     * Instance constructor.
+     *
+     * @param flowView the flow view
+     */
+    public KafkaFlowViewConsumer(final FlowView flowView) {
+        this.flowView = flowView;
+    }
+
+    /**
+     * Receives events from the flow state topic, other than flow ones are skipped without binding them.
+     *
+     * @param record the message object instance
+     */
+    @KafkaListener(id = "northbound-flow-view-listener", topics = "${kafka.topic.flows.state}",
+            containerFactory = "flowViewListenerContainerFactory")
+    public void receive(final String record) {
+        try {
+            if (FLOW_OPERATION_TYPE.equals(JsonCodecs.readFields(record, MESSAGE_TYPE)[0])) {
+                InfoData data = INFO_DATA_READER.readValue(record);
+                logger.debug("Flow event received: {}", data);
+                flowView.apply((FlowInfoData) data);
+            }
+        } catch (IOException exception) {
+            logger.error("Could not deserialize message: {}", record, exception);
+        }
+    }
+}
@@ -16,11 +16,11 @@
 package org.openkilda.northbound.messaging.kafka;
 
 import static org.openkilda.messaging.Utils.CORRELATION_ID;
-import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.error.ErrorType.INTERNAL_ERROR;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.HealthCheckInfoData;
@@ -60,10 +60,10 @@ public class KafkaHealthCheckMessageConsumer implements HealthCheckMessageConsum
      * @param record the message object instance
      */
     @KafkaListener(id = "northbound-listener-health-check", topics = "kilda.health.check")
-    public void receive(final String record) {
+    public void receive(final Object record) {
         try {
             logger.trace("message received");
-            Message message = MAPPER.readValue(record, Message.class);
+            Message message = MessageFormat.toMessage(record);
             if (Destination.NORTHBOUND.equals(message.getDestination())) {
                 logger.debug("message received: {}", record);
                 InfoMessage info = (InfoMessage) message;
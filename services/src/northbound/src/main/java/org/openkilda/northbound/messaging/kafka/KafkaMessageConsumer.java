@@ -16,15 +16,16 @@
 package org.openkilda.northbound.messaging.kafka;
 
 import static org.openkilda.messaging.Utils.CORRELATION_ID;
-import static org.openkilda.messaging.Utils.MAPPER;
-import static org.openkilda.messaging.Utils.SYSTEM_CORRELATION_ID;
-import static org.openkilda.messaging.error.ErrorType.INTERNAL_ERROR;
 import static org.openkilda.messaging.error.ErrorType.OPERATION_TIMED_OUT;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.error.MessageException;
+import org.openkilda.northbound.messaging.CorrelationRegistry;
 import org.openkilda.northbound.messaging.MessageConsumer;
+import org.openkilda.northbound.utils.TimeoutWheel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,8 +34,9 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
 
 /**
  * Kafka message consumer.
@@ -42,11 +44,6 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 @PropertySource("classpath:northbound.properties")
 public class KafkaMessageConsumer implements MessageConsumer<Object> {
-    /**
-     * Error description for interrupted exception.
-     */
-    public static final String INTERRUPTED_ERROR_MESSAGE = "Unable to poll message";
-
     /**
      * Error description for timeout exception.
      */
@@ -58,25 +55,42 @@ public class KafkaMessageConsumer implements MessageConsumer<Object> {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageConsumer.class);
 
     /**
-     * Messages map.
+     * Pending requests.
      */
-    private volatile Map<String, Object> messages = new ConcurrentHashMap<>();
+    private final CorrelationRegistry<Object> requests;
 
     /**
-     * Receives messages from WorkFlowManager queue.
+     * Instance constructor.
+     *
+     * @param timeouts shared timeouts wheel
+     * @param topic    kafka topic the responses are read from
+     */
+    public KafkaMessageConsumer(final TimeoutWheel timeouts, final String topic) {
+        requests = new CorrelationRegistry<>(timeouts, POLL_TIMEOUT, correlationId -> {
+            logger.error("{}: {}={}", TIMEOUT_ERROR_MESSAGE, CORRELATION_ID, correlationId);
+            return new MessageException(correlationId, System.currentTimeMillis(),
+                    OPERATION_TIMED_OUT, TIMEOUT_ERROR_MESSAGE, topic);
+        });
+    }
+
+    /**
+     * Receives messages from WorkFlowManager queue and completes pending requests.
      *
      * @param record the message object instance
      */
-    @KafkaListener(id = "northbound-listener", topics = "kilda-test")
-    public void receive(final String record) {
+    @KafkaListener(id = "northbound-listener", topics = "${kafka.topic.northbound}")
+    public void receive(final Object record) {
         try {
             logger.trace("message received");
-            Message message = MAPPER.readValue(record, Message.class);
-            if (Destination.NORTHBOUND.equals(message.getDestination())) {
+            if (MessageHeader.peek(record).isAddressedTo(Destination.NORTHBOUND)) {
                 logger.debug("message received: {}", record);
-                messages.put(message.getCorrelationId(), message);
+                Message message = MessageFormat.toMessage(record);
+                if (!requests.complete(message.getCorrelationId(), message)) {
+                    logger.warn("No pending request for the message: {}={}", CORRELATION_ID,
+                            message.getCorrelationId());
+                }
             } else {
-                logger.trace("Skip message: {}", message);
+                logger.trace("Skip message: {}", record);
             }
         } catch (IOException exception) {
             logger.error("Could not deserialize message: {}", record, exception);
@@ -87,31 +101,15 @@ public class KafkaMessageConsumer implements MessageConsumer<Object> {
      * {@inheritDoc}
      */
     @Override
-    public Object poll(final String correlationId) {
-        try {
-            for (int i = POLL_TIMEOUT / POLL_PAUSE; i < POLL_TIMEOUT; i += POLL_PAUSE) {
-                if (messages.containsKey(correlationId)) {
-                    return messages.remove(correlationId);
-                } else if (messages.containsKey(SYSTEM_CORRELATION_ID)) {
-                    return messages.remove(SYSTEM_CORRELATION_ID);
-                }
-                Thread.sleep(POLL_PAUSE);
-            }
-        } catch (InterruptedException exception) {
-            logger.error("{}: {}={}", INTERRUPTED_ERROR_MESSAGE, CORRELATION_ID, correlationId);
-            throw new MessageException(correlationId, System.currentTimeMillis(),
-                    INTERNAL_ERROR, INTERRUPTED_ERROR_MESSAGE, "kilda-test");
-        }
-        logger.error("{}: {}={}", TIMEOUT_ERROR_MESSAGE, CORRELATION_ID, correlationId);
-        throw new MessageException(correlationId, System.currentTimeMillis(),
-                OPERATION_TIMED_OUT, TIMEOUT_ERROR_MESSAGE, "kilda-test");
+    public CompletableFuture<Object> register(final String correlationId) {
+        return requests.register(correlationId);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void clear() {
-        messages.clear();
+    public CompletableFuture<List<Object>> register(final String correlationId, final ToIntFunction<Object> parts) {
+        return requests.register(correlationId, parts);
     }
 }
@@ -20,10 +20,12 @@ import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.error.ErrorType.DATA_INVALID;
 import static org.openkilda.messaging.error.ErrorType.INTERNAL_ERROR;
 
+import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.northbound.messaging.MessageProducer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.kafka.common.errors.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,29 +54,31 @@ public class KafkaMessageProducer implements MessageProducer {
      * Kafka template.
      */
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, Object> kafkaTemplate;
 
     /**
      * {@inheritDoc}
+     * {@link Message} instances are written by the Kafka serializer in the format of the topic, other objects are
+     * sent as json text.
      */
     @Override
     public void send(final String topic, final Object object) {
-        ListenableFuture<SendResult<String, String>> future;
-        String message;
+        ListenableFuture<SendResult<String, Object>> future;
+        Object message;
 
         try {
-            message = MAPPER.writeValueAsString(object);
-        } catch (JsonProcessingException exception) {
+            message = object instanceof Message ? object : MAPPER.writeValueAsString(object);
+            future = kafkaTemplate.send(topic, message);
+        } catch (JsonProcessingException | SerializationException exception) {
             String errorMessage = "Unable to serialize object";
             logger.error("{}: object={}", errorMessage, object, exception);
             throw new MessageException(DEFAULT_CORRELATION_ID, System.currentTimeMillis(),
                     DATA_INVALID, errorMessage, object.toString());
         }
 
-        future = kafkaTemplate.send(topic, message);
-        future.addCallback(new ListenableFutureCallback<SendResult<String, String>>() {
+        future.addCallback(new ListenableFutureCallback<SendResult<String, Object>>() {
             @Override
-            public void onSuccess(SendResult<String, String> result) {
+            public void onSuccess(SendResult<String, Object> result) {
                 logger.debug("Message sent: topic={}, message={}", topic, message);
             }
 
@@ -85,13 +89,13 @@ public class KafkaMessageProducer implements MessageProducer {
         });
 
         try {
-            SendResult<String, String> result = future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            SendResult<String, Object> result = future.get(TIMEOUT, TimeUnit.MILLISECONDS);
             logger.debug("Record sent: record={}, metadata={}", result.getProducerRecord(), result.getRecordMetadata());
         } catch (TimeoutException | ExecutionException | InterruptedException exception) {
             String errorMessage = "Unable to send message";
             logger.error("{}: topic={}, message={}", errorMessage, topic, message, exception);
             throw new MessageException(DEFAULT_CORRELATION_ID, System.currentTimeMillis(),
-                    INTERNAL_ERROR, errorMessage, message);
+                    INTERNAL_ERROR, errorMessage, message.toString());
         }
     }
 }
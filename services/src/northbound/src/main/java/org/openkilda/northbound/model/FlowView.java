@@ -0,0 +1,259 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.model;
+
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.model.Flow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Local read model of flows. It is kept up to date by flow events published by the flow topology and is
+ * re-synchronized with the flow topology by periodic snapshots, so reads are served from memory while the last
+ * snapshot is not older than the staleness bound.
+ *
+ * <p>Each applied event increments the view version and every flow entry records the version it was written at.
+ * A snapshot is merged by the version taken when it was requested: entries changed by events received after that
+ * are newer than the snapshot and are kept, deleted flows are kept as tombstones until the next snapshot.
+ */
+@Component
+public class FlowView {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FlowView.class);
+
+    /**
+     * Flows sorted by flow id, entries with null flow are deleted flows.
+     */
+    private final ConcurrentNavigableMap<String, Entry> flows = new ConcurrentSkipListMap<>();
+
+    /**
+     * Staleness bound in milliseconds, zero disables the view.
+     */
+    private final long maxAge;
+
+    /**
+     * Version of the last applied change, guarded by this.
+     */
+    private long version;
+
+    /**
+     * Last snapshot time in milliseconds, zero if the view was not synchronized yet.
+     */
+    private volatile long syncTime;
+
+    /**
+     * Whether the snapshot is requested, guarded by this.
+     */
+    private boolean syncing;
+
+    /**
+     * Instance constructor.
+     *
+     * @param maxAge staleness bound in milliseconds, zero disables the view
+     */
+    public FlowView(@Value("${northbound.flows.view.max.age}") final long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Checks whether reads could be served by the view.
+     *
+     * @param now current time in milliseconds
+     * @return true if the last snapshot is within the staleness bound
+     */
+    public boolean isFresh(final long now) {
+        return maxAge > 0 && syncTime > 0 && now - syncTime <= maxAge;
+    }
+
+    /**
+     * Checks whether the view should be synchronized, it happens halfway to the staleness bound, so the view stays
+     * fresh while it is being read.
+     *
+     * @param now current time in milliseconds
+     * @return true if the snapshot should be requested
+     */
+    public boolean isAging(final long now) {
+        return maxAge > 0 && now - syncTime > maxAge / 2;
+    }
+
+    /**
+     * Gets the flow.
+     *
+     * @param flowId flow id
+     * @return flow, null if there is no such flow
+     */
+    public Flow get(final String flowId) {
+        Entry entry = flows.get(flowId);
+        return entry == null ? null : entry.flow;
+    }
+
+    /**
+     * Gets all flows.
+     *
+     * @return flows
+     */
+    public List<Flow> dump() {
+        List<Flow> result = new ArrayList<>(flows.size());
+        for (Entry entry : flows.values()) {
+            if (entry.flow != null) {
+                result.add(entry.flow);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a page of flows in order of flow ids.
+     *
+     * @param cursor last flow id of the previous page, null for the first page
+     * @param limit  maximum number of flows
+     * @return flows following the cursor
+     */
+    public List<Flow> page(final String cursor, final int limit) {
+        Map<String, Entry> tail = cursor == null ? flows : flows.tailMap(cursor, false);
+        List<Flow> result = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Entry> iterator = tail.values().iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.flow != null) {
+                result.add(entry.flow);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns version of the last applied change.
+     *
+     * @return view version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies the flow event.
+     *
+     * @param data flow event
+     */
+    public synchronized void apply(final FlowInfoData data) {
+        if (data.getFlowId() == null || data.getOperation() == null) {
+            logger.warn("Skip malformed flow event: {}", data);
+            return;
+        }
+
+        Flow flow;
+        switch (data.getOperation()) {
+            case CREATE:
+            case UPDATE:
+            case STATE:
+                if (data.getPayload() == null || data.getPayload().getLeft() == null) {
+                    logger.warn("Skip flow event without payload: {}", data);
+                    return;
+                }
+                flow = data.getPayload().getLeft();
+                break;
+            case DELETE:
+                flow = null;
+                break;
+            default:
+                logger.debug("Skip flow operation {}", data.getOperation());
+                return;
+        }
+
+        flows.put(data.getFlowId(), new Entry(flow, ++version));
+    }
+
+    /**
+     * Starts the snapshot, only one snapshot is requested at a time.
+     *
+     * @return view version the snapshot is requested at, -1 if the snapshot is requested already or the view is disabled
+     */
+    public synchronized long beginSnapshot() {
+        if (maxAge <= 0 || syncing) {
+            return -1;
+        }
+        syncing = true;
+        return version;
+    }
+
+    /**
+     * Merges the snapshot and marks the view as synchronized.
+     *
+     * @param snapshotVersion view version the snapshot was requested at
+     * @param snapshot        all flows
+     * @param now             snapshot time in milliseconds
+     */
+    public synchronized void applySnapshot(final long snapshotVersion, final List<Flow> snapshot, final long now) {
+        Map<String, Flow> received = new HashMap<>(snapshot.size() * 2);
+        for (Flow flow : snapshot) {
+            received.put(flow.getFlowId(), flow);
+        }
+
+        Iterator<Map.Entry<String, Entry>> iterator = flows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entry.getValue().version <= snapshotVersion && !received.containsKey(entry.getKey())) {
+                iterator.remove();
+            }
+        }
+
+        for (Flow flow : received.values()) {
+            Entry entry = flows.get(flow.getFlowId());
+            if (entry == null || entry.version <= snapshotVersion) {
+                flows.put(flow.getFlowId(), new Entry(flow, snapshotVersion));
+            }
+        }
+
+        syncing = false;
+        syncTime = now;
+        logger.debug("Flow view synchronized: version={}, flows={}", version, flows.size());
+    }
+
+    /**
+     * Cancels the failed snapshot.
+     */
+    public synchronized void cancelSnapshot() {
+        syncing = false;
+    }
+
+    /**
+     * Flow entry, immutable, so it could be read without locking.
+     */
+    private static final class Entry {
+        private final Flow flow;
+        private final long version;
+
+        private Entry(final Flow flow, final long version) {
+            this.flow = flow;
+            this.version = version;
+        }
+    }
+}
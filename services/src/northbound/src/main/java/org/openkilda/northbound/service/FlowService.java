@@ -15,14 +15,18 @@
 
 package org.openkilda.northbound.service;
 
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
+import org.openkilda.messaging.payload.flow.FlowsPagePayload;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * FlowService is for operations on flows.
+ * FlowService is for operations on flows. Results are completed asynchronously once the response is received, so no
+ * thread is held while the request is processed.
  */
 public interface FlowService extends BasicService {
     /**
@@ -32,7 +36,18 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return created flow
      */
-    FlowPayload createFlow(final FlowPayload flow, final String correlationId);
+    CompletableFuture<FlowPayload> createFlow(final FlowPayload flow, final String correlationId);
+
+    /**
+     * Creates flows batch. Batches of more than
+     * {@link org.openkilda.messaging.command.flow.FlowsCreateRequest#MAX_BATCH_SIZE} flows are rejected.
+     *
+     * @param flows         flows
+     * @param correlationId request correlation Id
+     * @return creation status of each flow in order of flows
+     */
+    CompletableFuture<List<FlowBatchStatusPayload>> createFlows(final List<FlowPayload> flows,
+                                                                final String correlationId);
 
     /**
      * Deletes flow.
@@ -41,7 +56,7 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return deleted flow
      */
-    FlowPayload deleteFlow(final String id, final String correlationId);
+    CompletableFuture<FlowPayload> deleteFlow(final String id, final String correlationId);
 
     /**
      * Updates flow.
@@ -50,7 +65,7 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return updated flow
      */
-    FlowPayload updateFlow(final FlowPayload flow, final String correlationId);
+    CompletableFuture<FlowPayload> updateFlow(final FlowPayload flow, final String correlationId);
 
     /**
      * Gets flow by id.
@@ -59,7 +74,7 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return flow
      */
-    FlowPayload getFlow(final String id, final String correlationId);
+    CompletableFuture<FlowPayload> getFlow(final String id, final String correlationId);
 
     /**
      * Gets all the flows.
@@ -67,7 +82,17 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation id
      * @return the list of all flows with specified status
      */
-    List<FlowPayload> getFlows(final String correlationId);
+    CompletableFuture<List<FlowPayload>> getFlows(final String correlationId);
+
+    /**
+     * Gets a page of the flows, flows are ordered by flow id.
+     *
+     * @param cursor        cursor returned with the previous page, null for the first page
+     * @param limit         page size limit
+     * @param correlationId request correlation id
+     * @return the page of flows and the cursor of the next page
+     */
+    CompletableFuture<FlowsPagePayload> getFlows(final String cursor, final int limit, final String correlationId);
 
     /**
      * Gets flow status by id.
@@ -76,7 +101,7 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return flow status
      */
-    FlowIdStatusPayload statusFlow(final String id, final String correlationId);
+    CompletableFuture<FlowIdStatusPayload> statusFlow(final String id, final String correlationId);
 
     /**
      * Gets flow path by id.
@@ -85,5 +110,5 @@ public interface FlowService extends BasicService {
      * @param correlationId request correlation Id
      * @return Flow path
      */
-    FlowPathPayload pathFlow(final String id, final String correlationId);
+    CompletableFuture<FlowPathPayload> pathFlow(final String id, final String correlationId);
 }
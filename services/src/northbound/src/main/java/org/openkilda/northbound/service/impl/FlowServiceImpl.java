@@ -26,17 +26,26 @@ import org.openkilda.messaging.command.flow.FlowGetRequest;
 import org.openkilda.messaging.command.flow.FlowPathRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.command.flow.FlowsGetRequest;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
+import org.openkilda.messaging.payload.flow.FlowsPagePayload;
 import org.openkilda.northbound.messaging.MessageConsumer;
 import org.openkilda.northbound.messaging.MessageProducer;
+import org.openkilda.northbound.model.FlowView;
 import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.utils.Converter;
 
@@ -44,12 +53,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * Manages operations with flows.
+ * Manages operations with flows. Flow changes are sent to the topology, reads are served by the local {@link FlowView}
+ * while it is within the staleness bound and fall back to the topology otherwise.
  */
 @Service
 public class FlowServiceImpl implements FlowService {
@@ -58,17 +80,27 @@ public class FlowServiceImpl implements FlowService {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowServiceImpl.class);
 
+    /**
+     * Correlation id prefix of the flow view snapshot requests.
+     */
+    private static final String FLOW_VIEW_CORRELATION_ID = "northbound-flow-view";
+
+    /**
+     * Upper bound of the flows page size, the same as the flow topology one.
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
     /**
      * The kafka topic.
      */
-    @Value("${kafka.topic}")
+    @Value("${kafka.topic.wfm}")
     private String topic;
 
     /**
      * Kafka message consumer.
      */
     @Autowired
-    private MessageConsumer messageConsumer;
+    private MessageConsumer<Object> messageConsumer;
 
     /**
      * Kafka message producer.
@@ -76,110 +108,433 @@ public class FlowServiceImpl implements FlowService {
     @Autowired
     private MessageProducer messageProducer;
 
+    /**
+     * Local flow read model.
+     */
+    @Autowired
+    private FlowView flowView;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload createFlow(final FlowPayload flow, final String correlationId) {
+    public CompletableFuture<FlowPayload> createFlow(final FlowPayload flow, final String correlationId) {
         logger.debug("Create flow: {}={}", CORRELATION_ID, correlationId);
         FlowCreateRequest data = new FlowCreateRequest(Converter.buildFlowByFlowPayload(flow));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowPayloadByFlow(response.getPayload());
+        return sendRequest(request, correlationId,
+                response -> Converter.buildFlowPayloadByFlow(((FlowResponse) response).getPayload()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload deleteFlow(final String id, final String correlationId) {
+    public CompletableFuture<List<FlowBatchStatusPayload>> createFlows(final List<FlowPayload> flows,
+                                                                       final String correlationId) {
+        logger.debug("Create flows: {}={}, count={}", CORRELATION_ID, correlationId, flows.size());
+        if (flows.size() > FlowsCreateRequest.MAX_BATCH_SIZE) {
+            CompletableFuture<List<FlowBatchStatusPayload>> result = new CompletableFuture<>();
+            result.completeExceptionally(new MessageException(correlationId, System.currentTimeMillis(),
+                    ErrorType.PARAMETERS_INVALID, "Can not create flows", String.format(
+                    "Batch of %d flows exceeds the limit %d", flows.size(), FlowsCreateRequest.MAX_BATCH_SIZE)));
+            return result;
+        }
+        if (flows.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        // the topology creates the batch by parts of the tasks owning the flows and responds for each part,
+        // so the batch has own correlation id and its responses could not be mixed with other ones
+        String batchCorrelationId = String.format("%s-%s", correlationId, UUID.randomUUID());
+        FlowsCreateRequest data = new FlowsCreateRequest(
+                flows.stream().map(Converter::buildFlowByFlowPayload).collect(Collectors.toList()));
+        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), batchCorrelationId,
+                Destination.WFM);
+        return sendPartsRequest(request, batchCorrelationId,
+                response -> ((FlowsCreateResponse) response).getPayload())
+                .thenApply(parts -> orderStatuses(flows, parts));
+    }
+
+    /**
+     * Puts statuses of the batch parts in order of flows. Flows of the same flow id are created by one topology task,
+     * so their statuses are received in order of the batch.
+     *
+     * @param flows flows of the batch
+     * @param parts statuses of the batch parts in order they are received
+     * @return statuses in order of flows
+     */
+    private List<FlowBatchStatusPayload> orderStatuses(
+            final List<FlowPayload> flows, final List<List<FlowBatchStatusPayload>> parts) {
+        Map<String, Deque<FlowBatchStatusPayload>> received = new HashMap<>();
+        for (List<FlowBatchStatusPayload> part : parts) {
+            for (FlowBatchStatusPayload status : part) {
+                received.computeIfAbsent(status.getId(), id -> new ArrayDeque<>()).add(status);
+            }
+        }
+        return flows.stream()
+                .map(flow -> received.getOrDefault(flow.getId(), new ArrayDeque<>()).poll())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<FlowPayload> deleteFlow(final String id, final String correlationId) {
         logger.debug("Delete flow: {}={}", CORRELATION_ID, correlationId);
         Flow flow = new Flow();
         flow.setFlowId(id);
         FlowDeleteRequest data = new FlowDeleteRequest(flow);
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowPayloadByFlow(response.getPayload());
+        return sendRequest(request, correlationId,
+                response -> Converter.buildFlowPayloadByFlow(((FlowResponse) response).getPayload()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload getFlow(final String id, final String correlationId) {
+    public CompletableFuture<FlowPayload> getFlow(final String id, final String correlationId) {
         logger.debug("Get flow: {}={}", CORRELATION_ID, correlationId);
+        if (isFlowViewFresh()) {
+            return readFlowView(id, correlationId, Converter::buildFlowPayloadByFlow);
+        }
         FlowGetRequest data = new FlowGetRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowPayloadByFlow(response.getPayload());
+        return sendRequest(request, correlationId,
+                response -> Converter.buildFlowPayloadByFlow(((FlowResponse) response).getPayload()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload updateFlow(final FlowPayload flow, final String correlationId) {
+    public CompletableFuture<FlowPayload> updateFlow(final FlowPayload flow, final String correlationId) {
         logger.debug("Update flow: {}={}", CORRELATION_ID, correlationId);
         FlowUpdateRequest data = new FlowUpdateRequest(Converter.buildFlowByFlowPayload(flow));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowPayloadByFlow(response.getPayload());
+        return sendRequest(request, correlationId,
+                response -> Converter.buildFlowPayloadByFlow(((FlowResponse) response).getPayload()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<FlowPayload> getFlows(final String correlationId) {
+    public CompletableFuture<List<FlowPayload>> getFlows(final String correlationId) {
         logger.debug("Get flows: {}={}", CORRELATION_ID, correlationId);
-        FlowsGetRequest data = new FlowsGetRequest(new FlowIdStatusPayload());
-        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowsResponse response = (FlowsResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowsPayloadByFlows(response.getPayload());
+        if (isFlowViewFresh()) {
+            return CompletableFuture.completedFuture(Converter.buildFlowsPayloadByFlows(flowView.dump()));
+        }
+        // the dump is the snapshot as well
+        return requestSnapshot(correlationId).thenApply(Converter::buildFlowsPayloadByFlows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<FlowsPagePayload> getFlows(final String cursor, final int limit,
+                                                        final String correlationId) {
+        logger.debug("Get flows page: {}={}, cursor={}, limit={}", CORRELATION_ID, correlationId, cursor, limit);
+        if (limit <= 0) {
+            CompletableFuture<FlowsPagePayload> result = new CompletableFuture<>();
+            result.completeExceptionally(new MessageException(correlationId, System.currentTimeMillis(),
+                    ErrorType.PARAMETERS_INVALID, "Can not get flows", String.format("Invalid limit %d", limit)));
+            return result;
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+        if (isFlowViewFresh()) {
+            // one more flow is read to find out whether the page is the last one
+            List<Flow> flows = flowView.page(cursor, pageSize + 1);
+            String next = null;
+            if (flows.size() > pageSize) {
+                flows.remove(pageSize);
+                next = flows.get(pageSize - 1).getFlowId();
+            }
+            return CompletableFuture.completedFuture(
+                    new FlowsPagePayload(Converter.buildFlowsPayloadByFlows(flows), next));
+        }
+        return requestFlowsPage(cursor, pageSize, correlationId).thenApply(page ->
+                new FlowsPagePayload(Converter.buildFlowsPayloadByFlows(page.getPayload()), page.getCursor()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowIdStatusPayload statusFlow(final String id, final String correlationId) {
+    public CompletableFuture<FlowIdStatusPayload> statusFlow(final String id, final String correlationId) {
         logger.debug("Flow status: {}={}", CORRELATION_ID, correlationId);
+        if (isFlowViewFresh()) {
+            return readFlowView(id, correlationId, flow -> new FlowIdStatusPayload(id, flow.getState()));
+        }
         FlowStatusRequest data = new FlowStatusRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
-        messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowStatusResponse response = (FlowStatusResponse) validateInfoMessage(request, message, correlationId);
-        return response.getPayload();
+        return sendRequest(request, correlationId, response -> ((FlowStatusResponse) response).getPayload());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPathPayload pathFlow(final String id, final String correlationId) {
+    public CompletableFuture<FlowPathPayload> pathFlow(final String id, final String correlationId) {
         logger.debug("Flow path: {}={}", CORRELATION_ID, correlationId);
+        if (isFlowViewFresh()) {
+            return readFlowView(id, correlationId,
+                    flow -> Converter.buildFlowPathPayloadByFlowPath(id, flow.getFlowPath()));
+        }
         FlowPathRequest data = new FlowPathRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
-        messageConsumer.clear();
+        return sendRequest(request, correlationId,
+                response -> Converter.buildFlowPathPayloadByFlowPath(id, ((FlowPathResponse) response).getPayload()));
+    }
+
+    /**
+     * Bootstraps the flow view on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapFlowView() {
+        if (flowView.isAging(System.currentTimeMillis())) {
+            refreshFlowView();
+        }
+    }
+
+    /**
+     * Checks whether reads could be served by the flow view, requests the snapshot if the view gets old.
+     *
+     * @return true if the flow view is within the staleness bound
+     */
+    private boolean isFlowViewFresh() {
+        long now = System.currentTimeMillis();
+        if (flowView.isAging(now)) {
+            refreshFlowView();
+        }
+        return flowView.isFresh(now);
+    }
+
+    /**
+     * Requests the snapshot in background, nothing is sent if another snapshot is in progress.
+     */
+    private void refreshFlowView() {
+        long version = flowView.beginSnapshot();
+        if (version >= 0) {
+            applySnapshot(version, String.format("%s-%s", FLOW_VIEW_CORRELATION_ID, UUID.randomUUID()));
+        }
+    }
+
+    /**
+     * Reads the flow from the flow view.
+     *
+     * @param flowId        flow id
+     * @param correlationId request correlation id
+     * @param converter     converts the flow
+     * @param <T>           result type
+     * @return completed result future, completed exceptionally if there is no such flow
+     */
+    private <T> CompletableFuture<T> readFlowView(final String flowId, final String correlationId,
+                                                  final Function<Flow, T> converter) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Flow flow = flowView.get(flowId);
+        if (flow == null) {
+            result.completeExceptionally(new MessageException(correlationId, System.currentTimeMillis(),
+                    ErrorType.NOT_FOUND, "Can not get flow", String.format("Flow %s not found", flowId)));
+        } else {
+            result.complete(converter.apply(flow));
+        }
+        return result;
+    }
+
+    /**
+     * Dumps flows from the topology, the dump is merged into the flow view unless another snapshot is requested.
+     *
+     * @param correlationId request correlation id
+     * @return flows future
+     */
+    private CompletableFuture<List<Flow>> requestSnapshot(final String correlationId) {
+        long version = flowView.beginSnapshot();
+        return version >= 0
+                ? applySnapshot(version, correlationId) : requestFlows(null, new ArrayList<>(), correlationId);
+    }
+
+    /**
+     * Dumps flows from the topology and merges the dump into the flow view.
+     *
+     * @param version       snapshot version returned by the flow view
+     * @param correlationId request correlation id
+     * @return flows future
+     */
+    private CompletableFuture<List<Flow>> applySnapshot(final long version, final String correlationId) {
+        CompletableFuture<List<Flow>> result = requestFlows(null, new ArrayList<>(), correlationId);
+        result.whenComplete((flows, error) -> {
+            if (error != null) {
+                logger.warn("Could not get flows snapshot: {}={}", CORRELATION_ID, correlationId, error);
+                flowView.cancelSnapshot();
+            } else {
+                flowView.applySnapshot(version, flows, System.currentTimeMillis());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Dumps flows from the topology page by page, pages are requested one after another.
+     *
+     * @param cursor        cursor of the page
+     * @param flows         flows of the previous pages
+     * @param correlationId request correlation id
+     * @return flows future
+     */
+    private CompletableFuture<List<Flow>> requestFlows(final String cursor, final List<Flow> flows,
+                                                      final String correlationId) {
+        return requestFlowsPage(cursor, MAX_PAGE_SIZE, correlationId).thenCompose(page -> {
+            flows.addAll(page.getPayload());
+            return page.getCursor() == null
+                    ? CompletableFuture.completedFuture(flows) : requestFlows(page.getCursor(), flows, correlationId);
+        });
+    }
+
+    /**
+     * Requests a page of flows from the topology. Every topology task answers with a page of the flows it owns, the
+     * parts are merged into the page of all flows.
+     *
+     * @param cursor        cursor of the page, null for the first page
+     * @param limit         page size limit
+     * @param correlationId request correlation id
+     * @return flows page future
+     */
+    private CompletableFuture<FlowsResponse> requestFlowsPage(final String cursor, final int limit,
+                                                              final String correlationId) {
+        String pageCorrelationId = String.format("%s-%s", correlationId, UUID.randomUUID());
+        FlowsGetRequest data = new FlowsGetRequest(new FlowIdStatusPayload(), cursor, limit);
+        CommandMessage request = new CommandMessage(
+                data, System.currentTimeMillis(), pageCorrelationId, Destination.WFM);
+        return sendPartsRequest(request, pageCorrelationId, response -> (FlowsResponse) response)
+                .thenApply(parts -> mergePages(parts, limit));
+    }
+
+    /**
+     * Merges pages of the topology tasks. Each task pages flows it owns, so only flows up to the least cursor of the
+     * parts are known to be complete, flows beyond it are requested again with the next page.
+     *
+     * @param parts pages of the topology tasks
+     * @param limit page size limit
+     * @return page of all flows
+     */
+    static FlowsResponse mergePages(final List<FlowsResponse> parts, final int limit) {
+        String bound = null;
+        List<Flow> flows = new ArrayList<>();
+        for (FlowsResponse part : parts) {
+            if (part.getCursor() != null && (bound == null || part.getCursor().compareTo(bound) < 0)) {
+                bound = part.getCursor();
+            }
+            flows.addAll(part.getPayload());
+        }
+        flows.sort(Comparator.comparing(Flow::getFlowId));
+
+        if (bound != null) {
+            String last = bound;
+            flows.removeIf(flow -> flow.getFlowId().compareTo(last) > 0);
+        }
+        if (flows.size() > limit) {
+            flows = new ArrayList<>(flows.subList(0, limit));
+            bound = flows.get(limit - 1).getFlowId();
+        }
+        return new FlowsResponse(flows, bound);
+    }
+
+    /**
+     * Sends the request and converts the response once it is received.
+     *
+     * @param request       request command message
+     * @param correlationId request correlation id
+     * @param converter     converts response data
+     * @param <T>           result type
+     * @return result future, completed exceptionally with {@link org.openkilda.messaging.error.MessageException}
+     */
+    private <T> CompletableFuture<T> sendRequest(final CommandMessage request, final String correlationId,
+                                                 final Function<InfoData, T> converter) {
+        // the response could not be missed, as it is registered before the request is sent
+        CompletableFuture<T> result = receiveResponse(request, correlationId, converter);
+        messageProducer.send(topic, request);
+        return result;
+    }
+
+    /**
+     * Sends the request answered with several responses and converts them once all are received.
+     *
+     * @param request       request command message
+     * @param correlationId request own correlation id
+     * @param converter     converts response data
+     * @param <T>           result type
+     * @return results future, in order the responses are received, completed exceptionally with
+     *         {@link org.openkilda.messaging.error.MessageException} if any of the responses is an error
+     */
+    private <T> CompletableFuture<List<T>> sendPartsRequest(final CommandMessage request, final String correlationId,
+                                                          final Function<InfoData, T> converter) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        messageConsumer.register(correlationId, FlowServiceImpl::getParts).whenComplete((messages, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                List<T> parts = new ArrayList<>(messages.size());
+                for (Object message : messages) {
+                    parts.add(converter.apply(validateInfoMessage(request, (Message) message, correlationId)));
+                }
+                result.complete(parts);
+            } catch (RuntimeException exception) {
+                result.completeExceptionally(exception);
+            }
+        });
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowPathResponse response = (FlowPathResponse) validateInfoMessage(request, message, correlationId);
-        return Converter.buildFlowPathPayloadByFlowPath(id, response.getPayload());
+        return result;
+    }
+
+    /**
+     * Gets the number of responses the request is answered with, an error completes the request at once.
+     *
+     * @param message response message
+     * @return number of responses
+     */
+    private static int getParts(final Object message) {
+        if (message instanceof InfoMessage) {
+            InfoData data = ((InfoMessage) message).getData();
+            if (data instanceof FlowsCreateResponse) {
+                return ((FlowsCreateResponse) data).getParts();
+            }
+            if (data instanceof FlowsResponse) {
+                return ((FlowsResponse) data).getParts();
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Registers a pending response of the request, the request should be sent afterwards.
+     *
+     * @param request       request command message
+     * @param correlationId request correlation id
+     * @param converter     converts response data
+     * @param <T>           result type
+     * @return result future, completed exceptionally with {@link org.openkilda.messaging.error.MessageException}
+     */
+    private <T> CompletableFuture<T> receiveResponse(final CommandMessage request, final String correlationId,
+                                                     final Function<InfoData, T> converter) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        messageConsumer.register(correlationId).whenComplete((message, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                result.complete(converter.apply(validateInfoMessage(request, (Message) message, correlationId)));
+            } catch (RuntimeException exception) {
+                result.completeExceptionally(exception);
+            }
+        });
+        return result;
     }
 }
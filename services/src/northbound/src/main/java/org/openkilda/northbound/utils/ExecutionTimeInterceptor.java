@@ -39,7 +39,10 @@ public class ExecutionTimeInterceptor implements HandlerInterceptor {
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object obj) {
-        request.setAttribute(TIMESTAMP, System.currentTimeMillis());
+        // asynchronous requests are dispatched twice, the time is counted from the initial dispatch
+        if (request.getAttribute(TIMESTAMP) == null) {
+            request.setAttribute(TIMESTAMP, System.currentTimeMillis());
+        }
         return true;
     }
 
@@ -29,6 +29,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * Common exception handler for controllers.
  */
@@ -71,6 +73,24 @@ public class NorthboundExceptionHandler extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(exception, error, new HttpHeaders(), status, request);
     }
 
+    /**
+     * Handles exceptions thrown by asynchronous request processing stages.
+     *
+     * @param exception the CompletionException instance
+     * @param request   the WebRequest caused exception
+     * @return the ResponseEntity object instance
+     * @throws Exception the cause of the exception if it is not a MessageException
+     */
+    @ExceptionHandler(CompletionException.class)
+    protected ResponseEntity<Object> handleCompletionException(CompletionException exception, WebRequest request)
+            throws Exception {
+        Throwable cause = exception.getCause();
+        if (cause instanceof MessageException) {
+            return handleMessageException((MessageException) cause, request);
+        }
+        throw exception;
+    }
+
     /**
      * {@inheritDoc}
      */
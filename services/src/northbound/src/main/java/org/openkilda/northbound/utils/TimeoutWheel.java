@@ -0,0 +1,138 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel for request timeouts. A single thread advances the wheel each tick and runs expired tasks of
+ * the current bucket, so scheduling is a queue insert regardless of the number of pending timeouts. Tasks run no
+ * earlier than requested and no later than one tick after. Tasks are not cancelled: they are expected to be cheap and
+ * idempotent, like completing a future which may be completed already.
+ */
+public class TimeoutWheel implements AutoCloseable {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutWheel.class);
+
+    /**
+     * Tick duration in milliseconds.
+     */
+    private final long tick;
+
+    /**
+     * Wheel buckets.
+     */
+    private final Queue<Timeout>[] buckets;
+
+    /**
+     * Ticker thread.
+     */
+    private final Thread worker;
+
+    /**
+     * Instance constructor, starts the ticker thread.
+     *
+     * @param name    ticker thread name
+     * @param tick    tick duration
+     * @param buckets wheel size, timeouts longer than {@code tick * buckets} take more than one round
+     * @param unit    tick time unit
+     */
+    @SuppressWarnings("unchecked")
+    public TimeoutWheel(final String name, final long tick, final int buckets, final TimeUnit unit) {
+        this.tick = unit.toMillis(tick);
+        this.buckets = new Queue[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Schedules the task.
+     *
+     * @param task  task to run on timeout
+     * @param delay timeout
+     * @param unit  timeout time unit
+     */
+    public void schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        long deadline = System.currentTimeMillis() + unit.toMillis(delay);
+        buckets[(int) ((deadline / tick) % buckets.length)].add(new Timeout(deadline, task));
+    }
+
+    /**
+     * Stops the ticker thread, pending tasks are dropped.
+     */
+    @Override
+    public void close() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        long current = System.currentTimeMillis() / tick;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long now = System.currentTimeMillis();
+                long last = now / tick;
+                // only elapsed ticks are visited, each bucket once per round even if the thread was late
+                for (long i = current; i < last && i < current + buckets.length; i++) {
+                    expire(buckets[(int) (i % buckets.length)], now);
+                }
+                current = last;
+                Thread.sleep(Math.max(1, (current + 1) * tick - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void expire(final Queue<Timeout> bucket, final long now) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.deadline <= now) {
+                iterator.remove();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Timeout task failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scheduled task.
+     */
+    private static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+
+        private Timeout(final long deadline, final Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+}
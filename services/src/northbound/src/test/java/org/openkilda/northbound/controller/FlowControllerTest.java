@@ -23,17 +23,22 @@ import static org.junit.Assert.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageError;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
+import org.openkilda.messaging.payload.flow.FlowsPagePayload;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.junit.Before;
@@ -47,6 +52,8 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -81,7 +88,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void createFlow() throws Exception {
-        MvcResult result = mockMvc.perform(put("/flows")
+        MvcResult result = performAsync(put("/flows")
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE)
                 .content(MAPPER.writeValueAsString(TestMessageMock.flow)))
@@ -92,10 +99,37 @@ public class FlowControllerTest {
         assertEquals(TestMessageMock.flow, response);
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void createFlows() throws Exception {
+        MvcResult result = performAsync(put("/flows/batch")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(MAPPER.writeValueAsString(Collections.singletonList(TestMessageMock.flow))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
+                .andReturn();
+        List<FlowBatchStatusPayload> response = MAPPER.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<List<FlowBatchStatusPayload>>() {});
+        assertEquals(Collections.singletonList(TestMessageMock.flowBatchStatus), response);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void createFlowsOverBatchLimit() throws Exception {
+        performAsync(put("/flows/batch")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(MAPPER.writeValueAsString(
+                        Collections.nCopies(FlowsCreateRequest.MAX_BATCH_SIZE + 1, TestMessageMock.flow))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void getFlow() throws Exception {
-        MvcResult result = mockMvc.perform(get("/flows/{flow-id}", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(get("/flows/{flow-id}", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
@@ -108,7 +142,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void deleteFlow() throws Exception {
-        MvcResult result = mockMvc.perform(delete("/flows/{flow-id}", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(delete("/flows/{flow-id}", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
@@ -121,7 +155,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void updateFlow() throws Exception {
-        MvcResult result = mockMvc.perform(put("/flows/{flow-id}", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(put("/flows/{flow-id}", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE)
                 .content(MAPPER.writeValueAsString(TestMessageMock.flow)))
@@ -135,7 +169,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void getFlows() throws Exception {
-        MvcResult result = mockMvc.perform(get("/flows", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(get("/flows", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
@@ -147,10 +181,50 @@ public class FlowControllerTest {
         assertEquals(Collections.singletonList(TestMessageMock.flow), response);
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsPage() throws Exception {
+        MvcResult result = performAsync(get("/flows")
+                .param("limit", "10")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
+                .andReturn();
+        FlowsPagePayload response =
+                MAPPER.readValue(result.getResponse().getContentAsString(), FlowsPagePayload.class);
+        assertEquals(new FlowsPagePayload(Collections.singletonList(TestMessageMock.flow), null), response);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsPageWithInvalidLimit() throws Exception {
+        performAsync(get("/flows")
+                .param("limit", "0")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void streamFlows() throws Exception {
+        MvcResult result = mockMvc.perform(get("/flows/stream")
+                .header(CORRELATION_ID, testCorrelationId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // the stream is written by the async task, the result is available once it is finished
+        result.getAsyncResult();
+
+        assertEquals(FlowController.APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+        assertEquals(MAPPER.writeValueAsString(TestMessageMock.flow) + "\n",
+                result.getResponse().getContentAsString());
+    }
+
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void statusFlow() throws Exception {
-        MvcResult result = mockMvc.perform(get("/flows/status/{flow-id}", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(get("/flows/status/{flow-id}", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
@@ -164,7 +238,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void pathFlow() throws Exception {
-        MvcResult result = mockMvc.perform(get("/flows/path/{flow-id}", TestMessageMock.FLOW_ID)
+        MvcResult result = performAsync(get("/flows/path/{flow-id}", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
@@ -177,7 +251,7 @@ public class FlowControllerTest {
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void getNonExistingFlow() throws Exception {
-        MvcResult result = mockMvc.perform(get("/flows/{flow-id}", ERROR_FLOW_ID)
+        MvcResult result = performAsync(get("/flows/{flow-id}", ERROR_FLOW_ID)
                 .header(CORRELATION_ID, DEFAULT_CORRELATION_ID)
                 .contentType(APPLICATION_JSON_VALUE))
                 .andExpect(status().isNotFound())
@@ -201,6 +275,16 @@ public class FlowControllerTest {
         assertEquals(AUTH_ERROR, response);
     }
 
+    /**
+     * Performs the request, which is processed asynchronously, and dispatches its result.
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     private static String testCorrelationId() {
         return UUID.randomUUID().toString();
     }
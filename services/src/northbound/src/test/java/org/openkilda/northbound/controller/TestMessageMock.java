@@ -15,9 +15,6 @@
 
 package org.openkilda.northbound.controller;
 
-import static org.openkilda.messaging.Utils.SYSTEM_CORRELATION_ID;
-import static org.openkilda.messaging.error.ErrorType.OPERATION_TIMED_OUT;
-
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
@@ -28,18 +25,20 @@ import org.openkilda.messaging.command.flow.FlowGetRequest;
 import org.openkilda.messaging.command.flow.FlowPathRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.command.flow.FlowsGetRequest;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
-import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowEndpointPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
@@ -47,13 +46,15 @@ import org.openkilda.messaging.payload.flow.FlowPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.northbound.messaging.MessageConsumer;
 import org.openkilda.northbound.messaging.MessageProducer;
-import org.openkilda.northbound.messaging.kafka.KafkaMessageConsumer;
 
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
 
 /**
  * Spring component which mocks WorkFlow Manager. This instance listens kafka ingoing requests and sends back
@@ -69,11 +70,14 @@ public class TestMessageMock implements MessageProducer, MessageConsumer<Object>
     static final PathInfoData path = new PathInfoData(0L, Collections.emptyList());
     static final FlowPathPayload flowPath = new FlowPathPayload(FLOW_ID, path);
     static final Flow flowModel = new Flow(FLOW_ID, 10000, FLOW_ID, FLOW_ID, 1, 1, FLOW_ID, 1, 1);
+    static final FlowBatchStatusPayload flowBatchStatus = FlowBatchStatusPayload.accepted(FLOW_ID, FlowState.ALLOCATED);
     private static final FlowResponse flowResponse = new FlowResponse(flowModel);
     private static final FlowsResponse flowsResponse = new FlowsResponse(Collections.singletonList(flowModel));
+    private static final FlowsCreateResponse flowsCreateResponse =
+            new FlowsCreateResponse(Collections.singletonList(flowBatchStatus));
     private static final FlowPathResponse flowPathResponse = new FlowPathResponse(path);
     private static final FlowStatusResponse flowStatusResponse = new FlowStatusResponse(flowStatus);
-    private static final Map<String, CommandData> messages = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Object>> responses = new ConcurrentHashMap<>();
 
     /**
      * Chooses response by request.
@@ -84,6 +88,8 @@ public class TestMessageMock implements MessageProducer, MessageConsumer<Object>
     private Message formatResponse(final String correlationId, final CommandData data) {
         if (data instanceof FlowCreateRequest) {
             return new InfoMessage(flowResponse, 0, correlationId, Destination.NORTHBOUND);
+        } else if (data instanceof FlowsCreateRequest) {
+            return new InfoMessage(flowsCreateResponse, 0, correlationId, Destination.NORTHBOUND);
         } else if (data instanceof FlowDeleteRequest) {
             return new InfoMessage(flowResponse, 0, correlationId, Destination.NORTHBOUND);
         } else if (data instanceof FlowUpdateRequest) {
@@ -107,30 +113,25 @@ public class TestMessageMock implements MessageProducer, MessageConsumer<Object>
     }
 
     @Override
-    public Object poll(String correlationId) {
-        CommandData data;
-
-        if (messages.containsKey(correlationId)) {
-            data = messages.remove(correlationId);
-        } else if (messages.containsKey(SYSTEM_CORRELATION_ID)) {
-            data = messages.remove(SYSTEM_CORRELATION_ID);
-        } else {
-            throw new MessageException(correlationId, System.currentTimeMillis(),
-                    OPERATION_TIMED_OUT, KafkaMessageConsumer.TIMEOUT_ERROR_MESSAGE, "kilda-test");
-        }
-        return formatResponse(correlationId, data);
+    public CompletableFuture<Object> register(String correlationId) {
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        responses.put(correlationId, response);
+        return response;
     }
 
     @Override
-    public void clear() {
-        messages.clear();
+    public CompletableFuture<List<Object>> register(String correlationId, ToIntFunction<Object> parts) {
+        return register(correlationId).thenApply(Collections::singletonList);
     }
 
     @Override
     public void send(String topic, Object object) {
         Message message = (Message) object;
         if (message instanceof CommandMessage) {
-            messages.put(message.getCorrelationId(), ((CommandMessage) message).getData());
+            CompletableFuture<Object> response = responses.remove(message.getCorrelationId());
+            if (response != null) {
+                response.complete(formatResponse(message.getCorrelationId(), ((CommandMessage) message).getData()));
+            }
         }
     }
 }
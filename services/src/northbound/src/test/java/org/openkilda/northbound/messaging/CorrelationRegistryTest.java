@@ -0,0 +1,95 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.northbound.utils.TimeoutWheel;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class CorrelationRegistryTest {
+    private static final String CORRELATION_ID = "correlation-id";
+
+    private final TimeoutWheel timeouts = new TimeoutWheel("test-timeouts", 10, 8, TimeUnit.MILLISECONDS);
+
+    @After
+    public void tearDown() {
+        timeouts.close();
+    }
+
+    @Test
+    public void completeInOrder() throws Exception {
+        CorrelationRegistry<String> registry = new CorrelationRegistry<>(timeouts, 10000, IllegalStateException::new);
+
+        CompletableFuture<String> first = registry.register(CORRELATION_ID);
+        CompletableFuture<String> second = registry.register(CORRELATION_ID);
+        assertEquals(2, registry.size());
+
+        assertTrue(registry.complete(CORRELATION_ID, "first"));
+        assertTrue(registry.complete(CORRELATION_ID, "second"));
+        assertFalse(registry.complete(CORRELATION_ID, "third"));
+
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void completeParts() throws Exception {
+        CorrelationRegistry<String> registry = new CorrelationRegistry<>(timeouts, 10000, IllegalStateException::new);
+
+        CompletableFuture<List<String>> parts = registry.register(CORRELATION_ID, response -> 3);
+        CompletableFuture<String> next = registry.register(CORRELATION_ID);
+
+        assertTrue(registry.complete(CORRELATION_ID, "first"));
+        assertTrue(registry.complete(CORRELATION_ID, "second"));
+        assertFalse(parts.isDone());
+        assertTrue(registry.complete(CORRELATION_ID, "third"));
+        assertTrue(registry.complete(CORRELATION_ID, "next"));
+
+        assertEquals(Arrays.asList("first", "second", "third"), parts.get());
+        assertEquals("next", next.get());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        CorrelationRegistry<String> registry = new CorrelationRegistry<>(timeouts, 50, IllegalStateException::new);
+
+        CompletableFuture<String> future = registry.register(CORRELATION_ID);
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals(CORRELATION_ID, e.getCause().getMessage());
+        }
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, registry.size());
+        assertFalse(registry.complete(CORRELATION_ID, "late"));
+    }
+}
@@ -0,0 +1,136 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlowViewTest {
+    private static final long MAX_AGE = 1000L;
+
+    private final FlowView flowView = new FlowView(MAX_AGE);
+
+    @Test
+    public void freshness() {
+        assertFalse(flowView.isFresh(0L));
+        assertTrue(flowView.isAging(0L));
+
+        flowView.applySnapshot(flowView.beginSnapshot(), Collections.emptyList(), 100L);
+
+        assertTrue(flowView.isFresh(100L + MAX_AGE));
+        assertFalse(flowView.isAging(100L + MAX_AGE / 2));
+        assertTrue(flowView.isAging(100L + MAX_AGE / 2 + 1));
+        assertFalse(flowView.isFresh(100L + MAX_AGE + 1));
+    }
+
+    @Test
+    public void disabled() {
+        FlowView disabled = new FlowView(0L);
+
+        assertEquals(-1L, disabled.beginSnapshot());
+        assertFalse(disabled.isAging(0L));
+        assertFalse(disabled.isFresh(0L));
+    }
+
+    @Test
+    public void singleSnapshot() {
+        long version = flowView.beginSnapshot();
+
+        assertEquals(-1L, flowView.beginSnapshot());
+
+        flowView.cancelSnapshot();
+        assertEquals(version, flowView.beginSnapshot());
+    }
+
+    @Test
+    public void applyEvents() {
+        flowView.apply(event("flow-1", FlowOperation.CREATE, FlowState.ALLOCATED));
+        flowView.apply(event("flow-1", FlowOperation.STATE, FlowState.UP));
+        flowView.apply(event("flow-2", FlowOperation.CREATE, FlowState.ALLOCATED));
+        flowView.apply(event("flow-2", FlowOperation.DELETE, FlowState.ALLOCATED));
+
+        assertEquals(4L, flowView.getVersion());
+        assertEquals(FlowState.UP, flowView.get("flow-1").getState());
+        assertNull(flowView.get("flow-2"));
+        assertEquals(1, flowView.dump().size());
+    }
+
+    @Test
+    public void snapshotKeepsNewerEvents() {
+        flowView.apply(event("stale", FlowOperation.CREATE, FlowState.UP));
+        flowView.apply(event("deleted", FlowOperation.CREATE, FlowState.UP));
+
+        long version = flowView.beginSnapshot();
+        flowView.apply(event("updated", FlowOperation.STATE, FlowState.DOWN));
+        flowView.apply(event("deleted", FlowOperation.DELETE, FlowState.UP));
+        flowView.apply(event("created", FlowOperation.CREATE, FlowState.ALLOCATED));
+
+        // the snapshot was taken before the events above were received
+        flowView.applySnapshot(version, Arrays.asList(
+                flow("updated", FlowState.UP), flow("deleted", FlowState.UP), flow("restored", FlowState.UP)), 0L);
+
+        assertNull(flowView.get("stale"));
+        assertNull(flowView.get("deleted"));
+        assertEquals(FlowState.DOWN, flowView.get("updated").getState());
+        assertEquals(FlowState.ALLOCATED, flowView.get("created").getState());
+        assertEquals(FlowState.UP, flowView.get("restored").getState());
+        assertEquals(3, flowView.dump().size());
+    }
+
+    @Test
+    public void pageSkipsDeletedFlows() {
+        flowView.apply(event("flow-3", FlowOperation.CREATE, FlowState.UP));
+        flowView.apply(event("flow-1", FlowOperation.CREATE, FlowState.UP));
+        flowView.apply(event("flow-2", FlowOperation.CREATE, FlowState.UP));
+        flowView.apply(event("flow-2", FlowOperation.DELETE, FlowState.UP));
+        flowView.apply(event("flow-4", FlowOperation.CREATE, FlowState.UP));
+
+        assertEquals(Arrays.asList("flow-1", "flow-3"), flowIds(flowView.page(null, 2)));
+        assertEquals(Collections.singletonList("flow-4"), flowIds(flowView.page("flow-3", 2)));
+        assertTrue(flowView.page("flow-4", 2).isEmpty());
+    }
+
+    private static FlowInfoData event(String flowId, FlowOperation operation, FlowState state) {
+        Flow flow = flow(flowId, state);
+        return new FlowInfoData(flowId, new ImmutablePair<>(flow, flow), operation, "correlation-id");
+    }
+
+    private static Flow flow(String flowId, FlowState state) {
+        Flow flow = new Flow(flowId, 10000, flowId, "sw1", 1, 1, "sw2", 2, 2);
+        flow.setState(state);
+        return flow;
+    }
+
+    private static List<String> flowIds(List<Flow> flows) {
+        return flows.stream().map(Flow::getFlowId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.messaging.info.flow.FlowsResponse;
+import org.openkilda.messaging.model.Flow;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlowServiceImplTest {
+    @Test
+    public void mergePagesUpToLeastCursor() {
+        FlowsResponse page = FlowServiceImpl.mergePages(Arrays.asList(
+                part("c", "a", "c"),
+                part("d", "b", "d"),
+                part(null, "e")), 2);
+
+        // "c" ends the first part, "d" and "e" may follow flows of the first part not sent yet
+        assertEquals(Arrays.asList("a", "b"), flowIds(page));
+        assertEquals("b", page.getCursor());
+
+        page = FlowServiceImpl.mergePages(Arrays.asList(
+                part("c", "a", "c"),
+                part("d", "b", "d"),
+                part(null, "e")), 10);
+
+        assertEquals(Arrays.asList("a", "b", "c"), flowIds(page));
+        assertEquals("c", page.getCursor());
+    }
+
+    @Test
+    public void mergeLastPages() {
+        FlowsResponse page = FlowServiceImpl.mergePages(Arrays.asList(
+                new FlowsResponse(Arrays.asList(flow("a"), flow("d")), null, 2),
+                new FlowsResponse(Arrays.asList(flow("b"), flow("c")), null, 2)), 10);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), flowIds(page));
+        assertNull(page.getCursor());
+    }
+
+    private static FlowsResponse part(String cursor, String... flowIds) {
+        List<Flow> flows = Arrays.stream(flowIds).map(FlowServiceImplTest::flow).collect(Collectors.toList());
+        return new FlowsResponse(flows, cursor, 3);
+    }
+
+    private static Flow flow(String flowId) {
+        return new Flow(flowId, 10000, flowId, "sw1", 1, 1, "sw2", 2, 2);
+    }
+
+    private static List<String> flowIds(FlowsResponse page) {
+        return page.getPayload().stream().map(Flow::getFlowId).collect(Collectors.toList());
+    }
+}
@@ -31,12 +31,19 @@ import com.google.common.base.MoreObjects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 public class FlowCache extends Cache {
@@ -52,9 +59,24 @@ public class FlowCache extends Cache {
     final ResourceCache resourceCache = new ResourceCache();
 
     /**
-     * Flow pool.
+     * Flow pool, sorted by flow id, so the flows could be dumped page by page.
      */
-    private final Map<String, ImmutablePair<Flow, Flow>> flowPool = new ConcurrentHashMap<>();
+    private final NavigableMap<String, ImmutablePair<Flow, Flow>> flowPool = new ConcurrentSkipListMap<>();
+
+    /**
+     * Flow ids by switch id of the flow path nodes.
+     */
+    private final Map<String, Set<String>> switchFlowIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Flow ids by switch id and port number of the flow path nodes.
+     */
+    private final Map<PortKey, Set<String>> portFlowIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the flows put to the cache in {@link FlowState#DOWN} state.
+     */
+    private final Set<String> downFlowIndex = ConcurrentHashMap.newKeySet();
 
     /**
      * Fills cache.
@@ -71,6 +93,9 @@ public class FlowCache extends Cache {
      */
     public void clear() {
         flowPool.clear();
+        switchFlowIndex.clear();
+        portFlowIndex.clear();
+        downFlowIndex.clear();
         resourceCache.clear();
     }
 
@@ -81,7 +106,10 @@ public class FlowCache extends Cache {
      * @return previous flow
      */
     public ImmutablePair<Flow, Flow> putFlow(ImmutablePair<Flow, Flow> flow) {
-        return flowPool.put(flow.getLeft().getFlowId(), flow);
+        ImmutablePair<Flow, Flow> oldFlow = flowPool.put(flow.getLeft().getFlowId(), flow);
+        unindexFlow(oldFlow);
+        indexFlow(flow);
+        return oldFlow;
     }
 
     /**
@@ -91,7 +119,9 @@ public class FlowCache extends Cache {
      * @return removed flow
      */
     public ImmutablePair<Flow, Flow> removeFlow(String flowId) {
-        return flowPool.remove(flowId);
+        ImmutablePair<Flow, Flow> flow = flowPool.remove(flowId);
+        unindexFlow(flow);
+        return flow;
     }
 
     /**
@@ -113,13 +143,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(String switchId) {
-        return flowPool.values().stream().filter(flow ->
-                flow.getLeft().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || flow.getRight().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || isOneSwitchFlow(flow) && flow.getLeft().getSourceSwitch().equals(switchId))
-                .collect(Collectors.toSet());
+        return getIndexedFlows(switchFlowIndex, switchId);
     }
 
     /**
@@ -129,10 +153,8 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(IslInfoData islData) {
-        return flowPool.values().stream()
-                .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(islData.getPath().get(0))
-                        || flow.getRight().getFlowPath().getPath().contains(islData.getPath().get(0)))
-                .collect(Collectors.toSet());
+        PathNode node = islData.getPath().get(0);
+        return getIndexedFlows(portFlowIndex, new PortKey(node.getSwitchId(), node.getPortNo()));
     }
 
     /**
@@ -142,10 +164,20 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(PortInfoData portData) {
-        PathNode node = new PathNode(portData.getSwitchId(), portData.getPortNo(), 0);
-        return flowPool.values().stream().filter(flow ->
-                flow.getLeft().getFlowPath().getPath().contains(node)
-                        || flow.getRight().getFlowPath().getPath().contains(node))
+        return getIndexedFlows(portFlowIndex, new PortKey(portData.getSwitchId(), portData.getPortNo()));
+    }
+
+    /**
+     * Gets flows in {@link FlowState#DOWN} state without scanning the flow pool.
+     * The index follows flows put to, created, updated and removed from the cache, a flow which state is changed in
+     * place is indexed once it is put again.
+     *
+     * @return set of flows
+     */
+    public Set<ImmutablePair<Flow, Flow>> getDownFlows() {
+        return downFlowIndex.stream()
+                .map(flowPool::get)
+                .filter(flow -> flow != null && FlowState.DOWN.equals(flow.getLeft().getState()))
                 .collect(Collectors.toSet());
     }
 
@@ -216,6 +248,7 @@ public class FlowCache extends Cache {
 
         resourceCache.allocateFlow(newFlow);
         flowPool.put(flowId, newFlow);
+        indexFlow(newFlow);
 
         return newFlow;
     }
@@ -241,6 +274,7 @@ public class FlowCache extends Cache {
 
         resourceCache.allocateFlow(newFlow);
         flowPool.put(flowId, newFlow);
+        indexFlow(newFlow);
 
         return newFlow;
     }
@@ -261,6 +295,7 @@ public class FlowCache extends Cache {
         }
 
         resourceCache.deallocateFlow(flow);
+        unindexFlow(flow);
 
         return flow;
     }
@@ -283,9 +318,11 @@ public class FlowCache extends Cache {
                     String.format("Flow %s not found", flowId));
         }
         resourceCache.deallocateFlow(odlFlow);
+        unindexFlow(odlFlow);
 
         resourceCache.allocateFlow(newFlow);
         flowPool.put(flowId, newFlow);
+        indexFlow(newFlow);
 
         return newFlow;
     }
@@ -309,9 +346,11 @@ public class FlowCache extends Cache {
                     String.format("Flow %s not found", flowId));
         }
         resourceCache.deallocateFlow(odlFlow);
+        unindexFlow(odlFlow);
 
         resourceCache.allocateFlow(newFlow);
         flowPool.put(flowId, newFlow);
+        indexFlow(newFlow);
 
         return newFlow;
     }
@@ -326,6 +365,24 @@ public class FlowCache extends Cache {
         return new HashSet<>(flowPool.values());
     }
 
+    /**
+     * Gets a page of flows in order of flow ids.
+     *
+     * @param cursor last flow id of the previous page, null for the first page
+     * @param limit  maximum number of flows
+     * @return flows following the cursor
+     */
+    public List<ImmutablePair<Flow, Flow>> dumpFlows(String cursor, int limit) {
+        logger.debug("Get flows after {}, limit {}", cursor, limit);
+        Map<String, ImmutablePair<Flow, Flow>> tail = cursor == null ? flowPool : flowPool.tailMap(cursor, false);
+        List<ImmutablePair<Flow, Flow>> page = new ArrayList<>(Math.min(limit, flowPool.size()));
+        Iterator<ImmutablePair<Flow, Flow>> iterator = tail.values().iterator();
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
     /**
      * Returns intersection between two paths.
      *
@@ -425,9 +482,73 @@ public class FlowCache extends Cache {
     public ImmutablePair<Flow, Flow> buildFlow(final Flow flow,
                                                ImmutablePair<PathInfoData, PathInfoData> path,
                                                ResourceCache cache) {
+        return buildFlow(flow, path, Utils.getIsoTimestamp(), cache.allocateCookie(),
+                cache.allocateMeterId(flow.getSourceSwitch()), cache.allocateVlanId(),
+                cache.allocateMeterId(flow.getDestinationSwitch()), cache.allocateVlanId());
+    }
+
+    /**
+     * Creates a batch of flows. Resources of the whole batch are taken from the resource pools in bulk, so the batch
+     * either gets all of them or none.
+     *
+     * @param flows flows, none of them should exist
+     * @param paths flow paths in order of flows
+     * @return created flows in order of flows
+     */
+    public List<ImmutablePair<Flow, Flow>> createFlows(List<Flow> flows,
+                                                       List<ImmutablePair<PathInfoData, PathInfoData>> paths) {
+        logger.debug("Create {} flows", flows.size());
+
+        Map<String, Integer> meterCounts = new HashMap<>();
+        for (Flow flow : flows) {
+            if (flowPool.containsKey(flow.getFlowId())) {
+                throw new CacheException(ErrorType.ALREADY_EXISTS, "Can not create flows",
+                        String.format("Flow %s already exists", flow.getFlowId()));
+            }
+            meterCounts.merge(flow.getSourceSwitch(), 1, Integer::sum);
+            meterCounts.merge(flow.getDestinationSwitch(), 1, Integer::sum);
+        }
+
+        List<Integer> cookies = Collections.emptyList();
+        List<Integer> vlans = Collections.emptyList();
+        Map<String, Iterator<Integer>> meters = new HashMap<>();
+        Map<String, List<Integer>> allocatedMeters = new HashMap<>();
+        try {
+            cookies = resourceCache.allocateCookies(flows.size());
+            vlans = resourceCache.allocateVlanIds(flows.size() * 2);
+            for (Map.Entry<String, Integer> entry : meterCounts.entrySet()) {
+                List<Integer> ids = resourceCache.allocateMeterIds(entry.getKey(), entry.getValue());
+                allocatedMeters.put(entry.getKey(), ids);
+                meters.put(entry.getKey(), ids.iterator());
+            }
+        } catch (ArrayIndexOutOfBoundsException exception) {
+            cookies.forEach(resourceCache::deallocateCookie);
+            vlans.forEach(resourceCache::deallocateVlanId);
+            allocatedMeters.forEach((switchId, ids) ->
+                    ids.forEach(id -> resourceCache.deallocateMeterId(switchId, id)));
+            throw new CacheException(ErrorType.CREATION_FAILURE, "Can not create flows", exception.getMessage());
+        }
+
         String timestamp = Utils.getIsoTimestamp();
-        int cookie = cache.allocateCookie();
+        List<ImmutablePair<Flow, Flow>> result = new ArrayList<>(flows.size());
+        for (int i = 0; i < flows.size(); i++) {
+            Flow flow = flows.get(i);
+            ImmutablePair<Flow, Flow> newFlow = buildFlow(flow, paths.get(i), timestamp, cookies.get(i),
+                    meters.get(flow.getSourceSwitch()).next(), vlans.get(i * 2),
+                    meters.get(flow.getDestinationSwitch()).next(), vlans.get(i * 2 + 1));
+
+            flowPool.put(flow.getFlowId(), newFlow);
+            indexFlow(newFlow);
+            result.add(newFlow);
+        }
+
+        return result;
+    }
 
+    private ImmutablePair<Flow, Flow> buildFlow(Flow flow, ImmutablePair<PathInfoData, PathInfoData> path,
+                                                String timestamp, int cookie,
+                                                int forwardMeterId, int forwardVlanId,
+                                                int reverseMeterId, int reverseVlanId) {
         Flow forward = new Flow(
                 flow.getFlowId(),
                 flow.getBandwidth(),
@@ -440,8 +561,8 @@ public class FlowCache extends Cache {
                 flow.getDestinationPort(),
                 flow.getSourceVlan(),
                 flow.getDestinationVlan(),
-                cache.allocateMeterId(flow.getSourceSwitch()),
-                cache.allocateVlanId(),
+                forwardMeterId,
+                forwardVlanId,
                 path.getLeft(),
                 FlowState.ALLOCATED);
 
@@ -457,8 +578,8 @@ public class FlowCache extends Cache {
                 flow.getSourcePort(),
                 flow.getDestinationVlan(),
                 flow.getSourceVlan(),
-                cache.allocateMeterId(flow.getDestinationSwitch()),
-                cache.allocateVlanId(),
+                reverseMeterId,
+                reverseVlanId,
                 path.getRight(),
                 FlowState.ALLOCATED);
 
@@ -506,6 +627,80 @@ public class FlowCache extends Cache {
         return linkedSwitch;
     }
 
+    /**
+     * Adds flow path nodes to the switch and port indexes, and the flow to the down flows index.
+     *
+     * @param flow flow
+     */
+    private void indexFlow(ImmutablePair<Flow, Flow> flow) {
+        String flowId = flow.getLeft().getFlowId();
+
+        if (FlowState.DOWN.equals(flow.getLeft().getState())) {
+            downFlowIndex.add(flowId);
+        }
+        if (isOneSwitchFlow(flow)) {
+            addIndexEntry(switchFlowIndex, flow.getLeft().getSourceSwitch(), flowId);
+        }
+        for (PathNode node : getPathNodes(flow)) {
+            addIndexEntry(switchFlowIndex, node.getSwitchId(), flowId);
+            addIndexEntry(portFlowIndex, new PortKey(node.getSwitchId(), node.getPortNo()), flowId);
+        }
+    }
+
+    /**
+     * Removes flow path nodes from the switch and port indexes, and the flow from the down flows index.
+     *
+     * @param flow flow, may be null
+     */
+    private void unindexFlow(ImmutablePair<Flow, Flow> flow) {
+        if (flow == null) {
+            return;
+        }
+        String flowId = flow.getLeft().getFlowId();
+
+        downFlowIndex.remove(flowId);
+        if (isOneSwitchFlow(flow)) {
+            removeIndexEntry(switchFlowIndex, flow.getLeft().getSourceSwitch(), flowId);
+        }
+        for (PathNode node : getPathNodes(flow)) {
+            removeIndexEntry(switchFlowIndex, node.getSwitchId(), flowId);
+            removeIndexEntry(portFlowIndex, new PortKey(node.getSwitchId(), node.getPortNo()), flowId);
+        }
+    }
+
+    private Set<PathNode> getPathNodes(ImmutablePair<Flow, Flow> flow) {
+        Set<PathNode> nodes = new HashSet<>();
+        if (flow.getLeft().getFlowPath() != null) {
+            nodes.addAll(flow.getLeft().getFlowPath().getPath());
+        }
+        if (flow.getRight().getFlowPath() != null) {
+            nodes.addAll(flow.getRight().getFlowPath().getPath());
+        }
+        return nodes;
+    }
+
+    private <K> Set<ImmutablePair<Flow, Flow>> getIndexedFlows(Map<K, Set<String>> index, K key) {
+        Set<String> flowIds = index.get(key);
+        if (flowIds == null) {
+            return new HashSet<>();
+        }
+        return flowIds.stream()
+                .map(flowPool::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K> void addIndexEntry(Map<K, Set<String>> index, K key, String flowId) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(flowId);
+    }
+
+    private static <K> void removeIndexEntry(Map<K, Set<String>> index, K key, String flowId) {
+        index.computeIfPresent(key, (k, flowIds) -> {
+            flowIds.remove(flowId);
+            return flowIds.isEmpty() ? null : flowIds;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -516,4 +711,35 @@ public class FlowCache extends Cache {
                 .add("flows", flowPool)
                 .toString();
     }
+
+    /**
+     * Port index key, compared by switch id and port number without building strings on lookups.
+     */
+    private static final class PortKey {
+        private final String switchId;
+        private final int portNo;
+
+        private PortKey(String switchId, int portNo) {
+            this.switchId = switchId;
+            this.portNo = portNo;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+
+            PortKey that = (PortKey) object;
+            return portNo == that.portNo && Objects.equals(switchId, that.switchId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(switchId) + portNo;
+        }
+    }
 }
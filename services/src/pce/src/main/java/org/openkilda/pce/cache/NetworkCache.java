@@ -60,13 +60,28 @@ public class NetworkCache extends Cache {
      */
     private final Map<String, IslInfoData> islPool = new ConcurrentHashMap<>();
 
+    /**
+     * Compiled network, patched by writers and rebuilt by the first reader after it got stale.
+     */
+    private volatile NetworkSnapshot snapshot = NetworkSnapshot.EMPTY;
+
+    /**
+     * Whether switches or isls set was changed since the snapshot was compiled. Written under this.
+     */
+    private volatile boolean stale;
+
+    /**
+     * Compiled network version, guarded by this.
+     */
+    private long snapshotVersion;
+
     /**
      * Fills cache.
      *
      * @param switches {@link Set} of {@link SwitchInfoData} instances
      * @param isls     {@link Set} of {@link IslInfoData} instances
      */
-    public void load(Set<SwitchInfoData> switches, Set<IslInfoData> isls) {
+    public synchronized void load(Set<SwitchInfoData> switches, Set<IslInfoData> isls) {
         logger.debug("Switches: {}", switches);
         switches.forEach(this::createSwitch);
 
@@ -74,6 +89,30 @@ public class NetworkCache extends Cache {
         isls.forEach(this::createIsl);
     }
 
+    /**
+     * Gets compiled network snapshot.
+     * Changes of switches or isls set only mark the snapshot stale, and the first reader after them rebuilds it under
+     * the cache lock, so a burst of changes, e.g. discovery of a switch with many isls, costs a single rebuild.
+     * Attribute changes of a fresh snapshot are applied by writers to its copy. Readers of a fresh snapshot never
+     * compile or lock, the returned instance is immutable and may be shared with other threads.
+     *
+     * @return {@link NetworkSnapshot} instance
+     */
+    public NetworkSnapshot getSnapshot() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    NetworkSnapshot compiled = NetworkSnapshot.build(network.nodes(), network.edges(),
+                            ++snapshotVersion);
+                    logger.debug("Network snapshot compiled: {}", compiled);
+                    snapshot = compiled;
+                    stale = false;
+                }
+            }
+        }
+        return snapshot;
+    }
+
     /**
      * Gets all {@link IslInfoData} instances which start node is specified {@link SwitchInfoData} instance.
      *
@@ -165,12 +204,14 @@ public class NetworkCache extends Cache {
     /**
      * Clears the inner network and pools.
      */
-    public void clear() {
+    public synchronized void clear() {
         islPool.values().forEach(network::removeEdge);
         islPool.clear();
 
         switchPool.values().forEach(network::removeNode);
         switchPool.clear();
+
+        invalidateSnapshot();
     }
 
     /**
@@ -199,7 +240,7 @@ public class NetworkCache extends Cache {
      * @return created {@link SwitchInfoData} instance
      * @throws CacheException if {@link SwitchInfoData} instance with specified id already exists
      */
-    public SwitchInfoData createSwitch(SwitchInfoData newSwitch) throws CacheException {
+    public synchronized SwitchInfoData createSwitch(SwitchInfoData newSwitch) throws CacheException {
         String switchId = newSwitch.getSwitchId();
 
         logger.debug("Create {} switch with {} parameters", switchId, newSwitch);
@@ -212,18 +253,20 @@ public class NetworkCache extends Cache {
 
         network.addNode(newSwitch);
         switchPool.put(switchId, newSwitch);
+        invalidateSnapshot();
 
         return newSwitch;
     }
 
     /**
-     * Updates {@link SwitchInfoData} instance.
+     * Updates {@link SwitchInfoData} instance. Isls of the switch are kept: they stay in the isl pool and are attached
+     * to the updated instance in the network, so the network, the patched snapshot and a rebuilt one agree.
      *
      * @param newSwitch {@link SwitchInfoData} instance
      * @return {@link SwitchInfoData} instance before update
      * @throws CacheException if {@link SwitchInfoData} instance with specified id does not exist
      */
-    public SwitchInfoData updateSwitch(SwitchInfoData newSwitch) throws CacheException {
+    public synchronized SwitchInfoData updateSwitch(SwitchInfoData newSwitch) throws CacheException {
         String switchId = newSwitch.getSwitchId();
         logger.debug("Update {} switch with {} parameters", switchId, newSwitch);
 
@@ -233,9 +276,22 @@ public class NetworkCache extends Cache {
                     String.format("Switch %s not found", switchId));
         }
 
+        Set<IslInfoData> isls = new HashSet<>(network.incidentEdges(oldSwitch));
         network.removeNode(oldSwitch);
         network.addNode(newSwitch);
         switchPool.put(switchId, newSwitch);
+        isls.forEach(isl -> {
+            EndpointPair<SwitchInfoData> nodes = getIslSwitches(isl);
+            network.addEdge(nodes.source(), nodes.target(), isl);
+        });
+
+        NetworkSnapshot current = snapshot;
+        if (!stale && current.getSwitchIndex(switchId) != NetworkSnapshot.NOT_FOUND) {
+            snapshot = current.withSwitchState(current.getSwitchIndex(switchId), newSwitch.getState(),
+                    ++snapshotVersion);
+        } else {
+            invalidateSnapshot();
+        }
 
         return newSwitch;
     }
@@ -247,7 +303,7 @@ public class NetworkCache extends Cache {
      * @return created {@link SwitchInfoData} instance
      * @throws CacheException if {@link SwitchInfoData} instance with specified id already exists
      */
-    public SwitchInfoData createOrUpdateSwitch(SwitchInfoData newSwitch) {
+    public synchronized SwitchInfoData createOrUpdateSwitch(SwitchInfoData newSwitch) {
         logger.debug("Create Or Update {} switch with {} parameters", newSwitch);
 
         if (cacheContainsSwitch(newSwitch.getSwitchId())) {
@@ -264,7 +320,7 @@ public class NetworkCache extends Cache {
      * @return removed {@link SwitchInfoData} instance
      * @throws CacheException if {@link SwitchInfoData} instance with specified id does not exist
      */
-    public SwitchInfoData deleteSwitch(String switchId) throws CacheException {
+    public synchronized SwitchInfoData deleteSwitch(String switchId) throws CacheException {
         logger.debug("Delete {} switch", switchId);
 
         SwitchInfoData node = switchPool.remove(switchId);
@@ -274,6 +330,7 @@ public class NetworkCache extends Cache {
         }
 
         network.removeNode(node);
+        invalidateSnapshot();
 
         return node;
     }
@@ -343,12 +400,13 @@ public class NetworkCache extends Cache {
      * @return {@link IslInfoData} instance previously associated with {@link IslInfoData} instance id or null otherwise
      * @throws CacheException if {@link SwitchInfoData} related to {@link IslInfoData} instance do not exist
      */
-    public IslInfoData createIsl(IslInfoData isl) throws CacheException {
+    public synchronized IslInfoData createIsl(IslInfoData isl) throws CacheException {
         String islId = isl.getId();
         logger.debug("Create {} isl with {} parameters", islId, isl);
 
         EndpointPair<SwitchInfoData> nodes = getIslSwitches(isl);
         network.addEdge(nodes.source(), nodes.target(), isl);
+        invalidateSnapshot();
 
         return islPool.put(islId, isl);
     }
@@ -360,7 +418,7 @@ public class NetworkCache extends Cache {
      * @return {@link IslInfoData} instance previously associated with {@link IslInfoData} instance id or null otherwise
      * @throws CacheException if {@link SwitchInfoData} related to {@link IslInfoData} instance do not exist
      */
-    public IslInfoData updateIsl(IslInfoData isl) throws CacheException {
+    public synchronized IslInfoData updateIsl(IslInfoData isl) throws CacheException {
         String islId = isl.getId();
         logger.debug("Update {} isl with {} parameters", islId, isl);
 
@@ -368,6 +426,14 @@ public class NetworkCache extends Cache {
         network.removeEdge(islPool.get(islId));
         network.addEdge(nodes.source(), nodes.target(), isl);
 
+        NetworkSnapshot current = snapshot;
+        int edge = stale ? NetworkSnapshot.NOT_FOUND : current.patchableIsl(isl);
+        if (edge != NetworkSnapshot.NOT_FOUND) {
+            snapshot = current.withIsl(edge, isl, ++snapshotVersion);
+        } else {
+            invalidateSnapshot();
+        }
+
         return islPool.put(islId, isl);
     }
 
@@ -378,7 +444,7 @@ public class NetworkCache extends Cache {
      * @return {@link IslInfoData} instance previously associated with {@link IslInfoData} instance id or null otherwise
      * @throws CacheException if {@link SwitchInfoData} related to {@link IslInfoData} instance do not exist
      */
-    public IslInfoData createOrUpdateIsl(IslInfoData isl) {
+    public synchronized IslInfoData createOrUpdateIsl(IslInfoData isl) {
         logger.debug("Create or Update {} isl with {} parameters", isl);
 
         if (cacheContainsIsl(isl.getId())) {
@@ -395,7 +461,7 @@ public class NetworkCache extends Cache {
      * @return removed {@link IslInfoData} instance
      * @throws CacheException if {@link IslInfoData} instance with specified id does not exist
      */
-    public IslInfoData deleteIsl(String islId) throws CacheException {
+    public synchronized IslInfoData deleteIsl(String islId) throws CacheException {
         logger.debug("Delete {} isl", islId);
 
         IslInfoData isl = islPool.remove(islId);
@@ -405,6 +471,7 @@ public class NetworkCache extends Cache {
         }
 
         network.removeEdge(isl);
+        invalidateSnapshot();
 
         return isl;
     }
@@ -442,6 +509,14 @@ public class NetworkCache extends Cache {
         return network;
     }
 
+    /**
+     * Marks the snapshot stale after switches or isls set was changed, it is rebuilt by the next
+     * {@link #getSnapshot} call. Must be called by a writer holding the lock.
+     */
+    private void invalidateSnapshot() {
+        stale = true;
+    }
+
     /**
      * Gets {@link SwitchInfoData} instances which are incident nodes for specified {@link IslInfoData} instance.
      *
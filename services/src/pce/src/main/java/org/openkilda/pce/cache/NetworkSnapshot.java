@@ -0,0 +1,521 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable compiled network topology.
+ * Switch ids are mapped to dense ints, isls are stored as compressed sparse rows in primitive arrays,
+ * so graph searches do no hashing or boxing per relaxed edge. Instances are never modified after
+ * publication and may be read without locks, {@link NetworkCache} publishes a new version on change.
+ */
+public final class NetworkSnapshot {
+    /**
+     * Index value returned for unknown switches and isls.
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Empty snapshot.
+     */
+    static final NetworkSnapshot EMPTY = build(Collections.emptyList(), Collections.emptyList(), 0L);
+
+    private final long version;
+
+    private final String[] switchIds;
+    private final Map<String, Integer> switchIndex;
+    private final boolean[] operable;
+
+    private final int[] offsets;
+    private final int[] origins;
+    private final int[] targets;
+    private final int[] srcPorts;
+    private final int[] dstPorts;
+    private final long[] latencies;
+    private final long[] bandwidths;
+    private final IslInfoData[] isls;
+    private final Map<String, Integer> islIndex;
+
+    /**
+     * Connected component by switch index, computed on first use. It depends on the snapshot content only, so
+     * concurrent readers may compute it twice but always get the same result.
+     */
+    private volatile int[] components;
+
+    private NetworkSnapshot(long version, String[] switchIds, Map<String, Integer> switchIndex, boolean[] operable,
+                            int[] offsets, int[] origins, int[] targets, int[] srcPorts, int[] dstPorts,
+                            long[] latencies, long[] bandwidths, IslInfoData[] isls, Map<String, Integer> islIndex) {
+        this.version = version;
+        this.switchIds = switchIds;
+        this.switchIndex = switchIndex;
+        this.operable = operable;
+        this.offsets = offsets;
+        this.origins = origins;
+        this.targets = targets;
+        this.srcPorts = srcPorts;
+        this.dstPorts = dstPorts;
+        this.latencies = latencies;
+        this.bandwidths = bandwidths;
+        this.isls = isls;
+        this.islIndex = islIndex;
+    }
+
+    /**
+     * Compiles topology.
+     *
+     * @param switches {@link SwitchInfoData} instances
+     * @param links    {@link IslInfoData} instances, isls with unknown endpoints are skipped
+     * @param version  snapshot version
+     * @return {@link NetworkSnapshot} instance
+     */
+    static NetworkSnapshot build(Collection<SwitchInfoData> switches, Collection<IslInfoData> links, long version) {
+        int nodeCount = switches.size();
+        String[] switchIds = new String[nodeCount];
+        boolean[] operable = new boolean[nodeCount];
+        Map<String, Integer> switchIndex = new HashMap<>(nodeCount * 2);
+
+        int node = 0;
+        for (SwitchInfoData sw : switches) {
+            switchIds[node] = sw.getSwitchId();
+            operable[node] = isOperable(sw.getState());
+            switchIndex.put(sw.getSwitchId(), node);
+            node++;
+        }
+
+        int[] sources = new int[links.size()];
+        IslInfoData[] valid = new IslInfoData[links.size()];
+        int[] offsets = new int[nodeCount + 1];
+        int edgeCount = 0;
+        for (IslInfoData isl : links) {
+            Integer src = switchIndex.get(isl.getPath().get(0).getSwitchId());
+            Integer dst = switchIndex.get(isl.getPath().get(1).getSwitchId());
+            if (src != null && dst != null) {
+                sources[edgeCount] = src;
+                valid[edgeCount] = isl;
+                offsets[src + 1]++;
+                edgeCount++;
+            }
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] origins = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] srcPorts = new int[edgeCount];
+        int[] dstPorts = new int[edgeCount];
+        long[] latencies = new long[edgeCount];
+        long[] bandwidths = new long[edgeCount];
+        IslInfoData[] isls = new IslInfoData[edgeCount];
+        Map<String, Integer> islIndex = new HashMap<>(edgeCount * 2);
+
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            IslInfoData isl = valid[i];
+            int edge = cursor[sources[i]]++;
+            origins[edge] = sources[i];
+            targets[edge] = switchIndex.get(isl.getPath().get(1).getSwitchId());
+            srcPorts[edge] = isl.getPath().get(0).getPortNo();
+            dstPorts[edge] = isl.getPath().get(1).getPortNo();
+            latencies[edge] = isl.getLatency();
+            bandwidths[edge] = isl.getAvailableBandwidth();
+            isls[edge] = isl;
+            islIndex.put(isl.getId(), edge);
+        }
+
+        return new NetworkSnapshot(version, switchIds, switchIndex, operable, offsets, origins, targets,
+                srcPorts, dstPorts, latencies, bandwidths, isls, islIndex);
+    }
+
+    /**
+     * Compiles standalone topology, e.g. the one set with
+     * {@link org.openkilda.pce.provider.PathComputer#withNetwork}.
+     *
+     * @param switches {@link SwitchInfoData} instances
+     * @param links    {@link IslInfoData} instances, isls with unknown endpoints are skipped
+     * @return {@link NetworkSnapshot} instance
+     */
+    public static NetworkSnapshot compile(Collection<SwitchInfoData> switches, Collection<IslInfoData> links) {
+        return build(switches, links, 0L);
+    }
+
+    /**
+     * Creates a copy with changed isl attributes, the adjacency structure is shared.
+     *
+     * @param edge    isl index
+     * @param isl     new {@link IslInfoData} instance, endpoints must match the indexed one
+     * @param version snapshot version
+     * @return {@link NetworkSnapshot} instance
+     */
+    NetworkSnapshot withIsl(int edge, IslInfoData isl, long version) {
+        long[] newLatencies = latencies.clone();
+        long[] newBandwidths = bandwidths.clone();
+        IslInfoData[] newIsls = isls.clone();
+        newLatencies[edge] = isl.getLatency();
+        newBandwidths[edge] = isl.getAvailableBandwidth();
+        newIsls[edge] = isl;
+
+        return new NetworkSnapshot(version, switchIds, switchIndex, operable, offsets, origins, targets,
+                srcPorts, dstPorts, newLatencies, newBandwidths, newIsls, islIndex);
+    }
+
+    /**
+     * Creates a copy with changed switch state, the adjacency structure is shared.
+     *
+     * @param node    switch index
+     * @param state   new {@link SwitchState}
+     * @param version snapshot version
+     * @return {@link NetworkSnapshot} instance
+     */
+    NetworkSnapshot withSwitchState(int node, SwitchState state, long version) {
+        boolean[] newOperable = operable.clone();
+        newOperable[node] = isOperable(state);
+
+        return new NetworkSnapshot(version, switchIds, switchIndex, newOperable, offsets, origins, targets,
+                srcPorts, dstPorts, latencies, bandwidths, isls, islIndex);
+    }
+
+    /**
+     * Checks whether isl may be patched in place, i.e. it is indexed and connects the same ports.
+     *
+     * @param isl {@link IslInfoData} instance
+     * @return isl index or {@link #NOT_FOUND}
+     */
+    int patchableIsl(IslInfoData isl) {
+        int edge = getIslIndex(isl.getId());
+        if (edge == NOT_FOUND
+                || targets[edge] != getSwitchIndex(isl.getPath().get(1).getSwitchId())
+                || srcPorts[edge] != isl.getPath().get(0).getPortNo()
+                || dstPorts[edge] != isl.getPath().get(1).getPortNo()) {
+            return NOT_FOUND;
+        }
+        return edge;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSwitchCount() {
+        return switchIds.length;
+    }
+
+    public int getIslCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets switch index.
+     *
+     * @param switchId switch id
+     * @return switch index or {@link #NOT_FOUND}
+     */
+    public int getSwitchIndex(String switchId) {
+        Integer node = switchIndex.get(switchId);
+        return node == null ? NOT_FOUND : node;
+    }
+
+    public String getSwitchId(int node) {
+        return switchIds[node];
+    }
+
+    public boolean isOperable(int node) {
+        return operable[node];
+    }
+
+    /**
+     * Gets isl index.
+     *
+     * @param islId isl id
+     * @return isl index or {@link #NOT_FOUND}
+     */
+    public int getIslIndex(String islId) {
+        Integer edge = islIndex.get(islId);
+        return edge == null ? NOT_FOUND : edge;
+    }
+
+    /**
+     * Gets the first outgoing isl index of the switch, outgoing isls are {@code [first, end)}.
+     *
+     * @param node switch index
+     * @return first isl index
+     */
+    public int getFirstIsl(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Gets the index after the last outgoing isl of the switch.
+     *
+     * @param node switch index
+     * @return end isl index
+     */
+    public int getEndIsl(int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Gets isl source switch index.
+     *
+     * @param edge isl index
+     * @return switch index
+     */
+    public int getIslSource(int edge) {
+        return origins[edge];
+    }
+
+    public int getIslTarget(int edge) {
+        return targets[edge];
+    }
+
+    public int getIslSourcePort(int edge) {
+        return srcPorts[edge];
+    }
+
+    public int getIslDestinationPort(int edge) {
+        return dstPorts[edge];
+    }
+
+    public long getIslLatency(int edge) {
+        return latencies[edge];
+    }
+
+    public long getIslAvailableBandwidth(int edge) {
+        return bandwidths[edge];
+    }
+
+    public IslInfoData getIsl(int edge) {
+        return isls[edge];
+    }
+
+    /**
+     * Gets connected component of the switch. Switches are connected if there is an isl sequence between them in any
+     * direction which traverses operable switches only, bandwidth is not taken into account.
+     *
+     * @param switchId switch id
+     * @return component id, equal for connected switches, or {@link #NOT_FOUND} for unknown and inoperable switches
+     */
+    public int getComponent(String switchId) {
+        int node = getSwitchIndex(switchId);
+        return node == NOT_FOUND ? NOT_FOUND : getComponents()[node];
+    }
+
+    /**
+     * Finds the lightest isl sequence between switches.
+     * Only operable switches and isls with enough available bandwidth are traversed.
+     *
+     * @param srcSwitch source switch id
+     * @param dstSwitch destination switch id
+     * @param bandwidth required bandwidth
+     * @param byLatency weight isls by latency if true, by hop count otherwise
+     * @return isl indexes from source to destination, empty if there is no path
+     */
+    public int[] findPath(String srcSwitch, String dstSwitch, long bandwidth, boolean byLatency) {
+        return findPath(srcSwitch, dstSwitch, bandwidth, byLatency, null);
+    }
+
+    /**
+     * Finds the lightest isl sequence between switches, as if the reserved bandwidth were deducted from the isls.
+     * Only operable switches and isls with enough available bandwidth are traversed.
+     *
+     * @param srcSwitch source switch id
+     * @param dstSwitch destination switch id
+     * @param bandwidth required bandwidth
+     * @param byLatency weight isls by latency if true, by hop count otherwise
+     * @param reserved  bandwidth reserved on each isl by isl index, null if none is reserved
+     * @return isl indexes from source to destination, empty if there is no path
+     */
+    public int[] findPath(String srcSwitch, String dstSwitch, long bandwidth, boolean byLatency, long[] reserved) {
+        int src = getSwitchIndex(srcSwitch);
+        int dst = getSwitchIndex(dstSwitch);
+        if (src == NOT_FOUND || dst == NOT_FOUND || !operable[src] || !operable[dst] || src == dst) {
+            return new int[0];
+        }
+
+        int nodeCount = switchIds.length;
+        long[] distances = new long[nodeCount];
+        int[] predecessors = new int[nodeCount];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        Arrays.fill(predecessors, NOT_FOUND);
+
+        Heap heap = new Heap(nodeCount);
+        distances[src] = 0L;
+        heap.push(src, 0L);
+
+        while (!heap.isEmpty()) {
+            long distance = heap.peekKey();
+            int node = heap.pop();
+            if (distance > distances[node]) {
+                continue;
+            }
+            if (node == dst) {
+                break;
+            }
+
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                int target = targets[edge];
+                long available = reserved == null ? bandwidths[edge] : bandwidths[edge] - reserved[edge];
+                if (available < bandwidth || !operable[target]) {
+                    continue;
+                }
+
+                long next = distance + (byLatency ? latencies[edge] : 1L);
+                if (next < distances[target]) {
+                    distances[target] = next;
+                    predecessors[target] = edge;
+                    heap.push(target, next);
+                }
+            }
+        }
+
+        if (predecessors[dst] == NOT_FOUND) {
+            return new int[0];
+        }
+
+        int hops = 0;
+        for (int node = dst; node != src; node = origins[predecessors[node]]) {
+            hops++;
+        }
+
+        int[] path = new int[hops];
+        for (int node = dst; node != src; node = origins[predecessors[node]]) {
+            path[--hops] = predecessors[node];
+        }
+        return path;
+    }
+
+    private int[] getComponents() {
+        int[] result = components;
+        if (result == null) {
+            result = new int[switchIds.length];
+            for (int node = 0; node < result.length; node++) {
+                result[node] = node;
+            }
+            for (int edge = 0; edge < targets.length; edge++) {
+                if (operable[origins[edge]] && operable[targets[edge]]) {
+                    result[findRoot(result, origins[edge])] = findRoot(result, targets[edge]);
+                }
+            }
+            for (int node = 0; node < result.length; node++) {
+                result[node] = operable[node] ? findRoot(result, node) : NOT_FOUND;
+            }
+            components = result;
+        }
+        return result;
+    }
+
+    /**
+     * Finds union-find root of the switch, halving the path on the way.
+     */
+    private static int findRoot(int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    private static boolean isOperable(SwitchState state) {
+        return SwitchState.ADDED == state || SwitchState.ACTIVATED == state;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("version", version)
+                .add("switches", switchIds.length)
+                .add("isls", targets.length)
+                .toString();
+    }
+
+    /**
+     * Binary min heap of switch indexes with lazy deletion.
+     */
+    private static final class Heap {
+        private int[] nodes;
+        private long[] keys;
+        private int size;
+
+        private Heap(int capacity) {
+            nodes = new int[Math.max(capacity, 16)];
+            keys = new long[nodes.length];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private long peekKey() {
+            return keys[0];
+        }
+
+        private void push(int node, long key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+
+        private int pop() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            long lastKey = keys[size];
+
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (lastKey <= keys[child]) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            nodes[i] = lastNode;
+            keys[i] = lastKey;
+
+            return top;
+        }
+    }
+}
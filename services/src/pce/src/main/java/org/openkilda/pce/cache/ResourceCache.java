@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -136,6 +137,16 @@ public class ResourceCache extends Cache {
         }
     }
 
+    /**
+     * Allocates a number of cookies, either all of them or none.
+     *
+     * @param count cookies count
+     * @return allocated cookie values
+     */
+    public List<Integer> allocateCookies(int count) {
+        return cookiePool.allocateAll(count);
+    }
+
     /**
      * Deallocates cookie.
      *
@@ -170,6 +181,16 @@ public class ResourceCache extends Cache {
         }
     }
 
+    /**
+     * Allocates a number of vlan ids, either all of them or none.
+     *
+     * @param count vlan ids count
+     * @return allocated vlan id values
+     */
+    public List<Integer> allocateVlanIds(int count) {
+        return vlanPool.allocateAll(count);
+    }
+
     /**
      * Deallocates vlan id.
      *
@@ -208,6 +229,18 @@ public class ResourceCache extends Cache {
         }
     }
 
+    /**
+     * Allocates a number of meter ids, either all of them or none.
+     *
+     * @param switchId switch id
+     * @param count    meter ids count
+     * @return allocated meter id values
+     */
+    public synchronized List<Integer> allocateMeterIds(String switchId, int count) {
+        return meterPool.computeIfAbsent(switchId, k -> new ResourcePool(MIN_METER_ID, MAX_METER_ID))
+                .allocateAll(count);
+    }
+
     /**
      * Deallocates meter id.
      *
@@ -15,12 +15,15 @@
 
 package org.openkilda.pce.provider;
 
+import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.cache.NetworkSnapshot;
 
 import com.google.common.graph.MutableNetwork;
 import org.neo4j.driver.v1.AuthTokens;
@@ -30,12 +33,17 @@ import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.StatementRunner;
+import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.types.Node;
 import org.neo4j.driver.v1.types.Relationship;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -61,6 +69,23 @@ public class NeoDriver implements PathComputer {
                     "AND ALL(y in r WHERE y.available_bandwidth >= {bandwidth}) " +
                     "RETURN p";
 
+    /**
+     * Isl bandwidth deduction query, the same update the topology engine makes once a flow is installed.
+     */
+    private static final String BANDWIDTH_QUERY_FORMATTER_PATTERN =
+            "MATCH (a:switch)-[r:isl {src_switch: {src_switch}, src_port: {src_port}}]->(b:switch) " +
+                    "SET r.available_bandwidth = r.available_bandwidth - {bandwidth}";
+
+    /**
+     * Switches query.
+     */
+    private static final String SWITCHES_QUERY = "MATCH (n:switch) RETURN n";
+
+    /**
+     * Isls query.
+     */
+    private static final String ISLS_QUERY = "MATCH (a:switch)-[r:isl]->(b:switch) RETURN r";
+
     /**
      * {@link Driver} instance.
      */
@@ -136,7 +161,90 @@ public class NeoDriver implements PathComputer {
         return getPath(source.getSwitchId(), destination.getSwitchId(), bandwidth);
     }
 
+    /**
+     * {@inheritDoc}
+     * All paths are queried in one transaction, so the batch is computed against the same topology snapshot.
+     * Bandwidth of every found path is deducted inside the transaction before the next flow is queried, the
+     * transaction is rolled back afterwards, the topology engine deducts it for real once flows are installed.
+     */
+    @Override
+    public List<ImmutablePair<PathInfoData, PathInfoData>> getPaths(List<Flow> flows) {
+        if (driver == null) {
+            logger.error("NeoDriver was not created");
+            return PathComputer.super.getPaths(flows);
+        }
+
+        List<ImmutablePair<PathInfoData, PathInfoData>> result = new ArrayList<>(flows.size());
+
+        try (Session session = driver.session(); Transaction transaction = session.beginTransaction()) {
+            for (Flow flow : flows) {
+                ImmutablePair<PathInfoData, PathInfoData> path = getPath(transaction,
+                        flow.getSourceSwitch(), flow.getDestinationSwitch(), flow.getBandwidth());
+                deductBandwidth(transaction, path.getLeft(), flow.getBandwidth());
+                result.add(path);
+            }
+            transaction.failure();
+        }
+
+        logger.info("Batch paths computed: flows={}", flows.size());
+        return result;
+    }
+
+    /**
+     * Loads the network topology for the in-memory path computation. Only active switches are operable, as in the
+     * path query.
+     *
+     * @return {@link NetworkSnapshot} instance, empty if the driver was not created
+     */
+    public NetworkSnapshot loadSnapshot() {
+        List<SwitchInfoData> switches = new ArrayList<>();
+        List<IslInfoData> isls = new ArrayList<>();
+        if (driver == null) {
+            logger.error("NeoDriver was not created");
+            return NetworkSnapshot.compile(switches, isls);
+        }
+
+        try (Session session = driver.session()) {
+            session.run(SWITCHES_QUERY).forEachRemaining(record -> {
+                Node node = record.get("n").asNode();
+                SwitchState state = "active".equals(node.get("state").asString())
+                        ? SwitchState.ACTIVATED : SwitchState.DEACTIVATED;
+                switches.add(new SwitchInfoData(node.get("name").asString(), state, null, null, null, null));
+            });
+            session.run(ISLS_QUERY).forEachRemaining(record -> {
+                Relationship isl = record.get("r").asRelationship();
+                long latency = isl.get("latency").asLong();
+                isls.add(new IslInfoData(latency, Arrays.asList(
+                        new PathNode(isl.get("src_switch").asString(), isl.get("src_port").asInt(), 0, latency),
+                        new PathNode(isl.get("dst_switch").asString(), isl.get("dst_port").asInt(), 1, 0L)),
+                        isl.get("speed").asLong(), IslChangeType.DISCOVERED, isl.get("available_bandwidth").asLong()));
+            });
+        }
+
+        logger.info("Network snapshot loaded: switches={}, isls={}", switches.size(), isls.size());
+        return NetworkSnapshot.compile(switches, isls);
+    }
+
+    private void deductBandwidth(StatementRunner runner, PathInfoData path, int bandwidth) {
+        for (PathNode node : path.getPath()) {
+            runner.run(BANDWIDTH_QUERY_FORMATTER_PATTERN, Values.parameters(
+                    "src_switch", node.getSwitchId(), "src_port", node.getPortNo(), "bandwidth", bandwidth));
+        }
+    }
+
     private ImmutablePair<PathInfoData, PathInfoData> getPath(String srcSwitch, String dstSwitch, int bandwidth) {
+        if (driver == null) {
+            logger.error("NeoDriver was not created");
+            return getPath(null, srcSwitch, dstSwitch, bandwidth);
+        }
+
+        try (Session session = driver.session()) {
+            return getPath(session, srcSwitch, dstSwitch, bandwidth);
+        }
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> getPath(StatementRunner runner,
+                                                              String srcSwitch, String dstSwitch, int bandwidth) {
         long latency = 0L;
         List<PathNode> forwardNodes = new LinkedList<>();
         List<PathNode> reverseNodes = new LinkedList<>();
@@ -145,9 +253,8 @@ public class NeoDriver implements PathComputer {
             Statement pathStatement = new Statement(PATH_QUERY_FORMATTER_PATTERN);
             Value value = Values.parameters("src_switch", srcSwitch, "dst_switch", dstSwitch, "bandwidth", bandwidth);
 
-            if (driver != null) {
-                Session session = driver.session();
-                StatementResult result = session.run(pathStatement.withParameters(value));
+            if (runner != null) {
+                StatementResult result = runner.run(pathStatement.withParameters(value));
 
                 if (result.hasNext()) {
 
@@ -184,11 +291,6 @@ public class NeoDriver implements PathComputer {
                         }
                     }
                 }
-
-                session.close();
-
-            } else {
-                logger.error("NeoDriver was not created");
             }
         } else {
             logger.info("No path computation for one-switch flow");
@@ -0,0 +1,299 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.provider;
+
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.cache.NetworkSnapshot;
+
+import com.google.common.graph.MutableNetwork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * In-memory {@link PathComputer} implementation.
+ * Runs bandwidth constrained Dijkstra search over a {@link NetworkSnapshot}, so no database round trip is needed per
+ * path request. Snapshots come either from {@link org.openkilda.pce.cache.NetworkCache} via {@link #withSnapshots}, or
+ * are compiled once from the network topology set with {@link #withNetwork}, so switches are resolved by index in both
+ * cases. The network is not tracked after it is set, set it again to pick up its changes. A computer created with a
+ * {@link NeoDriver} source loads the snapshot from the database on {@link #init} and reloads it once it is older than
+ * the max age, this is the way the flow topology runs it.
+ */
+public class NetworkPathComputer implements PathComputer {
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(NetworkPathComputer.class);
+
+    /**
+     * Isl weight strategy.
+     */
+    private final WeightStrategy weightStrategy;
+
+    /**
+     * Database the snapshot is loaded from, null if the network is set by the caller.
+     */
+    private final NeoDriver source;
+
+    /**
+     * Max age of the snapshot loaded from the database in milliseconds.
+     */
+    private final long maxAge;
+
+    /**
+     * Compiled network topology source.
+     */
+    private transient Supplier<NetworkSnapshot> snapshots;
+
+    /**
+     * Snapshot loaded from the database.
+     */
+    private transient NetworkSnapshot loaded;
+
+    /**
+     * Time the snapshot was loaded from the database in milliseconds.
+     */
+    private transient long loadedAt;
+
+    /**
+     * Instance constructor. Uses hop count weights, as {@link NeoDriver} shortest path query does.
+     */
+    public NetworkPathComputer() {
+        this(WeightStrategy.HOPS);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param weightStrategy {@link WeightStrategy} used to weight isls
+     */
+    public NetworkPathComputer(WeightStrategy weightStrategy) {
+        this(weightStrategy, null, 0L);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param weightStrategy {@link WeightStrategy} used to weight isls
+     * @param source         {@link NeoDriver} the snapshot is loaded from
+     * @param maxAge         max age of the loaded snapshot in milliseconds, bandwidth taken by flows installed since
+     *                       the snapshot was loaded is not seen by the path computation until it is reloaded
+     */
+    public NetworkPathComputer(WeightStrategy weightStrategy, NeoDriver source, long maxAge) {
+        this.weightStrategy = weightStrategy;
+        this.source = source;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getWeight(IslInfoData isl) {
+        return weightStrategy == WeightStrategy.LATENCY ? isl.getLatency() : 1L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePair<PathInfoData, PathInfoData> getPath(Flow flow) {
+        return getPath(flow.getSourceSwitch(), flow.getDestinationSwitch(), flow.getBandwidth());
+    }
+
+    /**
+     * {@inheritDoc}
+     * All paths are found in the same snapshot. Bandwidth of every found path is reserved before the next flow is
+     * computed, the same way {@link NeoDriver} deducts it, the reservations are dropped afterwards.
+     */
+    @Override
+    public List<ImmutablePair<PathInfoData, PathInfoData>> getPaths(List<Flow> flows) {
+        if (snapshots == null) {
+            logger.error("Network topology was not set");
+            return PathComputer.super.getPaths(flows);
+        }
+
+        NetworkSnapshot snapshot = snapshots.get();
+        long[] reserved = new long[snapshot.getIslCount()];
+        List<ImmutablePair<PathInfoData, PathInfoData>> result = new ArrayList<>(flows.size());
+        for (Flow flow : flows) {
+            int[] edges = snapshot.findPath(flow.getSourceSwitch(), flow.getDestinationSwitch(), flow.getBandwidth(),
+                    weightStrategy == WeightStrategy.LATENCY, reserved);
+            reserveBandwidth(snapshot, edges, flow.getBandwidth(), reserved);
+            result.add(buildPath(snapshot, edges));
+        }
+
+        logger.info("Batch paths computed: flows={}", flows.size());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImmutablePair<PathInfoData, PathInfoData> getPath(SwitchInfoData source, SwitchInfoData destination,
+                                                             int bandwidth) {
+        return getPath(source.getSwitchId(), destination.getSwitchId(), bandwidth);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PathComputer withNetwork(MutableNetwork<SwitchInfoData, IslInfoData> network) {
+        NetworkSnapshot snapshot = NetworkSnapshot.compile(network.nodes(), network.edges());
+        this.snapshots = () -> snapshot;
+        return this;
+    }
+
+    /**
+     * Sets compiled network topology source, e.g. {@link org.openkilda.pce.cache.NetworkCache#getSnapshot}.
+     *
+     * @param snapshots {@link NetworkSnapshot} instances supplier
+     * @return {@link NetworkPathComputer} instance
+     */
+    public NetworkPathComputer withSnapshots(Supplier<NetworkSnapshot> snapshots) {
+        this.snapshots = snapshots;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init() {
+        if (source != null) {
+            source.init();
+            snapshots = this::loadSnapshot;
+        }
+    }
+
+    /**
+     * Gets the snapshot loaded from the database, reloads it if it is older than the max age.
+     *
+     * @return {@link NetworkSnapshot} instance
+     */
+    private synchronized NetworkSnapshot loadSnapshot() {
+        long now = System.currentTimeMillis();
+        if (loaded == null || now - loadedAt > maxAge) {
+            loaded = source.loadSnapshot();
+            loadedAt = now;
+        }
+        return loaded;
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> getPath(String srcSwitch, String dstSwitch, int bandwidth) {
+        if (snapshots == null) {
+            logger.error("Network topology was not set");
+            return buildPath(null, new int[0]);
+        }
+
+        NetworkSnapshot snapshot = snapshots.get();
+        return buildPath(snapshot, snapshot.findPath(srcSwitch, dstSwitch, bandwidth,
+                weightStrategy == WeightStrategy.LATENCY));
+    }
+
+    /**
+     * Reserves bandwidth of the path isls and of the isls back, as the topology engine deducts both directions.
+     *
+     * @param snapshot  {@link NetworkSnapshot} the path was found in
+     * @param edges     isl indexes of the path
+     * @param bandwidth flow bandwidth
+     * @param reserved  reserved bandwidth by isl index
+     */
+    private static void reserveBandwidth(NetworkSnapshot snapshot, int[] edges, int bandwidth, long[] reserved) {
+        for (int edge : edges) {
+            reserved[edge] += bandwidth;
+            int back = snapshot.getIslIndex(String.format("%s_%d",
+                    snapshot.getSwitchId(snapshot.getIslTarget(edge)), snapshot.getIslDestinationPort(edge)));
+            if (back != NetworkSnapshot.NOT_FOUND) {
+                reserved[back] += bandwidth;
+            }
+        }
+    }
+
+    /**
+     * Builds forward and reverse paths the same way {@link NeoDriver} does.
+     *
+     * @param snapshot {@link NetworkSnapshot} the path was found in
+     * @param edges    isl indexes from source to destination, empty if there is no path
+     * @return {@link PathInfoData} instances
+     */
+    private static ImmutablePair<PathInfoData, PathInfoData> buildPath(NetworkSnapshot snapshot, int[] edges) {
+        long latency = 0L;
+        List<PathNode> forwardNodes = new LinkedList<>();
+        List<PathNode> reverseNodes = new LinkedList<>();
+
+        LinkedList<IslInfoData> isls = new LinkedList<>();
+        for (int edge : edges) {
+            isls.add(snapshot.getIsl(edge));
+        }
+
+        int seqId = 0;
+        for (IslInfoData isl : isls) {
+            PathNode src = isl.getPath().get(0);
+            PathNode dst = isl.getPath().get(1);
+            latency += isl.getLatency();
+
+            forwardNodes.add(new PathNode(src.getSwitchId(), src.getPortNo(), seqId, isl.getLatency()));
+            seqId++;
+
+            forwardNodes.add(new PathNode(dst.getSwitchId(), dst.getPortNo(), seqId, 0L));
+            seqId++;
+        }
+
+        seqId = 0;
+        Collections.reverse(isls);
+
+        for (IslInfoData isl : isls) {
+            PathNode src = isl.getPath().get(0);
+            PathNode dst = isl.getPath().get(1);
+
+            reverseNodes.add(new PathNode(dst.getSwitchId(), dst.getPortNo(), seqId, isl.getLatency()));
+            seqId++;
+
+            reverseNodes.add(new PathNode(src.getSwitchId(), src.getPortNo(), seqId, 0L));
+            seqId++;
+        }
+
+        return new ImmutablePair<>(new PathInfoData(latency, forwardNodes), new PathInfoData(latency, reverseNodes));
+    }
+
+    /**
+     * Isl weight strategies.
+     */
+    public enum WeightStrategy {
+        /**
+         * Each isl weights one, the path with least hops wins.
+         */
+        HOPS,
+
+        /**
+         * Isl weight is its latency, the path with least total latency wins.
+         */
+        LATENCY
+    }
+}
@@ -24,6 +24,8 @@ import org.openkilda.messaging.model.ImmutablePair;
 import com.google.common.graph.MutableNetwork;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * PathComputation interface represent operations on flow path.
@@ -57,6 +59,22 @@ public interface PathComputer extends Serializable {
      */
     ImmutablePair<PathInfoData, PathInfoData> getPath(Flow flow);
 
+    /**
+     * Gets paths of a batch of flows. The default implementation gets every path separately and ignores bandwidth
+     * taken by the previous flows of the batch, implementations which let flows of the batch share isls only as far
+     * as the isl bandwidth allows must override it, as {@link NeoDriver} and {@link NetworkPathComputer} do.
+     *
+     * @param flows {@link Flow} instances
+     * @return {@link PathInfoData} instances in order of flows
+     */
+    default List<ImmutablePair<PathInfoData, PathInfoData>> getPaths(List<Flow> flows) {
+        List<ImmutablePair<PathInfoData, PathInfoData>> result = new ArrayList<>(flows.size());
+        for (Flow flow : flows) {
+            result.add(getPath(flow));
+        }
+        return result;
+    }
+
     /**
      * Gets path between source and destination switch.
      *
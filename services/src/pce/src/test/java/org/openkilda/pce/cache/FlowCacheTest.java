@@ -26,6 +26,7 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.NetworkTopologyConstants;
 import org.openkilda.pce.provider.PathComputer;
 import org.openkilda.pce.provider.PathComputerMock;
@@ -101,6 +102,44 @@ public class FlowCacheTest {
         flowCache.createFlow(firstFlow, path);
     }
 
+    @Test
+    public void createFlows() throws Exception {
+        List<Flow> flows = Arrays.asList(firstFlow, secondFlow, thirdFlow);
+        List<ImmutablePair<Flow, Flow>> newFlows = flowCache.createFlows(flows, computer.getPaths(flows));
+
+        assertEquals(3, newFlows.size());
+        assertEquals(3, flowCache.dumpFlows().size());
+
+        Set<Long> cookies = new HashSet<>();
+        Set<Integer> vlans = new HashSet<>();
+        Set<String> meters = new HashSet<>();
+        for (ImmutablePair<Flow, Flow> flow : newFlows) {
+            cookies.add(flow.getLeft().getCookie() & ResourceCache.FLOW_COOKIE_VALUE_MASK);
+            vlans.add(flow.getLeft().getTransitVlan());
+            vlans.add(flow.getRight().getTransitVlan());
+            meters.add(flow.getLeft().getSourceSwitch() + flow.getLeft().getMeterId());
+            meters.add(flow.getRight().getSourceSwitch() + flow.getRight().getMeterId());
+            assertEquals(flow, flowCache.getFlow(flow.getLeft().getFlowId()));
+        }
+        assertEquals(3, cookies.size());
+        assertEquals(6, vlans.size());
+        assertEquals(6, meters.size());
+    }
+
+    @Test
+    public void createFlowsWithExistentFlow() throws Exception {
+        flowCache.createFlow(secondFlow, computer.getPath(secondFlow));
+        List<Flow> flows = Arrays.asList(firstFlow, secondFlow);
+
+        try {
+            flowCache.createFlows(flows, computer.getPaths(flows));
+        } catch (CacheException exception) {
+            assertEquals(1, flowCache.dumpFlows().size());
+            return;
+        }
+        throw new AssertionError("Batch with existent flow was created");
+    }
+
     @Test
     public void deleteFlow() throws Exception {
         ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(firstFlow);
@@ -146,6 +185,17 @@ public class FlowCacheTest {
         assertEquals(new HashSet<>(Arrays.asList(first, second, third)), flowCache.dumpFlows());
     }
 
+    @Test
+    public void dumpFlowsPage() throws Exception {
+        ImmutablePair<Flow, Flow> first = flowCache.createFlow(firstFlow, computer.getPath(firstFlow));
+        ImmutablePair<Flow, Flow> second = flowCache.createFlow(secondFlow, computer.getPath(secondFlow));
+        ImmutablePair<Flow, Flow> third = flowCache.createFlow(thirdFlow, computer.getPath(thirdFlow));
+
+        assertEquals(Arrays.asList(first, second), flowCache.dumpFlows(null, 2));
+        assertEquals(Collections.singletonList(third), flowCache.dumpFlows(second.getLeft().getFlowId(), 2));
+        assertEquals(Collections.emptyList(), flowCache.dumpFlows(third.getLeft().getFlowId(), 2));
+    }
+
     @Test
     public void getFlowPath() throws Exception {
         flowCache.createFlow(firstFlow, computer.getPath(firstFlow));
@@ -214,6 +264,42 @@ public class FlowCacheTest {
         assertEquals(new HashSet<>(Arrays.asList(first, second)), affected);
     }
 
+    @Test
+    public void getFlowsWithAffectedPathAfterRemoval() throws Exception {
+        Set<ImmutablePair<Flow, Flow>> affected;
+        ImmutablePair<Flow, Flow> first = flowCache.createFlow(firstFlow, computer.getPath(firstFlow));
+        ImmutablePair<Flow, Flow> second = flowCache.createFlow(secondFlow, computer.getPath(secondFlow));
+
+        flowCache.deleteFlow(firstFlow.getFlowId());
+        affected = flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl53);
+        assertEquals(Collections.singleton(second), affected);
+        affected = flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.sw1.getSwitchId());
+        assertEquals(Collections.emptySet(), affected);
+
+        flowCache.putFlow(first);
+        affected = flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl53);
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), affected);
+
+        flowCache.removeFlow(secondFlow.getFlowId());
+        affected = flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl53);
+        assertEquals(Collections.singleton(first), affected);
+    }
+
+    @Test
+    public void getDownFlows() throws Exception {
+        ImmutablePair<Flow, Flow> first = flowCache.createFlow(firstFlow, computer.getPath(firstFlow));
+        ImmutablePair<Flow, Flow> second = flowCache.createFlow(secondFlow, computer.getPath(secondFlow));
+        assertEquals(Collections.emptySet(), flowCache.getDownFlows());
+
+        flowCache.putFlow(withState(first, FlowState.DOWN));
+        flowCache.putFlow(withState(second, FlowState.DOWN));
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), flowCache.getDownFlows());
+
+        flowCache.putFlow(withState(first, FlowState.UP));
+        flowCache.removeFlow(secondFlow.getFlowId());
+        assertEquals(Collections.emptySet(), flowCache.getDownFlows());
+    }
+
     @Test
     public void getFlowsForUpState() throws Exception {
         Map<String, String> affected;
@@ -450,4 +536,10 @@ public class FlowCacheTest {
         networkCache.createOrUpdateIsl(new IslInfoData(NetworkTopologyConstants.isl54));
         networkCache.createOrUpdateIsl(new IslInfoData(NetworkTopologyConstants.isl45));
     }
+
+    private static ImmutablePair<Flow, Flow> withState(ImmutablePair<Flow, Flow> flow, FlowState state) {
+        flow.getLeft().setState(state);
+        flow.getRight().setState(state);
+        return flow;
+    }
 }
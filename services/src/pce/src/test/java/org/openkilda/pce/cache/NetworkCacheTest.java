@@ -16,7 +16,9 @@
 package org.openkilda.pce.cache;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.pce.NetworkTopologyConstants;
@@ -75,6 +77,27 @@ public class NetworkCacheTest {
         assertEquals(Collections.emptySet(), switches);
     }
 
+    @Test
+    public void updateSwitchKeepsIsls() throws Exception {
+        createOrUpdateIsl();
+        Set<IslInfoData> isls = new HashSet<>(Arrays.asList(
+                NetworkTopologyConstants.isl12, NetworkTopologyConstants.isl21,
+                NetworkTopologyConstants.isl23, NetworkTopologyConstants.isl32));
+
+        networkCache.updateSwitch(new SwitchInfoData("sw2", SwitchState.DEACTIVATED, "", "", "", "localhost"));
+        assertEquals(isls, networkCache.getIslsBySwitch("sw2"));
+
+        // the patched snapshot and the rebuilt one agree
+        NetworkSnapshot patched = networkCache.getSnapshot();
+        assertEquals(isls.size(), patched.getIslCount());
+        assertFalse(patched.isOperable(patched.getSwitchIndex("sw2")));
+
+        networkCache.deleteIsl(NetworkTopologyConstants.isl12.getId());
+        NetworkSnapshot rebuilt = networkCache.getSnapshot();
+        assertEquals(isls.size() - 1, rebuilt.getIslCount());
+        assertFalse(rebuilt.isOperable(rebuilt.getSwitchIndex("sw2")));
+    }
+
     @Test
     public void createOrUpdateSwitch() throws Exception {
         networkCache.createOrUpdateSwitch(NetworkTopologyConstants.sw1);
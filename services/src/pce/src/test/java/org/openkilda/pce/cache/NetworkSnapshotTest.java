@@ -0,0 +1,207 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.pce.NetworkTopologyConstants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class NetworkSnapshotTest {
+    private final NetworkCache networkCache = new NetworkCache();
+
+    @Before
+    public void setUp() {
+        networkCache.createSwitch(NetworkTopologyConstants.sw1);
+        networkCache.createSwitch(NetworkTopologyConstants.sw2);
+        networkCache.createSwitch(NetworkTopologyConstants.sw3);
+        networkCache.createSwitch(NetworkTopologyConstants.sw4);
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl12));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl21));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl23));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl32));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl14));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl41));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl42));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl24));
+    }
+
+    @After
+    public void tearDown() {
+        networkCache.clear();
+    }
+
+    @Test
+    public void buildSnapshot() throws Exception {
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        assertEquals(4, snapshot.getSwitchCount());
+        assertEquals(8, snapshot.getIslCount());
+        assertSame(snapshot, networkCache.getSnapshot());
+
+        int sw1 = snapshot.getSwitchIndex("sw1");
+        assertEquals(2, snapshot.getEndIsl(sw1) - snapshot.getFirstIsl(sw1));
+        for (int edge = snapshot.getFirstIsl(sw1); edge < snapshot.getEndIsl(sw1); edge++) {
+            assertEquals(sw1, snapshot.getIslSource(edge));
+        }
+        assertEquals(NetworkSnapshot.NOT_FOUND, snapshot.getSwitchIndex("sw5"));
+    }
+
+    @Test
+    public void findPath() throws Exception {
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        int[] path = snapshot.findPath("sw1", "sw3", 5, false);
+        assertEquals(2, path.length);
+        assertEquals(NetworkTopologyConstants.isl12.getId(), snapshot.getIsl(path[0]).getId());
+        assertEquals(NetworkTopologyConstants.isl23.getId(), snapshot.getIsl(path[1]).getId());
+
+        assertEquals(0, snapshot.findPath("sw1", "sw3", 11, false).length);
+        assertEquals(0, snapshot.findPath("sw1", "sw1", 5, false).length);
+        assertEquals(0, snapshot.findPath("sw1", "sw5", 5, false).length);
+    }
+
+    @Test
+    public void updateIslPatchesSnapshot() throws Exception {
+        NetworkSnapshot before = networkCache.getSnapshot();
+
+        IslInfoData isl = new IslInfoData(NetworkTopologyConstants.isl23);
+        isl.setAvailableBandwidth(1L);
+        networkCache.updateIsl(isl);
+
+        NetworkSnapshot after = networkCache.getSnapshot();
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(10L, before.getIslAvailableBandwidth(before.getIslIndex(isl.getId())));
+        assertEquals(1L, after.getIslAvailableBandwidth(after.getIslIndex(isl.getId())));
+
+        assertEquals(0, after.findPath("sw1", "sw3", 5, false).length);
+        assertEquals(2, before.findPath("sw1", "sw3", 5, false).length);
+    }
+
+    @Test
+    public void updateSwitchPatchesSnapshot() throws Exception {
+        NetworkSnapshot before = networkCache.getSnapshot();
+
+        networkCache.updateSwitch(new SwitchInfoData("sw2", SwitchState.DEACTIVATED, "", "", "", "localhost"));
+
+        NetworkSnapshot after = networkCache.getSnapshot();
+        assertTrue(before.isOperable(before.getSwitchIndex("sw2")));
+        assertTrue(!after.isOperable(after.getSwitchIndex("sw2")));
+        assertEquals(8, networkCache.dumpIsls().size());
+        assertArrayEquals(new int[0], after.findPath("sw1", "sw3", 5, false));
+    }
+
+    @Test
+    public void deleteIslRebuildsSnapshot() throws Exception {
+        NetworkSnapshot before = networkCache.getSnapshot();
+
+        networkCache.deleteIsl(NetworkTopologyConstants.isl23.getId());
+
+        NetworkSnapshot after = networkCache.getSnapshot();
+        assertEquals(8, before.getIslCount());
+        assertEquals(7, after.getIslCount());
+        assertEquals(NetworkSnapshot.NOT_FOUND, after.getIslIndex(NetworkTopologyConstants.isl23.getId()));
+    }
+
+    @Test
+    public void structuralChangesRebuildSnapshotOnce() throws Exception {
+        NetworkSnapshot before = networkCache.getSnapshot();
+
+        networkCache.deleteIsl(NetworkTopologyConstants.isl23.getId());
+        networkCache.deleteIsl(NetworkTopologyConstants.isl32.getId());
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl23));
+
+        IslInfoData isl = new IslInfoData(NetworkTopologyConstants.isl12);
+        isl.setAvailableBandwidth(1L);
+        networkCache.updateIsl(isl);
+
+        NetworkSnapshot after = networkCache.getSnapshot();
+        assertSame(after, networkCache.getSnapshot());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(7, after.getIslCount());
+        assertEquals(1L, after.getIslAvailableBandwidth(after.getIslIndex(isl.getId())));
+    }
+
+    @Test
+    public void concurrentReadersSeeConsistentSnapshots() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    networkCache.deleteIsl(NetworkTopologyConstants.isl23.getId());
+                    networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl23));
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive()) {
+            NetworkSnapshot snapshot = networkCache.getSnapshot();
+            int islCount = snapshot.getIslCount();
+            assertTrue(islCount == 7 || islCount == 8);
+            assertEquals(islCount == 8, snapshot.getIslIndex(NetworkTopologyConstants.isl23.getId())
+                    != NetworkSnapshot.NOT_FOUND);
+        }
+        writer.join();
+
+        assertNull(failure.get());
+        assertEquals(8, networkCache.getSnapshot().getIslCount());
+    }
+
+    @Test
+    public void components() throws Exception {
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+
+        assertEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw3"));
+        assertEquals(NetworkSnapshot.NOT_FOUND, snapshot.getComponent("sw5"));
+
+        networkCache.deleteIsl(NetworkTopologyConstants.isl23.getId());
+        snapshot = networkCache.getSnapshot();
+        assertEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw3"));
+
+        networkCache.deleteIsl(NetworkTopologyConstants.isl32.getId());
+        snapshot = networkCache.getSnapshot();
+        assertNotEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw3"));
+        assertEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw4"));
+    }
+
+    @Test
+    public void inoperableSwitchSplitsComponents() throws Exception {
+        networkCache.updateSwitch(new SwitchInfoData("sw2", SwitchState.DEACTIVATED, "", "", "", "localhost"));
+
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+        assertEquals(NetworkSnapshot.NOT_FOUND, snapshot.getComponent("sw2"));
+        assertNotEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw3"));
+        assertEquals(snapshot.getComponent("sw1"), snapshot.getComponent("sw4"));
+    }
+}
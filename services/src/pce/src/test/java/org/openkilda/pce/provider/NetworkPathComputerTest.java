@@ -0,0 +1,186 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.NetworkTopologyConstants;
+import org.openkilda.pce.cache.NetworkCache;
+
+import com.google.common.graph.MutableNetwork;
+import com.google.common.graph.NetworkBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NetworkPathComputerTest {
+    private final NetworkCache networkCache = new NetworkCache();
+    private final PathComputer computer = new NetworkPathComputer().withSnapshots(networkCache::getSnapshot);
+
+    @Before
+    public void setUp() {
+        networkCache.createSwitch(NetworkTopologyConstants.sw1);
+        networkCache.createSwitch(NetworkTopologyConstants.sw2);
+        networkCache.createSwitch(NetworkTopologyConstants.sw3);
+        networkCache.createSwitch(NetworkTopologyConstants.sw4);
+        networkCache.createSwitch(NetworkTopologyConstants.sw5);
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl12));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl21));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl23));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl32));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl24));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl42));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl54));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl45));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl53));
+        networkCache.createIsl(new IslInfoData(NetworkTopologyConstants.isl35));
+    }
+
+    @After
+    public void tearDown() {
+        networkCache.clear();
+    }
+
+    @Test
+    public void getPath() throws Exception {
+        ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(
+                NetworkTopologyConstants.sw1, NetworkTopologyConstants.sw3, 5);
+
+        PathInfoData forward = new PathInfoData(8L, Arrays.asList(
+                new PathNode("sw1", 1, 0, 3L),
+                new PathNode("sw2", 2, 1, 0L),
+                new PathNode("sw2", 1, 2, 5L),
+                new PathNode("sw3", 2, 3, 0L)));
+        PathInfoData reverse = new PathInfoData(8L, Arrays.asList(
+                new PathNode("sw3", 2, 0, 5L),
+                new PathNode("sw2", 1, 1, 0L),
+                new PathNode("sw2", 2, 2, 3L),
+                new PathNode("sw1", 1, 3, 0L)));
+
+        assertEquals(forward, path.getLeft());
+        assertEquals(reverse, path.getRight());
+        assertEquals(8L, path.getLeft().getLatency());
+    }
+
+    @Test
+    public void getPathSkipsInoperableSwitch() throws Exception {
+        ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(
+                NetworkTopologyConstants.sw4, NetworkTopologyConstants.sw3, 5);
+
+        assertEquals(4, path.getLeft().getPath().size());
+        assertTrue(path.getLeft().getPath().stream().noneMatch(node -> node.getSwitchId().equals("sw5")));
+    }
+
+    @Test
+    public void getPathWithNoEnoughAvailableBandwidth() throws Exception {
+        ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(
+                NetworkTopologyConstants.sw1, NetworkTopologyConstants.sw3, 11);
+
+        assertTrue(computer.isEmpty(path));
+    }
+
+    @Test
+    public void getPathForOneSwitchFlow() throws Exception {
+        ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(
+                NetworkTopologyConstants.sw1, NetworkTopologyConstants.sw1, 5);
+
+        assertTrue(computer.isEmpty(path));
+    }
+
+    @Test
+    public void getPathsDeductsBandwidthBetweenFlows() throws Exception {
+        List<ImmutablePair<PathInfoData, PathInfoData>> paths = computer.getPaths(Arrays.asList(
+                new Flow("flow-1", 6, "flow-1", "sw1", 10, 100, "sw3", 10, 100),
+                new Flow("flow-2", 6, "flow-2", "sw3", 11, 101, "sw1", 11, 101)));
+
+        // the first flow takes bandwidth of the isls in both directions, the second one does not fit
+        assertFalse(computer.isEmpty(paths.get(0)));
+        assertTrue(computer.isEmpty(paths.get(1)));
+
+        // reservations of the batch are dropped afterwards
+        assertFalse(computer.isEmpty(computer.getPath(NetworkTopologyConstants.sw3, NetworkTopologyConstants.sw1, 6)));
+    }
+
+    @Test
+    public void getPathOverNetwork() throws Exception {
+        MutableNetwork<SwitchInfoData, IslInfoData> network = NetworkBuilder.directed()
+                .allowsSelfLoops(false).allowsParallelEdges(true).build();
+        Map<String, SwitchInfoData> switches = new HashMap<>();
+        for (SwitchInfoData sw : networkCache.dumpSwitches()) {
+            switches.put(sw.getSwitchId(), sw);
+            network.addNode(sw);
+        }
+        for (IslInfoData isl : networkCache.dumpIsls()) {
+            network.addEdge(switches.get(isl.getPath().get(0).getSwitchId()),
+                    switches.get(isl.getPath().get(1).getSwitchId()), isl);
+        }
+
+        PathComputer networkComputer = new NetworkPathComputer().withNetwork(network);
+        for (SwitchInfoData src : switches.values()) {
+            for (SwitchInfoData dst : switches.values()) {
+                assertEquals(computer.getPath(src, dst, 5), networkComputer.getPath(src, dst, 5));
+            }
+        }
+    }
+
+    @Test
+    public void getPathByLatency() throws Exception {
+        NetworkCache cache = new NetworkCache();
+        SwitchInfoData swA = new SwitchInfoData("swA", SwitchState.ACTIVATED, "", "", "", "localhost");
+        SwitchInfoData swB = new SwitchInfoData("swB", SwitchState.ACTIVATED, "", "", "", "localhost");
+        SwitchInfoData swC = new SwitchInfoData("swC", SwitchState.ACTIVATED, "", "", "", "localhost");
+        SwitchInfoData swD = new SwitchInfoData("swD", SwitchState.ACTIVATED, "", "", "", "localhost");
+        SwitchInfoData swE = new SwitchInfoData("swE", SwitchState.ACTIVATED, "", "", "", "localhost");
+        Arrays.asList(swA, swB, swC, swD, swE).forEach(cache::createSwitch);
+        cache.createIsl(isl(swA, 1, swB, 1, 50L));
+        cache.createIsl(isl(swB, 2, swD, 1, 50L));
+        cache.createIsl(isl(swA, 2, swC, 1, 1L));
+        cache.createIsl(isl(swC, 2, swE, 1, 1L));
+        cache.createIsl(isl(swE, 2, swD, 2, 1L));
+
+        PathComputer hops = new NetworkPathComputer().withSnapshots(cache::getSnapshot);
+        assertEquals(100L, hops.getPath(swA, swD, 1).getLeft().getLatency());
+
+        PathComputer latency = new NetworkPathComputer(NetworkPathComputer.WeightStrategy.LATENCY)
+                .withSnapshots(cache::getSnapshot);
+        ImmutablePair<PathInfoData, PathInfoData> path = latency.getPath(swA, swD, 1);
+        assertEquals(3L, path.getLeft().getLatency());
+        assertEquals(6, path.getLeft().getPath().size());
+        assertEquals(6, path.getRight().getPath().size());
+    }
+
+    private static IslInfoData isl(SwitchInfoData src, int srcPort, SwitchInfoData dst, int dstPort, long latency) {
+        return new IslInfoData(latency, Arrays.asList(
+                new PathNode(src.getSwitchId(), srcPort, 0, latency),
+                new PathNode(dst.getSwitchId(), dstPort, 1, 0L)),
+                10L, IslChangeType.DISCOVERED, 10L);
+    }
+}
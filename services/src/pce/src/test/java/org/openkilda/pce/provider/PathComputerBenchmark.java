@@ -0,0 +1,237 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.provider;
+
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.cache.NetworkCache;
+
+import com.google.common.graph.MutableNetwork;
+import com.google.common.graph.NetworkBuilder;
+import org.neo4j.driver.v1.AuthTokens;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.GraphDatabase;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link NetworkPathComputer}, over the network and over its compiled snapshot, and {@link NeoDriver}
+ * path computation on a generated topology: a ring of switches with random chords.
+ * Not a unit test, run it with {@link #main} from the test classpath. {@link NeoDriver} is measured only if
+ * -Dneo4j.host is set, the database is cleaned and loaded with the same topology before measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathComputerBenchmark {
+    private static final int DEGREE = 4;
+    private static final int REQUESTS = 10000;
+    private static final int BANDWIDTH = 1000;
+    private static final String NEO4J_HOST = "neo4j.host";
+
+    @Param({"1000"})
+    private int switches;
+
+    private final NetworkCache networkCache = new NetworkCache();
+    private final MutableNetwork<SwitchInfoData, IslInfoData> network = NetworkBuilder.directed()
+            .allowsSelfLoops(false).allowsParallelEdges(true).build();
+    private final List<SwitchInfoData> nodes = new ArrayList<>();
+    private int[][] pairs;
+    private int request;
+
+    private PathComputer networkComputer;
+    private PathComputer snapshotComputer;
+    private NeoDriver neoDriver;
+
+    /**
+     * Generates the topology, loads it into Neo4j if the host is set.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+
+        for (int i = 0; i < switches; i++) {
+            SwitchInfoData sw = new SwitchInfoData(String.format("00:00:00:00:00:00:%02x:%02x", i >> 8, i & 0xff),
+                    SwitchState.ACTIVATED, "", "", "", "localhost");
+            nodes.add(sw);
+            networkCache.createSwitch(sw);
+            network.addNode(sw);
+        }
+
+        // ring keeps topology connected, random chords make it look like a fabric
+        int[] ports = new int[switches];
+        for (int i = 0; i < switches; i++) {
+            link(ports, i, (i + 1) % switches, random);
+            for (int j = 1; j < DEGREE / 2; j++) {
+                link(ports, i, random.nextInt(switches), random);
+            }
+        }
+
+        pairs = new int[REQUESTS][2];
+        for (int[] pair : pairs) {
+            pair[0] = random.nextInt(switches);
+            pair[1] = random.nextInt(switches);
+        }
+
+        networkComputer = new NetworkPathComputer().withNetwork(network);
+        snapshotComputer = new NetworkPathComputer().withSnapshots(networkCache::getSnapshot);
+
+        String neoHost = System.getProperty(NEO4J_HOST);
+        if (neoHost != null) {
+            load(neoHost);
+            neoDriver = new NeoDriver(neoHost, "neo4j", "temppass");
+            neoDriver.init();
+        }
+    }
+
+    /**
+     * Computes a path over the network.
+     *
+     * @return path
+     */
+    @Benchmark
+    public ImmutablePair<PathInfoData, PathInfoData> network() {
+        return getPath(networkComputer);
+    }
+
+    /**
+     * Computes a path over the network snapshot.
+     *
+     * @return path
+     */
+    @Benchmark
+    public ImmutablePair<PathInfoData, PathInfoData> snapshot() {
+        return getPath(snapshotComputer);
+    }
+
+    /**
+     * Computes a path with Neo4j, requires -Dneo4j.host.
+     *
+     * @return path
+     */
+    @Benchmark
+    public ImmutablePair<PathInfoData, PathInfoData> neo4j() {
+        if (neoDriver == null) {
+            throw new IllegalStateException(String.format("Neo4j is not benchmarked, -D%s is not set", NEO4J_HOST));
+        }
+        return getPath(neoDriver);
+    }
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args not used
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(PathComputerBenchmark.class.getSimpleName());
+        String neoHost = System.getProperty(NEO4J_HOST);
+        if (neoHost == null) {
+            options.exclude(PathComputerBenchmark.class.getSimpleName() + ".neo4j");
+        } else {
+            options.jvmArgsAppend(String.format("-D%s=%s", NEO4J_HOST, neoHost));
+        }
+        new Runner(options.build()).run();
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> getPath(PathComputer computer) {
+        int[] pair = pairs[request++ % pairs.length];
+        return computer.getPath(nodes.get(pair[0]), nodes.get(pair[1]), BANDWIDTH);
+    }
+
+    private void link(int[] ports, int src, int dst, Random random) {
+        if (src == dst) {
+            return;
+        }
+
+        long latency = 1 + random.nextInt(100);
+        int srcPort = ++ports[src];
+        int dstPort = ++ports[dst];
+        addIsl(isl(nodes.get(src), srcPort, nodes.get(dst), dstPort, latency));
+        addIsl(isl(nodes.get(dst), dstPort, nodes.get(src), srcPort, latency));
+    }
+
+    private void addIsl(IslInfoData isl) {
+        networkCache.createIsl(isl);
+        network.addEdge(networkCache.getSwitch(isl.getPath().get(0).getSwitchId()),
+                networkCache.getSwitch(isl.getPath().get(1).getSwitchId()), isl);
+    }
+
+    private static IslInfoData isl(SwitchInfoData src, int srcPort, SwitchInfoData dst, int dstPort, long latency) {
+        return new IslInfoData(latency, Arrays.asList(
+                new PathNode(src.getSwitchId(), srcPort, 0, latency),
+                new PathNode(dst.getSwitchId(), dstPort, 1, 0L)),
+                10000000L, IslChangeType.DISCOVERED, 10000000L);
+    }
+
+    private void load(String host) {
+        Driver driver = GraphDatabase.driver(String.format("bolt://%s:7687", host),
+                AuthTokens.basic("neo4j", "temppass"));
+
+        try (Session session = driver.session()) {
+            session.run("MATCH (n) DETACH DELETE n");
+            for (SwitchInfoData sw : networkCache.dumpSwitches()) {
+                session.run("CREATE (:switch {name: {name}, state: 'active'})",
+                        Values.parameters("name", sw.getSwitchId()));
+            }
+            session.run("CREATE INDEX ON :switch(name)");
+            for (IslInfoData isl : networkCache.dumpIsls()) {
+                PathNode src = isl.getPath().get(0);
+                PathNode dst = isl.getPath().get(1);
+                session.run("MATCH (a:switch {name: {src_switch}}), (b:switch {name: {dst_switch}}) "
+                                + "CREATE (a)-[:isl {src_switch: {src_switch}, src_port: {src_port}, "
+                                + "dst_switch: {dst_switch}, dst_port: {dst_port}, latency: {latency}, "
+                                + "available_bandwidth: {bandwidth}}]->(b)",
+                        Values.parameters("src_switch", src.getSwitchId(), "src_port", src.getPortNo(),
+                                "dst_switch", dst.getSwitchId(), "dst_port", dst.getPortNo(),
+                                "latency", isl.getLatency(), "bandwidth", isl.getAvailableBandwidth()));
+            }
+        } finally {
+            driver.close();
+        }
+    }
+}
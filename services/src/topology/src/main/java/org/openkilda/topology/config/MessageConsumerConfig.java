@@ -15,6 +15,7 @@
 
 package org.openkilda.topology.config;
 
+import org.openkilda.messaging.codec.MessageDeserializer;
 import org.openkilda.topology.messaging.kafka.KafkaMessageConsumer;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -68,7 +69,7 @@ public class MessageConsumerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, MessageDeserializer.class);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, "30000");
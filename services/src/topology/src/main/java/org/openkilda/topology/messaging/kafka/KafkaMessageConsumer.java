@@ -20,6 +20,7 @@ import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
@@ -41,6 +42,7 @@ import org.openkilda.topology.service.SwitchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -64,13 +66,17 @@ public class KafkaMessageConsumer {
      */
     private static final int POLL_PAUSE = 100;
 
-    private static final String topic = "kilda-test";
-
     /**
      * The logger.
      */
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageConsumer.class);
 
+    /**
+     * Responses topic.
+     */
+    @Value("${kafka.topic.wfm}")
+    private String topic;
+
     @Autowired
     KafkaMessageProducer kafkaMessageProducer;
 
@@ -88,10 +94,16 @@ public class KafkaMessageConsumer {
      *
      * @param record the message object instance
      */
-    @KafkaListener(topics = "kilda-test")
+    @KafkaListener(topics = {"${kafka.topic.topology_engine}", "${kafka.topic.events}"})
     public void receive(final String record) {
         logger.debug("message received: {}", record);
         try {
+            MessageHeader header = MessageHeader.peek(record);
+            if (!header.isAddressedTo(null) && !header.isAddressedTo(Destination.TOPOLOGY_ENGINE)) {
+                logger.trace("Skip message: {}", header);
+                return;
+            }
+
             Message message = MAPPER.readValue(record, Message.class);
 
             if (message.getDestination() == null || Destination.TOPOLOGY_ENGINE.equals(message.getDestination())) {
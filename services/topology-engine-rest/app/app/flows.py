@@ -36,7 +36,8 @@ config = ConfigParser.RawConfigParser()
 config.read('topology_engine_rest.properties')
 
 group = config.get('kafka', 'consumer.group')
-topic = config.get('kafka', 'topology.topic')
+destination_topics = {
+    'CONTROLLER': config.get('kafka', 'controller.topic')}
 bootstrap_servers_property = config.get('kafka', 'bootstrap.servers')
 bootstrap_servers = [x.strip() for x in bootstrap_servers_property.split(',')]
 
@@ -50,6 +51,18 @@ class Message(object):
     def toJSON(self):
         return json.dumps(self, default=lambda o: o.__dict__, sort_keys=False, indent=4)
 
+def send_command(producer, data, destination="CONTROLLER"):
+    message = Message()
+    message.data = data
+    message.type = "COMMAND"
+    message.destination = destination
+    message.timestamp = 42
+    topic = destination_topics[destination]
+    kafkamessage = b'{}'.format(message.toJSON())
+    print 'topic: {}, message: {}'.format(topic, kafkamessage)
+    messageresult = producer.send(topic, kafkamessage)
+    return messageresult.get(timeout=5)
+
 def create_p2n_driver():
     graph = Graph("http://{}:{}@{}:7474/db/data/".format(os.environ['neo4juser'], os.environ['neo4jpass'], os.environ['neo4jhost']))
     return graph
@@ -214,14 +227,7 @@ def api_v1_flow(flowid):
         producer = KafkaProducer(bootstrap_servers=bootstrap_servers)
         switches =  graph.run("MATCH (a:switch)-[r:flow {{flowid: '{}'}}]->(b:switch) return r.flowpath limit 1".format(flowid)).evaluate()
         for switch in switches:
-            message = Message()
-            message.data = build_delete_flow(switch, str(flowid))
-            message.type = "COMMAND"
-            message.timestamp = 42
-            kafkamessage = b'{}'.format(message.toJSON())
-            print 'topic: {}, message: {}'.format(topic, kafkamessage)
-            messageresult = producer.send(topic, kafkamessage)
-            messageresult.get(timeout=5)
+            send_command(producer, build_delete_flow(switch, str(flowid)))
         result = graph.run(query.format(flowid, "delete")).data()
     return json.dumps(result)
 
@@ -264,14 +270,7 @@ def api_v1_create_flow():
 
         for flows in allflows:
             for flow in flows:
-                message = Message()
-                message.data = flow
-                message.type = "COMMAND"
-                message.timestamp = 42
-                kafkamessage = b'{}'.format(message.toJSON())
-                print 'topic: {}, message: {}'.format(topic, kafkamessage)
-                messageresult = producer.send(topic, kafkamessage)
-                result = messageresult.get(timeout=5)
+                result = send_command(producer, flow)
 
         graph = create_p2n_driver()
 
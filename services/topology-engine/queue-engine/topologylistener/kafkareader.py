@@ -27,6 +27,9 @@ config.read('topology_engine.properties')
 
 group = config.get('kafka', 'consumer.group')
 topic = config.get('kafka', 'topology.topic')
+destination_topics = {
+    'WFM': config.get('kafka', 'wfm.topic'),
+    'WFM_CACHE': config.get('kafka', 'wfm_cache.topic')}
 bootstrap_servers_property = config.get('kafka', 'bootstrap.servers')
 bootstrap_servers = [x.strip() for x in bootstrap_servers_property.split(',')]
 
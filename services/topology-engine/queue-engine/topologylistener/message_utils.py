@@ -15,10 +15,11 @@
 
 import time
 import json
+from collections import OrderedDict
 from kafka import KafkaProducer
 
 from logger import get_logger
-from kafkareader import topic
+from kafkareader import destination_topics
 from kafkareader import bootstrap_servers
 
 
@@ -129,6 +130,16 @@ def build_one_switch_flow(switch, src_port, src_vlan, dst_port, dst_vlan,
     return flow
 
 
+def build_batch_flows(command, switch, flows):
+    batch = Flow()
+    batch.command = command
+    batch.transaction_id = 0
+    batch.switch_id = switch
+    batch.commands = flows
+
+    return batch
+
+
 def build_delete_flow(switch, flow_id, cookie, meter_id=0):
     flow = Flow()
     flow.command = "delete_flow"
@@ -155,6 +166,7 @@ def send_message(payload, correlation_id, message_type, destination="WFM"):
     message.timestamp = get_timestamp()
     message.correlation_id = correlation_id
     kafka_message = b'{}'.format(message.to_json())
+    topic = destination_topics[destination]
     logger.info('Send message: topic=%s, message=%s',topic, kafka_message)
     message_result = producer.send(topic, kafka_message)
     message_result.get(timeout=5)
@@ -169,11 +181,20 @@ def send_error_message(correlation_id, error_type, error_message,
 
 
 def send_install_commands(flow_rules, correlation_id):
+    switches = OrderedDict()
     for flow_rule in flow_rules:
-        send_message(flow_rule, correlation_id, "COMMAND")
+        switches.setdefault(flow_rule.switch_id, []).append(flow_rule)
+
+    # one message and one transaction per switch
+    for switch, rules in switches.items():
+        data = build_batch_flows("batch_install_flows", switch, rules)
+        send_message(data, correlation_id, "COMMAND")
 
 
 def send_delete_commands(nodes, flow_id, correlation_id, cookie):
-    for node in nodes:
-        data = build_delete_flow(str(node['switch_id']), str(flow_id), cookie)
+    # path nodes hold both ports of a switch, the switch rules are removed once
+    switches = OrderedDict.fromkeys(str(node['switch_id']) for node in nodes)
+    for switch in switches:
+        rule = build_delete_flow(switch, str(flow_id), cookie)
+        data = build_batch_flows("batch_remove_flows", switch, [rule])
         send_message(data, correlation_id, "COMMAND")
@@ -18,15 +18,18 @@ package org.openkilda.wfm;
 import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 
+import org.openkilda.messaging.codec.JsonCodecs;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -75,7 +78,8 @@ public class OFEMessageUtils {
     // ==============  ==============  ==============  ==============  ==============
     // Parsing Routines
     // ==============  ==============  ==============  ==============  ==============
-    private static final ObjectMapper _mapper = new ObjectMapper();
+    private static final ObjectReader MAP_READER = JsonCodecs.readerFor(Map.class);
+    private static final ObjectWriter MAP_WRITER = JsonCodecs.writerFor(Map.class);
 
     /**
      * @param state - ACTIVATED | ADDED | CHANGE | DEACTIVATED | REMOVED
@@ -129,11 +133,11 @@ public class OFEMessageUtils {
     }
 
     public static Map<String, ?> fromJson(String json) throws IOException {
-        return _mapper.readValue(json, Map.class);
+        return MAP_READER.readValue(json);
     }
 
     public static String toJson(Map<String, ?> map) throws IOException {
-        return _mapper.writeValueAsString(map);
+        return MAP_WRITER.writeValueAsString(map);
     }
 
     public static Map<String, ?> getData(String json) throws IOException {
@@ -144,6 +148,18 @@ public class OFEMessageUtils {
         return root;
     }
 
+    /**
+     * Reads scalar payload fields without binding the message.
+     *
+     * @param json  the message or its payload
+     * @param names field names
+     * @return field values in order of names, null for absent fields
+     */
+    public static String[] getFields(String json, String... names) throws IOException {
+        String payload = JsonCodecs.readRawField(json, PAYLOAD);
+        return JsonCodecs.readFields(payload != null ? payload : json, names);
+    }
+
     public static String createIslFail(String switchId, String portId) throws IOException {
         PathNode node = new PathNode(switchId, Integer.parseInt(portId), 0, 0L);
         InfoData data = new IslInfoData(0L, Collections.singletonList(node), 0L, IslChangeType.FAILED, 0L);
@@ -168,4 +184,25 @@ public class OFEMessageUtils {
         sb.append("}}");
         return sb.toString();
     }
+
+    /**
+     * @return a JSON string of one discovery command for several ports of the switch
+     */
+    public static String createIslDiscovery(String switchID, List<Integer> portNumbers) {
+        StringBuilder sb = new StringBuilder("{\"type\": \"COMMAND\"");
+        sb.append(", \"destination\": \"CONTROLLER\"");
+        sb.append(", \"timestamp\": ").append(System.currentTimeMillis());
+        sb.append(", \"payload\": ");
+        sb.append("{\"command\": \"discover_isl\"");
+        sb.append(", \"switch_id\": \"").append(switchID).append("\"");
+        sb.append(", \"port_numbers\": [");
+        for (int i = 0; i < portNumbers.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(portNumbers.get(i));
+        }
+        sb.append("]}}");
+        return sb.toString();
+    }
 }
@@ -16,7 +16,13 @@
 package org.openkilda.wfm.topology;
 
 import org.openkilda.messaging.Topic;
+import org.openkilda.messaging.TopicRouter;
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.codec.MessageSerializer;
+import org.openkilda.messaging.codec.TopicFormats;
 import org.openkilda.wfm.topology.utils.HealthCheckBolt;
+import org.openkilda.wfm.topology.utils.MessageScheme;
+import org.openkilda.wfm.topology.utils.OpenTsdbWriterBolt;
 
 import kafka.admin.AdminUtils;
 import kafka.api.OffsetRequest;
@@ -27,12 +33,12 @@ import org.I0Itec.zkclient.ZkConnection;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.storm.kafka.SpoutConfig;
-import org.apache.storm.kafka.StringScheme;
 import org.apache.storm.kafka.ZkHosts;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
 import org.apache.storm.kafka.bolt.selector.DefaultTopicSelector;
 import org.apache.storm.kafka.spout.KafkaSpout;
+import org.apache.storm.opentsdb.client.OpenTsdbClient;
 import org.apache.storm.spout.SchemeAsMultiScheme;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
@@ -75,6 +81,21 @@ public abstract class AbstractTopology implements Topology {
      */
     private static final String DEFAULT_WORKERS = "1";
 
+    /**
+     * Datapoints per OpenTSDB request, larger batches need chunked requests to be enabled on TSD.
+     */
+    private static final int DEFAULT_OPENTSDB_BATCH_SIZE = 50;
+
+    /**
+     * Seconds to wait before writing an incomplete batch.
+     */
+    private static final int DEFAULT_OPENTSDB_FLUSH_INTERVAL = 2;
+
+    /**
+     * OpenTSDB requests in flight per writer.
+     */
+    private static final int DEFAULT_OPENTSDB_PENDING_REQUESTS = 4;
+
     /**
      * Kafka properties.
      */
@@ -100,6 +121,16 @@ public abstract class AbstractTopology implements Topology {
      */
     protected final String topologyName;
 
+    /**
+     * Kafka topics of message destinations.
+     */
+    protected final TopicRouter topics;
+
+    /**
+     * Message formats of Kafka topics.
+     */
+    protected final TopicFormats formats;
+
     /**
      * Parallelism value.
      */
@@ -120,16 +151,24 @@ public abstract class AbstractTopology implements Topology {
         topologyName = getTopologyName();
         zookeeperHosts = properties.getProperty(PROPERTY_ZOOKEEPER);
         kafkaHosts = properties.getProperty(PROPERTY_KAFKA);
+        topics = new TopicRouter(properties);
 
         // TODO: proper parallelism/workers configuration
         parallelism = Integer.parseInt(properties.getProperty(getTopologyPropertyName(PROPERTY_PARALLELISM), DEFAULT_PARALLELISM));
         workers = Integer.parseInt(properties.getProperty(getTopologyPropertyName(PROPERTY_WORKERS), DEFAULT_WORKERS));
 
         kafkaProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
-        kafkaProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+        kafkaProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class.getName());
         kafkaProperties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts);
         kafkaProperties.put(ConsumerConfig.GROUP_ID_CONFIG, getTopologyName());
         kafkaProperties.put("request.required.acks", "1");
+        // MessageSerializer resolves topic formats from the same settings
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(TopicRouter.PROPERTY_PREFIX) || key.startsWith(MessageFormat.PROPERTY)) {
+                kafkaProperties.put(key, properties.getProperty(key));
+            }
+        }
+        formats = new TopicFormats(kafkaProperties);
 
         for (String key : properties.stringPropertyNames()) {
             String value = properties.getProperty(key);
@@ -166,7 +205,7 @@ public abstract class AbstractTopology implements Topology {
         ZkHosts hosts = new ZkHosts(zookeeperHosts);
         SpoutConfig cfg = new SpoutConfig(hosts, topic, zkRoot, spoutID);
         cfg.startOffsetTime = OffsetRequest.EarliestTime();
-        cfg.scheme = new SchemeAsMultiScheme(new StringScheme());
+        cfg.scheme = new SchemeAsMultiScheme(new MessageScheme());
         cfg.bufferSizeBytes = 1024 * 1024 * 4;
         cfg.fetchSizeBytes = 1024 * 1024 * 4;
         return new org.apache.storm.kafka.KafkaSpout(cfg);
@@ -179,12 +218,39 @@ public abstract class AbstractTopology implements Topology {
      * @return {@link KafkaBolt}
      */
     protected KafkaBolt createKafkaBolt(final String topic) {
-        return new KafkaBolt<String, String>()
+        return new KafkaBolt<String, Object>()
                 .withProducerProperties(kafkaProperties)
                 .withTopicSelector(new DefaultTopicSelector(topic))
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    /**
+     * Creates OpenTSDB writer bolt configured by the topology properties, the url property is required.
+     *
+     * @return {@link OpenTsdbWriterBolt}
+     */
+    protected OpenTsdbWriterBolt createOpenTsdbBolt() {
+        OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
+                .newBuilder(topologyProperties.getProperty(getTopologyPropertyName(PROPERTY_OPENTSDB_URL)))
+                .sync(30_000).returnDetails();
+        return new OpenTsdbWriterBolt(tsdbBuilder,
+                getIntProperty(getTopologyPropertyName("openTsdbBatchSize"), DEFAULT_OPENTSDB_BATCH_SIZE),
+                getIntProperty(getTopologyPropertyName("openTsdbFlushInterval"), DEFAULT_OPENTSDB_FLUSH_INTERVAL),
+                getIntProperty(getTopologyPropertyName("openTsdbPendingRequests"), DEFAULT_OPENTSDB_PENDING_REQUESTS));
+    }
+
+    /**
+     * Returns integer topology property.
+     *
+     * @param name         full property name
+     * @param defaultValue value if the property is not set
+     * @return property value
+     */
+    protected int getIntProperty(String name, int defaultValue) {
+        String value = topologyProperties.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
     /**
      * Creates health-check handler spout and bolts.
      *
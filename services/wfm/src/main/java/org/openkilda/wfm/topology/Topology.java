@@ -41,6 +41,11 @@ public interface Topology {
      */
     String PROPERTY_WORKERS = "workers";
 
+    /**
+     * OpenTSDB url property name.
+     */
+    String PROPERTY_OPENTSDB_URL = "openTsdbUrl";
+
     /**
      * Default topologies configuration file.
      */
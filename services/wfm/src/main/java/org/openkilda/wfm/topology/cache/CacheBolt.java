@@ -16,13 +16,17 @@
 package org.openkilda.wfm.topology.cache;
 
 import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.codec.JsonCodecs.INFO_DATA_READER;
 import static org.openkilda.wfm.topology.flow.StreamType.REROUTE;
 import static org.openkilda.wfm.topology.flow.StreamType.RESTORE;
 import static org.openkilda.wfm.topology.flow.StreamType.STATUS;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
@@ -42,13 +46,18 @@ import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.cache.Cache;
 import org.openkilda.pce.cache.FlowCache;
 import org.openkilda.pce.cache.NetworkCache;
+import org.openkilda.pce.cache.NetworkSnapshot;
 import org.openkilda.pce.cache.ResourceCache;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.cache.RerouteQueue.Reroute;
+import org.openkilda.wfm.topology.cache.RerouteQueue.RerouteEvent;
 import org.openkilda.wfm.topology.utils.AbstractTickStatefulBolt;
+import org.openkilda.wfm.topology.utils.OpenTsdbWriterBolt;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
 import org.apache.storm.state.InMemoryKeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -57,10 +66,20 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Keeps network and flow caches. Reroutes of the flows affected by switch and ISL events are coalesced by
+ * {@link RerouteQueue} and sent once the event settles, restore times of each event are logged and emitted as
+ * OpenTSDB datapoints on the {@link StreamType#METRICS} stream. Down flows are retried when an ISL connecting their
+ * endpoints is discovered, with the backoff of {@link RerouteBackoff}.
+ */
 public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<String, Cache>> {
     /**
      * Network cache key.
@@ -107,6 +126,37 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
      */
     private final int discoveryInterval;
 
+    /**
+     * Reroute settle window in milliseconds.
+     */
+    private long rerouteSettleWindow = RerouteQueue.DEFAULT_SETTLE_WINDOW;
+
+    /**
+     * Reroutes per second limit.
+     */
+    private int rerouteRate = RerouteQueue.DEFAULT_RATE;
+
+    /**
+     * Time in milliseconds to wait for rerouted flows to be restored.
+     */
+    private long restoreTimeout = RerouteQueue.DEFAULT_RESTORE_TIMEOUT;
+
+    /**
+     * First and longest down flow retry delays in milliseconds.
+     */
+    private long retryDelay = RerouteBackoff.DEFAULT_INITIAL_DELAY;
+    private long retryMaxDelay = RerouteBackoff.DEFAULT_MAX_DELAY;
+
+    /**
+     * Pending reroutes, they are not kept in the state.
+     */
+    private transient RerouteQueue rerouteQueue;
+
+    /**
+     * Down flow retries, they are not kept in the state.
+     */
+    private transient RerouteBackoff rerouteBackoff;
+
     /**
      * Instance constructor.
      *
@@ -116,6 +166,34 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
         this.discoveryInterval = discoveryInterval;
     }
 
+    /**
+     * Sets up reroute coalescing.
+     *
+     * @param settleWindow   quiet time in milliseconds before reroutes are sent
+     * @param rate           reroutes per second limit
+     * @param restoreTimeout time in milliseconds to wait for rerouted flows to be restored
+     * @return this bolt
+     */
+    CacheBolt withReroutes(long settleWindow, int rate, long restoreTimeout) {
+        this.rerouteSettleWindow = settleWindow;
+        this.rerouteRate = rate;
+        this.restoreTimeout = restoreTimeout;
+        return this;
+    }
+
+    /**
+     * Sets up down flow retry backoff.
+     *
+     * @param initialDelay delay in milliseconds after the first retry
+     * @param maxDelay     longest delay in milliseconds
+     * @return this bolt
+     */
+    CacheBolt withRetryBackoff(long initialDelay, long maxDelay) {
+        this.retryDelay = initialDelay;
+        this.retryMaxDelay = maxDelay;
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -142,6 +220,8 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.outputCollector = outputCollector;
+        this.rerouteQueue = new RerouteQueue(rerouteSettleWindow, rerouteRate, restoreTimeout);
+        this.rerouteBackoff = new RerouteBackoff(retryDelay, retryMaxDelay);
     }
 
     /**
@@ -151,7 +231,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
     public void doWork(Tuple tuple) {
         logger.trace("State before: {}", state);
 
-        String json = tuple.getString(0);
+        Object value = tuple.getValue(0);
         ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
 
         try {
@@ -160,7 +240,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
             switch (componentId) {
 
                 case WFM_UPDATE_KAFKA_SPOUT:
-                    InfoData data = MAPPER.readValue(json, InfoData.class);
+                    InfoData data = INFO_DATA_READER.readValue((String) value);
 
                     if (data != null) {
                         logger.info("Cache update info data", data);
@@ -197,6 +277,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
 
                                 case DELETE:
                                     flowCache.removeFlow(flowData.getPayload().getLeft().getFlowId());
+                                    rerouteBackoff.reset(flowData.getPayload().getLeft().getFlowId());
                                     emitFlowMessage(flowData, tuple, flowData.getCorrelationId());
                                     logger.info("Flow remove message sent: {}", flowData);
                                     break;
@@ -209,26 +290,31 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
 
                                 case STATE:
                                     flowCache.putFlow(flowData.getPayload());
+                                    if (FlowState.UP.equals(flowData.getPayload().getLeft().getState())) {
+                                        rerouteQueue.restored(flowData.getPayload().getLeft().getFlowId(),
+                                                System.currentTimeMillis());
+                                        rerouteBackoff.reset(flowData.getPayload().getLeft().getFlowId());
+                                    }
                                     logger.info("Flow state changed: {}", flowData);
                                     break;
 
                                 default:
-                                    logger.warn("Skip undefined flow operation {}", json);
+                                    logger.warn("Skip undefined flow operation {}", value);
                                     break;
                             }
                         } else {
-                            logger.debug("Skip undefined info data type {}", json);
+                            logger.debug("Skip undefined info data type {}", value);
                         }
                     } else {
-                        logger.debug("Skip undefined message type {}", json);
+                        logger.debug("Skip undefined message type {}", value);
                     }
                     break;
 
                 case TPE_KAFKA_SPOUT:
-                    Message message = MAPPER.readValue(json, Message.class);
-                    if (message instanceof InfoMessage && Destination.WFM_CACHE == message.getDestination()) {
-                        logger.info("Storage content message {}", json);
-                        handleNetworkDump(((InfoMessage) message).getData(), tuple);
+                    if (MessageHeader.peek(value).isAddressedTo(Destination.WFM_CACHE, MessageType.INFO)) {
+                        InfoMessage message = (InfoMessage) MessageFormat.toMessage(value);
+                        logger.info("Storage content message {}", message);
+                        handleNetworkDump(message.getData(), tuple);
                     }
                     break;
 
@@ -244,6 +330,8 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
             logger.error("Could not deserialize message {}", tuple, exception);
 
         } finally {
+            emitRerouteCommands(tuple);
+
             logger.debug("Cache message ack: component={}, stream={}, tuple={}",
                     tuple.getSourceComponent(), tuple.getSourceStreamId(), tuple);
 
@@ -269,6 +357,13 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
         if (timePassed <= discoveryInterval) {
             timePassed += 1;
         }
+
+        emitRerouteCommands(tuple);
+        RerouteEvent event = rerouteQueue.poll(System.currentTimeMillis());
+        if (event != null) {
+            logger.info("Flows reroute completed: {}", event);
+            emitRerouteMetrics(event, tuple);
+        }
     }
 
     /**
@@ -278,6 +373,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
         outputFieldsDeclarer.declareStream(StreamType.TPE.toString(), AbstractTopology.fieldMessage);
         outputFieldsDeclarer.declareStream(StreamType.WFM_DUMP.toString(), AbstractTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.METRICS.toString(), OpenTsdbWriterBolt.FIELDS);
     }
 
     private void handleNetworkDump(InfoData info, Tuple tuple) {
@@ -314,7 +410,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
                 }
 
                 affectedFlows = flowCache.getFlowsWithAffectedPath(sw.getSwitchId());
-                emitRerouteCommands(affectedFlows, tuple, "SWITCH", FlowOperation.UPDATE);
+                requestReroutes(affectedFlows, "SWITCH");
 
                 break;
 
@@ -338,10 +434,8 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
                 } else {
                     networkCache.createIsl(isl);
                 }
-                affectedFlows = flowCache.dumpFlows().stream()
-                        .filter(flow -> FlowState.DOWN.equals(flow.getLeft().getState()))
-                        .collect(Collectors.toSet());
-                emitRerouteCommands(affectedFlows, tuple, "ISL", FlowOperation.UPDATE);
+                affectedFlows = getDownFlowsToRetry(isl);
+                requestReroutes(affectedFlows, "ISL");
                 break;
 
             case FAILED:
@@ -351,7 +445,7 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
                     logger.warn("{}:{}", exception.getErrorMessage(), exception.getErrorDescription());
                 }
                 affectedFlows = flowCache.getFlowsWithAffectedPath(isl);
-                emitRerouteCommands(affectedFlows, tuple, "ISL", FlowOperation.UPDATE);
+                requestReroutes(affectedFlows, "ISL");
                 break;
 
             case OTHER_UPDATE:
@@ -363,6 +457,43 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
         }
     }
 
+    /**
+     * Gets down flows which endpoints are connected through the discovered isl and which are not backed off.
+     *
+     * @param isl discovered isl
+     * @return flows to reroute
+     */
+    private Set<ImmutablePair<Flow, Flow>> getDownFlowsToRetry(IslInfoData isl) {
+        Set<ImmutablePair<Flow, Flow>> downFlows = flowCache.getDownFlows();
+        rerouteBackoff.retainAll(downFlows.stream()
+                .map(flow -> flow.getLeft().getFlowId())
+                .collect(Collectors.toSet()));
+
+        NetworkSnapshot snapshot = networkCache.getSnapshot();
+        int component = snapshot.getComponent(isl.getPath().get(0).getSwitchId());
+        if (component == NetworkSnapshot.NOT_FOUND) {
+            return Collections.emptySet();
+        }
+
+        long now = System.currentTimeMillis();
+        Set<ImmutablePair<Flow, Flow>> flows = new HashSet<>();
+        int backedOff = 0;
+        for (ImmutablePair<Flow, Flow> flow : downFlows) {
+            if (snapshot.getComponent(flow.getLeft().getSourceSwitch()) != component
+                    || snapshot.getComponent(flow.getLeft().getDestinationSwitch()) != component) {
+                continue;
+            }
+            if (rerouteBackoff.tryRetry(flow.getLeft().getFlowId(), now)) {
+                flows.add(flow);
+            } else {
+                backedOff++;
+            }
+        }
+        logger.info("Down flows retry: down={}, retried={}, backed off={}",
+                downFlows.size(), flows.size(), backedOff);
+        return flows;
+    }
+
     private void handlePortEvent(PortInfoData port, Tuple tuple) {
         logger.info("State update port {}_{} message cached {}", port.getSwitchId(), port.getPortNo(), port.getState());
 
@@ -426,25 +557,63 @@ public class CacheBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<St
         }
     }
 
-    private void emitRerouteCommands(Set<ImmutablePair<Flow, Flow>> flows, Tuple tuple,
-                                     String correlationId, FlowOperation operation) {
+    private void requestReroutes(Set<ImmutablePair<Flow, Flow>> flows, String correlationId) {
         String rerouteCorrelationId = String.format("%s-%s", correlationId, REROUTE.toString());
+        long now = System.currentTimeMillis();
 
         for (ImmutablePair<Flow, Flow> flow : flows) {
+            rerouteQueue.add(flow.getLeft(), rerouteCorrelationId, now);
+        }
+        logger.info("Flows reroute requested: flows={}, pending={}", flows.size(), rerouteQueue.size());
+    }
+
+    private void emitRerouteCommands(Tuple tuple) {
+        for (Reroute reroute : rerouteQueue.drain(System.currentTimeMillis())) {
             try {
-                FlowRerouteRequest request = new FlowRerouteRequest(flow.getLeft(), operation);
+                FlowRerouteRequest request = new FlowRerouteRequest(reroute.getFlow(), FlowOperation.UPDATE);
 
                 Values values = new Values(Utils.MAPPER.writeValueAsString(new CommandMessage(
-                        request, System.currentTimeMillis(), rerouteCorrelationId, Destination.WFM)));
+                        request, System.currentTimeMillis(), reroute.getCorrelationId(), Destination.WFM)));
                 outputCollector.emit(StreamType.WFM_DUMP.toString(), tuple, values);
 
-                logger.info("Flow {} reroute command message sent", flow.getLeft().getFlowId());
+                logger.info("Flow {} reroute command message sent", reroute.getFlow().getFlowId());
             } catch (JsonProcessingException exception) {
-                logger.error("Could not format flow reroute request by flow={}", flow, exception);
+                logger.error("Could not format flow reroute request by flow={}", reroute.getFlow(), exception);
             }
         }
     }
 
+    private void emitRerouteMetrics(RerouteEvent event, Tuple tuple) {
+        long now = System.currentTimeMillis();
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
+
+        datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.flows", Collections.singletonMap("type", "requested"),
+                now, event.getRequested()));
+        datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.flows", Collections.singletonMap("type", "coalesced"),
+                now, event.getCoalesced()));
+        datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.flows", Collections.singletonMap("type", "restored"),
+                now, event.getRestored()));
+        datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.flows", Collections.singletonMap("type", "unrestored"),
+                now, event.getUnrestored()));
+        datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.duration", Collections.singletonMap("type", "total"),
+                now, event.getDuration()));
+
+        for (String quantile : new String[]{"0.5", "0.9", "0.99", "1"}) {
+            datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.restore.time",
+                    Collections.singletonMap("quantile", quantile), now,
+                    event.getQuantile(Double.parseDouble(quantile))));
+        }
+
+        long[] histogram = event.getHistogram();
+        for (int i = 0; i < histogram.length; i++) {
+            String bound = i < RerouteEvent.BUCKETS.length ? String.valueOf(RerouteEvent.BUCKETS[i]) : "inf";
+            datapoints.add(new OpenTsdbMetricDatapoint("pen.reroute.restore.histogram",
+                    Collections.singletonMap("le", bound), now, histogram[i]));
+        }
+
+        outputCollector.emit(StreamType.METRICS.toString(), tuple, new Values(datapoints));
+    }
+
     private Values getNetworkRequest() {
         Values values = null;
 
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.cache;
 
+import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.ServiceType;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.Topology;
@@ -35,7 +36,6 @@ import java.io.File;
 public class CacheTopology extends AbstractTopology {
     static final String STATE_DUMP_TOPIC = "kilda.wfm.topo.dump";
     static final String STATE_UPDATE_TOPIC = "kilda.wfm.topo.updown";
-    private static final String STATE_TPE_TOPIC = "kilda-test";
 
     private static final Logger logger = LoggerFactory.getLogger(CacheTopology.class);
 
@@ -45,7 +45,8 @@ public class CacheTopology extends AbstractTopology {
     public CacheTopology(File file) {
         super(file);
 
-        checkAndCreateTopic(STATE_TPE_TOPIC);
+        checkAndCreateTopic(topics.getTopic(Destination.WFM_CACHE));
+        checkAndCreateTopic(topics.getTopic(Destination.TOPOLOGY_ENGINE));
         checkAndCreateTopic(STATE_UPDATE_TOPIC);
         checkAndCreateTopic(STATE_DUMP_TOPIC);
 
@@ -105,7 +106,8 @@ public class CacheTopology extends AbstractTopology {
        /*
          * Receives cache from storage.
          */
-        KafkaSpout storageSpout = createKafkaSpout(STATE_TPE_TOPIC, ComponentType.TPE_KAFKA_SPOUT.toString());
+        KafkaSpout storageSpout = createKafkaSpout(topics.getTopic(Destination.WFM_CACHE),
+                ComponentType.TPE_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.TPE_KAFKA_SPOUT.toString(), storageSpout, parallelism);
 
         /*
@@ -118,6 +120,13 @@ public class CacheTopology extends AbstractTopology {
          * Stores network cache.
          */
         CacheBolt cacheBolt = new CacheBolt(OFEventWFMTopology.DEFAULT_DISCOVERY_TIMEOUT);
+        cacheBolt.withReroutes(
+                getIntProperty(getTopologyPropertyName("rerouteSettleWindow"), RerouteQueue.DEFAULT_SETTLE_WINDOW),
+                getIntProperty(getTopologyPropertyName("rerouteRate"), RerouteQueue.DEFAULT_RATE),
+                getIntProperty(getTopologyPropertyName("rerouteRestoreTimeout"), RerouteQueue.DEFAULT_RESTORE_TIMEOUT));
+        cacheBolt.withRetryBackoff(
+                getIntProperty(getTopologyPropertyName("rerouteRetryDelay"), RerouteBackoff.DEFAULT_INITIAL_DELAY),
+                getIntProperty(getTopologyPropertyName("rerouteRetryMaxDelay"), RerouteBackoff.DEFAULT_MAX_DELAY));
         builder.setBolt(ComponentType.CACHE_BOLT.toString(), cacheBolt, parallelism)
                 .shuffleGrouping(ComponentType.WFM_UPDATE_KAFKA_SPOUT.toString())
                 .shuffleGrouping(ComponentType.TPE_KAFKA_SPOUT.toString());
@@ -125,7 +134,7 @@ public class CacheTopology extends AbstractTopology {
         /*
          * Sends network events to storage.
          */
-        KafkaBolt storageBolt = createKafkaBolt(STATE_TPE_TOPIC);
+        KafkaBolt storageBolt = createKafkaBolt(topics.getTopic(Destination.TOPOLOGY_ENGINE));
         builder.setBolt(ComponentType.TPE_KAFKA_BOLT.toString(), storageBolt, parallelism)
                 .shuffleGrouping(ComponentType.CACHE_BOLT.toString(), StreamType.TPE.toString());
 
@@ -136,6 +145,14 @@ public class CacheTopology extends AbstractTopology {
         builder.setBolt(ComponentType.WFM_DUMP_KAFKA_BOLT.toString(), stateDump, parallelism)
                 .shuffleGrouping(ComponentType.CACHE_BOLT.toString(), StreamType.WFM_DUMP.toString());
 
+        /*
+         * Sends flow restore times to OpenTSDB.
+         */
+        if (topologyProperties.containsKey(getTopologyPropertyName(PROPERTY_OPENTSDB_URL))) {
+            builder.setBolt(ComponentType.OTSDB_BOLT.toString(), createOpenTsdbBolt(), 1)
+                    .shuffleGrouping(ComponentType.CACHE_BOLT.toString(), StreamType.METRICS.toString());
+        }
+
         createHealthCheckHandler(builder, ServiceType.CACHE_TOPOLOGY.getId());
 
         return builder.createTopology();
@@ -47,5 +47,10 @@ public enum ComponentType {
     /**
      * Requester bolt.
      */
-    REQUESTER_BOLT
+    REQUESTER_BOLT,
+
+    /**
+     * Sends metrics to OpenTSDB.
+     */
+    OTSDB_BOLT
 }
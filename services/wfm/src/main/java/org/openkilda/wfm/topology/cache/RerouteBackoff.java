@@ -0,0 +1,116 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exponential backoff of down flow reroute retries. A down flow is retried when an ISL is discovered, a flow which
+ * is still down after a retry waits twice as long for the next one, up to the longest delay, so a flapping port does
+ * not reroute unroutable flows again and again. The backoff of a flow is reset once the flow is up or removed.
+ *
+ * <p>Not thread safe, the backoff is owned by one bolt executor.
+ */
+class RerouteBackoff {
+    /**
+     * Default first and longest retry delays in milliseconds.
+     */
+    static final int DEFAULT_INITIAL_DELAY = 1000;
+    static final int DEFAULT_MAX_DELAY = 300000;
+
+    private final long initialDelay;
+    private final long maxDelay;
+
+    /**
+     * Retries by flow id.
+     */
+    private final Map<String, Retry> retries = new HashMap<>();
+
+    /**
+     * Instance constructor.
+     *
+     * @param initialDelay delay in milliseconds after the first retry
+     * @param maxDelay     longest delay in milliseconds
+     */
+    RerouteBackoff(long initialDelay, long maxDelay) {
+        if (initialDelay <= 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Retry delay should be positive and not above the longest delay");
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Checks whether the flow may be retried now, and if so counts the retry.
+     *
+     * @param flowId flow id
+     * @param now    current time in milliseconds
+     * @return true if the flow is not backed off
+     */
+    boolean tryRetry(String flowId, long now) {
+        Retry retry = retries.get(flowId);
+        if (retry == null) {
+            retries.put(flowId, new Retry(now + initialDelay, initialDelay));
+            return true;
+        }
+        if (now < retry.next) {
+            return false;
+        }
+
+        retry.delay = Math.min(retry.delay * 2, maxDelay);
+        retry.next = now + retry.delay;
+        return true;
+    }
+
+    /**
+     * Forgets the flow, its next retry is not delayed.
+     *
+     * @param flowId flow id
+     */
+    void reset(String flowId) {
+        retries.remove(flowId);
+    }
+
+    /**
+     * Forgets all flows but the given ones.
+     *
+     * @param flowIds ids of the flows which are still down
+     */
+    void retainAll(Set<String> flowIds) {
+        retries.keySet().retainAll(flowIds);
+    }
+
+    /**
+     * Returns number of backed off flows.
+     *
+     * @return number of flows
+     */
+    int size() {
+        return retries.size();
+    }
+
+    private static final class Retry {
+        private long next;
+        private long delay;
+
+        private Retry(long next, long delay) {
+            this.next = next;
+            this.delay = delay;
+        }
+    }
+}
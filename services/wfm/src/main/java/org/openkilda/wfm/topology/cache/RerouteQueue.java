@@ -0,0 +1,341 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.cache;
+
+import org.openkilda.messaging.model.Flow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Coalesces flow reroutes caused by one network event. Reroutes are held until no new reroute has been requested
+ * for the settle window, but no longer than {@link #MAX_SETTLE_WINDOWS} settle windows after the first one, so
+ * several ISL and switch failures of the same outage are turned into a single reroute per flow. Settled reroutes are
+ * drained with a rate limit, flows with higher bandwidth go first, then flows in order of request.
+ *
+ * <p>The queue also measures time to restore: the time from the first reroute request of a flow until the flow is
+ * up again. The event lasts until all rerouted flows are restored or the restore timeout expires, then it is
+ * returned by {@link #poll(long)} with the collected times.
+ *
+ * <p>Not thread safe, the queue is owned by one bolt executor.
+ */
+class RerouteQueue {
+    /**
+     * Longest time reroutes are held, in settle windows after the first request.
+     */
+    static final int MAX_SETTLE_WINDOWS = 5;
+
+    /**
+     * Default settle window in milliseconds, reroutes per second limit and restore timeout in milliseconds.
+     */
+    static final int DEFAULT_SETTLE_WINDOW = 500;
+    static final int DEFAULT_RATE = 100;
+    static final int DEFAULT_RESTORE_TIMEOUT = 60000;
+
+    private static final Comparator<Reroute> ORDER = Comparator
+            .comparingInt((Reroute reroute) -> reroute.flow.getBandwidth()).reversed()
+            .thenComparingLong(reroute -> reroute.sequence);
+
+    private final long settleWindow;
+    private final int rate;
+    private final long restoreTimeout;
+
+    /**
+     * Pending reroutes by flow id.
+     */
+    private final Map<String, Reroute> pending = new HashMap<>();
+
+    /**
+     * Pending reroutes in drain order.
+     */
+    private final TreeSet<Reroute> queue = new TreeSet<>(ORDER);
+
+    /**
+     * First request time of the drained reroutes which are not restored yet, by flow id.
+     */
+    private final Map<String, Long> inflight = new HashMap<>();
+
+    private long sequence;
+    private long firstRequested = -1;
+    private long lastRequested;
+    private double tokens;
+    private long refilled = -1;
+    private long lastDrained;
+    private RerouteEvent event;
+
+    /**
+     * Instance constructor.
+     *
+     * @param settleWindow   quiet time in milliseconds before reroutes are drained
+     * @param rate           reroutes per second limit
+     * @param restoreTimeout time in milliseconds to wait for rerouted flows to be restored
+     */
+    RerouteQueue(long settleWindow, int rate, long restoreTimeout) {
+        if (settleWindow < 0 || rate <= 0 || restoreTimeout <= 0) {
+            throw new IllegalArgumentException(
+                    "Reroute settle window should not be negative, rate and restore timeout should be positive");
+        }
+        this.settleWindow = settleWindow;
+        this.rate = rate;
+        this.restoreTimeout = restoreTimeout;
+    }
+
+    /**
+     * Requests reroute of the flow. A pending reroute of the same flow is replaced, it keeps its place in the queue
+     * and its first request time.
+     *
+     * @param flow          flow
+     * @param correlationId correlation id of the reroute command
+     * @param now           current time in milliseconds
+     */
+    void add(Flow flow, String correlationId, long now) {
+        if (event == null) {
+            event = new RerouteEvent(now);
+        }
+        event.requested++;
+
+        Reroute reroute = pending.get(flow.getFlowId());
+        if (reroute != null) {
+            event.coalesced++;
+            queue.remove(reroute);
+        } else {
+            // a flow which is being rerouted is measured from its first request
+            Long requested = inflight.remove(flow.getFlowId());
+            reroute = new Reroute(sequence++, requested != null ? requested : now);
+            pending.put(flow.getFlowId(), reroute);
+        }
+        reroute.flow = flow;
+        reroute.correlationId = correlationId;
+        queue.add(reroute);
+
+        if (firstRequested < 0) {
+            firstRequested = now;
+        }
+        lastRequested = now;
+    }
+
+    /**
+     * Returns settled reroutes which fit the rate limit, they are considered in flight from now on.
+     *
+     * @param now current time in milliseconds
+     * @return reroutes in drain order
+     */
+    List<Reroute> drain(long now) {
+        tokens = refilled < 0 ? rate : Math.min(rate, tokens + (now - refilled) * rate / 1000.0);
+        refilled = now;
+
+        if (queue.isEmpty()
+                || now - lastRequested < settleWindow && now - firstRequested < settleWindow * MAX_SETTLE_WINDOWS) {
+            return new ArrayList<>(0);
+        }
+
+        List<Reroute> drained = new ArrayList<>();
+        while (tokens >= 1 && !queue.isEmpty()) {
+            Reroute reroute = queue.pollFirst();
+            pending.remove(reroute.flow.getFlowId());
+            inflight.put(reroute.flow.getFlowId(), reroute.requested);
+            drained.add(reroute);
+            tokens--;
+        }
+
+        if (queue.isEmpty()) {
+            firstRequested = -1;
+        }
+        if (!drained.isEmpty()) {
+            lastDrained = now;
+            event.rerouted += drained.size();
+        }
+        return drained;
+    }
+
+    /**
+     * Records that the flow is up.
+     *
+     * @param flowId flow id
+     * @param now    current time in milliseconds
+     */
+    void restored(String flowId, long now) {
+        Long requested = inflight.remove(flowId);
+        if (requested != null && event != null) {
+            event.restored(now - requested, now);
+        }
+    }
+
+    /**
+     * Returns the event once all its reroutes are drained and the rerouted flows are restored or the restore timeout
+     * expired.
+     *
+     * @param now current time in milliseconds
+     * @return completed event, null if there is no event or it is still in progress
+     */
+    RerouteEvent poll(long now) {
+        if (event == null || !queue.isEmpty() || !inflight.isEmpty() && now - lastDrained < restoreTimeout) {
+            return null;
+        }
+
+        RerouteEvent completed = event;
+        completed.unrestored = inflight.size();
+        inflight.clear();
+        event = null;
+        return completed;
+    }
+
+    /**
+     * Returns number of pending reroutes.
+     *
+     * @return number of pending reroutes
+     */
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * Reroute of a flow.
+     */
+    static final class Reroute {
+        private final long sequence;
+        private final long requested;
+        private Flow flow;
+        private String correlationId;
+
+        private Reroute(long sequence, long requested) {
+            this.sequence = sequence;
+            this.requested = requested;
+        }
+
+        Flow getFlow() {
+            return flow;
+        }
+
+        String getCorrelationId() {
+            return correlationId;
+        }
+    }
+
+    /**
+     * Reroutes and restore times of a network event.
+     */
+    static final class RerouteEvent {
+        /**
+         * Upper bounds of histogram buckets in milliseconds, the last bucket has no bound.
+         */
+        static final long[] BUCKETS = {100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+        private final long started;
+        private long lastRestored;
+        private int requested;
+        private int coalesced;
+        private int rerouted;
+        private int unrestored;
+        private long[] times = new long[16];
+        private int restored;
+
+        private RerouteEvent(long started) {
+            this.started = started;
+            this.lastRestored = started;
+        }
+
+        private void restored(long time, long now) {
+            if (restored == times.length) {
+                times = Arrays.copyOf(times, restored * 2);
+            }
+            times[restored++] = time;
+            lastRestored = now;
+        }
+
+        long getStarted() {
+            return started;
+        }
+
+        /**
+         * Returns time from the first request to the last restored flow.
+         *
+         * @return time in milliseconds
+         */
+        long getDuration() {
+            return lastRestored - started;
+        }
+
+        int getRequested() {
+            return requested;
+        }
+
+        int getCoalesced() {
+            return coalesced;
+        }
+
+        int getRerouted() {
+            return rerouted;
+        }
+
+        int getRestored() {
+            return restored;
+        }
+
+        int getUnrestored() {
+            return unrestored;
+        }
+
+        /**
+         * Returns restore time quantile.
+         *
+         * @param quantile quantile from 0 to 1
+         * @return time in milliseconds, 0 if no flow was restored
+         */
+        long getQuantile(double quantile) {
+            if (restored == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(times, restored);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(quantile * restored) - 1;
+            return sorted[Math.max(0, Math.min(restored - 1, rank))];
+        }
+
+        /**
+         * Returns restore times histogram.
+         *
+         * @return number of flows by {@link #BUCKETS}, the last element counts slower flows
+         */
+        long[] getHistogram() {
+            long[] histogram = new long[BUCKETS.length + 1];
+            for (int i = 0; i < restored; i++) {
+                int bucket = Arrays.binarySearch(BUCKETS, times[i]);
+                histogram[bucket < 0 ? -bucket - 1 : bucket]++;
+            }
+            return histogram;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder histogram = new StringBuilder();
+            long[] counts = getHistogram();
+            for (int i = 0; i < counts.length; i++) {
+                histogram.append(i < BUCKETS.length ? "<=" + BUCKETS[i] : ">" + BUCKETS[BUCKETS.length - 1])
+                        .append("ms:").append(counts[i]).append(' ');
+            }
+            return String.format("requested=%d, coalesced=%d, rerouted=%d, restored=%d, unrestored=%d, "
+                            + "duration=%dms, p50=%dms, p99=%dms, histogram=[%s]",
+                    requested, coalesced, rerouted, restored, unrestored, getDuration(),
+                    getQuantile(0.5), getQuantile(0.99), histogram.toString().trim());
+        }
+    }
+}
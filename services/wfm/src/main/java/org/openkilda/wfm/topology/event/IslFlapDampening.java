@@ -0,0 +1,219 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Route flap dampening of ISLs, the way BGP dampens routes. Each time an ISL goes down after it was up, its penalty
+ * grows by {@link #FLAP_PENALTY}, the penalty decays exponentially with the given half-life. Once the penalty exceeds
+ * the suppress threshold, the failure is still reported, so the ISL leaves path computation, but no further events
+ * of the ISL are reported until the penalty decays below the reuse threshold. The penalty is capped, so an ISL is
+ * not suppressed for longer than the maximum suppress time after its last flap.
+ *
+ * <p>Not thread safe, the dampening is owned by one bolt executor.
+ */
+public class IslFlapDampening implements Serializable {
+    /**
+     * Penalty added on each flap.
+     */
+    public static final int FLAP_PENALTY = 1000;
+
+    public static final int DEFAULT_SUPPRESS_THRESHOLD = 2000;
+    public static final int DEFAULT_REUSE_THRESHOLD = 750;
+    public static final int DEFAULT_HALF_LIFE = 60;
+    public static final int DEFAULT_MAX_SUPPRESS_TIME = 240;
+
+    private final int suppressThreshold;
+    private final int reuseThreshold;
+    private final long halfLife;
+    private final double maxPenalty;
+
+    /**
+     * Dampening states by ISL.
+     */
+    private final Map<String, Isl> isls = new HashMap<>();
+
+    /**
+     * Suppressed ISLs.
+     */
+    private final Set<String> suppressed = new LinkedHashSet<>();
+
+    /**
+     * Instance constructor with default thresholds and times.
+     */
+    public IslFlapDampening() {
+        this(DEFAULT_SUPPRESS_THRESHOLD, DEFAULT_REUSE_THRESHOLD, DEFAULT_HALF_LIFE, DEFAULT_MAX_SUPPRESS_TIME);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param suppressThreshold penalty above which an ISL is suppressed
+     * @param reuseThreshold    penalty below which a suppressed ISL is reported again
+     * @param halfLife          penalty half-life in seconds
+     * @param maxSuppressTime   longest time in seconds an ISL is suppressed after its last flap
+     */
+    public IslFlapDampening(int suppressThreshold, int reuseThreshold, int halfLife, int maxSuppressTime) {
+        if (reuseThreshold <= 0 || reuseThreshold >= suppressThreshold) {
+            throw new IllegalArgumentException("Reuse threshold should be positive and below suppress threshold");
+        }
+        if (halfLife <= 0) {
+            throw new IllegalArgumentException("Penalty half-life should be positive");
+        }
+        this.suppressThreshold = suppressThreshold;
+        this.reuseThreshold = reuseThreshold;
+        this.halfLife = halfLife * 1000L;
+        this.maxPenalty = reuseThreshold * Math.pow(2, (double) maxSuppressTime / halfLife);
+        if (maxPenalty <= suppressThreshold) {
+            throw new IllegalArgumentException("Maximum suppress time is too short to ever suppress an ISL");
+        }
+    }
+
+    /**
+     * Records that the ISL is up.
+     *
+     * @param switchId source switch id
+     * @param port     source port number
+     * @param now      current time in milliseconds
+     * @return true if the event should be reported
+     */
+    public boolean up(String switchId, int port, long now) {
+        String key = key(switchId, port);
+        isls.computeIfAbsent(key, k -> new Isl(now)).up = true;
+        return !suppressed.contains(key);
+    }
+
+    /**
+     * Records that the ISL is down, penalizes the ISL if it was up. The failure which suppresses the ISL is still
+     * reported.
+     *
+     * @param switchId source switch id
+     * @param port     source port number
+     * @param now      current time in milliseconds
+     * @return true if the event should be reported
+     */
+    public boolean down(String switchId, int port, long now) {
+        String key = key(switchId, port);
+        boolean reported = !suppressed.contains(key);
+
+        // flaps of a suppressed ISL are penalized too, so it stays suppressed while it keeps flapping
+        Isl isl = isls.computeIfAbsent(key, k -> new Isl(now));
+        if (isl.up) {
+            isl.up = false;
+            isl.penalty = Math.min(isl.decay(now) + FLAP_PENALTY, maxPenalty);
+            isl.updated = now;
+            if (isl.penalty > suppressThreshold) {
+                suppressed.add(key);
+            }
+        }
+        return reported;
+    }
+
+    /**
+     * Releases suppressed ISLs whose penalty decayed below the reuse threshold. Their next event is reported.
+     *
+     * @param now current time in milliseconds
+     * @return number of released ISLs
+     */
+    public int reuse(long now) {
+        int released = 0;
+        for (Iterator<String> iterator = suppressed.iterator(); iterator.hasNext(); ) {
+            if (isls.get(iterator.next()).decay(now) < reuseThreshold) {
+                iterator.remove();
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Returns whether the ISL is suppressed.
+     *
+     * @param switchId source switch id
+     * @param port     source port number
+     * @return true if events of the ISL are not reported
+     */
+    public boolean isSuppressed(String switchId, int port) {
+        return suppressed.contains(key(switchId, port));
+    }
+
+    /**
+     * Returns current penalty of the ISL.
+     *
+     * @param switchId source switch id
+     * @param port     source port number
+     * @param now      current time in milliseconds
+     * @return penalty, 0 if the ISL never flapped
+     */
+    public double getPenalty(String switchId, int port, long now) {
+        Isl isl = isls.get(key(switchId, port));
+        return isl == null ? 0 : isl.decay(now);
+    }
+
+    /**
+     * Passes penalties of the ISLs which flapped to the consumer.
+     *
+     * @param now      current time in milliseconds
+     * @param consumer penalty consumer
+     */
+    public void forEachPenalty(long now, PenaltyConsumer consumer) {
+        for (Map.Entry<String, Isl> entry : isls.entrySet()) {
+            Isl isl = entry.getValue();
+            long penalty = Math.round(isl.decay(now));
+            if (penalty > 0) {
+                String key = entry.getKey();
+                int separator = key.lastIndexOf('/');
+                consumer.accept(key.substring(0, separator), Integer.parseInt(key.substring(separator + 1)),
+                        penalty, suppressed.contains(key));
+            }
+        }
+    }
+
+    private static String key(String switchId, int port) {
+        return switchId + '/' + port;
+    }
+
+    /**
+     * Consumer of ISL penalties.
+     */
+    @FunctionalInterface
+    public interface PenaltyConsumer {
+        void accept(String switchId, int port, long penalty, boolean suppressed);
+    }
+
+    /**
+     * Dampening state of an ISL.
+     */
+    private final class Isl implements Serializable {
+        private boolean up;
+        private double penalty;
+        private long updated;
+
+        private Isl(long now) {
+            this.updated = now;
+        }
+
+        private double decay(long now) {
+            return penalty * Math.pow(2, -(double) Math.max(now - updated, 0) / halfLife);
+        }
+    }
+}
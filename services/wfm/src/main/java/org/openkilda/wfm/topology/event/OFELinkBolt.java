@@ -15,20 +15,23 @@
 
 package org.openkilda.wfm.topology.event;
 
-import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 import static org.openkilda.wfm.topology.event.OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC;
 import static org.openkilda.wfm.topology.event.OFEventWFMTopology.DEFAULT_KAFKA_OUTPUT;
 
+import org.openkilda.messaging.codec.JsonCodecs;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.wfm.OFEMessageUtils;
 import org.openkilda.wfm.topology.splitter.InfoEventSplitterBolt;
 import org.openkilda.wfm.topology.utils.AbstractTickStatefulBolt;
 import org.openkilda.wfm.topology.utils.LinkTracker;
+import org.openkilda.wfm.topology.utils.OpenTsdbWriterBolt;
+import org.openkilda.wfm.topology.utils.TimingWheel;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
 import org.apache.storm.state.KeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -38,34 +41,56 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is the main class for tracking links and generating health checks. Regarding Storm's KeyValueState .. it
  * doesn't have a keys() feature .. so there is at this stage only one object in it, which holds hashmaps, etc.
+ *
+ * <p>The bolt ticks every second and ports are checked on a {@link TimingWheel} keyed by switch and port, so a tick
+ * only touches ports which are due instead of every tracked port. Discovery of the ports of one switch due on the
+ * same tick is requested by one command.
+ *
+ * <p>Flapping ISLs are dampened by {@link IslFlapDampening}, their penalties are emitted as OpenTSDB datapoints.
  */
 public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String, LinkTracker>> {
     private static final Logger logger = LogManager.getLogger(OFELinkBolt.class);
 
+    public static final String DEFAULT_DAMPENING_METRICS_STREAM = "isl-dampening-metrics";
+
+    /** ISL penalties are reported every this number of ticks */
+    private static final int DAMPENING_METRICS_INTERVAL = 10;
+
     public String outputStreamId = DEFAULT_KAFKA_OUTPUT;
     public String islDiscoTopic = DEFAULT_DISCOVERY_TOPIC;
+    public String dampeningMetricsStreamId = DEFAULT_DAMPENING_METRICS_STREAM;
 
     /** SwitchID -> PortIDs */
     protected KeyValueState<String, LinkTracker> state;
 
+    /** discovery interval in ticks, a tick is one second */
+    private final int discoveryInterval;
     private final int packetsToFail;
     private OutputCollector collector;
     private LinkTracker links;
 
+    /** Ports by discovery deadline, rebuilt from the tracked ports when the state is loaded */
+    private transient TimingWheel<Port> wheel;
+    private transient long ticks;
+
+    private IslFlapDampening dampening = new IslFlapDampening();
+
     /**
      * Default constructor .. default health check frequency
      */
     public OFELinkBolt(int discoveryInterval, int discoveryTimeout) {
-        super(discoveryInterval);
+        super(1);
         // TODO: read health check frequency from config file and/or storm key/value.
+        this.discoveryInterval = discoveryInterval;
         this.packetsToFail = discoveryTimeout / discoveryInterval;
     }
 
@@ -74,6 +99,11 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
         return this;
     }
 
+    public OFELinkBolt withFlapDampening(IslFlapDampening dampening) {
+        this.dampening = dampening;
+        return this;
+    }
+
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
@@ -89,32 +119,60 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
             links = new LinkTracker();
             this.state.put(DEFAULT_DISCOVERY_TOPIC, links);
         }
+
+        // spread the checks of restored ports over the interval
+        wheel = new TimingWheel<>(discoveryInterval);
+        for (String switchId : links.getSwitches()) {
+            for (int portNo : links.getSwitchPorts(switchId)) {
+                Port port = new Port(switchId, portNo);
+                wheel.schedule(port, 1 + (port.hashCode() & Integer.MAX_VALUE) % discoveryInterval);
+            }
+        }
     }
 
     /**
-     * Send ISL health checks for all links
+     * Send ISL health checks for the links which are due, one discovery command per switch
      */
     @Override
     protected void doTick(Tuple tuple) {
-        for (String switchId : links.getSwitches()) {
-            for (Iterator<Map.Entry<String, AtomicInteger>> it = links.getSwitchPorts(switchId).entrySet().iterator(); it.hasNext(); ) {
-                try {
-                    Map.Entry<String, AtomicInteger> entry = it.next();
-
-                    if (entry.getValue().get() == -1) {
-                        sendDiscoveryFailed(switchId, entry.getKey(), tuple);
-                        it.remove();
-                    } else if (entry.getValue().incrementAndGet() >= packetsToFail) {
-                        sendDiscoveryFailed(switchId, entry.getKey(), tuple);
-                    }
-
-                    String discoJson = OFEMessageUtils.createIslDiscovery(switchId, entry.getKey());
-                    collector.emit(islDiscoTopic, tuple, new Values(PAYLOAD, discoJson));
-                    logger.debug("LINK: Send ISL discovery command: {}", discoJson);
-                } catch (IOException exception) {
-                    logger.error("LINK: ISL discovery failure message creation error", exception);
+        long now = System.currentTimeMillis();
+        int released = dampening.reuse(now);
+        if (released > 0) {
+            logger.info("LINK: {} flapping ISLs are not suppressed anymore", released);
+        }
+        if (++ticks % DAMPENING_METRICS_INTERVAL == 0) {
+            emitPenalties(now, tuple);
+        }
+
+        Map<String, List<Integer>> discovery = new LinkedHashMap<>();
+        for (Port port : wheel.advance()) {
+            int count = links.getCountOfSentPackets(port.switchId, port.portNo);
+            if (count == LinkTracker.NOT_TRACKED) {
+                // switch went down since the port was scheduled
+                continue;
+            }
+
+            boolean removed = count == LinkTracker.PORT_REMOVED;
+            try {
+                if (removed || links.incrementCountOfSentPackets(port.switchId, port.portNo) >= packetsToFail) {
+                    sendDiscoveryFailed(port.switchId, port.portNo, tuple);
                 }
+            } catch (IOException exception) {
+                logger.error("LINK: ISL discovery failure message creation error", exception);
             }
+            if (removed) {
+                links.removePort(port.switchId, port.portNo);
+                continue;
+            }
+
+            discovery.computeIfAbsent(port.switchId, id -> new ArrayList<>()).add(port.portNo);
+            wheel.schedule(port, discoveryInterval);
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : discovery.entrySet()) {
+            String discoJson = OFEMessageUtils.createIslDiscovery(entry.getKey(), entry.getValue());
+            collector.emit(islDiscoTopic, tuple, new Values(PAYLOAD, discoJson));
+            logger.debug("LINK: Send ISL discovery command: {}", discoJson);
         }
     }
 
@@ -137,14 +195,17 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
         String switchID = tuple.getStringByField(OFEMessageUtils.FIELD_SWITCH_ID);
         String updown = tuple.getStringByField(OFEMessageUtils.FIELD_STATE);
         logger.info("LINK: Event switch={} state={}", switchID, updown);
-        ConcurrentHashMap<String, AtomicInteger> ports = links.getOrNewSwitchPorts(switchID);
+        links.addSwitch(switchID);
         if (updown.equals(OFEMessageUtils.SWITCH_DOWN)) {
             // current logic: switch down means stop checking associated ports/links.
             // - possible extra steps of validation of switch down should occur elsewhere
             // - possible extra steps of generating link down messages aren't important since
             //      the TPE will drop the switch node from its graph.
             // switch up isn't valuable at this stage.
-            ports.clear();
+            for (int portNo : links.getSwitchPorts(switchID)) {
+                wheel.cancel(new Port(switchID, portNo));
+            }
+            links.clearSwitchPorts(switchID);
         }
     }
 
@@ -154,7 +215,18 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
         String updown = tuple.getStringByField(OFEMessageUtils.FIELD_STATE);
         logger.info("LINK: Event switch={} port={} state={}", switchID, portID, updown);
 
-        ConcurrentHashMap<String, AtomicInteger> ports = links.getOrNewSwitchPorts(switchID);
+        int portNo;
+        try {
+            portNo = Integer.parseInt(portID);
+        } catch (NumberFormatException exception) {
+            logger.error("LINK: Skip invalid port={} of switch={}", portID, switchID);
+            return;
+        }
+        if (!LinkTracker.isTrackablePort(portNo)) {
+            logger.info("LINK: Skip reserved port={} of switch={}", portID, switchID);
+            return;
+        }
+
         if (updown.equals(OFEMessageUtils.PORT_UP) || updown.equals(OFEMessageUtils.PORT_ADD)) {
             // Send ISL Discovery Packet
             String discoJson = OFEMessageUtils.createIslDiscovery(switchID, portID);
@@ -162,13 +234,17 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
             logger.debug("LINK: Send ISL discovery command: {}", discoJson);
             // TODO: will we put the link info?
             // TODO: check if port already exists? is there business logic (UP on existing port)
-            ports.put(portID, new AtomicInteger(0));
+            links.addPort(switchID, portNo);
+            wheel.schedule(new Port(switchID, portNo), discoveryInterval);
         } else if (updown.equals(OFEMessageUtils.PORT_DOWN)) {
             // Clear the check, if it exists.
             logger.info("LINK: Remove switch={} port={} from health checks", switchID, portID);
             String discoJson = OFEMessageUtils.createIslDiscovery(switchID, portID);
             collector.emit(islDiscoTopic, tuple, new Values(PAYLOAD, discoJson));
-            ports.get(portID).set(-1);
+            if (links.markPortRemoved(switchID, portNo)) {
+                // report the failure on the next tick
+                wheel.schedule(new Port(switchID, portNo), 1);
+            }
         } else {
             logger.error("LINK: Unknown state={} for switch={} port={}", updown, switchID, portID);
         }
@@ -178,9 +254,14 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
         logger.info("LINK: Event ISL Discovered {}", tuple);
         try {
             String data = tuple.getString(0);
-            IslInfoData discoveredIsl = MAPPER.readValue(data, IslInfoData.class);
+            IslInfoData discoveredIsl = JsonCodecs.readerFor(IslInfoData.class).readValue(data);
             PathNode node = discoveredIsl.getPath().get(0);
-            links.clearCountOfSentPackets(node.getSwitchId(), String.valueOf(node.getPortNo()));
+            links.clearCountOfSentPackets(node.getSwitchId(), node.getPortNo());
+            if (!dampening.up(node.getSwitchId(), node.getPortNo(), System.currentTimeMillis())) {
+                logger.debug("LINK: Flapping ISL switch={} port={} is suppressed", node.getSwitchId(),
+                        node.getPortNo());
+                return;
+            }
             Values dataVal = new Values(PAYLOAD, data, node.getSwitchId(),
                     String.valueOf(node.getPortNo()), OFEMessageUtils.LINK_UP);
             collector.emit(outputStreamId, tuple, dataVal);
@@ -189,17 +270,72 @@ public class OFELinkBolt extends AbstractTickStatefulBolt<KeyValueState<String,
         }
     }
 
-    private void sendDiscoveryFailed(String switchId, String portId, Tuple tuple) throws IOException {
+    private void sendDiscoveryFailed(String switchId, int portNo, Tuple tuple) throws IOException {
+        boolean suppressed = dampening.isSuppressed(switchId, portNo);
+        if (!dampening.down(switchId, portNo, System.currentTimeMillis())) {
+            logger.debug("LINK: Flapping ISL switch={} port={} is suppressed", switchId, portNo);
+            return;
+        }
+        if (!suppressed && dampening.isSuppressed(switchId, portNo)) {
+            logger.warn("LINK: Suppress flapping ISL switch={} port={}", switchId, portNo);
+        }
+
+        String portId = String.valueOf(portNo);
         String discoFail = OFEMessageUtils.createIslFail(switchId, portId);
         Values dataVal = new Values(PAYLOAD, discoFail, switchId, portId, OFEMessageUtils.LINK_DOWN);
         collector.emit(outputStreamId, tuple, dataVal);
         logger.warn("LINK: Send ISL discovery failure message={}", discoFail);
     }
 
+    private void emitPenalties(long now, Tuple tuple) {
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
+        dampening.forEachPenalty(now, (switchId, portNo, penalty, suppressed) -> {
+            Map<String, String> tags = new HashMap<>(4);
+            tags.put("switchid", switchId.replaceAll(":", ""));
+            tags.put("port", String.valueOf(portNo));
+            datapoints.add(new OpenTsdbMetricDatapoint("pen.isl.penalty", tags, now, penalty));
+            datapoints.add(new OpenTsdbMetricDatapoint("pen.isl.suppressed", tags, now, suppressed ? 1 : 0));
+        });
+        if (!datapoints.isEmpty()) {
+            collector.emit(dampeningMetricsStreamId, tuple, new Values(datapoints));
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declareStream(islDiscoTopic, new Fields("key", "message"));
         declarer.declareStream(outputStreamId, new Fields("key", "message",
                 OFEMessageUtils.FIELD_SWITCH_ID, OFEMessageUtils.FIELD_PORT_ID, OFEMessageUtils.FIELD_STATE));
+        declarer.declareStream(dampeningMetricsStreamId, OpenTsdbWriterBolt.FIELDS);
+    }
+
+    /**
+     * Key of a port on the timing wheel.
+     */
+    private static final class Port {
+        private final String switchId;
+        private final int portNo;
+
+        private Port(String switchId, int portNo) {
+            this.switchId = switchId;
+            this.portNo = portNo;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            Port that = (Port) object;
+            return portNo == that.portNo && switchId.equals(that.switchId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * switchId.hashCode() + portNo;
+        }
     }
 }
@@ -68,10 +68,11 @@ public class OFEPortBolt
             String json = tuple.getString(0);
             logger.trace("json = {}", json);
 
-            Map<String, ?> data = OFEMessageUtils.getData(json);
-            String switchID = (String) data.get(OFEMessageUtils.FIELD_SWITCH_ID);
-            String portID = String.valueOf(data.get(OFEMessageUtils.FIELD_PORT_ID));
-            String updown = (String) data.get(OFEMessageUtils.FIELD_STATE);
+            String[] fields = OFEMessageUtils.getFields(json, OFEMessageUtils.FIELD_SWITCH_ID,
+                    OFEMessageUtils.FIELD_PORT_ID, OFEMessageUtils.FIELD_STATE);
+            String switchID = fields[0];
+            String portID = String.valueOf(fields[1]);
+            String updown = fields[2];
             if (switchID == null || switchID.length() == 0) {
                 logger.error("OFESwitchBolt received a null/zero switch id: {}", json);
             }
@@ -73,9 +73,10 @@ public class OFESwitchBolt extends BaseStatefulBolt<KeyValueState<String, String
     public void execute(Tuple tuple) {
         try {
             String json = tuple.getString(0);
-            Map<String, ?> data = OFEMessageUtils.getData(json);
-            String switchID = (String) data.get(OFEMessageUtils.FIELD_SWITCH_ID);
-            String updown = (String) data.get(OFEMessageUtils.FIELD_STATE);
+            String[] fields = OFEMessageUtils.getFields(json, OFEMessageUtils.FIELD_SWITCH_ID,
+                    OFEMessageUtils.FIELD_STATE);
+            String switchID = fields[0];
+            String updown = fields[1];
             if (switchID == null || switchID.length() == 0) {
                 logger.error("OFESwitchBolt received a null/zero switch id: {}", json);
             }
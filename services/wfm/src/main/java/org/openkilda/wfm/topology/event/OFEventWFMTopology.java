@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.event;
 
+import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.ServiceType;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.Topology;
@@ -62,12 +63,11 @@ public class OFEventWFMTopology extends AbstractTopology {
     private static Logger logger = LogManager.getLogger(OFEventWFMTopology.class);
 
     private String kafkaOutputTopic = DEFAULT_KAFKA_OUTPUT;
-    private String kafkaInputTopic = DEFAULT_DISCOVERY_TOPIC;
 
     /**
      * This is the primary input topics
      */
-    private String[] topics = {
+    private String[] inputTopics = {
             InfoEventSplitterBolt.I_SWITCH_UPDOWN,
             InfoEventSplitterBolt.I_PORT_UPDOWN,
             InfoEventSplitterBolt.I_ISL_UPDOWN
@@ -124,19 +124,29 @@ public class OFEventWFMTopology extends AbstractTopology {
 
         // Make sure the output and input topics exist
         checkAndCreateTopic(kafkaOutputTopic);
-        checkAndCreateTopic(kafkaInputTopic);
-        for (String topic : topics) {
+        checkAndCreateTopic(topics.getTopic(Destination.CONTROLLER));
+        for (String topic : inputTopics) {
             checkAndCreateTopic(topic);
         }
 
         BoltDeclarer kbolt = builder.setBolt(kafkaOutputTopic + "-kafkabolt",
                 createKafkaBolt(kafkaOutputTopic), parallelism);
 
+        OFELinkBolt linkBolt = (OFELinkBolt) bolts[2];
+        linkBolt.withFlapDampening(new IslFlapDampening(
+                getIntProperty(getTopologyPropertyName("islFlapSuppressThreshold"),
+                        IslFlapDampening.DEFAULT_SUPPRESS_THRESHOLD),
+                getIntProperty(getTopologyPropertyName("islFlapReuseThreshold"),
+                        IslFlapDampening.DEFAULT_REUSE_THRESHOLD),
+                getIntProperty(getTopologyPropertyName("islFlapHalfLife"), IslFlapDampening.DEFAULT_HALF_LIFE),
+                getIntProperty(getTopologyPropertyName("islFlapMaxSuppressTime"),
+                        IslFlapDampening.DEFAULT_MAX_SUPPRESS_TIME)));
+
         // tbolt will save the setBolt() results; will be useed to add switch/port to link
         BoltDeclarer[] tbolt = new BoltDeclarer[bolts.length];
 
-        for (int i = 0; i < topics.length; i++) {
-            String topic = topics[i];
+        for (int i = 0; i < inputTopics.length; i++) {
+            String topic = inputTopics[i];
             String spoutName = topic + "-spout";
             String boltName = topic + "-bolt";
 
@@ -149,13 +159,20 @@ public class OFEventWFMTopology extends AbstractTopology {
         }
 
         // now hookup switch and port to the link bolt so that it can take appropriate action
-        tbolt[2].shuffleGrouping(topics[0] + "-bolt", kafkaOutputTopic)
-                .shuffleGrouping(topics[1] + "-bolt", kafkaOutputTopic);
+        tbolt[2].shuffleGrouping(inputTopics[0] + "-bolt", kafkaOutputTopic)
+                .shuffleGrouping(inputTopics[1] + "-bolt", kafkaOutputTopic);
 
         // finally, one more bolt, to write the ISL Discovery requests
-        String discoTopic = ((OFELinkBolt) bolts[2]).islDiscoTopic;
-        builder.setBolt("ISL_Discovery-kafkabolt", createKafkaBolt(discoTopic), parallelism)
-                .shuffleGrouping(topics[2] + "-bolt", discoTopic);
+        String discoTopic = linkBolt.islDiscoTopic;
+        builder.setBolt("ISL_Discovery-kafkabolt",
+                createKafkaBolt(topics.getTopic(Destination.CONTROLLER)), parallelism)
+                .shuffleGrouping(inputTopics[2] + "-bolt", discoTopic);
+
+        // ISL flap penalties
+        if (topologyProperties.containsKey(getTopologyPropertyName(PROPERTY_OPENTSDB_URL))) {
+            builder.setBolt("opentsdb", createOpenTsdbBolt(), 1)
+                    .shuffleGrouping(inputTopics[2] + "-bolt", linkBolt.dampeningMetricsStreamId);
+        }
 
         createHealthCheckHandler(builder, ServiceType.WFM_TOPOLOGY.getId());
 
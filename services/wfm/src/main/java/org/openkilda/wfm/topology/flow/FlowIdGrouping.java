@@ -0,0 +1,83 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow;
+
+import org.openkilda.messaging.Utils;
+
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.grouping.CustomStreamGrouping;
+import org.apache.storm.task.WorkerTopologyContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Groups tuples by the flow id field, like the fields grouping, but by the known {@link #partition} function, so
+ * bolts could split requests of several flows into parts of the tasks owning the flows before they are sent.
+ */
+public class FlowIdGrouping implements CustomStreamGrouping {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Target task of each partition.
+     */
+    private List<List<Integer>> targets;
+
+    /**
+     * Flow id field index.
+     */
+    private int flowIdIndex;
+
+    /**
+     * Gets the partition of the flow. Target tasks are sorted, so the partition is the index of the task owning the
+     * flow for every source of the flow id grouped streams.
+     *
+     * @param flowId     flow id
+     * @param partitions number of target tasks
+     * @return partition index
+     */
+    public static int partition(final String flowId, final int partitions) {
+        return Math.floorMod(Objects.hashCode(flowId), partitions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepare(WorkerTopologyContext context, GlobalStreamId stream, List<Integer> targetTasks) {
+        List<Integer> tasks = new ArrayList<>(targetTasks);
+        Collections.sort(tasks);
+
+        targets = new ArrayList<>(tasks.size());
+        for (Integer task : tasks) {
+            targets.add(Collections.singletonList(task));
+        }
+        flowIdIndex = context.getComponentOutputFields(stream).fieldIndex(Utils.FLOW_ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> chooseTasks(int taskId, List<Object> values) {
+        return targets.get(partition((String) values.get(flowIdIndex), targets.size()));
+    }
+}
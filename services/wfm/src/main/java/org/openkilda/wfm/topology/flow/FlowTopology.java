@@ -15,9 +15,11 @@
 
 package org.openkilda.wfm.topology.flow;
 
+import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.ServiceType;
 import org.openkilda.messaging.Utils;
 import org.openkilda.pce.provider.NeoDriver;
+import org.openkilda.pce.provider.NetworkPathComputer;
 import org.openkilda.pce.provider.PathComputer;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.Topology;
@@ -49,29 +51,53 @@ public class FlowTopology extends AbstractTopology {
     public static final String SWITCH_ID_FIELD = "switch-id";
     public static final String STATUS_FIELD = "status";
     public static final String ERROR_TYPE_FIELD = "error-type";
+    public static final String PARTS_FIELD = "parts";
     public static final Fields fieldFlowId = new Fields(Utils.FLOW_ID);
     public static final Fields fieldSwitchId = new Fields(SWITCH_ID_FIELD);
     public static final Fields fieldsFlowIdStatus = new Fields(Utils.FLOW_ID, STATUS_FIELD);
     public static final Fields fieldsMessageFlowId = new Fields(MESSAGE_FIELD, Utils.FLOW_ID);
+    public static final Fields fieldsMessageFlowIdParts = new Fields(MESSAGE_FIELD, Utils.FLOW_ID, PARTS_FIELD);
     public static final Fields fieldsMessageErrorType = new Fields(MESSAGE_FIELD, ERROR_TYPE_FIELD);
     public static final Fields fieldsMessageSwitchIdFlowIdTransactionId =
             new Fields(MESSAGE_FIELD, SWITCH_ID_FIELD, Utils.FLOW_ID, Utils.TRANSACTION_ID);
     static final String STATE_UPDATE_TOPIC = "kilda.wfm.topo.updown";
     private static final Logger logger = LogManager.getLogger(FlowTopology.class);
-    private static final String TOPIC = "kilda-test";
     private static final String NETWORK_CACHE_TOPIC = "kilda.wfm.topo.dump";
 
+    /**
+     * Path computer property, "neo4j" runs path queries in the database, "network" computes paths in memory.
+     */
+    private static final String PROPERTY_PATH_COMPUTER = "pathComputer";
+
+    /**
+     * Max age of the in-memory path computer network snapshot in milliseconds property.
+     */
+    private static final String PROPERTY_NETWORK_MAX_AGE = "networkMaxAge";
+
+    private static final int DEFAULT_NETWORK_MAX_AGE = 1000;
+
     /**
      * Path computation instance.
      */
     private final PathComputer pathComputer;
 
+    public FlowTopology(File file) {
+        this(file, null);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param file         topology properties file
+     * @param pathComputer {@link PathComputer} instance, null to create the one chosen by the topology properties
+     */
     public FlowTopology(File file, PathComputer pathComputer) {
         super(file);
-        this.pathComputer = pathComputer;
+        this.pathComputer = pathComputer != null ? pathComputer : createPathComputer();
 
-        logger.debug("Topology built {}: zookeeper={}, kafka={}, parallelism={}, workers={}",
-                topologyName, zookeeperHosts, kafkaHosts, parallelism, workers);
+        logger.debug("Topology built {}: zookeeper={}, kafka={}, parallelism={}, workers={}, path-computer={}",
+                topologyName, zookeeperHosts, kafkaHosts, parallelism, workers,
+                this.pathComputer.getClass().getSimpleName());
     }
 
     /**
@@ -84,7 +110,7 @@ public class FlowTopology extends AbstractTopology {
 
         if (args != null && args.length > 0) {
             File file = new File(args[1]);
-            final FlowTopology flowTopology = new FlowTopology(file, new NeoDriver());
+            final FlowTopology flowTopology = new FlowTopology(file);
             StormTopology stormTopology = flowTopology.createTopology();
             final Config config = new Config();
             config.setNumWorkers(flowTopology.workers);
@@ -96,7 +122,7 @@ public class FlowTopology extends AbstractTopology {
             StormSubmitter.submitTopology(args[0], config, stormTopology);
         } else {
             File file = new File(FlowTopology.class.getResource(Topology.TOPOLOGY_PROPERTIES).getFile());
-            final FlowTopology flowTopology = new FlowTopology(file, new NeoDriver());
+            final FlowTopology flowTopology = new FlowTopology(file);
             StormTopology stormTopology = flowTopology.createTopology();
             final Config config = new Config();
             config.setNumWorkers(flowTopology.workers);
@@ -115,6 +141,24 @@ public class FlowTopology extends AbstractTopology {
         }
     }
 
+    /**
+     * Creates the path computer chosen by the topology properties, Neo4j path queries are used by default.
+     *
+     * @return {@link PathComputer} instance
+     */
+    private PathComputer createPathComputer() {
+        String type = topologyProperties.getProperty(getTopologyPropertyName(PROPERTY_PATH_COMPUTER), "neo4j");
+        switch (type.trim()) {
+            case "neo4j":
+                return new NeoDriver();
+            case "network":
+                return new NetworkPathComputer(NetworkPathComputer.WeightStrategy.HOPS, new NeoDriver(),
+                        getIntProperty(getTopologyPropertyName(PROPERTY_NETWORK_MAX_AGE), DEFAULT_NETWORK_MAX_AGE));
+            default:
+                throw new IllegalArgumentException(String.format("Unknown path computer %s", type));
+        }
+    }
+
     @Override
     public StormTopology createTopology() {
         logger.info("Creating Topology: {}", topologyName);
@@ -122,6 +166,8 @@ public class FlowTopology extends AbstractTopology {
         TopologyBuilder builder = new TopologyBuilder();
 
         checkAndCreateTopic(NETWORK_CACHE_TOPIC);
+        checkAndCreateTopic(topics.getTopic(Destination.WFM));
+        checkAndCreateTopic(topics.getTopic(Destination.WFM_TRANSACTION));
 
         /*
          * Spout receives network cache dump.
@@ -132,7 +178,8 @@ public class FlowTopology extends AbstractTopology {
         /*
          * Spout receives all Northbound requests.
          */
-        KafkaSpout northboundKafkaSpout = createKafkaSpout(TOPIC, ComponentType.NORTHBOUND_KAFKA_SPOUT.toString());
+        KafkaSpout northboundKafkaSpout = createKafkaSpout(topics.getTopic(Destination.WFM),
+                ComponentType.NORTHBOUND_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), northboundKafkaSpout, parallelism);
 
         /*
@@ -146,21 +193,24 @@ public class FlowTopology extends AbstractTopology {
 
         /*
          * Bolt handles flow CRUD operations.
-         * It groups requests by flow-id.
+         * It groups requests by flow-id, the splitter knows the task owning the flow by the grouping.
+         * Dump requests are sent to all tasks, each task answers with a part of the page.
          */
         CrudBolt crudBolt = new CrudBolt(pathComputer);
         builder.setBolt(ComponentType.CRUD_BOLT.toString(), crudBolt, parallelism)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.READ.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.UPDATE.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DELETE.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.PATH.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.RESTORE.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
-                .fieldsGrouping(ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId);
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CREATE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.BATCH_CREATE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.READ.toString(), new FlowIdGrouping())
+                .allGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DUMP.toString())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.UPDATE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DELETE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.PATH.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.RESTORE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.STATUS.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.STATUS.toString(), new FlowIdGrouping())
+                .customGrouping(ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.STATUS.toString(), new FlowIdGrouping());
 
         /*
          * Bolt sends cache updates.
@@ -175,7 +225,8 @@ public class FlowTopology extends AbstractTopology {
         /*
          * Spout receives Topology Engine response
          */
-        KafkaSpout topologyKafkaSpout = createKafkaSpout(TOPIC, ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString());
+        KafkaSpout topologyKafkaSpout = createKafkaSpout(topics.getTopic(Destination.WFM),
+                ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString(), topologyKafkaSpout, parallelism);
 
         /*
@@ -188,7 +239,7 @@ public class FlowTopology extends AbstractTopology {
         /*
          * Bolt sends Speaker requests
          */
-        KafkaBolt speakerKafkaBolt = createKafkaBolt(TOPIC);
+        KafkaBolt speakerKafkaBolt = createKafkaBolt(topics.getTopic(Destination.CONTROLLER));
         builder.setBolt(ComponentType.SPEAKER_KAFKA_BOLT.toString(), speakerKafkaBolt, parallelism)
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.CREATE.toString())
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.DELETE.toString());
@@ -196,7 +247,8 @@ public class FlowTopology extends AbstractTopology {
         /*
          * Spout receives Speaker responses
          */
-        KafkaSpout speakerKafkaSpout = createKafkaSpout(TOPIC, ComponentType.SPEAKER_KAFKA_SPOUT.toString());
+        KafkaSpout speakerKafkaSpout = createKafkaSpout(topics.getTopic(Destination.WFM_TRANSACTION),
+                ComponentType.SPEAKER_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.SPEAKER_KAFKA_SPOUT.toString(), speakerKafkaSpout, parallelism);
 
         /*
@@ -235,7 +287,7 @@ public class FlowTopology extends AbstractTopology {
         /*
          * Bolt sends Northbound responses
          */
-        KafkaBolt northboundKafkaBolt = createKafkaBolt(TOPIC);
+        KafkaBolt northboundKafkaBolt = createKafkaBolt(topics.getTopic(Destination.NORTHBOUND));
         builder.setBolt(ComponentType.NORTHBOUND_KAFKA_BOLT.toString(), northboundKafkaBolt, parallelism)
                 .shuffleGrouping(ComponentType.NORTHBOUND_REPLY_BOLT.toString(), StreamType.RESPONSE.toString());
 
@@ -24,11 +24,21 @@ public enum StreamType {
      */
     CREATE,
 
+    /**
+     * Create flows batch topology stream.
+     */
+    BATCH_CREATE,
+
     /**
      * Get flow(s) topology stream.
      */
     READ,
 
+    /**
+     * Dump flows topology stream, sent to every flow CRUD task.
+     */
+    DUMP,
+
     /**
      * Update flow topology stream.
      */
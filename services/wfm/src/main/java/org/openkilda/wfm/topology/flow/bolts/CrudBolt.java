@@ -24,6 +24,8 @@ import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowRestoreRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsGetRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.error.CacheException;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
@@ -36,9 +38,11 @@ import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.cache.FlowCache;
@@ -60,8 +64,12 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, FlowCache>> {
@@ -75,6 +83,11 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
      */
     private static final String FLOW_CACHE = "flow";
 
+    /**
+     * Flows dump page size, used if the request does not limit it and as the upper bound of the requested one.
+     */
+    private static final int DUMP_PAGE_SIZE = 500;
+
     /**
      * Path computation instance.
      */
@@ -95,6 +108,11 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
      */
     private FlowCache flowCache;
 
+    /**
+     * Number of the bolt tasks, each of them answers dump requests with a part of the page.
+     */
+    private int dumpParts;
+
     /**
      * Instance constructor.
      *
@@ -139,6 +157,7 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.outputCollector = outputCollector;
+        this.dumpParts = topologyContext.getComponentTasks(topologyContext.getThisComponentId()).size();
     }
 
     /**
@@ -169,6 +188,9 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
                         case CREATE:
                             handleCreateRequest(message, tuple);
                             break;
+                        case BATCH_CREATE:
+                            handleBatchCreateRequest(message, tuple);
+                            break;
                         case UPDATE:
                             handleUpdateRequest(message, tuple);
                             break;
@@ -188,11 +210,10 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
                             handleStatusRequest(flowId, message, tuple);
                             break;
                         case READ:
-                            if (flowId != null) {
-                                handleReadRequest(flowId, message, tuple);
-                            } else {
-                                handleDumpRequest(message, tuple);
-                            }
+                            handleReadRequest(flowId, message, tuple);
+                            break;
+                        case DUMP:
+                            handleDumpRequest(message, tuple);
                             break;
                         default:
                             logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
@@ -296,6 +317,79 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
+    /**
+     * Creates flows of a batch request. The splitter sends each task one part of a northbound batch with the flows
+     * the task owns, paths of the part are computed on one topology snapshot and resources are allocated in bulk.
+     * Flows which could not be created are reported in the response and do not fail the rest of the part, the part
+     * is responded separately with the number of parts of the batch.
+     */
+    private void handleBatchCreateRequest(CommandMessage message, Tuple tuple) throws IOException {
+        List<Flow> requestedFlows = ((FlowsCreateRequest) message.getData()).getPayload();
+        FlowBatchStatusPayload[] statuses = new FlowBatchStatusPayload[requestedFlows.size()];
+
+        Set<String> flowIds = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requestedFlows.size(); i++) {
+            String flowId = requestedFlows.get(i).getFlowId();
+            if (!flowIds.add(flowId) || flowCache.cacheContainsFlow(flowId)) {
+                statuses[i] = FlowBatchStatusPayload.rejected(flowId, ErrorType.ALREADY_EXISTS,
+                        String.format("Flow %s already exists", flowId));
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        List<ImmutablePair<PathInfoData, PathInfoData>> paths = pathComputer.getPaths(
+                candidates.stream().map(requestedFlows::get).collect(Collectors.toList()));
+        logger.info("Created flows paths: {}", paths);
+
+        List<Integer> routed = new ArrayList<>();
+        List<Flow> routedFlows = new ArrayList<>();
+        List<ImmutablePair<PathInfoData, PathInfoData>> routedPaths = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Flow requestedFlow = requestedFlows.get(candidates.get(i));
+            ImmutablePair<PathInfoData, PathInfoData> path = paths.get(i);
+            if (!flowCache.isOneSwitchFlow(requestedFlow) && pathComputer.isEmpty(path)) {
+                statuses[candidates.get(i)] = FlowBatchStatusPayload.rejected(requestedFlow.getFlowId(),
+                        ErrorType.CREATION_FAILURE, "Path was not found");
+            } else {
+                routed.add(candidates.get(i));
+                routedFlows.add(requestedFlow);
+                routedPaths.add(path);
+            }
+        }
+
+        if (!routedFlows.isEmpty()) {
+            try {
+                List<ImmutablePair<Flow, Flow>> flows = flowCache.createFlows(routedFlows, routedPaths);
+                logger.info("Created flows: {}", flows);
+
+                for (int i = 0; i < flows.size(); i++) {
+                    ImmutablePair<Flow, Flow> flow = flows.get(i);
+                    String flowId = flow.getLeft().getFlowId();
+
+                    Values topology = new Values(Utils.MAPPER.writeValueAsString(
+                            new FlowInfoData(flowId, flow, FlowOperation.CREATE, message.getCorrelationId())));
+                    outputCollector.emit(StreamType.CREATE.toString(), tuple, topology);
+
+                    statuses[routed.get(i)] = FlowBatchStatusPayload.accepted(flowId, flow.getLeft().getState());
+                }
+            } catch (CacheException exception) {
+                logger.error("Could not create flows batch: {}", exception.getErrorDescription());
+
+                for (int index : routed) {
+                    statuses[index] = FlowBatchStatusPayload.rejected(requestedFlows.get(index).getFlowId(),
+                            exception.getErrorType(), exception.getErrorDescription());
+                }
+            }
+        }
+
+        int parts = tuple.getIntegerByField(FlowTopology.PARTS_FIELD);
+        Values northbound = new Values(new InfoMessage(new FlowsCreateResponse(Arrays.asList(statuses), parts),
+                message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND));
+        outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
+    }
+
     private void handleRerouteRequest(CommandMessage message, Tuple tuple) throws IOException {
         FlowRerouteRequest request = (FlowRerouteRequest) message.getData();
         Flow requestedFlow = request.getPayload();
@@ -398,11 +492,22 @@ public class CrudBolt extends BaseStatefulBolt<InMemoryKeyValueState<String, Flo
     }
 
     private void handleDumpRequest(CommandMessage message, Tuple tuple) {
-        List<Flow> flows = flowCache.dumpFlows().stream().map(this::buildFlowResponse).collect(Collectors.toList());
+        FlowsGetRequest request = (FlowsGetRequest) message.getData();
+        int limit = request.getLimit() == null
+                ? DUMP_PAGE_SIZE : Math.max(1, Math.min(request.getLimit(), DUMP_PAGE_SIZE));
+
+        // one more flow is read to find out whether the page is the last one
+        List<Flow> flows = flowCache.dumpFlows(request.getCursor(), limit + 1).stream()
+                .map(this::buildFlowResponse).collect(Collectors.toCollection(ArrayList::new));
+        String cursor = null;
+        if (flows.size() > limit) {
+            flows.remove(limit);
+            cursor = flows.get(limit - 1).getFlowId();
+        }
 
-        logger.info("Dump flows: {}", flows);
+        logger.info("Dump flows: cursor={}, next={}, count={}", request.getCursor(), cursor, flows.size());
 
-        Values northbound = new Values(new InfoMessage(new FlowsResponse(flows),
+        Values northbound = new Values(new InfoMessage(new FlowsResponse(flows, cursor, dumpParts),
                 message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND));
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
@@ -15,8 +15,6 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
@@ -24,7 +22,6 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
 import org.openkilda.wfm.topology.flow.StreamType;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.storm.task.OutputCollector;
@@ -72,7 +69,7 @@ public class NorthboundReplyBolt extends BaseRichBolt {
                             Utils.CORRELATION_ID, message.getCorrelationId(), componentId, streamId, message);
 
                     message.setDestination(Destination.NORTHBOUND);
-                    values = new Values(MAPPER.writeValueAsString(message));
+                    values = new Values(message);
                     outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
 
                     break;
@@ -82,9 +79,6 @@ public class NorthboundReplyBolt extends BaseRichBolt {
                             Utils.CORRELATION_ID, message.getCorrelationId(), componentId, streamId, message);
                     break;
             }
-        } catch (JsonProcessingException exception) {
-            logger.error("Could not serialize message: component={}, stream={}, message={}",
-                    componentId, streamId, message);
         } finally {
             logger.debug("Northbound-Reply message ack: component={}, stream={}, tuple={}, values={}",
                     tuple.getSourceComponent(), tuple.getSourceStreamId(), tuple, values);
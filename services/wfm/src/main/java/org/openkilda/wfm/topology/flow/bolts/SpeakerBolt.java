@@ -19,10 +19,14 @@ import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.BatchFlows;
+import org.openkilda.messaging.command.flow.BatchRemoveFlows;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.payload.flow.FlowState;
@@ -39,6 +43,8 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -60,14 +66,14 @@ public class SpeakerBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         Values values = null;
 
         try {
-            Message message = MAPPER.readValue(request, Message.class);
-            if (!Destination.WFM_TRANSACTION.equals(message.getDestination())) {
+            if (!MessageHeader.peek(request).isAddressedTo(Destination.WFM_TRANSACTION)) {
                 return;
             }
+            Message message = MessageFormat.toMessage(request);
             logger.debug("Request tuple={}", tuple);
 
             if (message instanceof CommandMessage) {
@@ -99,6 +105,21 @@ public class SpeakerBolt extends BaseRichBolt {
                     values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
                     outputCollector.emit(StreamType.DELETE.toString(), tuple, values);
 
+                } else if (data instanceof BatchFlows) {
+                    BatchFlows<?> batch = (BatchFlows<?>) data;
+                    Long transactionId = batch.getTransactionId();
+                    String switchId = batch.getSwitchId();
+                    List<String> flowIds = new ArrayList<>(batch.getFlowIds());
+
+                    logger.debug("Flow rules batch message: {}={}, switch-id={}, flow-ids={}, {}={}, message={}",
+                            Utils.CORRELATION_ID, message.getCorrelationId(), switchId,
+                            flowIds, Utils.TRANSACTION_ID, transactionId, request);
+
+                    StreamType stream = data instanceof BatchRemoveFlows ? StreamType.DELETE : StreamType.CREATE;
+                    message.setDestination(Destination.TOPOLOGY_ENGINE);
+                    values = new Values(MAPPER.writeValueAsString(message), switchId, flowIds, transactionId);
+                    outputCollector.emit(stream.toString(), tuple, values);
+
                 } else {
                     logger.debug("Skip undefined command message: {}={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), request);
@@ -15,11 +15,12 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
@@ -30,10 +31,14 @@ import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowRestoreRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.command.flow.FlowsGetRequest;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.FlowIdGrouping;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
 
@@ -47,6 +52,9 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -63,19 +71,24 @@ public class SplitterBolt extends BaseRichBolt {
      */
     private OutputCollector outputCollector;
 
+    /**
+     * Number of flow CRUD tasks.
+     */
+    private int crudTasks;
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         Values values = new Values(request);
 
         try {
-            Message message = MAPPER.readValue(request, Message.class);
-            if (!Destination.WFM.equals(message.getDestination()) || !(message instanceof CommandMessage)) {
+            if (!MessageHeader.peek(request).isAddressedTo(Destination.WFM, MessageType.COMMAND)) {
                 return;
             }
+            Message message = MessageFormat.toMessage(request);
             logger.debug("Request tuple={}", tuple);
             CommandData data = ((CommandMessage) message).getData();
 
@@ -87,6 +100,24 @@ public class SplitterBolt extends BaseRichBolt {
                 values = new Values(message, flowId);
                 outputCollector.emit(StreamType.CREATE.toString(), tuple, values);
 
+            } else if (data instanceof FlowsCreateRequest) {
+                List<Flow> flows = ((FlowsCreateRequest) data).getPayload();
+
+                logger.info("Flows create message: count={}, values={}", flows.size(), values);
+
+                // each task gets one part with the flows it owns, any flow id of the part routes it to the task
+                Map<Integer, List<Flow>> parts = new LinkedHashMap<>();
+                for (Flow flow : flows) {
+                    parts.computeIfAbsent(FlowIdGrouping.partition(flow.getFlowId(), crudTasks),
+                            partition -> new ArrayList<>()).add(flow);
+                }
+                for (List<Flow> part : parts.values()) {
+                    CommandMessage partMessage = new CommandMessage(new FlowsCreateRequest(part),
+                            message.getTimestamp(), message.getCorrelationId(), message.getDestination());
+                    values = new Values(partMessage, part.get(0).getFlowId(), parts.size());
+                    outputCollector.emit(StreamType.BATCH_CREATE.toString(), tuple, values);
+                }
+
             } else if (data instanceof FlowDeleteRequest) {
                 String flowId = ((FlowDeleteRequest) data).getPayload().getFlowId();
 
@@ -138,8 +169,9 @@ public class SplitterBolt extends BaseRichBolt {
             } else if (data instanceof FlowsGetRequest) {
                 logger.info("Flows get message: values={}", values);
 
+                // every task dumps the flows it owns
                 values = new Values(message, null);
-                outputCollector.emit(StreamType.READ.toString(), tuple, values);
+                outputCollector.emit(StreamType.DUMP.toString(), tuple, values);
 
             } else if (data instanceof FlowPathRequest) {
                 String flowId = ((FlowPathRequest) data).getPayload().getId();
@@ -178,7 +210,9 @@ public class SplitterBolt extends BaseRichBolt {
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
         outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.BATCH_CREATE.toString(), FlowTopology.fieldsMessageFlowIdParts);
         outputFieldsDeclarer.declareStream(StreamType.READ.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.DUMP.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.UPDATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.PATH.toString(), FlowTopology.fieldsMessageFlowId);
@@ -194,5 +228,6 @@ public class SplitterBolt extends BaseRichBolt {
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.outputCollector = outputCollector;
+        this.crudTasks = topologyContext.getComponentTasks(ComponentType.CRUD_BOLT.toString()).size();
     }
 }
@@ -32,6 +32,8 @@ import org.apache.storm.topology.base.BaseStatefulBolt;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -63,7 +65,7 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
         StreamType streamId = StreamType.valueOf(tuple.getSourceStreamId());
         Long transactionId = (Long) tuple.getValueByField(Utils.TRANSACTION_ID);
         String switchId = (String) tuple.getValueByField(FlowTopology.SWITCH_ID_FIELD);
-        String flowId = (String) tuple.getValueByField(Utils.FLOW_ID);
+        Collection<String> flowIds = flowIds(tuple.getValueByField(Utils.FLOW_ID));
         Object message = tuple.getValueByField(FlowTopology.MESSAGE_FIELD);
         Map<String, Set<Long>> flowTransactions;
         Set<Long> flowTransactionIds;
@@ -76,7 +78,7 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
 
                 case TOPOLOGY_ENGINE_BOLT:
                     logger.info("Transaction from TopologyEngine: switch-id={}, {}={}, {}={}",
-                            switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
+                            switchId, Utils.FLOW_ID, flowIds, Utils.TRANSACTION_ID, transactionId);
 
                     flowTransactions = transactions.get(switchId);
                     if (flowTransactions == null) {
@@ -84,22 +86,26 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
                         transactions.put(switchId, flowTransactions);
                     }
 
-                    flowTransactionIds = flowTransactions.get(flowId);
-                    if (flowTransactionIds == null) {
-                        flowTransactionIds = new ConcurrentHashSet<>();
-                        flowTransactions.put(flowId, flowTransactionIds);
-                    }
+                    for (String flowId : flowIds) {
+                        flowTransactionIds = flowTransactions.get(flowId);
+                        if (flowTransactionIds == null) {
+                            flowTransactionIds = new ConcurrentHashSet<>();
+                            flowTransactions.put(flowId, flowTransactionIds);
+                        }
 
-                    if (!flowTransactionIds.add(transactionId)) {
-                        throw new RuntimeException(
-                                String.format("Transaction adding failure: id %d already exists", transactionId));
+                        if (!flowTransactionIds.add(transactionId)) {
+                            throw new RuntimeException(
+                                    String.format("Transaction adding failure: id %d already exists", transactionId));
+                        }
                     }
 
-                    logger.info("Set status {}: switch-id={}, {}={}, {}={}", FlowState.IN_PROGRESS,
-                            switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
+                    for (String flowId : flowIds) {
+                        logger.info("Set status {}: switch-id={}, {}={}, {}={}", FlowState.IN_PROGRESS,
+                                switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
 
-                    values = new Values(flowId, FlowState.IN_PROGRESS);
-                    outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+                        values = new Values(flowId, FlowState.IN_PROGRESS);
+                        outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+                    }
 
                     values = new Values(message);
                     outputCollector.emit(streamId.toString(), tuple, values);
@@ -107,30 +113,36 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
 
                 case SPEAKER_BOLT:
                     logger.info("Transaction from Speaker: switch-id={}, {}={}, {}={}",
-                            switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
+                            switchId, Utils.FLOW_ID, flowIds, Utils.TRANSACTION_ID, transactionId);
 
                     flowTransactions = transactions.get(switchId);
                     if (flowTransactions != null) {
 
-                        flowTransactionIds = flowTransactions.get(flowId);
-                        if (flowTransactionIds != null) {
+                        for (String flowId : flowIds) {
+                            flowTransactionIds = flowTransactions.get(flowId);
+                            if (flowTransactionIds != null) {
 
-                            if (flowTransactionIds.remove(transactionId)) {
+                                if (flowTransactionIds.remove(transactionId)) {
 
-                                if (flowTransactionIds.isEmpty()) {
-                                    logger.info("Set status {}: switch-id={}, {}={}, {}={}", FlowState.UP,
-                                            switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
+                                    if (flowTransactionIds.isEmpty()) {
+                                        logger.info("Set status {}: switch-id={}, {}={}, {}={}", FlowState.UP,
+                                                switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID,
+                                                transactionId);
 
-                                    values = new Values(flowId, FlowState.UP);
-                                    outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+                                        values = new Values(flowId, FlowState.UP);
+                                        outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
 
-                                    flowTransactions.remove(flowId);
+                                        flowTransactions.remove(flowId);
+                                    }
+                                } else {
+                                    logger.warn("Transaction removing: transaction id not found");
                                 }
                             } else {
-                                logger.warn("Transaction removing: transaction id not found");
+                                logger.warn("Transaction removing failure: flow id not found");
                             }
-                        } else {
-                            logger.warn("Transaction removing failure: flow id not found");
+                        }
+                        if (isBatch(tuple.getValueByField(Utils.FLOW_ID))) {
+                            release(flowTransactions, transactionId);
                         }
                         if (flowTransactions.isEmpty()) {
                             transactions.delete(switchId);
@@ -146,10 +158,12 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
             }
         } catch (RuntimeException exception) {
             logger.error("Set status {}: switch-id={}, {}={}, {}={}",
-                    FlowState.DOWN, switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, exception);
+                    FlowState.DOWN, switchId, Utils.FLOW_ID, flowIds, Utils.TRANSACTION_ID, transactionId, exception);
 
-            values = new Values(flowId, FlowState.DOWN);
-            outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+            for (String flowId : flowIds) {
+                values = new Values(flowId, FlowState.DOWN);
+                outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+            }
 
         } finally {
             logger.debug("Transaction message ack: component={}, stream={}, tuple={}, values={}",
@@ -161,6 +175,47 @@ public class TransactionBolt extends BaseStatefulBolt<InMemoryKeyValueState<Stri
         logger.trace("States after: {}", transactions);
     }
 
+    /**
+     * Returns flow ids of the transaction. Rules batch transactions carry ids of all flows of the batch, the flow
+     * is tracked until transactions of all its rules are complete.
+     *
+     * @param value flow id field value
+     * @return flow ids
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<String> flowIds(Object value) {
+        return isBatch(value) ? (Collection<String>) value : Collections.singletonList((String) value);
+    }
+
+    /**
+     * Checks whether the transaction is a rules batch one.
+     *
+     * @param value flow id field value
+     * @return true if the transaction carries rules of several flows
+     */
+    private static boolean isBatch(Object value) {
+        return value instanceof Collection;
+    }
+
+    /**
+     * Releases the complete batch transaction of the flows missing from its confirmation. The speaker confirms
+     * a batch with the rules it has applied only, rules which failed or timed out are reported by the errors and
+     * the flows go down, so their transaction would never complete otherwise and would keep them in progress
+     * on the next install.
+     *
+     * @param flowTransactions transactions of the switch flows
+     * @param transactionId    complete transaction id
+     */
+    private static void release(Map<String, Set<Long>> flowTransactions, Long transactionId) {
+        for (Map.Entry<String, Set<Long>> entry : flowTransactions.entrySet()) {
+            if (entry.getValue().remove(transactionId)) {
+                logger.info("Transaction released: {}={}, {}={}",
+                        Utils.FLOW_ID, entry.getKey(), Utils.TRANSACTION_ID, transactionId);
+            }
+        }
+        flowTransactions.values().removeIf(Set::isEmpty);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -40,7 +40,6 @@ public class IslStatsTopology extends AbstractTopology {
     private final String topoName = "IslStatsTopology";
     private final int parallelism = 1;
 
-    private final String topic = "kilda-test";
     public static final String SPOUT_NAME = "islstats-spout";
 
     public IslStatsTopology(File file) {
@@ -84,6 +83,7 @@ public class IslStatsTopology extends AbstractTopology {
 
         TopologyBuilder builder = new TopologyBuilder();
 
+        String topic = topics.getEventsTopic();
         checkAndCreateTopic(topic);
 
         logger.debug("connecting to " + topic + " topic");
@@ -26,7 +26,9 @@ import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -71,12 +73,12 @@ public class IslStatsBolt extends BaseRichBolt {
         return tsdbTuple("pen.isl.latency", timestamp, data.getLatency(), tags);
     }
 
-    public String getJson(Tuple tuple) {
-        return tuple.getString(0);
+    public Object getValue(Tuple tuple) {
+        return tuple.getValue(0);
     }
 
-    public Message getMessage(String json) throws IOException {
-        return Utils.MAPPER.readValue(json, Message.class);
+    public Message getMessage(Object value) throws IOException {
+        return MessageFormat.toMessage(value);
     }
 
     public InfoData getInfoData(Message message) throws Exception {
@@ -97,15 +99,18 @@ public class IslStatsBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("tuple: " + tuple);
-        String json = getJson(tuple);
+        Object value = getValue(tuple);
         try {
-            Message message = getMessage(json);
+            if (MessageHeader.peek(value).getType() != MessageType.INFO) {
+                return;
+            }
+            Message message = getMessage(value);
             IslInfoData data = getIslInfoData(getInfoData(message));
             List<Object> results = buildTsdbTuple(data, message.getTimestamp());
             logger.debug("emit: " + results);
-            collector.emit(results);
+            collector.emit(tuple, results);
         } catch(IOException e) {
-            logger.error("Could not deserialize message={}", json, e);
+            logger.error("Could not deserialize message={}", value, e);
         } catch(Exception e) {
             // TODO: has to be a cleaner way to do this?
         } finally {
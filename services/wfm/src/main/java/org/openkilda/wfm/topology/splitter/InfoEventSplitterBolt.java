@@ -17,8 +17,9 @@ package org.openkilda.wfm.topology.splitter;
 
 import static org.openkilda.messaging.Utils.PAYLOAD;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openkilda.messaging.codec.JsonCodecs;
+import org.openkilda.wfm.OFEMessageUtils;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.storm.task.OutputCollector;
@@ -57,6 +58,7 @@ public class InfoEventSplitterBolt extends BaseRichBolt {
             I_PORT, I_PORT_UPDOWN, I_PORT_OTHER,
             I_ISL, I_ISL_UPDOWN, I_ISL_OTHER
     };
+    private static final String MESSAGE_TYPE = "message_type";
     private static Logger logger = LogManager.getLogger(InfoEventSplitterBolt.class);
     OutputCollector _collector;
 
@@ -68,12 +70,13 @@ public class InfoEventSplitterBolt extends BaseRichBolt {
     /**
      * The data field holds the "message_type" and "state" fields.
      *
-     * @param root the "payload" field of an "INFO" message
+     * @param json the "payload" field of an "INFO" message, passed through as is
      */
-    private void splitInfoMessage(Map<String, ?> root, Tuple tuple) throws JsonProcessingException {
-        Values dataVal = new Values(PAYLOAD, new ObjectMapper().writeValueAsString(root));
-        String key = ((String) root.get("message_type")).toLowerCase();
-        String state = (String) root.get("state");
+    private void splitInfoMessage(String json, Tuple tuple) throws IOException {
+        Values dataVal = new Values(PAYLOAD, json);
+        String[] fields = JsonCodecs.readFields(json, MESSAGE_TYPE, OFEMessageUtils.FIELD_STATE);
+        String key = fields[0] == null ? "" : fields[0].toLowerCase();
+        String state = String.valueOf(fields[1]);
         switch (key) {
             case "switch":
                 _collector.emit(I_SWITCH, tuple, dataVal);
@@ -99,7 +102,7 @@ public class InfoEventSplitterBolt extends BaseRichBolt {
             case "isl":
                 _collector.emit(I_ISL, tuple, dataVal);
                 logger.debug("EMIT {} : {}", I_ISL, dataVal);
-                if (state != null && (state.equals("DISCOVERED") || state.equals("FAILED"))) {
+                if (state.equals("DISCOVERED") || state.equals("FAILED")) {
                     _collector.emit(I_ISL_UPDOWN, tuple, dataVal);
                 } else {
                     _collector.emit(I_ISL_OTHER, tuple, dataVal);
@@ -108,20 +111,17 @@ public class InfoEventSplitterBolt extends BaseRichBolt {
             default:
                 // NB: we'll push the original message onto the CONFUSED channel
                 _collector.emit(I_OTHER, tuple, dataVal);
-                logger.warn("Unknown INFO Message Type: {}\nJSON:{}", key, root);
+                logger.warn("Unknown INFO Message Type: {}\nJSON:{}", key, json);
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void execute(Tuple tuple) {
         String json = tuple.getStringByField("message");
         logger.info("Processing INFO message: {}", json);
 
-        Map<String, ?> root = null;
         try {
-            root = (Map<String, ?>) new ObjectMapper().readValue(json, Map.class);
-            splitInfoMessage(root, tuple);
+            splitInfoMessage(json, tuple);
         } catch (IOException e) {
             logger.error("IOException processing an INFO message: {}, error: {} ", json,
                     e.getMessage());
@@ -18,8 +18,12 @@ package org.openkilda.wfm.topology.splitter;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 
 import org.openkilda.messaging.Destination;
-import org.openkilda.messaging.Utils;
-import org.openkilda.wfm.OFEMessageUtils;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
+import org.openkilda.messaging.codec.JsonCodecs;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.info.InfoMessage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -54,32 +58,24 @@ public class OFEventSplitterBolt extends BaseRichBolt {
 
     @Override
     public void execute(Tuple tuple) {
-        String json = tuple.getString(0);
+        Object value = tuple.getValue(0);
         try {
-            Map<String, ?> root = OFEMessageUtils.fromJson(json);
-            String type = ((String) root.get("type")).toLowerCase();
-            Map<String, ?> data = (Map<String, ?>) root.get(PAYLOAD);
-            logger.info("SPLITTER data");
-            String destination = (String) root.get(Utils.DESTINATION);
-            logger.info("SPLITTER destination: {}", destination);
-            if (!Destination.TOPOLOGY_ENGINE.toString().equals(destination)) {
-                // TODO: data should be converted back to json string .. or use json serializer
-                Values dataVal = new Values(PAYLOAD, OFEMessageUtils.toJson(data));
-                switch (type) {
-                    case JSON_INFO:
-                        _collector.emit(INFO, tuple, dataVal);
-                        break;
-                    case JSON_COMMAND:
-                        _collector.emit(COMMAND, tuple, dataVal);
-                        break;
-                    default:
-                        // NB: we'll push the original message onto the CONFUSED channel
-                        _collector.emit(OTHER, tuple, new Values(PAYLOAD, json));
-                        logger.warn("WARNING: Unknown Message Type: " + type);
+            MessageHeader header = MessageHeader.peek(value);
+            logger.debug("SPLITTER header: {}", header);
+            if (!header.isAddressedTo(Destination.TOPOLOGY_ENGINE)) {
+                MessageType type = header.getType();
+                if (type == MessageType.INFO) {
+                    _collector.emit(INFO, tuple, new Values(PAYLOAD, getPayload(value)));
+                } else if (type == MessageType.COMMAND) {
+                    _collector.emit(COMMAND, tuple, new Values(PAYLOAD, getPayload(value)));
+                } else {
+                    // NB: we'll push the original message onto the CONFUSED channel
+                    _collector.emit(OTHER, tuple, new Values(PAYLOAD, toJson(value)));
+                    logger.warn("WARNING: Unknown Message Type: " + type);
                 }
             }
         } catch (IOException e) {
-            logger.warn("EXCEPTION during JSON parsing: {}, error: {}", json, e.getMessage());
+            logger.warn("EXCEPTION during JSON parsing: {}, error: {}", value, e.getMessage());
             e.printStackTrace();
         } finally {
             // Regardless of whether we have errors, we don't want to reprocess for now, so send ack
@@ -87,6 +83,26 @@ public class OFEventSplitterBolt extends BaseRichBolt {
         }
     }
 
+    /**
+     * Gets the payload json of an info or command message. Json text payload is passed through as is, without binding
+     * and serializing it again, payload of a bound message is written once.
+     */
+    private static String getPayload(Object value) throws IOException {
+        if (value instanceof InfoMessage) {
+            return JsonCodecs.INFO_DATA_WRITER.writeValueAsString(((InfoMessage) value).getData());
+        } else if (value instanceof CommandMessage) {
+            return JsonCodecs.COMMAND_DATA_WRITER.writeValueAsString(((CommandMessage) value).getData());
+        }
+        return JsonCodecs.readRawField(value.toString(), PAYLOAD);
+    }
+
+    private static String toJson(Object value) throws IOException {
+        if (value instanceof Message) {
+            return JsonCodecs.MESSAGE_WRITER.writeValueAsString(value);
+        }
+        return value.toString();
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declareStream(INFO, new Fields("key", "message"));
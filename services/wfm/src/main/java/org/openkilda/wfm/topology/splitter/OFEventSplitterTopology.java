@@ -44,10 +44,11 @@ public class OFEventSplitterTopology extends AbstractTopology {
 
     private static Logger logger = LogManager.getLogger(OFEventSplitterTopology.class);
 
-    public String topic = "kilda-test";
+    public final String topic;
 
     public OFEventSplitterTopology(File file) {
         super(file);
+        topic = topics.getEventsTopic();
     }
 
     //Entry point for the topology
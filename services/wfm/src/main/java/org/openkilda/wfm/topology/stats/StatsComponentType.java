@@ -20,6 +20,7 @@ package org.openkilda.wfm.topology.stats;
  */
 public enum StatsComponentType {
     STATS_OFS_KAFKA_SPOUT,
+    STATS_EVENTS_KAFKA_SPOUT,
     STATS_OFS_BOLT,
     PORT_STATS_METRIC_GEN,
     METER_CFG_STATS_METRIC_GEN,
@@ -22,5 +22,6 @@ public enum StatsStreamType {
     PORT_STATS,
     METER_CONFIG_STATS,
     FLOW_STATS,
+    ISL_INFO,
     STATS_RESPONSE
 }
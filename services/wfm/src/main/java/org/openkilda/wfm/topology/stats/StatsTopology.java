@@ -18,7 +18,9 @@ package org.openkilda.wfm.topology.stats;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
+import static org.openkilda.wfm.topology.stats.bolts.SpeakerBolt.fieldSwitchId;
 
+import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.ServiceType;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.Topology;
@@ -32,9 +34,6 @@ import org.apache.storm.LocalCluster;
 import org.apache.storm.StormSubmitter;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.KafkaSpout;
-import org.apache.storm.opentsdb.bolt.OpenTsdbBolt;
-import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
-import org.apache.storm.opentsdb.client.OpenTsdbClient;
 import org.apache.storm.topology.TopologyBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +43,6 @@ import java.io.File;
 
 public class StatsTopology extends AbstractTopology {
     private static final Logger logger = LoggerFactory.getLogger(StatsTopology.class);
-    private static final String TOPIC = "kilda-test";
 
     public StatsTopology(File file) {
         super(file);
@@ -94,28 +92,31 @@ public class StatsTopology extends AbstractTopology {
         TopologyBuilder builder = new TopologyBuilder();
 
         final String kafkaSpoutId = StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString();
-        KafkaSpout kafkaSpout = createKafkaSpout(TOPIC, kafkaSpoutId);
+        KafkaSpout kafkaSpout = createKafkaSpout(topics.getTopic(Destination.WFM_STATS), kafkaSpoutId);
         builder.setSpout(kafkaSpoutId, kafkaSpout, parallelism);
 
+        // ISL events carry port speeds used for the utilization
+        final String eventsSpoutId = StatsComponentType.STATS_EVENTS_KAFKA_SPOUT.toString();
+        KafkaSpout eventsSpout = createKafkaSpout(topics.getEventsTopic(), eventsSpoutId);
+        builder.setSpout(eventsSpoutId, eventsSpout, parallelism);
+
         SpeakerBolt speakerBolt = new SpeakerBolt();
         final String statsOfsBolt = StatsComponentType.STATS_OFS_BOLT.toString();
         builder.setBolt(statsOfsBolt, speakerBolt, parallelism)
-                .shuffleGrouping(kafkaSpoutId);
+                .shuffleGrouping(kafkaSpoutId)
+                .shuffleGrouping(eventsSpoutId);
 
+        // metric generators keep counters history, so all the tuples of a switch go to the same task
         builder.setBolt(PORT_STATS_METRIC_GEN.name(), new PortMetricGenBolt(), parallelism)
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldSwitchId)
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.ISL_INFO.toString(), fieldSwitchId);
         builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(), new MeterConfigMetricGenBolt(), parallelism)
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldMessage);
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldSwitchId);
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(), new FlowMetricGenBolt(), parallelism)
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.FLOW_STATS.toString(), fieldMessage);
-
-        OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient.newBuilder(topologyProperties.getProperty("statstopology.openTsdbUrl"))
-                .sync(30_000).returnDetails();
-        OpenTsdbBolt openTsdbBolt = new OpenTsdbBolt(tsdbBuilder, TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER)
-                .withBatchSize(10)
-                .withFlushInterval(2)
-                .failTupleForFailedMetrics();
-        builder.setBolt("opentsdb", openTsdbBolt)
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.FLOW_STATS.toString(), fieldSwitchId);
+
+        builder.setBolt("opentsdb", createOpenTsdbBolt(),
+                getIntProperty(getTopologyPropertyName("openTsdbParallelism"), 1))
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
                 .shuffleGrouping(FLOW_STATS_METRIC_GEN.name());
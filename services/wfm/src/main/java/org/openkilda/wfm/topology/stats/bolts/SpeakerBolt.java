@@ -15,13 +15,17 @@
 
 package org.openkilda.wfm.topology.stats.bolts;
 
-import static org.openkilda.wfm.topology.AbstractTopology.fieldMessage;
+import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
-import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
@@ -31,6 +35,7 @@ import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
+import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
@@ -40,10 +45,22 @@ import java.io.IOException;
 import java.util.Map;
 
 public class SpeakerBolt extends BaseRichBolt {
+    /**
+     * Switch id field, stats and ISL tuples are grouped by it, so all counters of a switch get to the same task.
+     */
+    public static final String SWITCH_ID_FIELD = "switch_id";
+
+    /**
+     * Switch id fields.
+     */
+    public static final Fields fieldSwitchId = new Fields(SWITCH_ID_FIELD);
+
+    private static final Fields FIELDS = new Fields(MESSAGE_FIELD, SWITCH_ID_FIELD);
     private static final Logger logger = LoggerFactory.getLogger(SpeakerBolt.class);
     private static final String PORT_STATS_STREAM = StatsStreamType.PORT_STATS.toString();
     private static final String METER_CFG_STATS_STREAM = StatsStreamType.METER_CONFIG_STATS.toString();
     private static final String FLOW_STATS_STREAM = StatsStreamType.FLOW_STATS.toString();
+    private static final String ISL_INFO_STREAM = StatsStreamType.ISL_INFO.toString();
 
     private OutputCollector outputCollector;
 
@@ -53,24 +70,36 @@ public class SpeakerBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         //String request = tuple.getStringByField("value");
         try {
-            Message stats = Utils.MAPPER.readValue(request, Message.class);
-            if (!Destination.WFM_STATS.equals(stats.getDestination()) || !(stats instanceof InfoMessage)) {
+            MessageHeader header = MessageHeader.peek(request);
+            // ISL events are used for the port utilization
+            if (!header.isAddressedTo(Destination.WFM_STATS, MessageType.INFO)
+                    && !header.isAddressedTo(null, MessageType.INFO)) {
                 return;
             }
-            InfoMessage message = (InfoMessage) stats;
+            InfoMessage message = (InfoMessage) MessageFormat.toMessage(request);
             final InfoData data = message.getData();
             if (data instanceof PortStatsData) {
                 logger.debug("Port stats message: {}", new Values(request));
-                outputCollector.emit(PORT_STATS_STREAM, tuple, new Values(message));
+                outputCollector.emit(PORT_STATS_STREAM, tuple,
+                        new Values(message, ((PortStatsData) data).getSwitchId()));
             } else if (data instanceof MeterConfigStatsData) {
                 logger.debug("Meter config stats message: {}", new Values(request));
-                outputCollector.emit(METER_CFG_STATS_STREAM, tuple, new Values(message));
+                outputCollector.emit(METER_CFG_STATS_STREAM, tuple,
+                        new Values(message, ((MeterConfigStatsData) data).getSwitchId()));
             } else if (data instanceof FlowStatsData) {
                 logger.debug("Flow stats message: {}", new Values(request));
-                outputCollector.emit(FLOW_STATS_STREAM, tuple, new Values(message));
+                outputCollector.emit(FLOW_STATS_STREAM, tuple,
+                        new Values(message, ((FlowStatsData) data).getSwitchId()));
+            } else if (data instanceof IslInfoData
+                    && ((IslInfoData) data).getState() == IslChangeType.DISCOVERED) {
+                logger.debug("Isl message: {}", new Values(request));
+                // both ends of the ISL are sent to the tasks of their switches
+                for (PathNode node : ((IslInfoData) data).getPath()) {
+                    outputCollector.emit(ISL_INFO_STREAM, tuple, new Values(message, node.getSwitchId()));
+                }
             }
         } catch (IOException exception) {
             logger.error("Could not deserialize message={}", request, exception);
@@ -85,9 +114,10 @@ public class SpeakerBolt extends BaseRichBolt {
      */
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(PORT_STATS_STREAM, fieldMessage);
-        outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, fieldMessage);
-        outputFieldsDeclarer.declareStream(FLOW_STATS_STREAM, fieldMessage);
+        outputFieldsDeclarer.declareStream(PORT_STATS_STREAM, FIELDS);
+        outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, FIELDS);
+        outputFieldsDeclarer.declareStream(FLOW_STATS_STREAM, FIELDS);
+        outputFieldsDeclarer.declareStream(ISL_INFO_STREAM, FIELDS);
     }
 
     /**
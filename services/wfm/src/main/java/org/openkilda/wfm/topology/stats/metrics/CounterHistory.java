@@ -0,0 +1,159 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Previous samples of cumulative counters by key, used to turn counters into per-interval deltas and rates.
+ * Samples are kept in primitive arrays indexed by the key slot, slots of keys not updated within the expiry time
+ * are released and reused, so the history does not grow as ports and flows come and go.
+ * Not thread safe, it is meant to be owned by a single bolt task.
+ */
+public class CounterHistory {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Counters per sample.
+     */
+    private final int width;
+
+    /**
+     * Milliseconds since the last update after which the key is forgotten.
+     */
+    private final long expiry;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] values;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int capacity;
+    private long lastExpiration;
+
+    /**
+     * Instance constructor.
+     *
+     * @param width  counters per sample
+     * @param expiry milliseconds since the last update after which the key is forgotten
+     */
+    public CounterHistory(int width, long expiry) {
+        this.width = width;
+        this.expiry = expiry;
+        this.values = new long[INITIAL_CAPACITY * width];
+    }
+
+    /**
+     * Stores the sample and computes deltas from the previous one. There are no deltas for the first sample of the
+     * key, for a sample older than the stored one and for a sample where any counter went back, which is treated
+     * as a counter reset.
+     *
+     * @param key       counters key
+     * @param timestamp sample time in milliseconds
+     * @param sample    counters, {@code width} values
+     * @param deltas    output deltas, {@code width} values, filled only if the result is positive
+     * @return milliseconds since the previous sample, 0 if there are no deltas
+     */
+    public long update(String key, long timestamp, long[] sample, long[] deltas) {
+        expire(timestamp);
+
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            slot = allocate();
+            slots.put(key, slot);
+            store(slot, timestamp, sample);
+            return 0;
+        }
+
+        long elapsed = timestamp - timestamps[slot];
+        if (elapsed <= 0) {
+            return 0;
+        }
+
+        int base = slot * width;
+        for (int i = 0; i < width; i++) {
+            long delta = sample[i] - values[base + i];
+            if (delta < 0) {
+                store(slot, timestamp, sample);
+                return 0;
+            }
+            deltas[i] = delta;
+        }
+        store(slot, timestamp, sample);
+        return elapsed;
+    }
+
+    /**
+     * Copies the last sample of the key.
+     *
+     * @param key    counters key
+     * @param sample output counters, {@code width} values
+     * @return true if there is a sample of the key
+     */
+    public boolean get(String key, long[] sample) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            return false;
+        }
+        System.arraycopy(values, slot * width, sample, 0, width);
+        return true;
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     *
+     * @return the number of tracked keys
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    private void store(int slot, long timestamp, long[] sample) {
+        timestamps[slot] = timestamp;
+        System.arraycopy(sample, 0, values, slot * width, width);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (capacity == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, capacity * 2);
+            values = Arrays.copyOf(values, capacity * 2 * width);
+            freeSlots = Arrays.copyOf(freeSlots, capacity * 2);
+        }
+        return capacity++;
+    }
+
+    private void expire(long now) {
+        if (now - lastExpiration < expiry) {
+            return;
+        }
+        lastExpiration = now;
+
+        Iterator<Integer> iterator = slots.values().iterator();
+        while (iterator.hasNext()) {
+            int slot = iterator.next();
+            if (now - timestamps[slot] > expiry) {
+                iterator.remove();
+                freeSlots[freeCount++] = slot;
+            }
+        }
+    }
+}
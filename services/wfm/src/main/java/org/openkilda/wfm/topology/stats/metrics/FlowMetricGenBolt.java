@@ -21,19 +21,49 @@ import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Generates flow metrics. Besides the raw counters it emits per-interval deltas and rates, so stats tuples must be
+ * grouped by switch id.
+ */
 public class FlowMetricGenBolt extends MetricGenBolt {
     private static final Logger logger = LoggerFactory.getLogger(FlowMetricGenBolt.class);
 
+    /**
+     * Counters of flow entries not seen within this time are forgotten.
+     */
+    private static final long HISTORY_EXPIRY = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int PACKETS = 0;
+    private static final int BYTES = 1;
+
+    private transient CounterHistory counters;
+    private transient long[] sample;
+    private transient long[] deltas;
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        counters = new CounterHistory(2, HISTORY_EXPIRY);
+        sample = new long[2];
+        deltas = new long[2];
+    }
+
     @Override
     public void execute(Tuple input) {
         StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
@@ -48,15 +78,32 @@ public class FlowMetricGenBolt extends MetricGenBolt {
                 CORRELATION_ID, message.getCorrelationId(), componentId, StatsStreamType.valueOf(input.getSourceStreamId()));
         FlowStatsData data = (FlowStatsData) message.getData();
         long timestamp = message.getTimestamp();
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
         data.getStats().forEach(stats -> stats.getEntries().forEach(entry -> {
-            Map<String, String> tags = new HashMap<>();
-            tags.put("switchid", data.getSwitchId().replaceAll(":", ""));
-            tags.put("cookie", String.valueOf(entry.getCookie()));
-            collector.emit(tuple("pen.flow.tableid", timestamp, entry.getTableId(), tags));
-            collector.emit(tuple("pen.flow.packets", timestamp, entry.getPacketCount(), tags));
-            collector.emit(tuple("pen.flow.bytes", timestamp, entry.getByteCount(), tags));
-            collector.emit(tuple("pen.flow.bits", timestamp, entry.getByteCount()*8, tags));
+            Map<String, String> tags = tags(data.getSwitchId(), "cookie", String.valueOf(entry.getCookie()));
+            datapoints.add(datapoint("pen.flow.tableid", timestamp, entry.getTableId(), tags));
+            datapoints.add(datapoint("pen.flow.packets", timestamp, entry.getPacketCount(), tags));
+            datapoints.add(datapoint("pen.flow.bytes", timestamp, entry.getByteCount(), tags));
+            datapoints.add(datapoint("pen.flow.bits", timestamp, entry.getByteCount()*8, tags));
+            addRates(datapoints, data.getSwitchId(), entry, timestamp, tags);
         }));
+        emit(input, datapoints);
         collector.ack(input);
     }
+
+    private void addRates(List<OpenTsdbMetricDatapoint> datapoints, String switchId, FlowStatsEntry entry,
+                          long timestamp, Map<String, String> tags) {
+        sample[PACKETS] = entry.getPacketCount();
+        sample[BYTES] = entry.getByteCount();
+
+        long elapsed = counters.update(switchId + '/' + entry.getCookie(), timestamp, sample, deltas);
+        if (elapsed == 0) {
+            return;
+        }
+
+        datapoints.add(datapoint("pen.flow.packets.delta", timestamp, deltas[PACKETS], tags));
+        datapoints.add(datapoint("pen.flow.bytes.delta", timestamp, deltas[BYTES], tags));
+        datapoints.add(datapoint("pen.flow.pps", timestamp, deltas[PACKETS] * 1000.0 / elapsed, tags));
+        datapoints.add(datapoint("pen.flow.bps", timestamp, deltas[BYTES] * 8000.0 / elapsed, tags));
+    }
 }
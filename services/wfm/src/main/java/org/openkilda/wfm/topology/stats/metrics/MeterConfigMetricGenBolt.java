@@ -24,11 +24,13 @@ import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class MeterConfigMetricGenBolt extends MetricGenBolt {
@@ -48,12 +50,12 @@ public class MeterConfigMetricGenBolt extends MetricGenBolt {
                 CORRELATION_ID, message.getCorrelationId(), componentId, StatsStreamType.valueOf(input.getSourceStreamId()));
         MeterConfigStatsData data = (MeterConfigStatsData) message.getData();
         long timestamp = message.getTimestamp();
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
         data.getStats().forEach(stats -> stats.getMeterIds().forEach(meterId -> {
-            Map<String, String> tags = new HashMap<>();
-            tags.put("switchid", data.getSwitchId().replaceAll(":", ""));
-            tags.put("meterid", meterId.toString());
-            collector.emit(tuple("pen.switch.meters", timestamp, meterId, tags));
+            Map<String, String> tags = tags(data.getSwitchId(), "meterid", meterId.toString());
+            datapoints.add(datapoint("pen.switch.meters", timestamp, meterId, tags));
         }));
+        emit(input, datapoints);
         collector.ack(input);
     }
 }
@@ -15,39 +15,85 @@
 
 package org.openkilda.wfm.topology.stats.metrics;
 
-import static java.util.stream.Collectors.toList;
+import org.openkilda.wfm.topology.utils.OpenTsdbWriterBolt;
 
-import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
-import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
+/**
+ * Base class of the metric generators. Each stats message is turned into a single tuple holding all its datapoints,
+ * which is written by {@link OpenTsdbWriterBolt}. Tag maps are immutable and interned per switch, so datapoints of
+ * the same port or flow entry share them across polls instead of building new ones for each datapoint.
+ */
 public abstract class MetricGenBolt extends BaseRichBolt {
-    private static final Fields DEFAULT_METRIC_FIELDS =
-            new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTimestampField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
+    /**
+     * Interned tag maps per switch limit, the switch cache is dropped once it is exceeded.
+     */
+    private static final int MAX_TAGS_PER_SWITCH = 4096;
 
     protected OutputCollector collector;
 
-    protected static List<Object> tuple(Object metric, Object timestamp, Number value, Map<String, String> tag) {
-        return Stream.of(metric, timestamp, value, tag).collect(toList());
+    /**
+     * Interned tag maps by switch id, tag value.
+     */
+    private transient Map<String, Map<String, Map<String, String>>> tags;
+
+    protected static OpenTsdbMetricDatapoint datapoint(String metric, long timestamp, Number value,
+                                                       Map<String, String> tags) {
+        return new OpenTsdbMetricDatapoint(metric, tags, timestamp, value);
+    }
+
+    /**
+     * Returns interned "switchid" and the given tag map.
+     *
+     * @param switchId switch id as it is in the message
+     * @param tag      second tag name, the same one for all calls of the bolt
+     * @param value    second tag value
+     * @return immutable tag map
+     */
+    protected Map<String, String> tags(String switchId, String tag, String value) {
+        Map<String, Map<String, String>> switchTags = tags.computeIfAbsent(switchId, k -> new HashMap<>());
+        if (switchTags.size() >= MAX_TAGS_PER_SWITCH && !switchTags.containsKey(value)) {
+            switchTags.clear();
+        }
+        return switchTags.computeIfAbsent(value, k -> {
+            Map<String, String> map = new HashMap<>(4);
+            map.put("switchid", switchId.replaceAll(":", ""));
+            map.put(tag, value);
+            return Collections.unmodifiableMap(map);
+        });
+    }
+
+    /**
+     * Emits datapoints of a stats message as one tuple anchored to the message tuple.
+     *
+     * @param input      stats message tuple
+     * @param datapoints datapoints
+     */
+    protected void emit(Tuple input, List<OpenTsdbMetricDatapoint> datapoints) {
+        if (!datapoints.isEmpty()) {
+            collector.emit(input, new Values(datapoints));
+        }
     }
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(DEFAULT_METRIC_FIELDS);
+        declarer.declare(OpenTsdbWriterBolt.FIELDS);
     }
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.tags = new HashMap<>();
     }
 }
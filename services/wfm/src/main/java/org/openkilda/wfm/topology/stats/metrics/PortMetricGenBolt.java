@@ -20,25 +20,76 @@ import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
+import org.openkilda.wfm.topology.stats.bolts.SpeakerBolt;
 
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Generates port metrics. Besides the raw counters it emits per-interval deltas, rates and utilization of ports
+ * with known ISL speed, so both stats and ISL tuples must be grouped by switch id.
+ */
 public class PortMetricGenBolt extends MetricGenBolt {
     private static final Logger logger = LoggerFactory.getLogger(PortMetricGenBolt.class);
 
+    /**
+     * Counters and ISL speeds of ports not seen within this time are forgotten.
+     */
+    private static final long HISTORY_EXPIRY = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Unknown port speed value reported by the speaker.
+     */
+    private static final long UNKNOWN_SPEED = Integer.MAX_VALUE;
+
+    private static final int RX_PACKETS = 0;
+    private static final int TX_PACKETS = 1;
+    private static final int RX_BYTES = 2;
+    private static final int TX_BYTES = 3;
+
+    private transient CounterHistory counters;
+    private transient CounterHistory speeds;
+    private transient long[] sample;
+    private transient long[] deltas;
+    private transient long[] speed;
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        counters = new CounterHistory(4, HISTORY_EXPIRY);
+        speeds = new CounterHistory(1, HISTORY_EXPIRY);
+        sample = new long[4];
+        deltas = new long[4];
+        speed = new long[1];
+    }
+
     @Override
     public void execute(Tuple input) {
         StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
         InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
 
+        if (StatsStreamType.ISL_INFO.name().equals(input.getSourceStreamId())) {
+            updateSpeed((IslInfoData) message.getData(), input.getStringByField(SpeakerBolt.SWITCH_ID_FIELD),
+                    message.getTimestamp());
+            collector.ack(input);
+            return;
+        }
+
         if (!Destination.WFM_STATS.equals(message.getDestination())) {
             collector.ack(input);
             return;
@@ -48,25 +99,79 @@ public class PortMetricGenBolt extends MetricGenBolt {
                 CORRELATION_ID, message.getCorrelationId(), componentId, StatsStreamType.valueOf(input.getSourceStreamId()));
         PortStatsData data = (PortStatsData) message.getData();
         long timestamp = message.getTimestamp();
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
         data.getStats().forEach(stats -> stats.getEntries().forEach(entry -> {
-            Map<String, String> tags = new HashMap<>();
-            tags.put("switchid", data.getSwitchId().replaceAll(":", ""));
-            tags.put("port", String.valueOf(entry.getPortNo()));
-            collector.emit(tuple("pen.switch.rx-packets", timestamp, entry.getRxPackets(), tags));
-            collector.emit(tuple("pen.switch.tx-packets", timestamp, entry.getTxPackets(), tags));
-            collector.emit(tuple("pen.switch.rx-bytes", timestamp, entry.getRxBytes(), tags));
-            collector.emit(tuple("pen.switch.rx-bits", timestamp, entry.getRxBytes()*8, tags));
-            collector.emit(tuple("pen.switch.tx-bytes", timestamp, entry.getTxBytes(), tags));
-            collector.emit(tuple("pen.switch.tx-bits", timestamp, entry.getTxBytes()*8, tags));
-            collector.emit(tuple("pen.switch.rx-dropped", timestamp, entry.getRxDropped(), tags));
-            collector.emit(tuple("pen.switch.tx-dropped", timestamp, entry.getTxDropped(), tags));
-            collector.emit(tuple("pen.switch.rx-errors", timestamp, entry.getRxErrors(), tags));
-            collector.emit(tuple("pen.switch.tx-errors", timestamp, entry.getTxErrors(), tags));
-            collector.emit(tuple("pen.switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags));
-            collector.emit(tuple("pen.switch.rx-over-error", timestamp, entry.getRxOverErr(), tags));
-            collector.emit(tuple("pen.switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags));
-            collector.emit(tuple("pen.switch.collisions", timestamp, entry.getCollisions(), tags));
+            Map<String, String> tags = tags(data.getSwitchId(), "port", String.valueOf(entry.getPortNo()));
+            datapoints.add(datapoint("pen.switch.rx-packets", timestamp, entry.getRxPackets(), tags));
+            datapoints.add(datapoint("pen.switch.tx-packets", timestamp, entry.getTxPackets(), tags));
+            datapoints.add(datapoint("pen.switch.rx-bytes", timestamp, entry.getRxBytes(), tags));
+            datapoints.add(datapoint("pen.switch.rx-bits", timestamp, entry.getRxBytes()*8, tags));
+            datapoints.add(datapoint("pen.switch.tx-bytes", timestamp, entry.getTxBytes(), tags));
+            datapoints.add(datapoint("pen.switch.tx-bits", timestamp, entry.getTxBytes()*8, tags));
+            datapoints.add(datapoint("pen.switch.rx-dropped", timestamp, entry.getRxDropped(), tags));
+            datapoints.add(datapoint("pen.switch.tx-dropped", timestamp, entry.getTxDropped(), tags));
+            datapoints.add(datapoint("pen.switch.rx-errors", timestamp, entry.getRxErrors(), tags));
+            datapoints.add(datapoint("pen.switch.tx-errors", timestamp, entry.getTxErrors(), tags));
+            datapoints.add(datapoint("pen.switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags));
+            datapoints.add(datapoint("pen.switch.rx-over-error", timestamp, entry.getRxOverErr(), tags));
+            datapoints.add(datapoint("pen.switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags));
+            datapoints.add(datapoint("pen.switch.collisions", timestamp, entry.getCollisions(), tags));
+            addRates(datapoints, data.getSwitchId(), entry, timestamp, tags);
         }));
+        emit(input, datapoints);
         collector.ack(input);
     }
+
+    private void addRates(List<OpenTsdbMetricDatapoint> datapoints, String switchId, PortStatsEntry entry,
+                          long timestamp, Map<String, String> tags) {
+        String key = key(switchId, entry.getPortNo());
+        sample[RX_PACKETS] = entry.getRxPackets();
+        sample[TX_PACKETS] = entry.getTxPackets();
+        sample[RX_BYTES] = entry.getRxBytes();
+        sample[TX_BYTES] = entry.getTxBytes();
+
+        long elapsed = counters.update(key, timestamp, sample, deltas);
+        if (elapsed == 0) {
+            return;
+        }
+
+        double rxBps = rate(deltas[RX_BYTES] * 8, elapsed);
+        double txBps = rate(deltas[TX_BYTES] * 8, elapsed);
+        datapoints.add(datapoint("pen.switch.rx-packets.delta", timestamp, deltas[RX_PACKETS], tags));
+        datapoints.add(datapoint("pen.switch.tx-packets.delta", timestamp, deltas[TX_PACKETS], tags));
+        datapoints.add(datapoint("pen.switch.rx-bytes.delta", timestamp, deltas[RX_BYTES], tags));
+        datapoints.add(datapoint("pen.switch.tx-bytes.delta", timestamp, deltas[TX_BYTES], tags));
+        datapoints.add(datapoint("pen.switch.rx-pps", timestamp, rate(deltas[RX_PACKETS], elapsed), tags));
+        datapoints.add(datapoint("pen.switch.tx-pps", timestamp, rate(deltas[TX_PACKETS], elapsed), tags));
+        datapoints.add(datapoint("pen.switch.rx-bps", timestamp, rxBps, tags));
+        datapoints.add(datapoint("pen.switch.tx-bps", timestamp, txBps, tags));
+
+        if (speeds.get(key, speed) && speed[0] > 0) {
+            // ISL speed is in kbps
+            double bps = speed[0] * 1000.0;
+            datapoints.add(datapoint("pen.switch.rx-utilization", timestamp, rxBps * 100 / bps, tags));
+            datapoints.add(datapoint("pen.switch.tx-utilization", timestamp, txBps * 100 / bps, tags));
+        }
+    }
+
+    private void updateSpeed(IslInfoData data, String switchId, long timestamp) {
+        if (data.getSpeed() <= 0 || data.getSpeed() >= UNKNOWN_SPEED) {
+            return;
+        }
+        speed[0] = data.getSpeed();
+        for (PathNode node : data.getPath()) {
+            if (switchId.equals(node.getSwitchId())) {
+                // speed may go down, the history is used as a plain value store here
+                speeds.update(key(switchId, node.getPortNo()), timestamp, speed, deltas);
+            }
+        }
+    }
+
+    private static String key(String switchId, int port) {
+        return switchId + '/' + port;
+    }
+
+    private static double rate(long delta, long elapsed) {
+        return delta * 1000.0 / elapsed;
+    }
 }
@@ -15,15 +15,16 @@
 
 package org.openkilda.wfm.topology.utils;
 
-import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.wfm.topology.AbstractTopology.fieldMessage;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageHeader;
+import org.openkilda.messaging.MessageType;
 import org.openkilda.messaging.ServiceType;
 import org.openkilda.messaging.Topic;
 import org.openkilda.messaging.Utils;
-import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.HealthCheckInfoData;
 
@@ -57,12 +58,12 @@ public class HealthCheckBolt extends BaseRichBolt {
 
     @Override
     public void execute(Tuple input) {
-        String request = input.getString(0);
+        Object request = input.getValue(0);
         try {
-            Message message = MAPPER.readValue(request, Message.class);
-            if (message instanceof CommandMessage) {
-                Values values = new Values(Utils.MAPPER.writeValueAsString(new InfoMessage(healthCheck,
-                        System.currentTimeMillis(), message.getCorrelationId(), Destination.NORTHBOUND)));
+            if (MessageHeader.peek(request).getType() == MessageType.COMMAND) {
+                Message message = MessageFormat.toMessage(request);
+                Values values = new Values(new InfoMessage(healthCheck,
+                        System.currentTimeMillis(), message.getCorrelationId(), Destination.NORTHBOUND));
                 collector.emit(Topic.HEALTH_CHECK.getId(), input, values);
             }
         } catch (IOException exception) {
@@ -15,42 +15,259 @@
 
 package org.openkilda.wfm.topology.utils;
 
-import org.openkilda.messaging.info.event.PathNode;
-
 import java.io.Serializable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Created by carmine on 5/14/17.
+ * Tracks discovery packets sent to ports without a reply. Switch ids are interned to dense indexes and counters of
+ * a switch are kept in an int array indexed by port number, so the tracker does no boxing and no nested map lookups,
+ * and its serialized form is the switch ids and the counter arrays only. The index by switch id is not serialized,
+ * it is rebuilt on first use after the tracker is restored from a checkpoint.
+ *
+ * <p>Not thread safe, the tracker is owned by one bolt executor.
  */
 public class LinkTracker implements Serializable {
+    /**
+     * Counter of a port which went down, the failure is to be reported and the port is to be removed.
+     */
+    public static final int PORT_REMOVED = -1;
+
+    /**
+     * Returned for ports which are not tracked.
+     */
+    public static final int NOT_TRACKED = Integer.MIN_VALUE;
+
+    /**
+     * Highest tracked port number. Reserved OpenFlow ports, e.g. LOCAL, are negative as int and are not tracked.
+     */
+    public static final int MAX_PORT = 0xffff;
+
+    private static final int INITIAL_SWITCHES = 16;
+    private static final int INITIAL_PORTS = 16;
+
+    /**
+     * Switch ids by index.
+     */
+    private String[] switchIds = new String[INITIAL_SWITCHES];
+
+    /**
+     * Sent packets by port number, by switch index. Untracked ports are {@link #NOT_TRACKED}.
+     */
+    private int[][] counters = new int[INITIAL_SWITCHES][];
+
+    /**
+     * Number of known switches.
+     */
+    private int switchCount;
+
+    /**
+     * Switch index by switch id.
+     */
+    private transient Map<String, Integer> index;
+
+    /**
+     * Returns whether the port number may be tracked.
+     *
+     * @param port port number
+     * @return true for port numbers from 0 to {@link #MAX_PORT}
+     */
+    public static boolean isTrackablePort(int port) {
+        return port >= 0 && port <= MAX_PORT;
+    }
+
+    /**
+     * Returns whether the switch is known to the tracker.
+     *
+     * @param switchId switch id
+     * @return true if the switch was seen, even if it has no tracked ports
+     */
+    public boolean checkIfSwitchExists(String switchId) {
+        return index().containsKey(switchId);
+    }
+
+    /**
+     * Returns known switches.
+     *
+     * @return switch ids, for use in foreach
+     */
+    public List<String> getSwitches() {
+        return Collections.unmodifiableList(Arrays.asList(switchIds).subList(0, switchCount));
+    }
+
+    /**
+     * Returns tracked ports of the switch.
+     *
+     * @param switchId switch id
+     * @return port numbers in ascending order, null if the switch is not known
+     */
+    public int[] getSwitchPorts(String switchId) {
+        Integer switchIndex = index().get(switchId);
+        if (switchIndex == null) {
+            return null;
+        }
+
+        int[] ports = counters[switchIndex];
+        int[] tracked = new int[ports.length];
+        int count = 0;
+        for (int port = 0; port < ports.length; port++) {
+            if (ports[port] != NOT_TRACKED) {
+                tracked[count++] = port;
+            }
+        }
+        return Arrays.copyOf(tracked, count);
+    }
+
+    /**
+     * Registers the switch, it is known to the tracker from now on.
+     *
+     * @param switchId switch id
+     */
+    public void addSwitch(String switchId) {
+        switchIndex(switchId);
+    }
+
+    /**
+     * Stops tracking all ports of the switch, the switch stays known.
+     *
+     * @param switchId switch id
+     */
+    public void clearSwitchPorts(String switchId) {
+        Integer switchIndex = index().get(switchId);
+        if (switchIndex != null) {
+            Arrays.fill(counters[switchIndex], NOT_TRACKED);
+        }
+    }
+
+    /**
+     * Starts tracking the port, or restarts it with no packets sent.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     * @throws IllegalArgumentException if the port is not trackable, see {@link #isTrackablePort(int)}
+     */
+    public void addPort(String switchId, int port) {
+        if (!isTrackablePort(port)) {
+            throw new IllegalArgumentException(String.format("Invalid port number %d", port));
+        }
+
+        int switchIndex = switchIndex(switchId);
+        int[] ports = counters[switchIndex];
+        if (port >= ports.length) {
+            int length = Math.max(ports.length * 2, port + 1);
+            ports = Arrays.copyOf(ports, length);
+            Arrays.fill(ports, counters[switchIndex].length, length, NOT_TRACKED);
+            counters[switchIndex] = ports;
+        }
+        ports[port] = 0;
+    }
+
+    /**
+     * Stops tracking the port.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     */
+    public void removePort(String switchId, int port) {
+        set(switchId, port, NOT_TRACKED);
+    }
 
     /**
-     * SwitchID -> PortID, Transmitted Frames
+     * Marks the tracked port as removed, see {@link #PORT_REMOVED}.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     * @return true if the port is tracked
      */
-    protected ConcurrentHashMap<String, ConcurrentHashMap<String, AtomicInteger>> state = new ConcurrentHashMap<>();
+    public boolean markPortRemoved(String switchId, int port) {
+        return set(switchId, port, PORT_REMOVED);
+    }
 
-    public ConcurrentHashMap<String, AtomicInteger> getSwitchPorts(String switchID) {
-        return state.get(switchID);
+    /**
+     * Returns number of packets sent to the port without a reply.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     * @return number of packets, {@link #PORT_REMOVED} or {@link #NOT_TRACKED}
+     */
+    public int getCountOfSentPackets(String switchId, int port) {
+        int[] ports = ports(switchId, port);
+        return ports == null ? NOT_TRACKED : ports[port];
     }
 
-    public ConcurrentHashMap<String, AtomicInteger> getOrNewSwitchPorts(String switchID) {
-        return state.computeIfAbsent(switchID, k -> new ConcurrentHashMap<>());
+    /**
+     * Counts one more packet sent to the tracked port.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     * @return number of packets, {@link #NOT_TRACKED} if the port is not tracked
+     */
+    public int incrementCountOfSentPackets(String switchId, int port) {
+        int[] ports = ports(switchId, port);
+        if (ports == null || ports[port] == NOT_TRACKED) {
+            return NOT_TRACKED;
+        }
+        return ++ports[port];
     }
 
-    /** for use in foreach */
-    public ConcurrentHashMap.KeySetView<String, ConcurrentHashMap<String, AtomicInteger>> getSwitches() {
-        return state.keySet();
+    /**
+     * Resets number of packets sent to the tracked port, because the link replied.
+     *
+     * @param switchId switch id
+     * @param port     port number
+     */
+    public void clearCountOfSentPackets(String switchId, int port) {
+        set(switchId, port, 0);
+    }
+
+    private boolean set(String switchId, int port, int value) {
+        int[] ports = ports(switchId, port);
+        if (ports == null || ports[port] == NOT_TRACKED) {
+            return false;
+        }
+        ports[port] = value;
+        return true;
+    }
+
+    /**
+     * Returns counters of the switch, null if the switch is not known or the port is out of its counters.
+     */
+    private int[] ports(String switchId, int port) {
+        Integer switchIndex = index().get(switchId);
+        if (switchIndex == null || port < 0 || port >= counters[switchIndex].length) {
+            return null;
+        }
+        return counters[switchIndex];
+    }
+
+    private int switchIndex(String switchId) {
+        Integer switchIndex = index().get(switchId);
+        if (switchIndex != null) {
+            return switchIndex;
+        }
+
+        if (switchCount == switchIds.length) {
+            switchIds = Arrays.copyOf(switchIds, switchCount * 2);
+            counters = Arrays.copyOf(counters, switchCount * 2);
+        }
+        int[] ports = new int[INITIAL_PORTS];
+        Arrays.fill(ports, NOT_TRACKED);
+        switchIds[switchCount] = switchId;
+        counters[switchCount] = ports;
+        index.put(switchId, switchCount);
+        return switchCount++;
     }
 
-    public void clearCountOfSentPackets(String switchId, String portNo) {
-        ConcurrentHashMap<String, AtomicInteger> ports = state.get(switchId);
-        if (ports != null) {
-            AtomicInteger packets = ports.get(portNo);
-            if (packets != null) {
-                packets.set(0);
+    private Map<String, Integer> index() {
+        if (index == null) {
+            index = new HashMap<>(switchCount * 2);
+            for (int i = 0; i < switchCount; i++) {
+                index.put(switchIds[i], i);
             }
         }
+        return index;
     }
 }
@@ -0,0 +1,62 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import org.openkilda.messaging.codec.MessageFormat;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.storm.kafka.StringScheme;
+import org.apache.storm.spout.Scheme;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Kafka spout scheme, reads messages of any {@link MessageFormat}. Binary messages are emitted bound to the
+ * {@link org.openkilda.messaging.Message}, json text is emitted as is, see {@link MessageFormat#readValue}. Emits the
+ * same field as {@link StringScheme}, bolts get the message with {@link MessageFormat#toMessage}, so they do not depend
+ * on the format producers are configured with.
+ */
+public class MessageScheme implements Scheme {
+    private static final Logger logger = LogManager.getLogger(MessageScheme.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object> deserialize(ByteBuffer buffer) {
+        byte[] data = Utils.toByteArray(buffer);
+        try {
+            return new Values(MessageFormat.readValue(data));
+        } catch (IOException exception) {
+            logger.error("Could not decode message of {} bytes", data.length, exception);
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Fields getOutputFields() {
+        return new Fields(StringScheme.STRING_SCHEME_KEY);
+    }
+}
@@ -0,0 +1,217 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.opentsdb.client.OpenTsdbClient;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes batched datapoints to OpenTSDB. Each input tuple holds a list of datapoints.
+ * Datapoints are accumulated until the batch size is reached or the flush interval expires, then the batch is posted
+ * in the background, so up to the given number of requests are in flight while the next batch is being collected.
+ * Input tuples are acked or failed by the bolt thread once their request is completed; when all requests are
+ * in flight, the bolt blocks until one of them completes. On cleanup the last batch is posted, tuples of requests
+ * which are not completed within {@link #CLEANUP_TIMEOUT} seconds are failed.
+ */
+public class OpenTsdbWriterBolt extends AbstractTickRichBolt {
+    private static final Logger logger = LoggerFactory.getLogger(OpenTsdbWriterBolt.class);
+
+    /**
+     * Datapoints field.
+     */
+    public static final String DATAPOINTS_FIELD = "datapoints";
+
+    /**
+     * Input tuple fields.
+     */
+    public static final Fields FIELDS = new Fields(DATAPOINTS_FIELD);
+
+    /**
+     * Seconds to wait for requests in flight on cleanup.
+     */
+    static final int CLEANUP_TIMEOUT = 1;
+
+    private final OpenTsdbClient.Builder clientBuilder;
+    private final int batchSize;
+    private final int maxPendingRequests;
+
+    private transient OpenTsdbClient client;
+    private transient ExecutorService executor;
+    private transient Semaphore pendingRequests;
+    private transient Queue<Batch> completedRequests;
+    private transient Set<Batch> inflightRequests;
+    private transient Batch batch;
+
+    /**
+     * Instance constructor.
+     *
+     * @param clientBuilder      OpenTSDB client builder
+     * @param batchSize          datapoints per request
+     * @param flushInterval      seconds to wait before posting an incomplete batch
+     * @param maxPendingRequests requests in flight limit
+     */
+    public OpenTsdbWriterBolt(OpenTsdbClient.Builder clientBuilder, int batchSize, int flushInterval,
+                              int maxPendingRequests) {
+        super(flushInterval);
+        this.clientBuilder = clientBuilder;
+        this.batchSize = batchSize;
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    @Override
+    public void prepare(Map conf, TopologyContext context, OutputCollector collector) {
+        super.prepare(conf, context, collector);
+        client = clientBuilder.build();
+        executor = Executors.newFixedThreadPool(maxPendingRequests);
+        pendingRequests = new Semaphore(maxPendingRequests);
+        completedRequests = new ConcurrentLinkedQueue<>();
+        inflightRequests = ConcurrentHashMap.newKeySet();
+        batch = new Batch(batchSize);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void doWork(Tuple tuple) {
+        batch.add(tuple, (List<OpenTsdbMetricDatapoint>) tuple.getValueByField(DATAPOINTS_FIELD));
+        if (batch.datapoints.size() >= batchSize) {
+            flush();
+        }
+        completeRequests();
+    }
+
+    @Override
+    protected void doTick(Tuple tuple) {
+        flush();
+        completeRequests();
+    }
+
+    @Override
+    public void cleanup() {
+        try {
+            if (!batch.tuples.isEmpty() && pendingRequests.tryAcquire(CLEANUP_TIMEOUT, TimeUnit.SECONDS)) {
+                post();
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(CLEANUP_TIMEOUT, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        completeRequests();
+
+        // the batch which could not be posted and requests which are not completed in time
+        List<Tuple> unwritten = new ArrayList<>(batch.tuples);
+        inflightRequests.forEach(request -> unwritten.addAll(request.tuples));
+        if (!unwritten.isEmpty()) {
+            logger.warn("Could not write {} tuples to OpenTSDB before cleanup", unwritten.size());
+            unwritten.forEach(_collector::fail);
+        }
+        batch = new Batch(batchSize);
+        inflightRequests.clear();
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+    }
+
+    /**
+     * Posts the current batch in the background.
+     */
+    private void flush() {
+        if (batch.tuples.isEmpty()) {
+            return;
+        }
+
+        pendingRequests.acquireUninterruptibly();
+        post();
+    }
+
+    /**
+     * Posts the current batch, a pending request permit should be acquired.
+     */
+    private void post() {
+        Batch request = batch;
+        batch = new Batch(batchSize);
+
+        inflightRequests.add(request);
+        executor.execute(() -> {
+            try {
+                request.failed = client.writeMetricPoints(request.datapoints).getFailed();
+            } catch (Exception e) {
+                logger.error("Could not write {} datapoints to OpenTSDB", request.datapoints.size(), e);
+                request.failed = request.datapoints.size();
+            } finally {
+                completedRequests.add(request);
+                pendingRequests.release();
+            }
+        });
+    }
+
+    /**
+     * Acks or fails tuples of the completed requests, output collector is used by the bolt thread only.
+     */
+    private void completeRequests() {
+        Batch request;
+        while ((request = completedRequests.poll()) != null) {
+            inflightRequests.remove(request);
+            if (request.failed > 0) {
+                logger.warn("OpenTSDB failed to store {} of {} datapoints", request.failed, request.datapoints.size());
+                request.tuples.forEach(_collector::fail);
+            } else {
+                request.tuples.forEach(_collector::ack);
+            }
+        }
+    }
+
+    /**
+     * Datapoints of a single request and tuples they came from.
+     */
+    private static final class Batch {
+        private final List<Tuple> tuples = new ArrayList<>();
+        private final List<OpenTsdbMetricDatapoint> datapoints;
+        private volatile int failed;
+
+        private Batch(int size) {
+            datapoints = new ArrayList<>(size);
+        }
+
+        private void add(Tuple tuple, List<OpenTsdbMetricDatapoint> points) {
+            tuples.add(tuple);
+            datapoints.addAll(points);
+        }
+    }
+}
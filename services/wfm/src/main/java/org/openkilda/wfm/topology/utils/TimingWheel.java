@@ -0,0 +1,132 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel. Keys are scheduled a number of ticks ahead into the slot of their deadline, so a tick only
+ * visits the keys of one slot instead of all scheduled keys. Keys due after more than one turn of the wheel stay in
+ * their slot until the turn of their deadline.
+ *
+ * @param <K> key type
+ */
+public class TimingWheel<K> {
+    /**
+     * Keys by slot.
+     */
+    private final List<Set<K>> slots;
+
+    /**
+     * Deadline tick by key.
+     */
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    /**
+     * Current tick.
+     */
+    private long tick;
+
+    /**
+     * Instance constructor.
+     *
+     * @param size number of slots, the usual delay in ticks
+     */
+    public TimingWheel(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Timing wheel size should be positive");
+        }
+        slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules the key, the previous deadline of the key is dropped.
+     *
+     * @param key   key
+     * @param delay number of ticks to the deadline, at least one
+     */
+    public void schedule(K key, int delay) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay should be positive");
+        }
+        cancel(key);
+        long deadline = tick + delay;
+        deadlines.put(key, deadline);
+        slot(deadline).add(key);
+    }
+
+    /**
+     * Drops the deadline of the key.
+     *
+     * @param key key
+     * @return true if the key was scheduled
+     */
+    public boolean cancel(K key) {
+        Long deadline = deadlines.remove(key);
+        return deadline != null && slot(deadline).remove(key);
+    }
+
+    /**
+     * Advances the wheel by one tick.
+     *
+     * @return keys due on the tick in order of scheduling, they are not scheduled anymore
+     */
+    public List<K> advance() {
+        tick++;
+        List<K> due = new ArrayList<>();
+        for (Iterator<K> iterator = slot(tick).iterator(); iterator.hasNext(); ) {
+            K key = iterator.next();
+            if (deadlines.get(key) <= tick) {
+                iterator.remove();
+                deadlines.remove(key);
+                due.add(key);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Returns whether the key is scheduled.
+     *
+     * @param key key
+     * @return true if the key is scheduled
+     */
+    public boolean contains(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    /**
+     * Returns number of scheduled keys.
+     *
+     * @return number of scheduled keys
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    private Set<K> slot(long deadline) {
+        return slots.get((int) (deadline % slots.size()));
+    }
+}
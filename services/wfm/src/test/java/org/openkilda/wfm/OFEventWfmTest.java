@@ -191,18 +191,17 @@ public class OFEventWfmTest extends AbstractStormTest {
         linkBolt.execute(tuple);
 
         Tuple tickTuple = new TupleImpl(topologyContext, Collections.emptyList(), 2, Constants.SYSTEM_TICK_STREAM_ID);
-        linkBolt.execute(tickTuple);
+        tick(linkBolt, tickTuple, DEFAULT_DISCOVERY_INTERVAL);
 
         tuple = new TupleImpl(topologyContext, Collections.singletonList(isl_discovered),
                 3, InfoEventSplitterBolt.I_ISL_UPDOWN);
         linkBolt.execute(tuple);
 
-        linkBolt.execute(tickTuple);
-        linkBolt.execute(tickTuple);
+        tick(linkBolt, tickTuple, 2 * DEFAULT_DISCOVERY_INTERVAL);
 
-        // 2 isls, 3 seconds interval, 9 seconds test duration == 6 discovery commands
+        // 2 isls of one switch, 3 seconds interval, 9 seconds test duration == 3 batched discovery commands
         // +2 discovery commands triggered by port up message
-        messagesExpected = 8;
+        messagesExpected = 5;
         messagesReceived = outputCollectorMock.getMessagesCount(OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC);
         Assert.assertEquals(messagesExpected, messagesReceived);
 
@@ -211,10 +210,10 @@ public class OFEventWfmTest extends AbstractStormTest {
         messagesReceived = outputCollectorMock.getMessagesCount(OFEventWFMTopology.DEFAULT_KAFKA_OUTPUT);
         Assert.assertEquals(messagesExpected, messagesReceived);
 
-        linkBolt.execute(tickTuple);
+        tick(linkBolt, tickTuple, DEFAULT_DISCOVERY_INTERVAL);
 
-        // +2 discovery commands
-        messagesExpected = 10;
+        // +1 batched discovery command
+        messagesExpected = 6;
         messagesReceived = outputCollectorMock.getMessagesCount(OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC);
         Assert.assertEquals(messagesExpected, messagesReceived);
 
@@ -224,6 +223,34 @@ public class OFEventWfmTest extends AbstractStormTest {
         Assert.assertEquals(messagesExpected, messagesReceived);
     }
 
+    @Test
+    public void reservedAndInvalidPortsAreSkipped() {
+        KeyValueState<String, LinkTracker> state = new InMemoryKeyValueState<>();
+        initMocks();
+
+        OFELinkBolt linkBolt = new OFELinkBolt(DEFAULT_DISCOVERY_INTERVAL, DEFAULT_DISCOVERY_TIMEOUT);
+        linkBolt.prepare(stormConfig(), topologyContext, outputCollector);
+        linkBolt.initState(state);
+
+        // LOCAL port 0xfffffffe arrives as -2 on switch activation
+        for (String portId : new String[]{"-2", "local"}) {
+            linkBolt.execute(new TupleImpl(topologyContext, Arrays.asList("sw1", portId, OFEMessageUtils.PORT_UP),
+                    1, InfoEventSplitterBolt.I_PORT_UPDOWN));
+        }
+        linkBolt.execute(new TupleImpl(topologyContext, Arrays.asList("sw1", "1", OFEMessageUtils.PORT_UP),
+                1, InfoEventSplitterBolt.I_PORT_UPDOWN));
+
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC));
+        Assert.assertArrayEquals(new int[]{1},
+                state.get(OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC).getSwitchPorts("sw1"));
+    }
+
+    private static void tick(OFELinkBolt linkBolt, Tuple tickTuple, int count) {
+        for (int i = 0; i < count; i++) {
+            linkBolt.execute(tickTuple);
+        }
+    }
+
     private void initMocks() {
         Fields switchSchema = new Fields(OFEMessageUtils.FIELD_SWITCH_ID, OFEMessageUtils.FIELD_STATE);
         when(topologyContext.getComponentId(0)).thenReturn(InfoEventSplitterBolt.I_SWITCH_UPDOWN);
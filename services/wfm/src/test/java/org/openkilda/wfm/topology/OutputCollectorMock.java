@@ -21,7 +21,9 @@ import org.apache.storm.tuple.Tuple;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -29,11 +31,17 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class OutputCollectorMock implements IOutputCollector {
     private Map<String, AtomicInteger> messages = new ConcurrentHashMap<>();
+    private Map<String, List<Object>> lastMessages = new ConcurrentHashMap<>();
+    private Map<String, Collection<Tuple>> lastAnchors = new ConcurrentHashMap<>();
+    private Queue<Tuple> acked = new ConcurrentLinkedQueue<>();
+    private Queue<Tuple> failed = new ConcurrentLinkedQueue<>();
 
     @Override
     public List<Integer> emit(String streamId, Collection<Tuple> anchors, List<Object> tuple) {
         AtomicInteger count = messages.computeIfAbsent(streamId, k -> new AtomicInteger(0));
         count.incrementAndGet();
+        lastMessages.put(streamId, tuple);
+        lastAnchors.put(streamId, anchors);
         return null;
     }
 
@@ -44,12 +52,12 @@ public class OutputCollectorMock implements IOutputCollector {
 
     @Override
     public void ack(Tuple input) {
-
+        acked.add(input);
     }
 
     @Override
     public void fail(Tuple input) {
-
+        failed.add(input);
     }
 
     @Override
@@ -65,4 +73,24 @@ public class OutputCollectorMock implements IOutputCollector {
     public int getMessagesCount(String streamId) {
         return messages.get(streamId).get();
     }
+
+    public List<Object> getLastMessage(String streamId) {
+        return lastMessages.get(streamId);
+    }
+
+    public Collection<Tuple> getLastAnchors(String streamId) {
+        return lastAnchors.get(streamId);
+    }
+
+    public boolean hasMessages(String streamId) {
+        return messages.containsKey(streamId);
+    }
+
+    public Collection<Tuple> getAcked() {
+        return acked;
+    }
+
+    public Collection<Tuple> getFailed() {
+        return failed;
+    }
 }
@@ -87,7 +87,7 @@ public class CacheTopologyTest extends AbstractStormTest {
         Config config = stormConfig();
         cluster.submitTopology(CacheTopologyTest.class.getSimpleName(), config, stormTopology);
 
-        teConsumer = new TestKafkaConsumer(Topic.TEST.getId(), Destination.TOPOLOGY_ENGINE,
+        teConsumer = new TestKafkaConsumer(Topic.TOPOLOGY_ENGINE.getId(), Destination.TOPOLOGY_ENGINE,
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.TOPOLOGY_ENGINE.toString().getBytes()).toString()));
         teConsumer.start();
 
@@ -185,7 +185,7 @@ public class CacheTopologyTest extends AbstractStormTest {
     private void sendNetworkDump(NetworkInfoData data) throws IOException {
         System.out.println("Topology-Engine: Send Network Dump");
         InfoMessage info = new InfoMessage(data, 0, DEFAULT_CORRELATION_ID, Destination.WFM_CACHE);
-        sendMessage(info, Topic.TEST.getId());
+        sendMessage(info, Topic.WFM_CACHE.getId());
     }
 
     private void sendSwitchUpdate(SwitchInfoData sw) throws IOException {
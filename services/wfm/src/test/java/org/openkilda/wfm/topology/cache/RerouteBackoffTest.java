@@ -0,0 +1,67 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class RerouteBackoffTest {
+    private final RerouteBackoff backoff = new RerouteBackoff(1000, 4000);
+
+    @Test
+    public void doubleDelayUpToMax() {
+        assertTrue(backoff.tryRetry("f1", 0));
+        assertFalse(backoff.tryRetry("f1", 999));
+        assertTrue(backoff.tryRetry("f1", 1000));
+        assertFalse(backoff.tryRetry("f1", 2999));
+        assertTrue(backoff.tryRetry("f1", 3000));
+        assertFalse(backoff.tryRetry("f1", 6999));
+        assertTrue(backoff.tryRetry("f1", 7000));
+        assertFalse(backoff.tryRetry("f1", 10999));
+        assertTrue(backoff.tryRetry("f1", 11000));
+    }
+
+    @Test
+    public void backoffPerFlow() {
+        assertTrue(backoff.tryRetry("f1", 0));
+        assertTrue(backoff.tryRetry("f2", 500));
+        assertFalse(backoff.tryRetry("f1", 500));
+        assertEquals(2, backoff.size());
+    }
+
+    @Test
+    public void resetFlow() {
+        backoff.tryRetry("f1", 0);
+        backoff.tryRetry("f2", 0);
+
+        backoff.reset("f1");
+        assertTrue(backoff.tryRetry("f1", 1));
+
+        backoff.retainAll(Collections.singleton("f1"));
+        assertEquals(1, backoff.size());
+        assertTrue(backoff.tryRetry("f2", 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectMaxBelowInitialDelay() {
+        new RerouteBackoff(1000, 500);
+    }
+}
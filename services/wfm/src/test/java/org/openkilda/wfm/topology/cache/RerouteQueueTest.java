@@ -0,0 +1,166 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.wfm.topology.cache.RerouteQueue.Reroute;
+import org.openkilda.wfm.topology.cache.RerouteQueue.RerouteEvent;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class RerouteQueueTest {
+    private static final long SETTLE = 500;
+    private static final int RATE = 2;
+    private static final long TIMEOUT = 10000;
+
+    private final RerouteQueue queue = new RerouteQueue(SETTLE, RATE, TIMEOUT);
+
+    @Test
+    public void holdUntilSettled() {
+        queue.add(flow("f1", 10), "ISL", 0);
+        assertEquals(0, queue.drain(100).size());
+
+        queue.add(flow("f2", 10), "ISL", 400);
+        assertEquals(0, queue.drain(800).size());
+        assertEquals(2, queue.drain(900).size());
+    }
+
+    @Test
+    public void drainAfterMaxSettle() {
+        for (long now = 0; now < SETTLE * RerouteQueue.MAX_SETTLE_WINDOWS; now += SETTLE / 2) {
+            queue.add(flow("f" + now, 10), "ISL", now);
+            assertEquals(0, queue.drain(now).size());
+        }
+
+        assertEquals(RATE, queue.drain(SETTLE * RerouteQueue.MAX_SETTLE_WINDOWS).size());
+    }
+
+    @Test
+    public void coalesceFlow() {
+        queue.add(flow("f1", 10), "ISL", 0);
+        queue.add(flow("f2", 10), "ISL", 0);
+        queue.add(flow("f1", 10), "SWITCH", 100);
+
+        List<Reroute> drained = queue.drain(SETTLE + 100);
+
+        assertEquals(2, drained.size());
+        assertEquals("f1", drained.get(0).getFlow().getFlowId());
+        assertEquals("SWITCH", drained.get(0).getCorrelationId());
+    }
+
+    @Test
+    public void drainByBandwidthThenArrival() {
+        RerouteQueue unlimited = new RerouteQueue(SETTLE, 100, TIMEOUT);
+        unlimited.add(flow("small", 10), "ISL", 0);
+        unlimited.add(flow("large", 1000), "ISL", 0);
+        unlimited.add(flow("first", 100), "ISL", 0);
+        unlimited.add(flow("second", 100), "ISL", 0);
+
+        List<Reroute> drained = unlimited.drain(SETTLE);
+
+        assertEquals("large", drained.get(0).getFlow().getFlowId());
+        assertEquals("first", drained.get(1).getFlow().getFlowId());
+        assertEquals("second", drained.get(2).getFlow().getFlowId());
+        assertEquals("small", drained.get(3).getFlow().getFlowId());
+    }
+
+    @Test
+    public void rateLimit() {
+        for (int i = 0; i < 5; i++) {
+            queue.add(flow("f" + i, 10), "ISL", 0);
+        }
+
+        assertEquals(RATE, queue.drain(SETTLE).size());
+        assertEquals(0, queue.drain(SETTLE + 100).size());
+        assertEquals(1, queue.drain(SETTLE + 500).size());
+        assertEquals(1, queue.drain(SETTLE + 1000).size());
+        assertEquals(1, queue.drain(SETTLE + 5000).size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void restoreTimes() {
+        RerouteQueue unlimited = new RerouteQueue(SETTLE, 100, TIMEOUT);
+        for (int i = 0; i < 10; i++) {
+            unlimited.add(flow("f" + i, 10), "ISL", 0);
+        }
+        unlimited.drain(SETTLE);
+        for (int i = 0; i < 9; i++) {
+            unlimited.restored("f" + i, 1000 + i * 100);
+        }
+        unlimited.restored("unknown", 2000);
+        assertNull(unlimited.poll(2000));
+
+        unlimited.restored("f9", 20000);
+        RerouteEvent event = unlimited.poll(20000);
+
+        assertEquals(10, event.getRerouted());
+        assertEquals(10, event.getRestored());
+        assertEquals(0, event.getUnrestored());
+        assertEquals(20000, event.getDuration());
+        assertEquals(1400, event.getQuantile(0.5));
+        assertEquals(20000, event.getQuantile(0.99));
+        long[] histogram = event.getHistogram();
+        assertEquals(1, histogram[3]);
+        assertEquals(8, histogram[4]);
+        assertEquals(1, histogram[7]);
+        assertNull(unlimited.poll(20000));
+    }
+
+    @Test
+    public void restoreTimeout() {
+        queue.add(flow("f1", 10), "ISL", 0);
+        queue.add(flow("f2", 10), "ISL", 0);
+        queue.drain(SETTLE);
+        queue.restored("f1", 1000);
+
+        assertNull(queue.poll(SETTLE + TIMEOUT - 1));
+        RerouteEvent event = queue.poll(SETTLE + TIMEOUT);
+
+        assertEquals(1, event.getRestored());
+        assertEquals(1, event.getUnrestored());
+        queue.restored("f2", SETTLE + TIMEOUT + 1);
+        assertNull(queue.poll(SETTLE + TIMEOUT + 1));
+    }
+
+    @Test
+    public void measureRepeatedRerouteFromFirstRequest() {
+        queue.add(flow("f1", 10), "ISL", 0);
+        queue.drain(SETTLE);
+        queue.add(flow("f1", 10), "ISL", 1000);
+        queue.restored("f1", 1200);
+        queue.drain(1000 + SETTLE);
+        queue.restored("f1", 2000);
+
+        RerouteEvent event = queue.poll(2000);
+
+        assertEquals(2, event.getRequested());
+        assertEquals(2, event.getRerouted());
+        assertEquals(1, event.getRestored());
+        assertEquals(2000, event.getQuantile(1));
+        assertTrue(event.toString().contains("<=2500ms:1"));
+    }
+
+    private static Flow flow(String flowId, int bandwidth) {
+        return new Flow(flowId, bandwidth, "", "sw1", 1, 100, "sw2", 2, 100);
+    }
+}
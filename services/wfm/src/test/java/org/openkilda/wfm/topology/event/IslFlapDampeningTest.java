@@ -0,0 +1,113 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IslFlapDampeningTest {
+    private static final String SWITCH = "de:ad:be:ef:00:00:00:01";
+    private static final int PORT = 1;
+    private static final long HALF_LIFE = IslFlapDampening.DEFAULT_HALF_LIFE * 1000L;
+
+    private final IslFlapDampening dampening = new IslFlapDampening();
+
+    @Test
+    public void repeatedFailureIsNotFlap() {
+        assertTrue(dampening.down(SWITCH, PORT, 0));
+        assertTrue(dampening.down(SWITCH, PORT, 1000));
+        assertTrue(dampening.up(SWITCH, PORT, 2000));
+
+        assertEquals(0, dampening.getPenalty(SWITCH, PORT, 2000), 0);
+    }
+
+    @Test
+    public void penaltyDecays() {
+        dampening.up(SWITCH, PORT, 0);
+        dampening.down(SWITCH, PORT, 0);
+
+        assertEquals(IslFlapDampening.FLAP_PENALTY, dampening.getPenalty(SWITCH, PORT, 0), 0.001);
+        assertEquals(IslFlapDampening.FLAP_PENALTY / 2, dampening.getPenalty(SWITCH, PORT, HALF_LIFE), 0.001);
+        assertFalse(dampening.isSuppressed(SWITCH, PORT));
+    }
+
+    @Test
+    public void suppressAndReuse() {
+        flap(0);
+        flap(1000);
+        // the failure which suppresses the link is reported, it takes the link out of path computation
+        assertTrue(dampening.up(SWITCH, PORT, 2000));
+        assertTrue(dampening.down(SWITCH, PORT, 2000));
+        assertTrue(dampening.isSuppressed(SWITCH, PORT));
+
+        assertFalse(dampening.up(SWITCH, PORT, 3000));
+        assertFalse(dampening.down(SWITCH, PORT, 4000));
+        assertFalse(dampening.up(SWITCH, PORT, 5000));
+        assertEquals(0, dampening.reuse(HALF_LIFE));
+
+        // the flap while suppressed raised the penalty to ~3900, it decays below 750 in three half-lives
+        assertEquals(0, dampening.reuse(4000 + 2 * HALF_LIFE));
+        assertEquals(1, dampening.reuse(4000 + 3 * HALF_LIFE));
+        assertFalse(dampening.isSuppressed(SWITCH, PORT));
+        assertTrue(dampening.up(SWITCH, PORT, 4000 + 3 * HALF_LIFE));
+    }
+
+    @Test
+    public void maxSuppressTime() {
+        for (int i = 0; i < 100; i++) {
+            flap(i);
+        }
+        assertTrue(dampening.isSuppressed(SWITCH, PORT));
+
+        long maxSuppress = IslFlapDampening.DEFAULT_MAX_SUPPRESS_TIME * 1000L;
+        assertEquals(0, dampening.reuse(99 + maxSuppress - 1000));
+        assertEquals(1, dampening.reuse(100 + maxSuppress));
+    }
+
+    @Test
+    public void reportPenalties() {
+        flap(0);
+        dampening.up("sw2", 2, 0);
+
+        List<String> penalties = new ArrayList<>();
+        dampening.forEachPenalty(0, (switchId, port, penalty, suppressed) ->
+                penalties.add(switchId + "-" + port + "=" + penalty + "/" + suppressed));
+
+        assertEquals(1, penalties.size());
+        assertEquals(SWITCH + "-" + PORT + "=1000/false", penalties.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reuseAboveSuppress() {
+        new IslFlapDampening(1000, 2000, 60, 240);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxSuppressTimeTooShort() {
+        new IslFlapDampening(2000, 750, 60, 60);
+    }
+
+    private void flap(long now) {
+        dampening.up(SWITCH, PORT, now);
+        dampening.down(SWITCH, PORT, now);
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openkilda.wfm.topology.event.OFEventWFMTopology.DEFAULT_DISCOVERY_INTERVAL;
+import static org.openkilda.wfm.topology.event.OFEventWFMTopology.DEFAULT_DISCOVERY_TOPIC;
+
+import org.openkilda.wfm.topology.OutputCollectorMock;
+import org.openkilda.wfm.topology.utils.LinkTracker;
+
+import org.apache.storm.Constants;
+import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.state.KeyValueState;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OFELinkBolt} tick cost against the number of tracked ports. Ports are spread over the discovery
+ * interval, so a tick touches only a part of them. The timeout is too long for any port to fail, so only discovery
+ * is measured. Not a unit test, run it with {@link #main} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OFELinkBoltBenchmark {
+    private static final int PORTS_PER_SWITCH = 48;
+    private static final int TICK_TASK = 0;
+
+    @Param({"1000", "10000", "50000"})
+    private int ports;
+
+    private OFELinkBolt linkBolt;
+    private Tuple tickTuple;
+
+    /**
+     * Prepares the bolt with tracked ports.
+     */
+    @Setup
+    public void setUp() {
+        TopologyContext topologyContext = mock(TopologyContext.class);
+        when(topologyContext.getComponentId(TICK_TASK)).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        when(topologyContext.getComponentOutputFields(Constants.SYSTEM_COMPONENT_ID, Constants.SYSTEM_TICK_STREAM_ID))
+                .thenReturn(new Fields());
+        tickTuple = new TupleImpl(topologyContext, Collections.emptyList(), TICK_TASK,
+                Constants.SYSTEM_TICK_STREAM_ID);
+
+        LinkTracker links = new LinkTracker();
+        for (int i = 0; i < ports; i++) {
+            links.addPort("sw" + i / PORTS_PER_SWITCH, i % PORTS_PER_SWITCH);
+        }
+        KeyValueState<String, LinkTracker> state = new InMemoryKeyValueState<>();
+        state.put(DEFAULT_DISCOVERY_TOPIC, links);
+
+        // acked tuples are not kept, they would pile up over the run
+        OutputCollectorMock outputCollectorMock = new OutputCollectorMock() {
+            @Override
+            public void ack(Tuple input) {
+            }
+        };
+        linkBolt = new OFELinkBolt(DEFAULT_DISCOVERY_INTERVAL, Integer.MAX_VALUE);
+        linkBolt.prepare(new HashMap(), topologyContext, new OutputCollector(outputCollectorMock));
+        linkBolt.initState(state);
+    }
+
+    /**
+     * Sends discovery commands for the ports which are due.
+     */
+    @Benchmark
+    public void tick() {
+        linkBolt.execute(tickTuple);
+    }
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args not used
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OFELinkBoltBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
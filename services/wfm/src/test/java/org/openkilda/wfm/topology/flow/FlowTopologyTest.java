@@ -17,12 +17,13 @@ package org.openkilda.wfm.topology.flow;
 
 import static org.openkilda.wfm.topology.flow.FlowTopology.STATE_UPDATE_TOPIC;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Topic;
+import org.openkilda.messaging.TopicRouter;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
@@ -30,6 +31,7 @@ import org.openkilda.messaging.command.flow.FlowGetRequest;
 import org.openkilda.messaging.command.flow.FlowPathRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
 import org.openkilda.messaging.command.flow.FlowsGetRequest;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
@@ -44,9 +46,11 @@ import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsCreateResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowBatchStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
@@ -68,9 +72,12 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class FlowTopologyTest extends AbstractStormTest {
     private static final long COOKIE = 0x1FFFFFFFFL;
@@ -80,6 +87,7 @@ public class FlowTopologyTest extends AbstractStormTest {
     private static TestKafkaConsumer cacheConsumer;
     private static TestKafkaConsumer teResponseConsumer;
     private static FlowTopology flowTopology;
+    private static final TopicRouter topics = new TopicRouter();
 
     @BeforeClass
     public static void setupOnce() throws Exception {
@@ -90,11 +98,11 @@ public class FlowTopologyTest extends AbstractStormTest {
         Config config = stormConfig();
         cluster.submitTopology(FlowTopologyTest.class.getSimpleName(), config, stormTopology);
 
-        nbConsumer = new TestKafkaConsumer(Topic.TEST.getId(), Destination.NORTHBOUND,
+        nbConsumer = new TestKafkaConsumer(Topic.NORTHBOUND.getId(), Destination.NORTHBOUND,
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.NORTHBOUND.toString().getBytes()).toString()));
         nbConsumer.start();
 
-        ofsConsumer = new TestKafkaConsumer(Topic.TEST.getId(), Destination.CONTROLLER,
+        ofsConsumer = new TestKafkaConsumer(Topic.SPEAKER.getId(), Destination.CONTROLLER,
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.CONTROLLER.toString().getBytes()).toString()));
         ofsConsumer.start();
 
@@ -102,7 +110,7 @@ public class FlowTopologyTest extends AbstractStormTest {
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.TOPOLOGY_ENGINE.toString().getBytes()).toString()));
         cacheConsumer.start();
 
-        teResponseConsumer = new TestKafkaConsumer(Topic.TEST.getId(), Destination.WFM,
+        teResponseConsumer = new TestKafkaConsumer(Topic.WFM.getId(), Destination.WFM,
                 kafkaProperties(UUID.nameUUIDFromBytes(Destination.WFM.toString().getBytes()).toString()));
         teResponseConsumer.start();
 
@@ -191,6 +199,55 @@ public class FlowTopologyTest extends AbstractStormTest {
         assertEquals(ErrorType.ALREADY_EXISTS, errorData.getErrorType());
     }
 
+    @Test
+    public void createFlowsCommandBoltTest() throws Exception {
+        String existentFlowId = UUID.randomUUID().toString();
+        String flowId = UUID.randomUUID().toString();
+        ConsumerRecord<String, String> record;
+
+        createFlow(existentFlowId);
+
+        record = cacheConsumer.pollMessage();
+        assertNotNull(record);
+        record = nbConsumer.pollMessage();
+        assertNotNull(record);
+
+        createFlows(existentFlowId, flowId, flowId);
+
+        record = cacheConsumer.pollMessage();
+        assertNotNull(record);
+        assertNotNull(record.value());
+
+        InfoData infoData = objectMapper.readValue(record.value(), InfoData.class);
+        assertEquals(flowId, ((FlowInfoData) infoData).getFlowId());
+
+        // every task responds with the part of the batch it owns, parts of different tasks in any order
+        List<FlowBatchStatusPayload> statuses = new ArrayList<>();
+        int parts = 1;
+        for (int i = 0; i < parts; i++) {
+            record = nbConsumer.pollMessage();
+            assertNotNull(record);
+            assertNotNull(record.value());
+
+            InfoMessage infoMessage = objectMapper.readValue(record.value(), InfoMessage.class);
+            FlowsCreateResponse part = (FlowsCreateResponse) infoMessage.getData();
+            parts = part.getParts();
+            statuses.addAll(part.getPayload());
+        }
+        assertEquals(3, statuses.size());
+
+        List<FlowBatchStatusPayload> existent = statuses.stream()
+                .filter(status -> existentFlowId.equals(status.getId())).collect(Collectors.toList());
+        assertEquals(1, existent.size());
+        assertEquals(ErrorType.ALREADY_EXISTS, existent.get(0).getErrorType());
+
+        List<FlowBatchStatusPayload> created = statuses.stream()
+                .filter(status -> flowId.equals(status.getId())).collect(Collectors.toList());
+        assertEquals(2, created.size());
+        assertEquals(FlowBatchStatusPayload.accepted(flowId, FlowState.ALLOCATED), created.get(0));
+        assertEquals(ErrorType.ALREADY_EXISTS, created.get(1).getErrorType());
+    }
+
     @Test
     public void deleteFlowCommandBoltTest() throws Exception {
         String flowId = UUID.randomUUID().toString();
@@ -463,15 +520,48 @@ public class FlowTopologyTest extends AbstractStormTest {
 
         dumpFlows(null);
 
-        record = nbConsumer.pollMessage();
-        assertNotNull(record);
-        assertNotNull(record.value());
+        List<Flow> flows = new ArrayList<>();
+        for (FlowsResponse part : pollDumpParts()) {
+            assertNotNull(part.getPayload());
+            flows.addAll(part.getPayload());
+        }
+        assertTrue(flows.stream().anyMatch(flow -> flowId.equals(flow.getFlowId())));
+    }
 
-        InfoMessage infoMessage = objectMapper.readValue(record.value(), InfoMessage.class);
-        FlowsResponse infoData = (FlowsResponse) infoMessage.getData();
-        assertNotNull(infoData);
-        assertNotNull(infoData.getPayload());
-        assertFalse(infoData.getPayload().isEmpty());
+    @Test
+    public void dumpFlowsPageTest() throws Exception {
+        ConsumerRecord<String, String> record;
+
+        for (int i = 0; i < 2; i++) {
+            createFlow(UUID.randomUUID().toString());
+
+            record = cacheConsumer.pollMessage();
+            assertNotNull(record);
+            record = nbConsumer.pollMessage();
+            assertNotNull(record);
+        }
+
+        dumpFlowsPage(null, 1);
+
+        // every task answers with a page of the flows it owns, the next page follows the least cursor
+        String cursor = null;
+        for (FlowsResponse part : pollDumpParts()) {
+            assertTrue(part.getPayload().size() <= 1);
+            if (part.getCursor() != null) {
+                assertEquals(part.getPayload().get(0).getFlowId(), part.getCursor());
+                cursor = cursor == null || part.getCursor().compareTo(cursor) < 0 ? part.getCursor() : cursor;
+            }
+        }
+        assertNotNull(cursor);
+
+        dumpFlowsPage(cursor, 1);
+
+        for (FlowsResponse part : pollDumpParts()) {
+            assertTrue(part.getPayload().size() <= 1);
+            for (Flow flow : part.getPayload()) {
+                assertTrue(flow.getFlowId().compareTo(cursor) > 0);
+            }
+        }
     }
 
     @Test
@@ -950,7 +1040,7 @@ public class FlowTopologyTest extends AbstractStormTest {
 
     private void sendNorthboundMessage(final CommandMessage message) throws IOException {
         String request = objectMapper.writeValueAsString(message);
-        kProducer.pushMessage(Topic.TEST.getId(), request);
+        kProducer.pushMessage(Topic.WFM.getId(), request);
     }
 
     private Flow deleteFlow(final String flowId) throws IOException {
@@ -972,6 +1062,17 @@ public class FlowTopologyTest extends AbstractStormTest {
         return flowPayload;
     }
 
+    private List<Flow> createFlows(final String... flowIds) throws IOException {
+        System.out.println("NORTHBOUND: Create flows");
+        List<Flow> flowsPayload = Arrays.stream(flowIds)
+                .map(flowId -> new Flow(flowId, 10000, "", "test-switch", 1, 2, "test-switch", 1, 2))
+                .collect(Collectors.toList());
+        FlowsCreateRequest commandData = new FlowsCreateRequest(flowsPayload);
+        CommandMessage message = new CommandMessage(commandData, 0, "create-flows", Destination.WFM);
+        sendNorthboundMessage(message);
+        return flowsPayload;
+    }
+
     private Flow updateFlow(final String flowId) throws IOException {
         System.out.println("NORTHBOUND: Update flow");
         Flow flowPayload = new Flow(flowId, 10000, "", "test-switch", 1, 2, "test-switch", 1, 2);
@@ -1017,9 +1118,32 @@ public class FlowTopologyTest extends AbstractStormTest {
         return payload;
     }
 
+    private List<FlowsResponse> pollDumpParts() throws IOException {
+        List<FlowsResponse> parts = new ArrayList<>();
+        int count = 1;
+        while (parts.size() < count) {
+            ConsumerRecord<String, String> record = nbConsumer.pollMessage();
+            assertNotNull(record);
+            assertNotNull(record.value());
+
+            InfoMessage infoMessage = objectMapper.readValue(record.value(), InfoMessage.class);
+            FlowsResponse part = (FlowsResponse) infoMessage.getData();
+            count = part.getParts();
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    private void dumpFlowsPage(final String cursor, final int limit) throws IOException {
+        System.out.println("NORTHBOUND: Get flows page");
+        FlowsGetRequest commandData = new FlowsGetRequest(new FlowIdStatusPayload(), cursor, limit);
+        CommandMessage message = new CommandMessage(commandData, 0, "get-flows-page", Destination.WFM);
+        sendNorthboundMessage(message);
+    }
+
     private void sendTopologyEngineMessage(final Message message) throws IOException {
         String request = objectMapper.writeValueAsString(message);
-        kProducer.pushMessage(Topic.TEST.getId(), request);
+        kProducer.pushMessage(topics.getTopic(message), request);
     }
 
     private InstallOneSwitchFlow baseInstallFlowCommand(final String flowId) throws IOException {
@@ -1077,7 +1201,7 @@ public class FlowTopologyTest extends AbstractStormTest {
 
     private void sendSpeakerMessage(final Message message) throws IOException {
         String request = objectMapper.writeValueAsString(message);
-        kProducer.pushMessage(Topic.TEST.getId(), request);
+        kProducer.pushMessage(topics.getTopic(message), request);
     }
 
     private Message baseInstallRuleCommand(final Message message) throws IOException {
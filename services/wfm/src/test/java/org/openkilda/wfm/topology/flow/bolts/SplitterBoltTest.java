@@ -0,0 +1,100 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.FlowsCreateRequest;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.FlowIdGrouping;
+import org.openkilda.wfm.topology.flow.StreamType;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+public class SplitterBoltTest {
+    private static final int CRUD_TASKS = 4;
+    private static final String CORRELATION_ID = "flows-batch";
+
+    private OutputCollector collector = mock(OutputCollector.class);
+    private SplitterBolt bolt = new SplitterBolt();
+
+    @Before
+    public void init() {
+        TopologyContext context = mock(TopologyContext.class);
+        when(context.getComponentTasks(ComponentType.CRUD_BOLT.toString())).thenReturn(Arrays.asList(5, 6, 7, 8));
+        bolt.prepare(new HashMap(), context, collector);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void splitsBatchByOwningTasks() {
+        List<Flow> flows = IntStream.range(0, 20)
+                .mapToObj(i -> new Flow("flow-" + i, 1000, "flow-" + i,
+                        "00:00:00:00:00:00:00:01", 1, 100 + i, "00:00:00:00:00:00:00:02", 1, 100 + i))
+                .collect(toList());
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getValue(0)).thenReturn(
+                new CommandMessage(new FlowsCreateRequest(flows), 0L, CORRELATION_ID, Destination.WFM));
+
+        bolt.execute(tuple);
+
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(collector, atLeastOnce()).emit(eq(StreamType.BATCH_CREATE.toString()), eq(tuple), captor.capture());
+        List<List<Object>> emitted = captor.getAllValues();
+
+        Set<Integer> partitions = new HashSet<>();
+        List<Flow> received = new ArrayList<>();
+        for (List<Object> values : emitted) {
+            CommandMessage message = (CommandMessage) values.get(0);
+            List<Flow> part = ((FlowsCreateRequest) message.getData()).getPayload();
+            int partition = FlowIdGrouping.partition((String) values.get(1), CRUD_TASKS);
+
+            assertEquals(CORRELATION_ID, message.getCorrelationId());
+            assertEquals(emitted.size(), values.get(2));
+            assertTrue(partitions.add(partition));
+            for (Flow flow : part) {
+                assertEquals(partition, FlowIdGrouping.partition(flow.getFlowId(), CRUD_TASKS));
+            }
+            received.addAll(part);
+        }
+        assertEquals(flows.size(), received.size());
+        assertTrue(received.containsAll(flows));
+        verify(collector).ack(tuple);
+    }
+}
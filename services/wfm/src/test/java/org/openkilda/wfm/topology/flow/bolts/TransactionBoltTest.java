@@ -0,0 +1,118 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.FlowTopology;
+import org.openkilda.wfm.topology.flow.StreamType;
+
+import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TransactionBoltTest {
+    private static final String SWITCH_ID = "00:00:00:00:00:00:00:01";
+    private static final String STATUS = StreamType.STATUS.toString();
+
+    private OutputCollector collector = mock(OutputCollector.class);
+    private InMemoryKeyValueState<String, Map<String, Set<Long>>> state = new InMemoryKeyValueState<>();
+    private TransactionBolt bolt = new TransactionBolt();
+
+    @Before
+    public void init() {
+        bolt.prepare(new HashMap(), mock(TopologyContext.class), collector);
+        bolt.initState(state);
+    }
+
+    @Test
+    public void batchCompletes() {
+        bolt.execute(tuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 1L, "flow-a", "flow-b"));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-a", FlowState.IN_PROGRESS)));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-b", FlowState.IN_PROGRESS)));
+
+        bolt.execute(tuple(ComponentType.SPEAKER_BOLT, 1L, "flow-a", "flow-b"));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-a", FlowState.UP)));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-b", FlowState.UP)));
+        assertNull(state.get(SWITCH_ID));
+    }
+
+    @Test
+    public void batchWithTimedOutRulesIsReleased() {
+        bolt.execute(tuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 1L, "flow-a", "flow-b"));
+
+        // rules of flow-b timed out, the speaker confirms the batch with rules of flow-a only
+        bolt.execute(tuple(ComponentType.SPEAKER_BOLT, 1L, "flow-a"));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-a", FlowState.UP)));
+        verify(collector, never()).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-b", FlowState.UP)));
+        assertNull(state.get(SWITCH_ID));
+
+        // the next install of flow-b is not held by the timed out transaction
+        bolt.execute(tuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 2L, "flow-b"));
+        bolt.execute(tuple(ComponentType.SPEAKER_BOLT, 2L, "flow-b"));
+        verify(collector, times(1)).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-b", FlowState.UP)));
+        assertNull(state.get(SWITCH_ID));
+    }
+
+    @Test
+    public void batchWithAllRulesFailedIsReleased() {
+        bolt.execute(tuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 1L, "flow-a", "flow-b"));
+
+        // every rule of the batch failed, the speaker confirms the batch with no rules
+        bolt.execute(tuple(ComponentType.SPEAKER_BOLT, 1L));
+        verify(collector, never()).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-a", FlowState.UP)));
+        verify(collector, never()).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-b", FlowState.UP)));
+        assertNull(state.get(SWITCH_ID));
+
+        bolt.execute(tuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 2L, "flow-a"));
+        bolt.execute(tuple(ComponentType.SPEAKER_BOLT, 2L, "flow-a"));
+        verify(collector).emit(eq(STATUS), any(Tuple.class), eq(new Values("flow-a", FlowState.UP)));
+        assertNull(state.get(SWITCH_ID));
+    }
+
+    private static Tuple tuple(ComponentType component, long transactionId, String... flowIds) {
+        List<String> batch = Arrays.asList(flowIds);
+
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(component.toString());
+        when(tuple.getSourceStreamId()).thenReturn(StreamType.CREATE.toString());
+        when(tuple.getValueByField(Utils.TRANSACTION_ID)).thenReturn(transactionId);
+        when(tuple.getValueByField(FlowTopology.SWITCH_ID_FIELD)).thenReturn(SWITCH_ID);
+        when(tuple.getValueByField(Utils.FLOW_ID)).thenReturn(batch);
+        when(tuple.getValueByField(FlowTopology.MESSAGE_FIELD)).thenReturn("{}");
+        return tuple;
+    }
+}
@@ -0,0 +1,173 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.splitter;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.Utils.PAYLOAD;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.wfm.topology.OutputCollectorMock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the splitters throughput with the former parse into {@link Map} and serialize again path, per event type.
+ * Not a unit test, run it with {@link #main} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitterBoltBenchmark {
+    private static final String SPOUT = "kafka-spout";
+    private static final String SPOUT_STREAM = "default";
+    private static final int SPOUT_TASK = 0;
+    private static final int SPLITTER_TASK = 1;
+
+    @Param({"SWITCH", "PORT", "ISL"})
+    private String event;
+
+    private String json;
+    private Tuple spoutTuple;
+    private TopologyContext topologyContext;
+    private OutputCollectorMock outputCollectorMock;
+    private OFEventSplitterBolt speakerSplitter;
+    private InfoEventSplitterBolt infoSplitter;
+
+    /**
+     * Prepares splitters and the event.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Setup
+    public void setUp() throws IOException {
+        topologyContext = mock(TopologyContext.class);
+        when(topologyContext.getComponentId(SPOUT_TASK)).thenReturn(SPOUT);
+        when(topologyContext.getComponentOutputFields(SPOUT, SPOUT_STREAM)).thenReturn(new Fields("str"));
+        when(topologyContext.getComponentId(SPLITTER_TASK)).thenReturn(OFEventSplitterBolt.INFO);
+        when(topologyContext.getComponentOutputFields(OFEventSplitterBolt.INFO, OFEventSplitterBolt.INFO))
+                .thenReturn(new Fields("key", "message"));
+
+        // acked tuples are not kept, they would pile up over the run
+        outputCollectorMock = new OutputCollectorMock() {
+            @Override
+            public void ack(Tuple input) {
+            }
+        };
+        OutputCollector outputCollector = new OutputCollector(outputCollectorMock);
+        speakerSplitter = new OFEventSplitterBolt();
+        speakerSplitter.prepare(new HashMap(), topologyContext, outputCollector);
+        infoSplitter = new InfoEventSplitterBolt();
+        infoSplitter.prepare(new HashMap(), topologyContext, outputCollector);
+
+        json = MAPPER.writeValueAsString(new InfoMessage(createData(event), 0L, "system", null));
+        spoutTuple = new TupleImpl(topologyContext, Collections.singletonList(json), SPOUT_TASK, SPOUT_STREAM);
+    }
+
+    /**
+     * Splits the event with both splitters, the payload is passed through as raw json.
+     *
+     * @return the payload passed to the second splitter
+     */
+    @Benchmark
+    public Object split() {
+        speakerSplitter.execute(spoutTuple);
+        List<Object> values = outputCollectorMock.getLastMessage(OFEventSplitterBolt.INFO);
+        infoSplitter.execute(new TupleImpl(topologyContext, values, SPLITTER_TASK, OFEventSplitterBolt.INFO));
+        return values.get(1);
+    }
+
+    /**
+     * Mimics the former splitters: the message is parsed into {@link Map} and the payload is serialized again by
+     * the first splitter, then the second one does the same to read the message type and state.
+     *
+     * @return the message type and state
+     * @throws IOException if parsing fails
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String legacySplit() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, ?> root = mapper.readValue(json, Map.class);
+        String payload = mapper.writeValueAsString(root.get(PAYLOAD));
+
+        Map<String, ?> data = new ObjectMapper().readValue(payload, Map.class);
+        return String.valueOf(data.get("message_type")) + data.get("state");
+    }
+
+    private static InfoData createData(String event) {
+        switch (event) {
+            case "SWITCH":
+                return new SwitchInfoData("sw1", SwitchState.ACTIVATED, "", "", "", "");
+            case "PORT":
+                return new PortInfoData("sw1", 2, PortChangeType.UP);
+            default:
+                List<PathNode> nodes = Arrays.asList(new PathNode("sw1", 1, 0, 10L), new PathNode("sw2", 2, 1, 10L));
+                return new IslInfoData(10L, nodes, 10000L, IslChangeType.DISCOVERED, 9000L);
+        }
+    }
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args not used
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SplitterBoltBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
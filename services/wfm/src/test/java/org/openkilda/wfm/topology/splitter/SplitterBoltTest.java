@@ -0,0 +1,147 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.splitter;
+
+import static org.mockito.Mockito.when;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.wfm.topology.OutputCollectorMock;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Checks that splitters pass event payloads through unchanged. Throughput is compared by
+ * {@link SplitterBoltBenchmark}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SplitterBoltTest {
+    private static final String SPOUT = "kafka-spout";
+    private static final String SPOUT_STREAM = "default";
+    private static final int SPOUT_TASK = 0;
+    private static final int SPLITTER_TASK = 1;
+
+    @Mock
+    private TopologyContext topologyContext;
+    private OutputCollectorMock outputCollectorMock = new OutputCollectorMock();
+    private OutputCollector outputCollector = new OutputCollector(outputCollectorMock);
+    private OFEventSplitterBolt speakerSplitter = new OFEventSplitterBolt();
+    private InfoEventSplitterBolt infoSplitter = new InfoEventSplitterBolt();
+
+    @Before
+    public void initMocks() {
+        when(topologyContext.getComponentId(SPOUT_TASK)).thenReturn(SPOUT);
+        when(topologyContext.getComponentOutputFields(SPOUT, SPOUT_STREAM)).thenReturn(new Fields("str"));
+        when(topologyContext.getComponentId(SPLITTER_TASK)).thenReturn(OFEventSplitterBolt.INFO);
+        when(topologyContext.getComponentOutputFields(OFEventSplitterBolt.INFO, OFEventSplitterBolt.INFO))
+                .thenReturn(new Fields("key", "message"));
+
+        speakerSplitter.prepare(new HashMap(), topologyContext, outputCollector);
+        infoSplitter.prepare(new HashMap(), topologyContext, outputCollector);
+    }
+
+    @Test
+    public void splitSwitchEvent() throws IOException {
+        InfoData data = new SwitchInfoData("sw1", SwitchState.ACTIVATED, "", "", "", "");
+
+        String payload = split(event(data));
+
+        Assert.assertEquals(MAPPER.writeValueAsString(data), payload);
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(InfoEventSplitterBolt.I_SWITCH));
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(InfoEventSplitterBolt.I_SWITCH_UPDOWN));
+        Assert.assertEquals(payload,
+                outputCollectorMock.getLastMessage(InfoEventSplitterBolt.I_SWITCH_UPDOWN).get(1));
+    }
+
+    @Test
+    public void splitPortEvent() throws IOException {
+        InfoData data = new PortInfoData("sw1", 2, PortChangeType.OTHER_UPDATE);
+
+        split(event(data));
+
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(InfoEventSplitterBolt.I_PORT));
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(InfoEventSplitterBolt.I_PORT_OTHER));
+        Assert.assertFalse(outputCollectorMock.hasMessages(InfoEventSplitterBolt.I_PORT_UPDOWN));
+    }
+
+    @Test
+    public void splitIslEvent() throws IOException {
+        InfoData data = islData();
+
+        String payload = split(event(data));
+
+        Assert.assertEquals(1, outputCollectorMock.getMessagesCount(InfoEventSplitterBolt.I_ISL_UPDOWN));
+        Assert.assertEquals(data, MAPPER.readValue(payload, InfoData.class));
+    }
+
+    @Test
+    public void skipTopologyEngineMessages() throws IOException {
+        String json = MAPPER.writeValueAsString(new CommandMessage(new NetworkCommandData(), 0L, "system",
+                Destination.TOPOLOGY_ENGINE));
+
+        speakerSplitter.execute(spoutTuple(json));
+
+        Assert.assertFalse(outputCollectorMock.hasMessages(OFEventSplitterBolt.COMMAND));
+        Assert.assertFalse(outputCollectorMock.hasMessages(OFEventSplitterBolt.OTHER));
+    }
+
+    private String split(String json) {
+        speakerSplitter.execute(spoutTuple(json));
+        List<Object> values = outputCollectorMock.getLastMessage(OFEventSplitterBolt.INFO);
+        infoSplitter.execute(new TupleImpl(topologyContext, values, SPLITTER_TASK, OFEventSplitterBolt.INFO));
+        return (String) values.get(1);
+    }
+
+    private Tuple spoutTuple(String json) {
+        return new TupleImpl(topologyContext, Collections.singletonList(json), SPOUT_TASK, SPOUT_STREAM);
+    }
+
+    private static String event(InfoData data) throws IOException {
+        return MAPPER.writeValueAsString(new InfoMessage(data, 0L, "system", null));
+    }
+
+    private static IslInfoData islData() {
+        List<PathNode> nodes = Arrays.asList(new PathNode("sw1", 1, 0, 10L), new PathNode("sw2", 2, 1, 10L));
+        return new IslInfoData(10L, nodes, 10000L, IslChangeType.DISCOVERED, 9000L);
+    }
+}
@@ -19,6 +19,7 @@ import static java.util.stream.Collectors.toList;
 import static org.openkilda.messaging.Utils.CORRELATION_ID;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Topic;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
@@ -47,7 +48,7 @@ import java.util.stream.IntStream;
 
 public class StatsTopologyTest extends AbstractStormTest {
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final String TOPIC = "kilda-test";
+    private static final String TOPIC = Topic.WFM_STATS.getId();
     private static final long timestamp = System.currentTimeMillis();
 
     @BeforeClass
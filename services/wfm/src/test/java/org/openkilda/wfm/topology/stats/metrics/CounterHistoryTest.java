@@ -0,0 +1,69 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class CounterHistoryTest {
+    private final CounterHistory history = new CounterHistory(2, 1000L);
+    private final long[] deltas = new long[2];
+
+    @Test
+    public void computesDeltas() {
+        assertEquals(0L, history.update("sw1/1", 100L, new long[]{10L, 20L}, deltas));
+        assertEquals(50L, history.update("sw1/1", 150L, new long[]{15L, 40L}, deltas));
+        assertArrayEquals(new long[]{5L, 20L}, deltas);
+    }
+
+    @Test
+    public void detectsCounterReset() {
+        history.update("sw1/1", 100L, new long[]{10L, 20L}, deltas);
+
+        assertEquals(0L, history.update("sw1/1", 200L, new long[]{15L, 5L}, deltas));
+        assertEquals(100L, history.update("sw1/1", 300L, new long[]{16L, 6L}, deltas));
+        assertArrayEquals(new long[]{1L, 1L}, deltas);
+    }
+
+    @Test
+    public void ignoresStaleSample() {
+        history.update("sw1/1", 200L, new long[]{10L, 20L}, deltas);
+
+        assertEquals(0L, history.update("sw1/1", 100L, new long[]{5L, 5L}, deltas));
+        assertEquals(100L, history.update("sw1/1", 300L, new long[]{11L, 21L}, deltas));
+    }
+
+    @Test
+    public void expiresAndReusesSlots() {
+        for (int i = 0; i < 100; i++) {
+            history.update("sw1/" + i, 1000L, new long[]{i, i}, deltas);
+        }
+        assertEquals(100, history.size());
+
+        for (int i = 0; i < 100; i++) {
+            history.update("sw2/" + i, 2500L, new long[]{i, i}, deltas);
+        }
+        assertEquals(100, history.size());
+        assertFalse(history.get("sw1/1", new long[2]));
+
+        long[] sample = new long[2];
+        history.get("sw2/1", sample);
+        assertArrayEquals(new long[]{1L, 1L}, sample);
+    }
+}
@@ -0,0 +1,182 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+import org.openkilda.wfm.topology.OutputCollectorMock;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.StatsStreamType;
+import org.openkilda.wfm.topology.stats.bolts.SpeakerBolt;
+
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class PortMetricGenBoltTest {
+    private static final int PORTS = 48;
+    private static final int METRICS_PER_PORT = 14;
+    private static final int RATES_PER_PORT = 8;
+
+    private OutputCollectorMock outputCollectorMock = new OutputCollectorMock();
+    private PortMetricGenBolt bolt = new PortMetricGenBolt();
+
+    @Before
+    public void init() {
+        bolt.prepare(new HashMap(), mock(TopologyContext.class), new OutputCollector(outputCollectorMock));
+    }
+
+    @Test
+    public void emitsOneTuplePerMessage() {
+        bolt.execute(tuple(1L, 1));
+
+        List<OpenTsdbMetricDatapoint> datapoints = emitted();
+        assertEquals(1, outputCollectorMock.getMessagesCount("default"));
+        assertEquals(PORTS * METRICS_PER_PORT, datapoints.size());
+
+        OpenTsdbMetricDatapoint first = datapoints.get(0);
+        assertEquals("pen.switch.rx-packets", first.getMetric());
+        assertEquals(1L, first.getTimestamp());
+        assertEquals("0000000000000001", first.getTags().get("switchid"));
+        assertEquals("1", first.getTags().get("port"));
+        assertEquals(PORTS, datapoints.stream().map(OpenTsdbMetricDatapoint::getTags).distinct().count());
+    }
+
+    @Test
+    public void anchorsDatapointsToMessage() {
+        Tuple input = tuple(1L, 1);
+        bolt.execute(input);
+
+        assertEquals(Collections.singletonList(input), outputCollectorMock.getLastAnchors("default"));
+        assertEquals(Collections.singletonList(input), new ArrayList<>(outputCollectorMock.getAcked()));
+    }
+
+    @Test
+    public void internsTags() {
+        bolt.execute(tuple(1000L, 1));
+        Map<String, Map<String, String>> first = emitted().stream()
+                .collect(toMap(datapoint -> datapoint.getTags().get("port"), OpenTsdbMetricDatapoint::getTags,
+                        (a, b) -> a));
+        bolt.execute(tuple(2000L, 1));
+
+        for (OpenTsdbMetricDatapoint datapoint : emitted()) {
+            assertSame(first.get(datapoint.getTags().get("port")), datapoint.getTags());
+        }
+    }
+
+    @Test
+    public void emitsRates() {
+        bolt.execute(tuple(1000L, 1));
+        bolt.execute(tuple(3000L, 3));
+
+        Map<String, Number> port1 = values(emitted(), "1");
+        assertEquals(PORTS * (METRICS_PER_PORT + RATES_PER_PORT), emitted().size());
+        // counters are port number times the poll number
+        assertEquals(2L, port1.get("pen.switch.rx-packets.delta"));
+        assertEquals(1.0, port1.get("pen.switch.rx-pps").doubleValue(), 0.0);
+        assertEquals(8.0, port1.get("pen.switch.tx-bps").doubleValue(), 0.0);
+        assertFalse(port1.containsKey("pen.switch.rx-utilization"));
+    }
+
+    @Test
+    public void emitsUtilization() {
+        List<PathNode> path = Arrays.asList(new PathNode("00:00:00:00:00:00:00:01", 2, 0),
+                new PathNode("00:00:00:00:00:00:00:02", 1, 1));
+        bolt.execute(islTuple(new IslInfoData(10L, path, 1L, IslChangeType.DISCOVERED, 1L),
+                "00:00:00:00:00:00:00:01"));
+        bolt.execute(tuple(1000L, 1));
+        bolt.execute(tuple(2000L, 2));
+
+        // 2 bytes per second over 1 kbps port
+        Map<String, Number> port2 = values(emitted(), "2");
+        assertEquals(1.6, port2.get("pen.switch.rx-utilization").doubleValue(), 1e-9);
+        assertFalse(values(emitted(), "1").containsKey("pen.switch.rx-utilization"));
+    }
+
+    @Test
+    public void skipsCounterReset() {
+        bolt.execute(tuple(1000L, 2));
+        bolt.execute(tuple(2000L, 1));
+        assertEquals(PORTS * METRICS_PER_PORT, emitted().size());
+
+        bolt.execute(tuple(3000L, 2));
+        assertEquals(PORTS * (METRICS_PER_PORT + RATES_PER_PORT), emitted().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OpenTsdbMetricDatapoint> emitted() {
+        return (List<OpenTsdbMetricDatapoint>) outputCollectorMock.getLastMessage("default").get(0);
+    }
+
+    private static Map<String, Number> values(List<OpenTsdbMetricDatapoint> datapoints, String port) {
+        return datapoints.stream()
+                .filter(datapoint -> port.equals(datapoint.getTags().get("port")))
+                .collect(toMap(OpenTsdbMetricDatapoint::getMetric, OpenTsdbMetricDatapoint::getValue));
+    }
+
+    private static Tuple tuple(long timestamp, long poll) {
+        List<PortStatsEntry> entries = IntStream.rangeClosed(1, PORTS).boxed()
+                .map(port -> {
+                    long count = port * poll;
+                    return new PortStatsEntry(port, count, count, count, count, 5, 6, 7, 8, 9, 10, 11, 12);
+                })
+                .collect(toList());
+        InfoMessage message = new InfoMessage(new PortStatsData("00:00:00:00:00:00:00:01",
+                Collections.singletonList(new PortStatsReply(1, entries))), timestamp, "system",
+                Destination.WFM_STATS);
+
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(StatsComponentType.STATS_OFS_BOLT.name());
+        when(tuple.getSourceStreamId()).thenReturn(StatsStreamType.PORT_STATS.name());
+        when(tuple.getValueByField(MESSAGE_FIELD)).thenReturn(message);
+        return tuple;
+    }
+
+    private static Tuple islTuple(IslInfoData data, String switchId) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(StatsComponentType.STATS_OFS_BOLT.name());
+        when(tuple.getSourceStreamId()).thenReturn(StatsStreamType.ISL_INFO.name());
+        when(tuple.getValueByField(MESSAGE_FIELD)).thenReturn(new InfoMessage(data, 0L, "system", null));
+        when(tuple.getStringByField(SpeakerBolt.SWITCH_ID_FIELD)).thenReturn(switchId);
+        return tuple;
+    }
+}
@@ -0,0 +1,170 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares {@link LinkTracker} update cost with the former nested map layout on 1k switches with 64 ports each.
+ * Not a unit test, run it with {@link #main} from the test classpath, it prints checkpoint sizes and heap footprints
+ * before running benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkTrackerBenchmark {
+    private static final int SWITCHES = 1000;
+    private static final int PORTS = 64;
+    private static final String[] SWITCH_IDS = new String[SWITCHES];
+    private static final String[] PORT_IDS = new String[PORTS];
+
+    static {
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            SWITCH_IDS[sw] = "sw" + sw;
+        }
+        for (int port = 0; port < PORTS; port++) {
+            PORT_IDS[port] = String.valueOf(port);
+        }
+    }
+
+    private Map<String, ConcurrentHashMap<String, AtomicInteger>> legacy;
+    private LinkTracker tracker;
+
+    /**
+     * Fills both layouts.
+     */
+    @Setup
+    public void setUp() {
+        legacy = createLegacy();
+        tracker = createTracker();
+    }
+
+    /**
+     * Counts a sent packet on every port of the former layout.
+     *
+     * @return the last port counter
+     */
+    @Benchmark
+    public int legacyCountPackets() {
+        int count = 0;
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            for (int port = 0; port < PORTS; port++) {
+                count = legacy.get(SWITCH_IDS[sw]).get(PORT_IDS[port]).incrementAndGet();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts a sent packet on every tracked port.
+     *
+     * @return the last port counter
+     */
+    @Benchmark
+    public int countPackets() {
+        int count = 0;
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            for (int port = 0; port < PORTS; port++) {
+                count = tracker.incrementCountOfSentPackets(SWITCH_IDS[sw], port);
+            }
+        }
+        return count;
+    }
+
+    private static Map<String, ConcurrentHashMap<String, AtomicInteger>> createLegacy() {
+        Map<String, ConcurrentHashMap<String, AtomicInteger>> legacy = new ConcurrentHashMap<>();
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            for (int port = 0; port < PORTS; port++) {
+                legacy.computeIfAbsent(SWITCH_IDS[sw], id -> new ConcurrentHashMap<>())
+                        .put(PORT_IDS[port], new AtomicInteger(0));
+            }
+        }
+        return legacy;
+    }
+
+    private static LinkTracker createTracker() {
+        LinkTracker tracker = new LinkTracker();
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            for (int port = 0; port < PORTS; port++) {
+                tracker.addPort(SWITCH_IDS[sw], port);
+            }
+        }
+        return tracker;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int serializedSize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return bytes.size();
+    }
+
+    /**
+     * Prints checkpoint sizes and heap footprints, runs benchmark.
+     *
+     * @param args not used
+     * @throws IOException     if serialization fails
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        long heap = usedMemory();
+        Map<String, ConcurrentHashMap<String, AtomicInteger>> legacy = createLegacy();
+        long legacyHeap = usedMemory() - heap;
+
+        heap = usedMemory();
+        LinkTracker tracker = createTracker();
+        long trackerHeap = usedMemory() - heap;
+
+        System.out.println(String.format("legacy: checkpoint %d KB, heap %d KB",
+                serializedSize(legacy) / 1024, legacyHeap / 1024));
+        System.out.println(String.format("tracker: checkpoint %d KB, heap %d KB",
+                serializedSize(tracker) / 1024, trackerHeap / 1024));
+
+        new Runner(new OptionsBuilder()
+                .include(LinkTrackerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
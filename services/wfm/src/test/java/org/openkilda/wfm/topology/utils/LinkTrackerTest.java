@@ -0,0 +1,151 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+/**
+ * Checks the tracker. Footprint and throughput are compared with the former layout by {@link LinkTrackerBenchmark}.
+ */
+public class LinkTrackerTest {
+    private static final int SWITCHES = 1000;
+    private static final int PORTS = 64;
+    private static final String[] SWITCH_IDS = new String[SWITCHES];
+
+    static {
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            SWITCH_IDS[sw] = "sw" + sw;
+        }
+    }
+
+    private final LinkTracker tracker = new LinkTracker();
+
+    @Test
+    public void trackPorts() {
+        tracker.addPort("sw1", 2);
+        tracker.addPort("sw1", 40);
+        tracker.addSwitch("sw2");
+
+        assertTrue(tracker.checkIfSwitchExists("sw1"));
+        assertTrue(tracker.checkIfSwitchExists("sw2"));
+        assertFalse(tracker.checkIfSwitchExists("sw3"));
+        assertEquals(Arrays.asList("sw1", "sw2"), tracker.getSwitches());
+        assertArrayEquals(new int[]{2, 40}, tracker.getSwitchPorts("sw1"));
+        assertArrayEquals(new int[0], tracker.getSwitchPorts("sw2"));
+        assertNull(tracker.getSwitchPorts("sw3"));
+    }
+
+    @Test
+    public void countSentPackets() {
+        tracker.addPort("sw1", 1);
+
+        assertEquals(1, tracker.incrementCountOfSentPackets("sw1", 1));
+        assertEquals(2, tracker.incrementCountOfSentPackets("sw1", 1));
+        tracker.clearCountOfSentPackets("sw1", 1);
+        assertEquals(0, tracker.getCountOfSentPackets("sw1", 1));
+
+        assertEquals(LinkTracker.NOT_TRACKED, tracker.incrementCountOfSentPackets("sw1", 2));
+        assertEquals(LinkTracker.NOT_TRACKED, tracker.incrementCountOfSentPackets("sw2", 1));
+        tracker.clearCountOfSentPackets("sw1", 100);
+        assertArrayEquals(new int[]{1}, tracker.getSwitchPorts("sw1"));
+    }
+
+    @Test
+    public void removePorts() {
+        tracker.addPort("sw1", 1);
+        tracker.addPort("sw1", 2);
+
+        assertTrue(tracker.markPortRemoved("sw1", 1));
+        assertFalse(tracker.markPortRemoved("sw1", 3));
+        assertEquals(LinkTracker.PORT_REMOVED, tracker.getCountOfSentPackets("sw1", 1));
+
+        tracker.removePort("sw1", 1);
+        assertArrayEquals(new int[]{2}, tracker.getSwitchPorts("sw1"));
+
+        tracker.clearSwitchPorts("sw1");
+        assertArrayEquals(new int[0], tracker.getSwitchPorts("sw1"));
+        assertTrue(tracker.checkIfSwitchExists("sw1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePort() {
+        tracker.addPort("sw1", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void portAboveMax() {
+        tracker.addPort("sw1", LinkTracker.MAX_PORT + 1);
+    }
+
+    @Test
+    public void reservedPortsAreNotTrackable() {
+        // OFPP_LOCAL, 0xfffffffe
+        assertFalse(LinkTracker.isTrackablePort(-2));
+        assertFalse(LinkTracker.isTrackablePort(LinkTracker.MAX_PORT + 1));
+        assertTrue(LinkTracker.isTrackablePort(1));
+        assertTrue(LinkTracker.isTrackablePort(LinkTracker.MAX_PORT));
+    }
+
+    @Test
+    public void restoreFromCheckpoint() throws Exception {
+        fill(tracker);
+        tracker.incrementCountOfSentPackets("sw7", 5);
+
+        LinkTracker restored = (LinkTracker) deserialize(serialize(tracker));
+
+        assertEquals(SWITCHES, restored.getSwitches().size());
+        assertEquals(1, restored.getCountOfSentPackets("sw7", 5));
+        assertEquals(0, restored.getCountOfSentPackets("sw999", 63));
+        assertEquals(PORTS, restored.getSwitchPorts("sw500").length);
+        restored.addPort("sw1000", 1);
+        assertEquals(SWITCHES + 1, restored.getSwitches().size());
+    }
+
+    private static void fill(LinkTracker tracker) {
+        for (int sw = 0; sw < SWITCHES; sw++) {
+            for (int port = 0; port < PORTS; port++) {
+                tracker.addPort(SWITCH_IDS[sw], port);
+            }
+        }
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readObject();
+        }
+    }
+}
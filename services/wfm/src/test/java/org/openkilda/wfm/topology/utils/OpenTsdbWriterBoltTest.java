@@ -0,0 +1,229 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.wfm.topology.OutputCollectorMock;
+
+import org.apache.storm.Constants;
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.opentsdb.client.ClientResponse;
+import org.apache.storm.opentsdb.client.OpenTsdbClient;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+public class OpenTsdbWriterBoltTest {
+    private static final int BATCH_SIZE = 4;
+    private static final int TIMEOUT = 5000;
+
+    private final OutputCollectorMock outputCollectorMock = new OutputCollectorMock();
+    private final OpenTsdbClient client = mock(OpenTsdbClient.class);
+    private final ClientResponse.Details written = mock(ClientResponse.Details.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OpenTsdbWriterBolt bolt;
+
+    @Before
+    public void init() {
+        when(client.writeMetricPoints(anyCollection())).thenReturn(written);
+    }
+
+    @After
+    public void release() {
+        release.countDown();
+    }
+
+    @Test
+    public void flushesFullBatch() {
+        prepare(2);
+        Tuple first = tuple(2);
+        Tuple second = tuple(2);
+
+        bolt.execute(first);
+        verify(client, never()).writeMetricPoints(anyCollection());
+
+        bolt.execute(second);
+        verify(client, timeout(TIMEOUT)).writeMetricPoints(argThat(datapoints -> datapoints.size() == BATCH_SIZE));
+
+        tickUntil(() -> outputCollectorMock.getAcked().size() == 2);
+        assertEquals(Arrays.asList(first, second), outputCollectorMock.getAcked());
+        assertTrue(outputCollectorMock.getFailed().isEmpty());
+    }
+
+    @Test
+    public void flushesOnTick() {
+        prepare(2);
+        Tuple tuple = tuple(1);
+
+        bolt.execute(tuple);
+        verify(client, never()).writeMetricPoints(anyCollection());
+
+        tickUntil(() -> !outputCollectorMock.getAcked().isEmpty());
+        verify(client).writeMetricPoints(argThat(datapoints -> datapoints.size() == 1));
+        assertEquals(Collections.singletonList(tuple), outputCollectorMock.getAcked());
+    }
+
+    @Test
+    public void failsTuplesOfFailedRequest() {
+        when(client.writeMetricPoints(anyCollection())).thenThrow(new IllegalStateException("OpenTSDB is down"));
+        prepare(2);
+        Tuple tuple = tuple(BATCH_SIZE);
+
+        bolt.execute(tuple);
+
+        tickUntil(() -> !outputCollectorMock.getFailed().isEmpty());
+        assertEquals(Collections.singletonList(tuple), outputCollectorMock.getFailed());
+        assertTrue(outputCollectorMock.getAcked().isEmpty());
+    }
+
+    @Test
+    public void failsTuplesOfRejectedDatapoints() {
+        when(written.getFailed()).thenReturn(1);
+        prepare(2);
+        Tuple tuple = tuple(BATCH_SIZE);
+
+        bolt.execute(tuple);
+
+        tickUntil(() -> !outputCollectorMock.getFailed().isEmpty());
+        assertEquals(Collections.singletonList(tuple), outputCollectorMock.getFailed());
+    }
+
+    @Test
+    public void limitsRequestsInFlight() throws InterruptedException {
+        AtomicInteger inflight = new AtomicInteger();
+        AtomicInteger maxInflight = new AtomicInteger();
+        when(client.writeMetricPoints(anyCollection())).thenAnswer(invocation -> {
+            maxInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+            release.await();
+            inflight.decrementAndGet();
+            return written;
+        });
+        prepare(1);
+
+        bolt.execute(tuple(BATCH_SIZE));
+        verify(client, timeout(TIMEOUT)).writeMetricPoints(anyCollection());
+
+        // the only request is in flight, the next full batch waits for it
+        Thread executor = new Thread(() -> bolt.execute(tuple(BATCH_SIZE)));
+        executor.start();
+        executor.join(200);
+        assertTrue(executor.isAlive());
+
+        release.countDown();
+        executor.join(TIMEOUT);
+        assertFalse(executor.isAlive());
+
+        tickUntil(() -> outputCollectorMock.getAcked().size() == 2);
+        verify(client, times(2)).writeMetricPoints(anyCollection());
+        assertEquals(1, maxInflight.get());
+    }
+
+    @Test
+    public void cleanupWritesLastBatch() {
+        prepare(2);
+        Tuple tuple = tuple(1);
+
+        bolt.execute(tuple);
+        bolt.cleanup();
+
+        verify(client).writeMetricPoints(argThat(datapoints -> datapoints.size() == 1));
+        assertEquals(Collections.singletonList(tuple), outputCollectorMock.getAcked());
+    }
+
+    @Test
+    public void cleanupFailsIncompleteRequests() {
+        when(client.writeMetricPoints(anyCollection())).thenAnswer(invocation -> {
+            release.await();
+            return written;
+        });
+        prepare(2);
+        Tuple inflight = tuple(BATCH_SIZE);
+        Tuple pending = tuple(1);
+
+        bolt.execute(inflight);
+        bolt.execute(pending);
+        bolt.cleanup();
+
+        assertTrue(outputCollectorMock.getAcked().isEmpty());
+        assertEquals(2, outputCollectorMock.getFailed().size());
+        assertTrue(outputCollectorMock.getFailed().containsAll(Arrays.asList(inflight, pending)));
+    }
+
+    private void prepare(int maxPendingRequests) {
+        OpenTsdbClient.Builder builder = mock(OpenTsdbClient.Builder.class);
+        when(builder.build()).thenReturn(client);
+        // ticks are sent by tests, the flush interval is not used
+        bolt = new OpenTsdbWriterBolt(builder, BATCH_SIZE, 1, maxPendingRequests);
+        bolt.prepare(new HashMap(), mock(TopologyContext.class), new OutputCollector(outputCollectorMock));
+    }
+
+    /**
+     * Sends ticks until the acked or failed tuples meet the condition.
+     */
+    private void tickUntil(BooleanSupplier condition) {
+        Tuple tick = mock(Tuple.class);
+        when(tick.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        when(tick.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Tuples are not completed in time", System.currentTimeMillis() < deadline);
+            bolt.execute(tick);
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static Tuple tuple(int size) {
+        List<OpenTsdbMetricDatapoint> datapoints = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            datapoints.add(new OpenTsdbMetricDatapoint("pen.test", Collections.singletonMap("n", "1"), i, i));
+        }
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn("metrics");
+        when(tuple.getSourceStreamId()).thenReturn("default");
+        when(tuple.getValueByField(OpenTsdbWriterBolt.DATAPOINTS_FIELD)).thenReturn(datapoints);
+        return tuple;
+    }
+}
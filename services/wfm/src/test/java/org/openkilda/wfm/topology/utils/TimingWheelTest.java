@@ -0,0 +1,76 @@
+/* Copyright 2017 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TimingWheelTest {
+    private final TimingWheel<String> wheel = new TimingWheel<>(3);
+
+    @Test
+    public void keysAreDueOnTheirDeadline() {
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 2);
+        wheel.schedule("c", 2);
+
+        assertEquals(Collections.singletonList("a"), wheel.advance());
+        assertEquals(Arrays.asList("b", "c"), wheel.advance());
+        assertEquals(Collections.emptyList(), wheel.advance());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void delayLongerThanTurn() {
+        wheel.schedule("a", 7);
+
+        for (int i = 1; i < 7; i++) {
+            assertEquals(Collections.emptyList(), wheel.advance());
+        }
+        assertEquals(Collections.singletonList("a"), wheel.advance());
+    }
+
+    @Test
+    public void rescheduleDropsPreviousDeadline() {
+        wheel.schedule("a", 1);
+        wheel.schedule("a", 2);
+
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance());
+        assertEquals(Collections.singletonList("a"), wheel.advance());
+    }
+
+    @Test
+    public void cancel() {
+        wheel.schedule("a", 1);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertFalse(wheel.contains("a"));
+        assertEquals(Collections.emptyList(), wheel.advance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delayShouldBePositive() {
+        wheel.schedule("a", 0);
+    }
+}